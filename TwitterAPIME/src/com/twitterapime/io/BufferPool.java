@@ -0,0 +1,244 @@
+/*
+ * BufferPool.java
+ * 18/10/2026
+ * Twitter API Micro Edition
+ * Copyright(c) Ernandes Mourao Junior (ernandes@gmail.com)
+ * All rights reserved
+ */
+package com.twitterapime.io;
+
+import java.util.Vector;
+
+/**
+ * <p>
+ * This class implements a pool of reusable I/O buffers.
+ * </p>
+ * <p>
+ * All buffers of the pool have the same size. Buffers released to the pool are
+ * handed out again by the next acquisitions, instead of being garbage
+ * collected, up to a max number of pooled buffers.
+ * </p>
+ * <p>
+ * <pre>
+ * BufferPool pool = BufferPool.getInstance();
+ * byte[] buffer = pool.acquire();
+ * try {
+ *     ...
+ * } finally {
+ *     pool.release(buffer);
+ * }
+ * </pre>
+ * </p>
+ *
+ * @author Ernandes Mourao Junior (ernandes@gmail.com)
+ * @version 1.0
+ * @since 2.0
+ * @see HttpResponseBody
+ */
+public final class BufferPool {
+	/**
+	 * <p>
+	 * Default buffer size.
+	 * </p>
+	 */
+	public static final int DEFAULT_BUFFER_SIZE = 4096;
+
+	/**
+	 * <p>
+	 * Default max number of pooled buffers.
+	 * </p>
+	 */
+	public static final int DEFAULT_MAX_POOLED_BUFFERS = 16;
+
+	/**
+	 * <p>
+	 * Single instance of this class.
+	 * </p>
+	 */
+	private static BufferPool singleInstance;
+
+	/**
+	 * <p>
+	 * Pooled buffers.
+	 * </p>
+	 */
+	private Vector buffers;
+
+	/**
+	 * <p>
+	 * Buffer size.
+	 * </p>
+	 */
+	private int bufferSize;
+
+	/**
+	 * <p>
+	 * Max number of pooled buffers.
+	 * </p>
+	 */
+	private int maxPooledBuffers;
+
+	/**
+	 * <p>
+	 * Number of acquisitions served by a pooled buffer.
+	 * </p>
+	 */
+	private int hitCount;
+
+	/**
+	 * <p>
+	 * Number of acquisitions that required a new buffer.
+	 * </p>
+	 */
+	private int missCount;
+
+	/**
+	 * <p>
+	 * Get the single instance of BufferPool class.
+	 * </p>
+	 * @return BufferPool instance.
+	 */
+	public synchronized static BufferPool getInstance() {
+		if (singleInstance == null) {
+			singleInstance = new BufferPool();
+		}
+		//
+		return singleInstance;
+	}
+
+	/**
+	 * <p>
+	 * Create an instance of BufferPool class.
+	 * </p>
+	 * <p>
+	 * Private constructor to avoid object instantiation.
+	 * </p>
+	 */
+	private BufferPool() {
+		buffers = new Vector(DEFAULT_MAX_POOLED_BUFFERS);
+		bufferSize = DEFAULT_BUFFER_SIZE;
+		maxPooledBuffers = DEFAULT_MAX_POOLED_BUFFERS;
+	}
+
+	/**
+	 * <p>
+	 * Acquire a buffer from the pool.
+	 * </p>
+	 * @return Buffer.
+	 */
+	public synchronized byte[] acquire() {
+		final int size = buffers.size();
+		//
+		if (size > 0) {
+			byte[] buffer = (byte[])buffers.elementAt(size -1);
+			buffers.removeElementAt(size -1);
+			hitCount++;
+			//
+			return buffer;
+		}
+		//
+		missCount++;
+		//
+		return new byte[bufferSize];
+	}
+
+	/**
+	 * <p>
+	 * Release a buffer back to the pool. Buffers whose size differs from the
+	 * pool's one are ignored.
+	 * </p>
+	 * @param buffer Buffer.
+	 */
+	public synchronized void release(byte[] buffer) {
+		if (buffer != null
+				&& buffer.length == bufferSize
+				&& buffers.size() < maxPooledBuffers) {
+			buffers.addElement(buffer);
+		}
+	}
+
+	/**
+	 * <p>
+	 * Set the size of the buffers. Pooled buffers are discarded.
+	 * </p>
+	 * @param size Size.
+	 * @throws IllegalArgumentException If size is less than 1.
+	 */
+	public synchronized void setBufferSize(int size) {
+		if (size < 1) {
+			throw new IllegalArgumentException("Size must be greater than 0.");
+		}
+		//
+		bufferSize = size;
+		buffers.removeAllElements();
+	}
+
+	/**
+	 * <p>
+	 * Get the size of the buffers.
+	 * </p>
+	 * @return Size.
+	 */
+	public synchronized int getBufferSize() {
+		return bufferSize;
+	}
+
+	/**
+	 * <p>
+	 * Set the max number of pooled buffers.
+	 * </p>
+	 * @param max Max number.
+	 * @throws IllegalArgumentException If max is negative.
+	 */
+	public synchronized void setMaxPooledBuffers(int max) {
+		if (max < 0) {
+			throw new IllegalArgumentException("Max must not be negative.");
+		}
+		//
+		maxPooledBuffers = max;
+		//
+		while (buffers.size() > max) {
+			buffers.removeElementAt(buffers.size() -1);
+		}
+	}
+
+	/**
+	 * <p>
+	 * Get the max number of pooled buffers.
+	 * </p>
+	 * @return Max number.
+	 */
+	public synchronized int getMaxPooledBuffers() {
+		return maxPooledBuffers;
+	}
+
+	/**
+	 * <p>
+	 * Get the number of buffers currently in the pool.
+	 * </p>
+	 * @return Number.
+	 */
+	public synchronized int getPooledCount() {
+		return buffers.size();
+	}
+
+	/**
+	 * <p>
+	 * Get the number of acquisitions served by a pooled buffer.
+	 * </p>
+	 * @return Hits.
+	 */
+	public synchronized int getHitCount() {
+		return hitCount;
+	}
+
+	/**
+	 * <p>
+	 * Get the number of acquisitions that required a new buffer.
+	 * </p>
+	 * @return Misses.
+	 */
+	public synchronized int getMissCount() {
+		return missCount;
+	}
+}
@@ -0,0 +1,56 @@
+/*
+ * CacheStore.java
+ * 18/10/2026
+ * Twitter API Micro Edition
+ * Copyright(c) Ernandes Mourao Junior (ernandes@gmail.com)
+ * All rights reserved
+ */
+package com.twitterapime.io;
+
+import java.io.IOException;
+
+/**
+ * <p>
+ * This interface defines the methods of a persistent store, used as the
+ * secondary tier of {@link HttpResponseCache}.
+ * </p>
+ * <p>
+ * Entries are opaque arrays of bytes, identified by string keys. A store may
+ * discard any entry at any time.
+ * </p>
+ * 
+ * @author Ernandes Mourao Junior (ernandes@gmail.com)
+ * @version 1.0
+ * @since 2.0
+ * @see HttpResponseCache#setSecondaryStore(CacheStore)
+ */
+public interface CacheStore {
+	/**
+	 * <p>
+	 * Get the entry of a given key.
+	 * </p>
+	 * @param key Key.
+	 * @return Entry or null, if not found.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	public byte[] get(String key) throws IOException;
+	
+	/**
+	 * <p>
+	 * Put an entry with a given key, replacing the previous one, if any.
+	 * </p>
+	 * @param key Key.
+	 * @param entry Entry.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	public void put(String key, byte[] entry) throws IOException;
+	
+	/**
+	 * <p>
+	 * Remove the entry of a given key.
+	 * </p>
+	 * @param key Key.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	public void remove(String key) throws IOException;
+}
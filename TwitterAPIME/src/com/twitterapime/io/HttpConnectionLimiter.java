@@ -0,0 +1,387 @@
+/*
+ * HttpConnectionLimiter.java
+ * 18/10/2026
+ * Twitter API Micro Edition
+ * Copyright(c) Ernandes Mourao Junior (ernandes@gmail.com)
+ * All rights reserved
+ */
+package com.twitterapime.io;
+
+import java.io.IOException;
+import java.util.Hashtable;
+
+/**
+ * <p>
+ * This class limits the number of Http connections opened at the same time to
+ * a given host.
+ * </p>
+ * <p>
+ * Persistent (keep-alive) sockets are kept by the platform's own Http stack,
+ * i.e., Generic Connection Framework, HttpURLConnection or HttpClient, which
+ * is the only one able to reuse them. Every HttpConnection object is then
+ * opened by {@link HttpConnector} for a single request and holds a slot of its
+ * host until it is closed, in a way that does not tear down its socket.
+ * Limiting the number of connections per host keeps the platform from opening
+ * new sockets, while the kept ones are all busy.
+ * </p>
+ * <p>
+ * A request beyond the limit waits for a connection to the host to be
+ * released, up to the max wait time. Once this time is over, the connection is
+ * opened anyway, so a connection that is never closed does not hang the
+ * following requests.
+ * </p>
+ * <p>
+ * The limiter is used transparently by {@link HttpConnector} and the
+ * connections it returns.
+ * </p>
+ * <p>
+ * <pre>
+ * HttpConnectionLimiter limiter = HttpConnectionLimiter.getInstance();
+ * limiter.setMaxConnectionsPerHost(2);
+ * limiter.setMaxWaitTime(5000);
+ * ...
+ * System.out.println("Timeouts: " + limiter.getTimeoutCount());
+ * </pre>
+ * </p>
+ *
+ * @author Ernandes Mourao Junior (ernandes@gmail.com)
+ * @version 1.0
+ * @since 2.0
+ * @see HttpConnector
+ * @see HttpRequest
+ */
+public final class HttpConnectionLimiter {
+	/**
+	 * <p>
+	 * Default max number of connections per host.
+	 * </p>
+	 */
+	public static final int DEFAULT_MAX_CONNECTIONS_PER_HOST = 4;
+
+	/**
+	 * <p>
+	 * Default max time (in milliseconds) a request waits for a connection.
+	 * </p>
+	 */
+	public static final long DEFAULT_MAX_WAIT_TIME = 10 * 1000;
+
+	/**
+	 * <p>
+	 * Single instance of this class.
+	 * </p>
+	 */
+	private static HttpConnectionLimiter singleInstance;
+
+	/**
+	 * <p>
+	 * Number of leased connections per host.
+	 * </p>
+	 */
+	private Hashtable leasedCount;
+
+	/**
+	 * <p>
+	 * Max number of connections per host.
+	 * </p>
+	 */
+	private int maxConnectionsPerHost;
+
+	/**
+	 * <p>
+	 * Max wait time.
+	 * </p>
+	 */
+	private long maxWaitTime;
+
+	/**
+	 * <p>
+	 * Limiter enabled flag.
+	 * </p>
+	 */
+	private boolean enabled;
+
+	/**
+	 * <p>
+	 * Number of requests that waited for a connection.
+	 * </p>
+	 */
+	private int waitCount;
+
+	/**
+	 * <p>
+	 * Number of connections opened over the limit, after the max wait time.
+	 * </p>
+	 */
+	private int timeoutCount;
+
+	/**
+	 * <p>
+	 * Get the single instance of HttpConnectionLimiter class.
+	 * </p>
+	 * @return HttpConnectionLimiter instance.
+	 */
+	public synchronized static HttpConnectionLimiter getInstance() {
+		if (singleInstance == null) {
+			singleInstance = new HttpConnectionLimiter();
+		}
+		//
+		return singleInstance;
+	}
+
+	/**
+	 * <p>
+	 * Get the host key of a given URL, i.e., scheme, host and port.
+	 * </p>
+	 * @param url URL.
+	 * @return Key (e.g. "https://api.twitter.com:443").
+	 * @throws IllegalArgumentException If URL is null/empty.
+	 */
+	static String getHostKey(String url) {
+		if (url == null || (url = url.trim()).length() == 0) {
+			throw new IllegalArgumentException("URL must not be null/empty.");
+		}
+		//
+		int i = url.indexOf("://");
+		final String scheme = i != -1 ? url.substring(0, i).toLowerCase():"http";
+		final int hostStart = i != -1 ? i +3 : 0;
+		int hostEnd = url.length();
+		//
+		for (i = hostStart; i < url.length(); i++) {
+			char c = url.charAt(i);
+			//
+			if (c == '/' || c == '?' || c == ';' || c == '#') {
+				hostEnd = i;
+				break;
+			}
+		}
+		//
+		String host = url.substring(hostStart, hostEnd).toLowerCase();
+		//
+		if (host.indexOf(':') == -1) {
+			host += scheme.equals("https") ? ":443" : ":80";
+		}
+		//
+		return scheme + "://" + host;
+	}
+
+	/**
+	 * <p>
+	 * Create an instance of HttpConnectionLimiter class.
+	 * </p>
+	 * <p>
+	 * Private constructor to avoid object instantiation.
+	 * </p>
+	 */
+	private HttpConnectionLimiter() {
+		leasedCount = new Hashtable(5);
+		maxConnectionsPerHost = DEFAULT_MAX_CONNECTIONS_PER_HOST;
+		maxWaitTime = DEFAULT_MAX_WAIT_TIME;
+		enabled = true;
+	}
+
+	/**
+	 * <p>
+	 * Enable or disable the limiter. Once disabled, requests no longer wait
+	 * for a connection.
+	 * </p>
+	 * @param enabled Enabled (true).
+	 */
+	public synchronized void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+		notifyAll();
+	}
+
+	/**
+	 * <p>
+	 * Return whether the limiter is enabled.
+	 * </p>
+	 * @return Enabled (true).
+	 */
+	public synchronized boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * <p>
+	 * Set the max number of connections opened at the same time to a given
+	 * host. Requests beyond this limit wait for a connection to be released.
+	 * </p>
+	 * @param max Max number.
+	 * @throws IllegalArgumentException If max is less than 1.
+	 */
+	public synchronized void setMaxConnectionsPerHost(int max) {
+		if (max < 1) {
+			throw new IllegalArgumentException("Max must be greater than 0.");
+		}
+		//
+		maxConnectionsPerHost = max;
+		notifyAll();
+	}
+
+	/**
+	 * <p>
+	 * Get the max number of connections opened at the same time to a given
+	 * host.
+	 * </p>
+	 * @return Max number.
+	 */
+	public synchronized int getMaxConnectionsPerHost() {
+		return maxConnectionsPerHost;
+	}
+
+	/**
+	 * <p>
+	 * Set the max time (in milliseconds) a request waits for a connection to
+	 * be released. Once it is over, the connection is opened over the limit.
+	 * </p>
+	 * @param time Time. Zero means no wait.
+	 * @throws IllegalArgumentException If time is negative.
+	 */
+	public synchronized void setMaxWaitTime(long time) {
+		if (time < 0) {
+			throw new IllegalArgumentException("Time must not be negative.");
+		}
+		//
+		maxWaitTime = time;
+		notifyAll();
+	}
+
+	/**
+	 * <p>
+	 * Get the max time (in milliseconds) a request waits for a connection.
+	 * </p>
+	 * @return Time.
+	 */
+	public synchronized long getMaxWaitTime() {
+		return maxWaitTime;
+	}
+
+	/**
+	 * <p>
+	 * Get the number of requests that waited for a connection to be released.
+	 * </p>
+	 * @return Number.
+	 */
+	public synchronized int getWaitCount() {
+		return waitCount;
+	}
+
+	/**
+	 * <p>
+	 * Get the number of connections opened over the limit, after waiting the
+	 * max wait time.
+	 * </p>
+	 * @return Number.
+	 */
+	public synchronized int getTimeoutCount() {
+		return timeoutCount;
+	}
+
+	/**
+	 * <p>
+	 * Get the number of connections currently leased to a given URL's host.
+	 * </p>
+	 * @param url URL.
+	 * @return Number.
+	 */
+	public synchronized int getLeasedCount(String url) {
+		int[] count = (int[])leasedCount.get(getHostKey(url));
+		//
+		return count != null ? count[0] : 0;
+	}
+
+	/**
+	 * <p>
+	 * Reset the wait and timeout counters.
+	 * </p>
+	 */
+	public synchronized void resetStatistics() {
+		waitCount = 0;
+		timeoutCount = 0;
+	}
+
+	/**
+	 * <p>
+	 * Acquire a connection slot of a given URL's host. This method gets
+	 * blocked while the max number of connections to the host is reached, up
+	 * to the max wait time.
+	 * </p>
+	 * @param url URL.
+	 * @throws IOException If the thread is interrupted while waiting.
+	 */
+	synchronized void acquire(String url) throws IOException {
+		final String host = getHostKey(url);
+		//
+		if (enabled && getLeased(host)[0] >= maxConnectionsPerHost) {
+			final long start = System.currentTimeMillis();
+			waitCount++;
+			//
+			while (enabled && getLeased(host)[0] >= maxConnectionsPerHost) {
+				final long wait =
+					maxWaitTime - (System.currentTimeMillis() - start);
+				//
+				if (wait <= 0) {
+					timeoutCount++;
+					break; //opened over the limit.
+				}
+				//
+				try {
+					wait(wait);
+				} catch (InterruptedException e) {
+					throw new IOException("Interrupted waiting for connection.");
+				}
+			}
+		}
+		//
+		getLeased(host)[0]++;
+	}
+
+	/**
+	 * <p>
+	 * Release a slot acquired to a given URL's host, e.g., its connection is
+	 * closed or failed to open.
+	 * </p>
+	 * @param url URL.
+	 */
+	synchronized void release(String url) {
+		releaseSlot(getHostKey(url));
+	}
+
+	/**
+	 * <p>
+	 * Get the number of leased connections to the given host.
+	 * </p>
+	 * @param host Host key.
+	 * @return Counter.
+	 */
+	private int[] getLeased(String host) {
+		int[] count = (int[])leasedCount.get(host);
+		//
+		if (count == null) {
+			count = new int[1];
+			leasedCount.put(host, count);
+		}
+		//
+		return count;
+	}
+
+	/**
+	 * <p>
+	 * Release a slot of the given host and wake up the waiting threads.
+	 * </p>
+	 * @param host Host key.
+	 */
+	private void releaseSlot(String host) {
+		int[] count = (int[])leasedCount.get(host);
+		//
+		if (count != null && count[0] > 0) {
+			count[0]--;
+			//
+			if (count[0] == 0) {
+				leasedCount.remove(host);
+			}
+		}
+		//
+		notifyAll();
+	}
+}
@@ -25,16 +25,24 @@ import com.twitterapime.platform.PlatformProviderSelector;
  * The parameter string that describes the target should conform to the Http URL
  * format as described in RFC 1738.
  * </p>
+ * <p>
+ * The number of connections opened at the same time to a given host is
+ * limited by {@link HttpConnectionLimiter}. The returned connection holds a slot
+ * of its host until it is closed, so it must always be closed. Persistent
+ * (keep-alive) sockets are reused by the platform's Http stack.
+ * </p>
  * 
  * @author Ernandes Mourao Junior (ernandes@gmail.com)
  * @version 1.6
  * @since 1.0
  * @see HttpConnection
+ * @see HttpConnectionLimiter
  */
 public final class HttpConnector {
 	/**
 	 * <p>
-	 * Create and open a HttpConnection.
+	 * Create and open a HttpConnection. The connection must be closed, so its
+	 * host's slot is released.
 	 * </p>
 	 * 
 	 * @param url The URL for the connection.
@@ -47,33 +55,61 @@ public final class HttpConnector {
 			throw new IllegalArgumentException("URL must not be null/empty.");
 		}
 		//
+		final HttpConnectionLimiter limiter = HttpConnectionLimiter.getInstance();
+		limiter.acquire(url);
+		//
+		HttpConnection conn;
+		//
+		try {
+			conn = newConnection();
+			conn.open(url);
+			conn.setRequestProperty("User-Agent", getUserAgent());
+		} catch (IOException e) {
+			limiter.release(url);
+			throw e;
+		} catch (RuntimeException e) {
+			limiter.release(url);
+			throw e;
+		}
+		//
+		return new LeasedHttpConnection(conn, url);
+	}
+	
+	/**
+	 * <p>
+	 * Create a new HttpConnection object for the current platform.
+	 * </p>
+	 * @return Connection.
+	 * @throws IllegalArgumentException If platform is unknown.
+	 */
+	private static HttpConnection newConnection() {
 		final long PPID = PlatformProviderSelector.getCurrentProvider().getID();
 		//
 		HttpConnection conn = null;
-		String userAgent = null;
 		//
 		//#ifdef PP_JAVA_ME
 		if (PPID == PlatformProvider.PPID_JAVA_ME) {
 			conn = new impl.javame.com.twitterapime.io.HttpConnectionImpl();
-			userAgent =
-				"Twitter API ME/1.8 (compatible; Java ME; MIDP-2.0; CLDC-1.0)";
 		}
 		//#else
 //@		//
 		//#ifdef PP_RIM
 //@		if (PPID == PlatformProvider.PPID_RIM) {
 //@			conn = new impl.rim.com.twitterapime.io.HttpConnectionImpl();
-//@			userAgent =
-//@				"Twitter API ME/1.8 " +
-//@				"(compatible; Java ME; MIDP-2.0; CLDC-1.0; RIM OS 4.6)";
 //@		}
 		//#else
 //@		//
 		//#ifdef PP_ANDROID
 //@		if (PPID == PlatformProvider.PPID_ANDROID) {
 //@			conn = new impl.android.com.twitterapime.io.HttpConnectionImpl();
-//@			userAgent = "Twitter API ME/1.8 (compatible; Android 1.5)";
+//@		}
+		//#else
+//@		//
+		//#ifdef PP_JAVA_SE
+//@		if (PPID == PlatformProvider.PPID_JAVA_SE) {
+//@			conn = new impl.javase.com.twitterapime.io.HttpConnectionImpl();
 //@		}
+		//#endif
 		//#endif
 		//#endif		
 		//#endif
@@ -82,12 +118,53 @@ public final class HttpConnector {
 			throw new IllegalArgumentException("Unknown platform ID: " + PPID);
 		}
 		//
-		conn.open(url);
-		conn.setRequestProperty("User-Agent", userAgent);
-		//
 		return conn;
 	}
 	
+	/**
+	 * <p>
+	 * Get the User-Agent of the current platform.
+	 * </p>
+	 * @return User-Agent.
+	 */
+	private static String getUserAgent() {
+		final long PPID = PlatformProviderSelector.getCurrentProvider().getID();
+		//
+		String userAgent = null;
+		//
+		//#ifdef PP_JAVA_ME
+		if (PPID == PlatformProvider.PPID_JAVA_ME) {
+			userAgent =
+				"Twitter API ME/1.8 (compatible; Java ME; MIDP-2.0; CLDC-1.0)";
+		}
+		//#else
+//@		//
+		//#ifdef PP_RIM
+//@		if (PPID == PlatformProvider.PPID_RIM) {
+//@			userAgent =
+//@				"Twitter API ME/1.8 " +
+//@				"(compatible; Java ME; MIDP-2.0; CLDC-1.0; RIM OS 4.6)";
+//@		}
+		//#else
+//@		//
+		//#ifdef PP_ANDROID
+//@		if (PPID == PlatformProvider.PPID_ANDROID) {
+//@			userAgent = "Twitter API ME/1.8 (compatible; Android 1.5)";
+//@		}
+		//#else
+//@		//
+		//#ifdef PP_JAVA_SE
+//@		if (PPID == PlatformProvider.PPID_JAVA_SE) {
+//@			userAgent = "Twitter API ME/1.8 (compatible; Java SE 11)";
+//@		}
+		//#endif
+		//#endif
+		//#endif		
+		//#endif
+		//
+		return userAgent;
+	}
+	
 	/**
 	 * <p>
 	 * Private constructor to avoid object instantiation.
@@ -13,6 +13,7 @@ import java.util.Enumeration;
 import java.util.Hashtable;
 
 import com.twitterapime.util.StringUtil;
+import com.twitterapime.util.TaskExecutor;
 import com.twitterapime.xauth.Token;
 import com.twitterapime.xauth.XAuthSigner;
 
@@ -22,7 +23,7 @@ import com.twitterapime.xauth.XAuthSigner;
  * </p>
  * 
  * @author Ernandes Mourao Junior (ernandes@gmail.com)
- * @version 1.1
+ * @version 1.2
  * @since 1.3
  */
 public final class HttpRequest {
@@ -81,6 +82,41 @@ public final class HttpRequest {
 	 * </p>
 	 */
 	private Token token;
+	
+	/**
+	 * <p>
+	 * Compression flag.
+	 * </p>
+	 */
+	private boolean compressionEnabled = true;
+	
+	/**
+	 * <p>
+	 * Cancelled flag.
+	 * </p>
+	 */
+	private boolean cancelled;
+	
+	/**
+	 * <p>
+	 * URL of the attempt in progress.
+	 * </p>
+	 */
+	private String sentURL;
+	
+	/**
+	 * <p>
+	 * Cache key of the attempt in progress or null, if not cacheable.
+	 * </p>
+	 */
+	private String cacheKey;
+	
+	/**
+	 * <p>
+	 * Cached entry of the attempt in progress.
+	 * </p>
+	 */
+	private Object cached;
 
 	/**
 	 * <p>
@@ -154,10 +190,117 @@ public final class HttpRequest {
 	 * <p>
 	 * Send a given to the URL.
 	 * </p>
+	 * <p>
+	 * In case of a transient failure, i.e., an I/O error or a service error
+	 * (500, 502 or 503), the request is sent again according to the
+	 * {@link RetryPolicy} of its resource. The response or the error of the
+	 * last attempt is returned, as well as the response that asks, through
+	 * Retry-After, to wait longer than the policy's max backoff. A cancelled
+	 * request is not sent again.
+	 * </p>
 	 * @return Http response object.
 	 * @throws IOException If an I/O error occurs.
 	 */
 	public HttpResponse send() throws IOException {
+		final RetryPolicy policy = getRetryPolicy();
+		//
+		policy.requestStarted();
+		//
+		for (int attempt = 1;; attempt++) {
+			HttpResponse resp = null;
+			IOException error = null;
+			//
+			try {
+				prepare();
+				resp = complete();
+			} catch (IOException e) {
+				error = e;
+			}
+			//
+			final long retryAfter = checkRetry(policy, attempt, resp, error);
+			//
+			if (retryAfter < 0) {
+				if (error != null) {
+					throw error;
+				}
+				//
+				return resp;
+			}
+			//
+			policy.backoff(attempt, retryAfter);
+		}
+	}
+
+	/**
+	 * <p>
+	 * Get the retry policy of this request's resource.
+	 * </p>
+	 * @return Policy.
+	 */
+	RetryPolicy getRetryPolicy() {
+		return RetryPolicy.getPolicy(
+			RateLimitScheduler.getResource(getSanitizedURL()));
+	}
+
+	/**
+	 * <p>
+	 * Check whether a given attempt must be retried, according to its
+	 * response or error. The end of the request is registered to the policy,
+	 * if it must not.
+	 * </p>
+	 * @param policy Retry policy.
+	 * @param attempt Attempt (1 for the first one).
+	 * @param resp Response or null, if it failed.
+	 * @param error Error or null, if it succeeded.
+	 * @return Time (in milliseconds) asked by the service, through
+	 *         Retry-After, to wait before the next attempt or -1, if it must
+	 *         not be retried.
+	 */
+	long checkRetry(RetryPolicy policy, int attempt, HttpResponse resp,
+		IOException error) {
+		final boolean idempotent = !HttpConnection.POST.equals(method);
+		//
+		if (error != null) {
+			if (isCancelled() || !policy.shouldRetry(attempt, idempotent)) {
+				policy.requestFinished(attempt, false);
+				//
+				return -1;
+			}
+			//
+			return 0;
+		}
+		//
+		final boolean failed =
+			HttpResponseCodeInterpreter.isServiceError(resp.getCode());
+		long retryAfter = 0;
+		//
+		if (failed) {
+			try {
+				retryAfter = RetryPolicy.getRetryAfter(resp);
+			} catch (IOException e) {}
+		}
+		//
+		if (!failed
+				|| isCancelled()
+				|| !policy.shouldRetry(attempt, idempotent, retryAfter)) {
+			policy.requestFinished(attempt, !failed);
+			//
+			return -1;
+		}
+		//
+		return retryAfter;
+	}
+
+	/**
+	 * <p>
+	 * Prepare an attempt of this request, i.e., wait for a rate limit token,
+	 * open the connection and write the request's headers and body. The
+	 * response is read by {@link HttpRequest#complete()}.
+	 * </p>
+	 * @return Connection.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	HttpConnection prepare() throws IOException {
 		close();
 		//
 		String nurl = getSanitizedURL();
@@ -165,38 +308,140 @@ public final class HttpRequest {
 			nurl += '?' + queryString(getQueryStringParams(getQueryString()));
 		}
 		//
+		final String account = token != null ? token.getToken() : null;
+		//
+		RateLimitScheduler.getInstance().acquire(nurl, account); //wait token.
+		//
 		conn = HttpConnector.open(nurl);
 		conn.setRequestMethod(method);
+		sentURL = nurl;
 		//
 		if (signer != null && token != null) {
 			signer.sign(this, token); //sign request.
 		}
 		//
+		final HttpResponseCache cache = HttpResponseCache.getInstance();
+		cacheKey = null;
+		cached = null;
+		//
+		if (HttpConnection.GET.equals(method) && cache.isEnabled()) {
+			cacheKey =
+				HttpResponseCache.getKey(
+					getSanitizedURL(),
+					getQueryString(),
+					account);
+			cached = cache.prepare(cacheKey, conn);
+		}
+		//
 		setHeaderFields(conn);
+		if (compressionEnabled && !headers.containsKey("Accept-Encoding")) {
+			conn.setRequestProperty("Accept-Encoding", "gzip, deflate");
+		}
 		if (HttpConnection.POST.equals(method)) {
 			setBodyParameters(conn);
 		}
 		//
+		return conn;
+	}
+
+	/**
+	 * <p>
+	 * Complete an attempt prepared by {@link HttpRequest#prepare()}, i.e.,
+	 * read the response.
+	 * </p>
+	 * @return Http response object.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	HttpResponse complete() throws IOException {
+		final String account = token != null ? token.getToken() : null;
+		//
 		response = new HttpResponse(conn);
+		RateLimitScheduler.getInstance().update(sentURL, account, response);
+		//
+		if (cacheKey != null) {
+			HttpResponseCache.getInstance().process(
+				cacheKey, cached, conn, response);
+		}
 		//
 		return response;
 	}
 	
 	/**
 	 * <p>
-	 * Close the request object connection.
+	 * Send this request asynchronously. This method does not wait for the
+	 * response to return. The request is queued on the default
+	 * {@link TaskExecutor}, whose workers notify the listener and close the
+	 * request afterwards. A request rejected by the executor, e.g., its queue
+	 * is full, is notified through
+	 * {@link HttpResponseListener#requestFailed(HttpRequest, Throwable)}.
+	 * </p>
+	 * @param listener Listener to be notified about the response.
+	 * @throws IllegalArgumentException If listener is null.
+	 * @see HttpRequest#cancel()
+	 */
+	public void sendAsync(HttpResponseListener listener) {
+		sendAsync(listener, TaskExecutor.getDefault());
+	}
+	
+	/**
+	 * <p>
+	 * Send this request asynchronously, on a given executor. This method does
+	 * not wait for the response to return.
+	 * </p>
+	 * @param listener Listener to be notified about the response.
+	 * @param executor Executor.
+	 * @throws IllegalArgumentException If listener or executor is null.
+	 * @see HttpRequest#cancel()
+	 */
+	public void sendAsync(HttpResponseListener listener,
+		TaskExecutor executor) {
+		HttpRequestDispatcher.dispatch(this, listener, executor);
+	}
+	
+	/**
+	 * <p>
+	 * Cancel this request. A request sent asynchronously, but still queued, is
+	 * not sent anymore. A request in progress is not retried and its response
+	 * is discarded. In both cases, the listener is notified through
+	 * {@link HttpResponseListener#requestFailed(HttpRequest, Throwable)} with
+	 * an InterruptedIOException.
+	 * </p>
+	 */
+	public synchronized void cancel() {
+		cancelled = true;
+	}
+	
+	/**
+	 * <p>
+	 * Return whether this request is cancelled.
+	 * </p>
+	 * @return Cancelled (true).
+	 */
+	public synchronized boolean isCancelled() {
+		return cancelled;
+	}
+	
+	/**
+	 * <p>
+	 * Close the request object connection. Its slot is released to
+	 * {@link HttpConnectionLimiter} by the connection itself, so the next
+	 * request to the same host can be opened.
 	 * </p>
 	 * @throws IOException If an I/O error occurs.
 	 */
 	public void close() throws IOException {
-		if (response != null) {
-			response.close();
-			response = null;
-		}
-		//
-		if (conn != null) {
-			conn.close();
-			conn = null;
+		try {
+			if (response != null) {
+				response.close();
+				response = null;
+			}
+		} finally {
+			if (conn != null) {
+				HttpConnection c = conn;
+				conn = null;
+				//
+				c.close();
+			}
 		}
 	}
 
@@ -222,6 +467,17 @@ public final class HttpRequest {
 		this.bodyParams.put(key, value);
 	}
 
+	/**
+	 * <p>
+	 * Set whether the request accepts a compressed (gzip or deflate) response.
+	 * Compressed responses are transparently decompressed. Default is true.
+	 * </p>
+	 * @param enabled Enabled (true).
+	 */
+	public void setCompressionEnabled(boolean enabled) {
+		compressionEnabled = enabled;
+	}
+
 	/**
 	 * <p>
 	 * Get header fields.
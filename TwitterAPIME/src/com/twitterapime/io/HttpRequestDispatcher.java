@@ -0,0 +1,327 @@
+/*
+ * HttpRequestDispatcher.java
+ * 18/10/2026
+ * Twitter API Micro Edition
+ * Copyright(c) Ernandes Mourao Junior (ernandes@gmail.com)
+ * All rights reserved
+ */
+package com.twitterapime.io;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+
+import com.twitterapime.util.TaskExecutor;
+
+/**
+ * <p>
+ * This class implements the dispatcher of asynchronous requests.
+ * </p>
+ * <p>
+ * Requests sent by {@link HttpRequest#sendAsync(HttpResponseListener)} are
+ * queued on a {@link TaskExecutor}, whose workers send them and notify their
+ * listeners. On Java ME, Android and BlackBerry, whose connections are
+ * blocking, a worker is held for the whole request, retries included, so it
+ * is still a thread per request, though capped by the executor's maximum
+ * number of workers. On Java SE, the request is handed to the JDK's Http
+ * client and the worker is released while the request is on the wire, so
+ * few workers may serve many in-flight requests.
+ * </p>
+ * <p>
+ * A request rejected by the executor, e.g., its queue is full, is notified
+ * through {@link HttpResponseListener#requestFailed(HttpRequest, Throwable)}
+ * with the executor's IllegalStateException, instead of being thrown to the
+ * caller or sent on its thread. Note that the discard policies of the
+ * executor drop the request silently, so its listener is never notified.
+ * </p>
+ * <p>
+ * A request cancelled through {@link HttpRequest#cancel()} before being sent
+ * is dropped, and one cancelled while in progress has its response discarded.
+ * Either way, the listener is notified with an InterruptedIOException.
+ * </p>
+ *
+ * @author Ernandes Mourao Junior (ernandes@gmail.com)
+ * @version 1.1
+ * @since 2.0
+ * @see HttpRequest
+ * @see HttpResponseListener
+ * @see TaskExecutor
+ */
+final class HttpRequestDispatcher {
+	/**
+	 * <p>
+	 * Queue a request to be sent by a worker of the given executor.
+	 * </p>
+	 * @param request Request.
+	 * @param listener Listener.
+	 * @param executor Executor.
+	 * @throws IllegalArgumentException If any parameter is null.
+	 */
+	static void dispatch(final HttpRequest request,
+		final HttpResponseListener listener, TaskExecutor executor) {
+		if (request == null) {
+			throw new IllegalArgumentException("Request must not be null.");
+		}
+		if (listener == null) {
+			throw new IllegalArgumentException("Listener must not be null.");
+		}
+		if (executor == null) {
+			throw new IllegalArgumentException("Executor must not be null.");
+		}
+		//
+		new Exchange(request, listener, executor).submit();
+	}
+
+	/**
+	 * <p>
+	 * Private constructor to avoid object instantiation.
+	 * </p>
+	 */
+	private HttpRequestDispatcher() {
+	}
+
+	/**
+	 * <p>
+	 * This class drives a request through its attempts. Each run of it, on a
+	 * worker of the executor, performs one step: start or retry an attempt,
+	 * or complete one whose response has arrived.
+	 * </p>
+	 *
+	 * @author Ernandes Mourao Junior (ernandes@gmail.com)
+	 * @version 1.0
+	 * @since 2.0
+	 */
+	private static final class Exchange implements Runnable {
+		/**
+		 * <p>
+		 * Request.
+		 * </p>
+		 */
+		private final HttpRequest req;
+
+		/**
+		 * <p>
+		 * Listener.
+		 * </p>
+		 */
+		private final HttpResponseListener listener;
+
+		/**
+		 * <p>
+		 * Executor.
+		 * </p>
+		 */
+		private final TaskExecutor executor;
+
+		/**
+		 * <p>
+		 * Retry policy or null, if not started yet.
+		 * </p>
+		 */
+		private RetryPolicy policy;
+
+		/**
+		 * <p>
+		 * Current attempt.
+		 * </p>
+		 */
+		private int attempt;
+
+		/**
+		 * <p>
+		 * Time (in milliseconds) asked by the service to wait before the next
+		 * attempt.
+		 * </p>
+		 */
+		private long retryAfter;
+
+		/**
+		 * <p>
+		 * Current attempt is on the wire (true).
+		 * </p>
+		 */
+		private boolean pending;
+
+		/**
+		 * <p>
+		 * Listener already notified (true).
+		 * </p>
+		 */
+		private boolean finished;
+
+		/**
+		 * <p>
+		 * Create an instance of Exchange class.
+		 * </p>
+		 * @param req Request.
+		 * @param listener Listener.
+		 * @param executor Executor.
+		 */
+		Exchange(HttpRequest req, HttpResponseListener listener,
+			TaskExecutor executor) {
+			this.req = req;
+			this.listener = listener;
+			this.executor = executor;
+		}
+
+		/**
+		 * @see java.lang.Runnable#run()
+		 */
+		public void run() {
+			try {
+				if (pending) {
+					pending = false;
+					complete();
+				} else {
+					start();
+				}
+			} catch (RuntimeException e) {
+				finish(null, e);
+			}
+		}
+
+		/**
+		 * <p>
+		 * Queue the next step on the executor. If it is rejected, the listener
+		 * is notified.
+		 * </p>
+		 */
+		void submit() {
+			try {
+				executor.execute(this);
+			} catch (IllegalStateException e) {
+				if (attempt > 0) {
+					policy.requestFinished(attempt, false);
+				}
+				//
+				finish(null, e);
+			}
+		}
+
+		/**
+		 * <p>
+		 * Start the next attempt.
+		 * </p>
+		 */
+		private void start() {
+			try {
+				if (attempt == 0) {
+					checkCancelled();
+					//
+					policy = req.getRetryPolicy();
+					policy.requestStarted();
+				} else {
+					policy.backoff(attempt, retryAfter);
+				}
+				//
+				attempt++;
+				HttpConnection conn = req.prepare();
+				//
+				//#ifdef PP_JAVA_SE
+//@				if (conn instanceof LeasedHttpConnection) {
+//@					conn = ((LeasedHttpConnection)conn).getConnection();
+//@				}
+//@				if (conn instanceof impl.javase.com.twitterapime.io.HttpConnectionImpl) {
+//@					pending = true;
+//@					((impl.javase.com.twitterapime.io.HttpConnectionImpl)conn).sendAsync(
+//@						new Runnable() {
+//@							public void run() {
+//@								submit(); //response arrived.
+//@							}
+//@						});
+//@					//
+//@					return; //release the worker while on the wire.
+//@				}
+				//#endif
+			} catch (IOException e) {
+				next(null, e);
+				//
+				return;
+			}
+			//
+			complete();
+		}
+
+		/**
+		 * <p>
+		 * Complete the current attempt, i.e., read its response.
+		 * </p>
+		 */
+		private void complete() {
+			HttpResponse resp = null;
+			IOException error = null;
+			//
+			try {
+				resp = req.complete();
+			} catch (IOException e) {
+				error = e;
+			}
+			//
+			next(resp, error);
+		}
+
+		/**
+		 * <p>
+		 * Either retry the current attempt or notify the listener about it.
+		 * </p>
+		 * @param resp Response or null, if it failed.
+		 * @param error Error or null, if it succeeded.
+		 */
+		private void next(HttpResponse resp, IOException error) {
+			if (attempt == 0) { //never started.
+				finish(null, error);
+				//
+				return;
+			}
+			//
+			retryAfter = req.checkRetry(policy, attempt, resp, error);
+			//
+			if (retryAfter < 0) {
+				finish(resp, error);
+			} else {
+				submit();
+			}
+		}
+
+		/**
+		 * <p>
+		 * Notify the listener and close the request.
+		 * </p>
+		 * @param resp Response or null, if it failed.
+		 * @param cause Cause or null, if it succeeded.
+		 */
+		private void finish(HttpResponse resp, Throwable cause) {
+			if (finished) {
+				return;
+			}
+			finished = true;
+			//
+			try {
+				if (req.isCancelled()) {
+					cause = new InterruptedIOException("Request cancelled.");
+				}
+				//
+				if (cause != null) {
+					listener.requestFailed(req, cause);
+				} else {
+					listener.responseReceived(req, resp);
+				}
+			} finally {
+				try {
+					req.close();
+				} catch (IOException e) {}
+			}
+		}
+
+		/**
+		 * <p>
+		 * Check whether the request is cancelled.
+		 * </p>
+		 * @throws InterruptedIOException If request is cancelled.
+		 */
+		private void checkCancelled() throws InterruptedIOException {
+			if (req.isCancelled()) {
+				throw new InterruptedIOException("Request cancelled.");
+			}
+		}
+	}
+}
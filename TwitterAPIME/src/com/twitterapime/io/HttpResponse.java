@@ -7,21 +7,55 @@
  */
 package com.twitterapime.io;
 
-import java.io.ByteArrayOutputStream;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.UnsupportedEncodingException;
 
 /**
  * <p>
  * This class implements a Http response.
  * </p>
+ * <p>
+ * The body can be either consumed straight from the connection, through
+ * {@link #getStream()}, or buffered in pooled memory, through
+ * {@link #getBody()}. A max body size can be set to guard against responses
+ * too large to handle.
+ * </p>
+ * <p>
+ * Bodies compressed with gzip or deflate content encoding are transparently
+ * decompressed as they are read, by {@link InflateInputStream} on Java ME or by
+ * the platform's java.util.zip streams on Android and Java SE. The number of
+ * bytes received from the wire and the number of bytes decoded are counted per
+ * response and in total.
+ * </p>
  * 
  * @author Ernandes Mourao Junior (ernandes@gmail.com)
- * @version 1.1
+ * @version 1.4
  * @since 1.3
+ * @see HttpResponseBody
  */
 public final class HttpResponse {
+	/**
+	 * <p>
+	 * Max body size, in bytes. Zero means unlimited.
+	 * </p>
+	 */
+	private static int maxBodySize;
+	
+	/**
+	 * <p>
+	 * Total number of bytes received from the wire by all closed responses.
+	 * </p>
+	 */
+	private static long totalWireByteCount;
+	
+	/**
+	 * <p>
+	 * Total number of bytes decoded by all closed responses.
+	 * </p>
+	 */
+	private static long totalDecodedByteCount;
+	
 	/**
 	 * <p>
 	 * Response code.
@@ -43,6 +77,41 @@ public final class HttpResponse {
 	 */
 	private InputStream stream;
 	
+	/**
+	 * <p>
+	 * Buffered body.
+	 * </p>
+	 */
+	private HttpResponseBody buffer;
+	
+	/**
+	 * <p>
+	 * Wire bytes counter.
+	 * </p>
+	 */
+	private CountingInputStream wireCounter;
+	
+	/**
+	 * <p>
+	 * Decoded bytes counter.
+	 * </p>
+	 */
+	private CountingInputStream decodedCounter;
+	
+	/**
+	 * <p>
+	 * Closed flag.
+	 * </p>
+	 */
+	private boolean closed;
+	
+	/**
+	 * <p>
+	 * Served from cache flag.
+	 * </p>
+	 */
+	private boolean fromCache;
+	
 	/**
 	 * <p>
 	 * Http connection.
@@ -50,6 +119,108 @@ public final class HttpResponse {
 	 */
 	private HttpConnection conn;
 
+	/**
+	 * <p>
+	 * Set the max body size, in bytes, of all responses. Reading beyond this
+	 * size throws an IOException.
+	 * </p>
+	 * @param size Size. Zero means unlimited.
+	 * @throws IllegalArgumentException If size is negative.
+	 */
+	public synchronized static void setMaxBodySize(int size) {
+		if (size < 0) {
+			throw new IllegalArgumentException("Size must not be negative.");
+		}
+		//
+		maxBodySize = size;
+	}
+	
+	/**
+	 * <p>
+	 * Get the max body size, in bytes, of all responses.
+	 * </p>
+	 * @return Size. Zero means unlimited.
+	 */
+	public synchronized static int getMaxBodySize() {
+		return maxBodySize;
+	}
+	
+	/**
+	 * <p>
+	 * Get the total number of bytes received from the wire by all closed
+	 * responses.
+	 * </p>
+	 * @return Number of bytes.
+	 */
+	public synchronized static long getTotalWireByteCount() {
+		return totalWireByteCount;
+	}
+	
+	/**
+	 * <p>
+	 * Get the total number of bytes decoded by all closed responses, i.e., 
+	 * after decompression.
+	 * </p>
+	 * @return Number of bytes.
+	 */
+	public synchronized static long getTotalDecodedByteCount() {
+		return totalDecodedByteCount;
+	}
+	
+	/**
+	 * <p>
+	 * Reset the total byte counters.
+	 * </p>
+	 */
+	public synchronized static void resetTotalByteCounters() {
+		totalWireByteCount = 0;
+		totalDecodedByteCount = 0;
+	}
+	
+	/**
+	 * <p>
+	 * Add the counters of a closed response to the totals.
+	 * </p>
+	 * @param wire Wire bytes.
+	 * @param decoded Decoded bytes.
+	 */
+	private synchronized static void addTotalByteCounters(long wire,
+		long decoded) {
+		totalWireByteCount += wire;
+		totalDecodedByteCount += decoded;
+	}
+	
+	/**
+	 * <p>
+	 * Create a stream that decompresses a given stream of a given format.
+	 * </p>
+	 * @param in Compressed stream.
+	 * @param format Format.
+	 * @return Decompressed stream.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	private static InputStream inflate(InputStream in, int format)
+		throws IOException {
+		//#if PP_ANDROID || PP_JAVA_SE
+//@		if (format == InflateInputStream.FORMAT_ZLIB) {
+//@			return new java.util.zip.InflaterInputStream(in);
+//@		}
+//@		//
+//@		java.io.PushbackInputStream pin = new java.io.PushbackInputStream(in);
+//@		final int b = pin.read(); //gzip header is read on creation.
+//@		//
+//@		if (b == -1) {
+//@			return pin; //empty body.
+//@		}
+//@		//
+//@		pin.unread(b);
+//@		//
+//@		return new java.util.zip.GZIPInputStream(pin);
+		//#else
+		return new InflateInputStream(in, format);
+		//#endif
+	}
+	
 	/**
 	 * <p>
 	 * Create an instance of HttpResponse class.
@@ -61,6 +232,33 @@ public final class HttpResponse {
 		this.conn = conn;
 		code = conn.getResponseCode();
 		stream = conn.openInputStream();
+		//
+		if (stream != null) {
+			String encoding = conn.getHeaderField("Content-Encoding");
+			int format = 0;
+			//
+			if (encoding != null) {
+				encoding = encoding.trim().toLowerCase();
+				//
+				if (encoding.equals("gzip") || encoding.equals("x-gzip")) {
+					format = InflateInputStream.FORMAT_GZIP;
+				} else if (encoding.equals("deflate")) {
+					format = InflateInputStream.FORMAT_ZLIB;
+				}
+			}
+			//
+			if (format != 0) {
+				wireCounter = new CountingInputStream(stream, 0);
+				stream = inflate(wireCounter, format);
+			}
+			//
+			stream = decodedCounter =
+				new CountingInputStream(stream, getMaxBodySize());
+			//
+			if (wireCounter == null) {
+				wireCounter = decodedCounter;
+			}
+		}
 	}
 	
 	/**
@@ -69,6 +267,15 @@ public final class HttpResponse {
 	 * </p>
 	 */
 	void close() {
+		if (!closed && stream != null) {
+			closed = true;
+			addTotalByteCounters(getWireByteCount(), getDecodedByteCount());
+		}
+		//
+		if (buffer != null) {
+			buffer.release();
+		}
+		//
 		if (stream != null) {
 			try {
 				stream.close();
@@ -94,17 +301,100 @@ public final class HttpResponse {
 	 * @throws IOException If an I/O error occurs.
 	 */
 	public String getBodyContent() throws IOException {
-		return body != null ? body : (body = parseBody(stream));
+		if (body == null && getBody() != null) {
+			body = buffer.decode("UTF-8");
+		}
+		//
+		return body;
 	}
 	
 	/**
 	 * <p>
-	 * Get the response's stream.
+	 * Get the response's body buffered in pooled memory. The first call reads
+	 * the whole content from the connection. The body is valid until the
+	 * request is closed.
+	 * </p>
+	 * @return Body.
+	 * @throws IOException If an I/O error occurs or max body size is exceeded.
+	 */
+	public HttpResponseBody getBody() throws IOException {
+		if (buffer == null && stream != null) {
+			buffer = HttpResponseBody.read(stream);
+		}
+		//
+		return buffer;
+	}
+	
+	/**
+	 * <p>
+	 * Get the response's stream. In case the body is already buffered, a new
+	 * stream over the buffer is returned.
 	 * </p>
 	 * @return Stream.
 	 */
 	public InputStream getStream() {
-		return stream;
+		return buffer != null ? buffer.openStream() : stream;
+	}
+
+	/**
+	 * <p>
+	 * Returns whether the response was served from {@link HttpResponseCache},
+	 * after the server answered the request as not modified.
+	 * </p>
+	 * @return From cache (true).
+	 */
+	public boolean isFromCache() {
+		return fromCache;
+	}
+	
+	/**
+	 * <p>
+	 * Replace the response's stream by a given one, which reads from the
+	 * current one, e.g., to copy the body while it is read.
+	 * </p>
+	 * @param in Stream.
+	 */
+	void setStream(InputStream in) {
+		stream = in;
+	}
+	
+	/**
+	 * <p>
+	 * Replace the (not modified) response's body by a cached one.
+	 * </p>
+	 * @param body Cached body.
+	 */
+	void serveFromCache(byte[] body) {
+		if (stream != null) {
+			try {
+				stream.close();
+			} catch (IOException e) {}
+		}
+		//
+		code = HttpConnection.HTTP_OK;
+		stream = new ByteArrayInputStream(body);
+		fromCache = true;
+	}
+	
+	/**
+	 * <p>
+	 * Get the number of bytes received from the wire so far, i.e., before
+	 * decompression.
+	 * </p>
+	 * @return Number of bytes.
+	 */
+	public long getWireByteCount() {
+		return wireCounter != null ? wireCounter.count : 0;
+	}
+	
+	/**
+	 * <p>
+	 * Get the number of bytes decoded so far, i.e., after decompression.
+	 * </p>
+	 * @return Number of bytes.
+	 */
+	public long getDecodedByteCount() {
+		return decodedCounter != null ? decodedCounter.count : 0;
 	}
 
 	/**
@@ -127,33 +417,107 @@ public final class HttpResponse {
 	 * @throws IOException If an I/O error occurs. 
 	 */
 	public String getResponseField(String key) throws IOException {
-		return conn.getRequestProperty(key);
+		return conn.getHeaderField(key);
 	}
 
 	/**
 	 * <p>
-	 * Parse the response's body content.
+	 * This class implements a stream that counts the bytes read and fails
+	 * once a max number of bytes is exceeded.
 	 * </p>
-	 * @param in Response's stream.
-	 * @return Content.
-	 * @throws IOException If an I/O error occurs.
+	 *
+	 * @author Ernandes Mourao Junior (ernandes@gmail.com)
+	 * @version 1.0
+	 * @since 2.0
 	 */
-	private String parseBody(InputStream in) throws IOException {
-		if (in == null) {
-			return null;
+	private static final class CountingInputStream extends InputStream {
+		/**
+		 * <p>
+		 * Wrapped stream.
+		 * </p>
+		 */
+		private InputStream in;
+		
+		/**
+		 * <p>
+		 * Max number of bytes. Zero means unlimited.
+		 * </p>
+		 */
+		private int max;
+		
+		/**
+		 * <p>
+		 * Number of bytes read.
+		 * </p>
+		 */
+		public long count;
+		
+		/**
+		 * <p>
+		 * Create an instance of CountingInputStream class.
+		 * </p>
+		 * @param in Wrapped stream.
+		 * @param max Max number of bytes. Zero means unlimited.
+		 */
+		public CountingInputStream(InputStream in, int max) {
+			this.in = in;
+			this.max = max;
 		}
-		//
-		ByteArrayOutputStream out = new ByteArrayOutputStream(1024);
-		byte[] buffer = new byte[1024];
-		//
-		for (int n; (n = in.read(buffer)) > 0;) {
-			out.write(buffer, 0, n);
+		
+		/**
+		 * @see java.io.InputStream#read()
+		 */
+		public int read() throws IOException {
+			final int b = in.read();
+			//
+			if (b != -1) {
+				count(1);
+			}
+			//
+			return b;
 		}
-		//
-		try {
-			return new String(out.toByteArray(), "UTF-8");
-		} catch (UnsupportedEncodingException e) {
-			throw new IOException(e.getMessage());
+		
+		/**
+		 * @see java.io.InputStream#read(byte[], int, int)
+		 */
+		public int read(byte[] b, int off, int len) throws IOException {
+			final int n = in.read(b, off, len);
+			//
+			if (n > 0) {
+				count(n);
+			}
+			//
+			return n;
+		}
+		
+		/**
+		 * @see java.io.InputStream#available()
+		 */
+		public int available() throws IOException {
+			return in.available();
+		}
+		
+		/**
+		 * @see java.io.InputStream#close()
+		 */
+		public void close() throws IOException {
+			in.close();
+		}
+		
+		/**
+		 * <p>
+		 * Count the bytes read.
+		 * </p>
+		 * @param n Number of bytes.
+		 * @throws IOException If max number of bytes is exceeded.
+		 */
+		private void count(int n) throws IOException {
+			count += n;
+			//
+			if (max > 0 && count > max) {
+				throw new IOException(
+					"Response body exceeds max size: " + max + " bytes.");
+			}
 		}
 	}
 }
\ No newline at end of file
@@ -0,0 +1,340 @@
+/*
+ * HttpResponseBody.java
+ * 18/10/2026
+ * Twitter API Micro Edition
+ * Copyright(c) Ernandes Mourao Junior (ernandes@gmail.com)
+ * All rights reserved
+ */
+package com.twitterapime.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UnsupportedEncodingException;
+
+/**
+ * <p>
+ * This class implements a Http response's body buffered in memory.
+ * </p>
+ * <p>
+ * The body is kept in a sequence of buffers acquired from {@link BufferPool},
+ * so no intermediate copy is made while it is read. Its content is accessed
+ * through streams over those buffers, or decoded on demand. The buffers go
+ * back to the pool once the request is closed, so the body must not be
+ * accessed afterwards.
+ * </p>
+ *
+ * @author Ernandes Mourao Junior (ernandes@gmail.com)
+ * @version 1.0
+ * @since 2.0
+ * @see HttpResponse#getBody()
+ * @see BufferPool
+ */
+public final class HttpResponseBody {
+	/**
+	 * <p>
+	 * Buffers.
+	 * </p>
+	 */
+	private byte[][] chunks;
+
+	/**
+	 * <p>
+	 * Number of buffers in use.
+	 * </p>
+	 */
+	private int chunkCount;
+
+	/**
+	 * <p>
+	 * Body length.
+	 * </p>
+	 */
+	private int length;
+
+	/**
+	 * <p>
+	 * Released flag.
+	 * </p>
+	 */
+	private boolean released;
+
+	/**
+	 * <p>
+	 * Read the whole content of a given stream.
+	 * </p>
+	 * @param in Stream.
+	 * @return Body.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	static HttpResponseBody read(InputStream in) throws IOException {
+		final BufferPool pool = BufferPool.getInstance();
+		HttpResponseBody body = new HttpResponseBody();
+		byte[] chunk = null;
+		int pos = 0;
+		//
+		try {
+			for (int n;;) {
+				if (chunk == null || pos == chunk.length) {
+					chunk = pool.acquire();
+					//
+					if (body.chunkCount > 0
+							&& chunk.length != body.chunks[0].length) {
+						//pool resized while reading: keep chunks the same size.
+						chunk = new byte[body.chunks[0].length];
+					}
+					//
+					body.addChunk(chunk);
+					pos = 0;
+				}
+				//
+				if ((n = in.read(chunk, pos, chunk.length - pos)) == -1) {
+					break;
+				}
+				//
+				pos += n;
+				body.length += n;
+			}
+		} catch (IOException e) {
+			body.release();
+			throw e;
+		}
+		//
+		return body;
+	}
+
+	/**
+	 * <p>
+	 * Create an instance of HttpResponseBody class.
+	 * </p>
+	 */
+	private HttpResponseBody() {
+		chunks = new byte[4][];
+	}
+
+	/**
+	 * <p>
+	 * Get the body length, in bytes.
+	 * </p>
+	 * @return Length.
+	 */
+	public int getLength() {
+		return length;
+	}
+
+	/**
+	 * <p>
+	 * Open a new stream over the body's buffers. No copy of the content is
+	 * made. The stream's available() method returns the exact number of bytes
+	 * left.
+	 * </p>
+	 * @return Stream.
+	 * @throws IllegalStateException If body is already released.
+	 */
+	public InputStream openStream() {
+		checkReleased();
+		//
+		return new BodyInputStream();
+	}
+
+	/**
+	 * <p>
+	 * Copy a slice of the body into a given array.
+	 * </p>
+	 * @param offset Body offset.
+	 * @param dst Destination array.
+	 * @param dstOffset Destination offset.
+	 * @param len Number of bytes.
+	 * @return Number of bytes copied.
+	 * @throws IllegalStateException If body is already released.
+	 * @throws IllegalArgumentException If offset is out of bounds.
+	 */
+	public int getBytes(int offset, byte[] dst, int dstOffset, int len) {
+		checkReleased();
+		//
+		if (offset < 0 || offset > length) {
+			throw new IllegalArgumentException("Invalid offset: " + offset);
+		}
+		//
+		len = Math.min(len, length - offset);
+		//
+		final int chunkSize = chunks[0].length;
+		int copied = 0;
+		//
+		while (copied < len) {
+			int pos = offset + copied;
+			byte[] chunk = chunks[pos / chunkSize];
+			int n = Math.min(len - copied, chunkSize - pos % chunkSize);
+			//
+			System.arraycopy(chunk, pos % chunkSize, dst, dstOffset + copied, n);
+			copied += n;
+		}
+		//
+		return copied;
+	}
+
+	/**
+	 * <p>
+	 * Decode the body's content according to a given character encoding.
+	 * </p>
+	 * @param encoding Encoding (e.g. "UTF-8").
+	 * @return Content.
+	 * @throws IOException If an I/O error occurs.
+	 * @throws IllegalStateException If body is already released.
+	 */
+	public String decode(String encoding) throws IOException {
+		checkReleased();
+		//
+		try {
+			if (chunkCount == 1 || length == 0) {
+				return new String(chunks[0], 0, length, encoding);
+			}
+			//
+			InputStreamReader reader =
+				new InputStreamReader(openStream(), encoding);
+			StringBuffer content = new StringBuffer(length);
+			char[] buffer = new char[1024];
+			//
+			for (int n; (n = reader.read(buffer)) != -1;) {
+				content.append(buffer, 0, n);
+			}
+			//
+			return content.toString();
+		} catch (UnsupportedEncodingException e) {
+			throw new IOException(e.getMessage());
+		}
+	}
+
+	/**
+	 * <p>
+	 * Release the body's buffers back to the pool.
+	 * </p>
+	 */
+	void release() {
+		if (!released) {
+			released = true;
+			//
+			final BufferPool pool = BufferPool.getInstance();
+			//
+			for (int i = 0; i < chunkCount; i++) {
+				pool.release(chunks[i]);
+				chunks[i] = null;
+			}
+		}
+	}
+
+	/**
+	 * <p>
+	 * Add a buffer to the body.
+	 * </p>
+	 * @param chunk Buffer.
+	 */
+	private void addChunk(byte[] chunk) {
+		if (chunkCount == chunks.length) {
+			byte[][] newChunks = new byte[chunks.length * 2][];
+			System.arraycopy(chunks, 0, newChunks, 0, chunkCount);
+			chunks = newChunks;
+		}
+		//
+		chunks[chunkCount++] = chunk;
+	}
+
+	/**
+	 * <p>
+	 * Check whether the body is already released.
+	 * </p>
+	 * @throws IllegalStateException If body is already released.
+	 */
+	private void checkReleased() {
+		if (released) {
+			throw new IllegalStateException("Body is already released.");
+		}
+	}
+
+	/**
+	 * <p>
+	 * This class implements a stream over the body's buffers.
+	 * </p>
+	 *
+	 * @author Ernandes Mourao Junior (ernandes@gmail.com)
+	 * @version 1.0
+	 * @since 2.0
+	 */
+	private final class BodyInputStream extends InputStream {
+		/**
+		 * <p>
+		 * Current position.
+		 * </p>
+		 */
+		private int pos;
+
+		/**
+		 * @see java.io.InputStream#read()
+		 */
+		public int read() throws IOException {
+			if (pos >= length) {
+				return -1;
+			}
+			//
+			checkClosed();
+			//
+			final int chunkSize = chunks[0].length;
+			final int b = chunks[pos / chunkSize][pos % chunkSize] & 0xff;
+			pos++;
+			//
+			return b;
+		}
+
+		/**
+		 * @see java.io.InputStream#read(byte[], int, int)
+		 */
+		public int read(byte[] b, int off, int len) throws IOException {
+			if (len == 0) {
+				return 0;
+			}
+			if (pos >= length) {
+				return -1;
+			}
+			//
+			checkClosed();
+			//
+			final int n = getBytes(pos, b, off, len);
+			pos += n;
+			//
+			return n;
+		}
+
+		/**
+		 * @see java.io.InputStream#skip(long)
+		 */
+		public long skip(long n) throws IOException {
+			if (n <= 0) {
+				return 0;
+			}
+			//
+			final int skipped = (int)Math.min(n, length - pos);
+			pos += skipped;
+			//
+			return skipped;
+		}
+
+		/**
+		 * @see java.io.InputStream#available()
+		 */
+		public int available() throws IOException {
+			return length - pos;
+		}
+
+		/**
+		 * <p>
+		 * Check whether the body is already released.
+		 * </p>
+		 * @throws IOException If body is already released.
+		 */
+		private void checkClosed() throws IOException {
+			if (released) {
+				throw new IOException("Body is already released.");
+			}
+		}
+	}
+}
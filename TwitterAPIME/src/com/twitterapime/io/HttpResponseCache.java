@@ -0,0 +1,910 @@
+/*
+ * HttpResponseCache.java
+ * 18/10/2026
+ * Twitter API Micro Edition
+ * Copyright(c) Ernandes Mourao Junior (ernandes@gmail.com)
+ * All rights reserved
+ */
+package com.twitterapime.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Hashtable;
+
+import com.twitterapime.util.QSort;
+import com.twitterapime.util.StringUtil;
+import com.twitterapime.xauth.encoders.SHA1;
+
+/**
+ * <p>
+ * This class implements a cache of Http responses, revalidated through
+ * ETag/Last-Modified validators.
+ * </p>
+ * <p>
+ * Successful responses to GET requests that carry an ETag or Last-Modified
+ * header are cached. The next request to the same resource sends the
+ * validators (If-None-Match/If-Modified-Since), and in case the server answers
+ * 304 (Not Modified), the response is served from the cache with code 200.
+ * </p>
+ * <p>
+ * The body is not buffered up front. It is copied, while the caller reads the
+ * response, into a buffer capped by the max size of an entry, and cached once
+ * it is read to its end. A body whose Content-Length or copy exceeds the cap
+ * is not cached.
+ * </p>
+ * <p>
+ * Entries are keyed by the request's URL, with the query parameters sorted and
+ * the OAuth ones removed, plus a SHA-1 digest of the account's access token,
+ * so the token itself is never written to a secondary store. They are kept in a
+ * memory tier bounded by size, evicting the least recently used entries, and
+ * optionally written through to a secondary (persistent) store.
+ * </p>
+ * <p>
+ * <pre>
+ * HttpResponseCache cache = HttpResponseCache.getInstance();
+ * cache.setMaxMemorySize(512 * 1024);
+ * cache.setSecondaryStore(new FileCacheStore(dir));
+ * </pre>
+ * </p>
+ *
+ * @author Ernandes Mourao Junior (ernandes@gmail.com)
+ * @version 1.1
+ * @since 2.0
+ * @see HttpRequest
+ * @see CacheStore
+ */
+public final class HttpResponseCache {
+	/**
+	 * <p>
+	 * Default max size, in bytes, of the memory tier.
+	 * </p>
+	 */
+	public static final int DEFAULT_MAX_MEMORY_SIZE = 256 * 1024;
+
+	/**
+	 * <p>
+	 * Approximate overhead, in bytes, of an entry.
+	 * </p>
+	 */
+	private static final int ENTRY_OVERHEAD = 64;
+
+	/**
+	 * <p>
+	 * Single instance of this class.
+	 * </p>
+	 */
+	private static HttpResponseCache singleInstance;
+
+	/**
+	 * <p>
+	 * Entries of the memory tier.
+	 * </p>
+	 */
+	private Hashtable entries;
+
+	/**
+	 * <p>
+	 * Most recently used entry.
+	 * </p>
+	 */
+	private Entry head;
+
+	/**
+	 * <p>
+	 * Least recently used entry.
+	 * </p>
+	 */
+	private Entry tail;
+
+	/**
+	 * <p>
+	 * Current size, in bytes, of the memory tier.
+	 * </p>
+	 */
+	private int memorySize;
+
+	/**
+	 * <p>
+	 * Max size, in bytes, of the memory tier.
+	 * </p>
+	 */
+	private int maxMemorySize;
+
+	/**
+	 * <p>
+	 * Max size, in bytes, of an entry's body.
+	 * </p>
+	 */
+	private int maxEntrySize;
+
+	/**
+	 * <p>
+	 * Secondary store.
+	 * </p>
+	 */
+	private CacheStore store;
+
+	/**
+	 * <p>
+	 * Enabled flag.
+	 * </p>
+	 */
+	private boolean enabled;
+
+	/**
+	 * <p>
+	 * Number of responses served from the cache.
+	 * </p>
+	 */
+	private int hitCount;
+
+	/**
+	 * <p>
+	 * Number of responses not served from the cache.
+	 * </p>
+	 */
+	private int missCount;
+
+	/**
+	 * <p>
+	 * Number of entries evicted from the memory tier.
+	 * </p>
+	 */
+	private int evictionCount;
+
+	/**
+	 * <p>
+	 * Get the single instance of HttpResponseCache class.
+	 * </p>
+	 * @return HttpResponseCache instance.
+	 */
+	public synchronized static HttpResponseCache getInstance() {
+		if (singleInstance == null) {
+			singleInstance = new HttpResponseCache();
+		}
+		//
+		return singleInstance;
+	}
+
+	/**
+	 * <p>
+	 * Get the cache key of a given request.
+	 * </p>
+	 * @param url Sanitized URL, i.e., without query string.
+	 * @param queryString Query string.
+	 * @param account Account's access token. Only its digest is in the key.
+	 * @return Key.
+	 */
+	static String getKey(String url, String queryString, String account) {
+		StringBuffer key = new StringBuffer(url);
+		//
+		if (!StringUtil.isEmpty(queryString)) {
+			String[] params = StringUtil.split(queryString, '&');
+			new QSort().quicksort(params, 0, params.length -1);
+			char separator = '?';
+			//
+			for (int i = 0; i < params.length; i++) {
+				if (!params[i].startsWith("oauth_")) {
+					key.append(separator);
+					key.append(params[i]);
+					separator = '&';
+				}
+			}
+		}
+		//
+		if (account != null) {
+			key.append('#');
+			key.append(new SHA1().getDigestOfString(account.getBytes()));
+		}
+		//
+		return key.toString();
+	}
+
+	/**
+	 * <p>
+	 * Create an instance of HttpResponseCache class.
+	 * </p>
+	 * <p>
+	 * Private constructor to avoid object instantiation.
+	 * </p>
+	 */
+	private HttpResponseCache() {
+		entries = new Hashtable(16);
+		enabled = true;
+		setMaxMemorySize(DEFAULT_MAX_MEMORY_SIZE);
+	}
+
+	/**
+	 * <p>
+	 * Enable or disable the cache. Once disabled, requests are no longer
+	 * revalidated, but the entries are kept.
+	 * </p>
+	 * @param enabled Enabled (true).
+	 */
+	public synchronized void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	/**
+	 * <p>
+	 * Return whether the cache is enabled.
+	 * </p>
+	 * @return Enabled (true).
+	 */
+	public synchronized boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * <p>
+	 * Set the max size, in bytes, of the memory tier. The max size of an
+	 * entry's body is set to a quarter of it.
+	 * </p>
+	 * @param size Size.
+	 * @throws IllegalArgumentException If size is negative.
+	 */
+	public synchronized void setMaxMemorySize(int size) {
+		if (size < 0) {
+			throw new IllegalArgumentException("Size must not be negative.");
+		}
+		//
+		maxMemorySize = size;
+		maxEntrySize = size / 4;
+		evict();
+	}
+
+	/**
+	 * <p>
+	 * Get the max size, in bytes, of the memory tier.
+	 * </p>
+	 * @return Size.
+	 */
+	public synchronized int getMaxMemorySize() {
+		return maxMemorySize;
+	}
+
+	/**
+	 * <p>
+	 * Get the current size, in bytes, of the memory tier.
+	 * </p>
+	 * @return Size.
+	 */
+	public synchronized int getMemorySize() {
+		return memorySize;
+	}
+
+	/**
+	 * <p>
+	 * Set the secondary store. Entries are written through to it and loaded
+	 * from it in case they are not in memory.
+	 * </p>
+	 * @param store Store. Null to disable.
+	 */
+	public synchronized void setSecondaryStore(CacheStore store) {
+		this.store = store;
+	}
+
+	/**
+	 * <p>
+	 * Get the number of entries in memory.
+	 * </p>
+	 * @return Number.
+	 */
+	public synchronized int getEntryCount() {
+		return entries.size();
+	}
+
+	/**
+	 * <p>
+	 * Get the number of responses served from the cache.
+	 * </p>
+	 * @return Hits.
+	 */
+	public synchronized int getHitCount() {
+		return hitCount;
+	}
+
+	/**
+	 * <p>
+	 * Get the number of cacheable responses not served from the cache.
+	 * </p>
+	 * @return Misses.
+	 */
+	public synchronized int getMissCount() {
+		return missCount;
+	}
+
+	/**
+	 * <p>
+	 * Get the number of entries evicted from memory.
+	 * </p>
+	 * @return Evictions.
+	 */
+	public synchronized int getEvictionCount() {
+		return evictionCount;
+	}
+
+	/**
+	 * <p>
+	 * Remove all entries from memory. Secondary store is not affected.
+	 * </p>
+	 */
+	public synchronized void clear() {
+		entries.clear();
+		head = null;
+		tail = null;
+		memorySize = 0;
+	}
+
+	/**
+	 * <p>
+	 * Set the validators of the cached response, if any, into the request's
+	 * connection.
+	 * </p>
+	 * @param key Key.
+	 * @param conn Connection.
+	 * @return Cached entry or null.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	Object prepare(String key, HttpConnection conn) throws IOException {
+		Entry entry = get(key);
+		//
+		if (entry != null) {
+			if (entry.etag != null) {
+				conn.setRequestProperty("If-None-Match", entry.etag);
+			}
+			if (entry.lastModified != null) {
+				conn.setRequestProperty("If-Modified-Since", entry.lastModified);
+			}
+		}
+		//
+		return entry;
+	}
+
+	/**
+	 * <p>
+	 * Process the response of a request prepared by
+	 * {@link #prepare(String, HttpConnection)}. A not modified response is
+	 * served from the cache and a new successful one is cached, once its body
+	 * is read to the end.
+	 * </p>
+	 * @param key Key.
+	 * @param cached Cached entry returned by prepare.
+	 * @param conn Connection.
+	 * @param response Response.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	void process(String key, Object cached, HttpConnection conn,
+		HttpResponse response) throws IOException {
+		final int code = response.getCode();
+		//
+		if (code == HttpConnection.HTTP_NOT_MODIFIED && cached != null) {
+			response.serveFromCache(((Entry)cached).body);
+			//
+			synchronized (this) {
+				hitCount++;
+			}
+			//
+			return;
+		}
+		//
+		synchronized (this) {
+			missCount++;
+		}
+		//
+		if (code != HttpConnection.HTTP_OK) {
+			return;
+		}
+		//
+		final String etag = conn.getHeaderField("ETag");
+		final String lastModified = conn.getHeaderField("Last-Modified");
+		//
+		if (etag == null && lastModified == null) {
+			if (cached != null) {
+				remove(key);
+			}
+			//
+			return;
+		}
+		//
+		final int max = getMaxEntrySize();
+		final InputStream stream = response.getStream();
+		//
+		if (stream == null || max == 0 || getContentLength(conn) > max) {
+			if (cached != null) {
+				remove(key); //stale.
+			}
+			//
+			return;
+		}
+		//
+		response.setStream(
+			new CaptureInputStream(stream, key, etag, lastModified, max));
+	}
+
+	/**
+	 * <p>
+	 * Get the Content-Length of a given connection's response.
+	 * </p>
+	 * @param conn Connection.
+	 * @return Length or -1, if unknown.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	private static int getContentLength(HttpConnection conn)
+		throws IOException {
+		final String length = conn.getHeaderField("Content-Length");
+		//
+		if (length != null) {
+			try {
+				return Integer.parseInt(length.trim());
+			} catch (NumberFormatException e) {}
+		}
+		//
+		return -1;
+	}
+
+	/**
+	 * <p>
+	 * Get the max size, in bytes, of an entry's body.
+	 * </p>
+	 * @return Size.
+	 */
+	private synchronized int getMaxEntrySize() {
+		return maxEntrySize;
+	}
+
+	/**
+	 * <p>
+	 * Get the entry of a given key, from memory or secondary store.
+	 * </p>
+	 * @param key Key.
+	 * @return Entry or null.
+	 */
+	private Entry get(String key) {
+		CacheStore store;
+		//
+		synchronized (this) {
+			Entry entry = (Entry)entries.get(key);
+			//
+			if (entry != null) {
+				unlink(entry);
+				link(entry);
+				//
+				return entry;
+			}
+			//
+			store = this.store;
+		}
+		//
+		if (store != null) {
+			try {
+				byte[] data = store.get(key);
+				//
+				if (data != null) {
+					Entry entry = Entry.deserialize(data);
+					//
+					if (key.equals(entry.key)) {
+						putInMemory(entry);
+						//
+						return entry;
+					}
+				}
+			} catch (IOException e) {}
+		}
+		//
+		return null;
+	}
+
+	/**
+	 * <p>
+	 * Put an entry in memory and secondary store.
+	 * </p>
+	 * @param entry Entry.
+	 */
+	private void put(Entry entry) {
+		putInMemory(entry);
+		//
+		CacheStore store;
+		//
+		synchronized (this) {
+			store = this.store;
+		}
+		//
+		if (store != null) {
+			try {
+				store.put(entry.key, entry.serialize());
+			} catch (IOException e) {}
+		}
+	}
+
+	/**
+	 * <p>
+	 * Remove the entry of a given key from memory and secondary store.
+	 * </p>
+	 * @param key Key.
+	 */
+	private void remove(String key) {
+		CacheStore store;
+		//
+		synchronized (this) {
+			Entry entry = (Entry)entries.remove(key);
+			//
+			if (entry != null) {
+				unlink(entry);
+				memorySize -= entry.size;
+			}
+			//
+			store = this.store;
+		}
+		//
+		if (store != null) {
+			try {
+				store.remove(key);
+			} catch (IOException e) {}
+		}
+	}
+
+	/**
+	 * <p>
+	 * Put an entry in memory, evicting the least recently used ones while
+	 * the max size is exceeded.
+	 * </p>
+	 * @param entry Entry.
+	 */
+	private synchronized void putInMemory(Entry entry) {
+		Entry old = (Entry)entries.put(entry.key, entry);
+		//
+		if (old != null) {
+			unlink(old);
+			memorySize -= old.size;
+		}
+		//
+		link(entry);
+		memorySize += entry.size;
+		evict();
+	}
+
+	/**
+	 * <p>
+	 * Evict the least recently used entries while the max size is exceeded.
+	 * </p>
+	 */
+	private void evict() {
+		while (memorySize > maxMemorySize && tail != null) {
+			Entry entry = tail;
+			//
+			unlink(entry);
+			entries.remove(entry.key);
+			memorySize -= entry.size;
+			evictionCount++;
+		}
+	}
+
+	/**
+	 * <p>
+	 * Link an entry as the most recently used one.
+	 * </p>
+	 * @param entry Entry.
+	 */
+	private void link(Entry entry) {
+		entry.prev = null;
+		entry.next = head;
+		//
+		if (head != null) {
+			head.prev = entry;
+		}
+		//
+		head = entry;
+		//
+		if (tail == null) {
+			tail = entry;
+		}
+	}
+
+	/**
+	 * <p>
+	 * Unlink an entry from the recently used list.
+	 * </p>
+	 * @param entry Entry.
+	 */
+	private void unlink(Entry entry) {
+		if (entry.prev != null) {
+			entry.prev.next = entry.next;
+		} else if (head == entry) {
+			head = entry.next;
+		}
+		//
+		if (entry.next != null) {
+			entry.next.prev = entry.prev;
+		} else if (tail == entry) {
+			tail = entry.prev;
+		}
+		//
+		entry.prev = null;
+		entry.next = null;
+	}
+
+	/**
+	 * <p>
+	 * This class defines a cache entry.
+	 * </p>
+	 *
+	 * @author Ernandes Mourao Junior (ernandes@gmail.com)
+	 * @version 1.0
+	 * @since 2.0
+	 */
+	private static final class Entry {
+		/**
+		 * <p>
+		 * Key.
+		 * </p>
+		 */
+		public String key;
+
+		/**
+		 * <p>
+		 * ETag validator.
+		 * </p>
+		 */
+		public String etag;
+
+		/**
+		 * <p>
+		 * Last-Modified validator.
+		 * </p>
+		 */
+		public String lastModified;
+
+		/**
+		 * <p>
+		 * Body.
+		 * </p>
+		 */
+		public byte[] body;
+
+		/**
+		 * <p>
+		 * Approximate size in memory.
+		 * </p>
+		 */
+		public int size;
+
+		/**
+		 * <p>
+		 * Previous (more recently used) entry.
+		 * </p>
+		 */
+		public Entry prev;
+
+		/**
+		 * <p>
+		 * Next (less recently used) entry.
+		 * </p>
+		 */
+		public Entry next;
+
+		/**
+		 * <p>
+		 * Create an entry from its serialized form.
+		 * </p>
+		 * @param data Serialized form.
+		 * @return Entry.
+		 * @throws IOException If data is corrupted.
+		 */
+		public static Entry deserialize(byte[] data) throws IOException {
+			DataInputStream in =
+				new DataInputStream(new ByteArrayInputStream(data));
+			//
+			String key = in.readUTF();
+			String etag = in.readUTF();
+			String lastModified = in.readUTF();
+			final int length = in.readInt();
+			//
+			if (length < 0 || length != in.available()) {
+				throw new IOException("Corrupted data.");
+			}
+			//
+			byte[] body = new byte[length];
+			in.readFully(body);
+			//
+			return new Entry(
+				key,
+				etag.length() > 0 ? etag : null,
+				lastModified.length() > 0 ? lastModified : null,
+				body);
+		}
+
+		/**
+		 * <p>
+		 * Create an instance of Entry class.
+		 * </p>
+		 * @param key Key.
+		 * @param etag ETag validator.
+		 * @param lastModified Last-Modified validator.
+		 * @param body Body.
+		 */
+		public Entry(String key, String etag, String lastModified,
+			byte[] body) {
+			this.key = key;
+			this.etag = etag;
+			this.lastModified = lastModified;
+			this.body = body;
+			size = body.length + key.length() * 2 + ENTRY_OVERHEAD;
+		}
+
+		/**
+		 * <p>
+		 * Get the serialized form of the entry.
+		 * </p>
+		 * @return Serialized form.
+		 * @throws IOException If an I/O error occurs.
+		 */
+		public byte[] serialize() throws IOException {
+			ByteArrayOutputStream data =
+				new ByteArrayOutputStream(body.length + key.length() + 64);
+			DataOutputStream out = new DataOutputStream(data);
+			//
+			out.writeUTF(key);
+			out.writeUTF(etag != null ? etag : "");
+			out.writeUTF(lastModified != null ? lastModified : "");
+			out.writeInt(body.length);
+			out.write(body);
+			out.flush();
+			//
+			return data.toByteArray();
+		}
+	}
+
+	/**
+	 * <p>
+	 * This class implements a stream that copies the body of a response
+	 * while it is read, and caches it once it is read to the end.
+	 * </p>
+	 *
+	 * @author Ernandes Mourao Junior (ernandes@gmail.com)
+	 * @version 1.0
+	 * @since 2.0
+	 */
+	private final class CaptureInputStream extends InputStream {
+		/**
+		 * <p>
+		 * Wrapped stream.
+		 * </p>
+		 */
+		private InputStream in;
+
+		/**
+		 * <p>
+		 * Key.
+		 * </p>
+		 */
+		private String key;
+
+		/**
+		 * <p>
+		 * ETag validator.
+		 * </p>
+		 */
+		private String etag;
+
+		/**
+		 * <p>
+		 * Last-Modified validator.
+		 * </p>
+		 */
+		private String lastModified;
+
+		/**
+		 * <p>
+		 * Max number of bytes to copy.
+		 * </p>
+		 */
+		private int max;
+
+		/**
+		 * <p>
+		 * Copy of the body or null, if given up.
+		 * </p>
+		 */
+		private ByteArrayOutputStream copy;
+
+		/**
+		 * <p>
+		 * Create an instance of CaptureInputStream class.
+		 * </p>
+		 * @param in Wrapped stream.
+		 * @param key Key.
+		 * @param etag ETag validator.
+		 * @param lastModified Last-Modified validator.
+		 * @param max Max number of bytes to copy.
+		 */
+		public CaptureInputStream(InputStream in, String key, String etag,
+			String lastModified, int max) {
+			this.in = in;
+			this.key = key;
+			this.etag = etag;
+			this.lastModified = lastModified;
+			this.max = max;
+			copy = new ByteArrayOutputStream(Math.min(max, 1024));
+		}
+
+		/**
+		 * @see java.io.InputStream#read()
+		 */
+		public int read() throws IOException {
+			final int b = in.read();
+			//
+			if (b == -1) {
+				finish();
+			} else if (copy != null) {
+				if (copy.size() == max) {
+					giveUp();
+				} else {
+					copy.write(b);
+				}
+			}
+			//
+			return b;
+		}
+
+		/**
+		 * @see java.io.InputStream#read(byte[], int, int)
+		 */
+		public int read(byte[] b, int off, int len) throws IOException {
+			final int n = in.read(b, off, len);
+			//
+			if (n == -1) {
+				finish();
+			} else if (copy != null && n > 0) {
+				if (copy.size() + n > max) {
+					giveUp();
+				} else {
+					copy.write(b, off, n);
+				}
+			}
+			//
+			return n;
+		}
+
+		/**
+		 * @see java.io.InputStream#available()
+		 */
+		public int available() throws IOException {
+			return in.available();
+		}
+
+		/**
+		 * @see java.io.InputStream#close()
+		 */
+		public void close() throws IOException {
+			copy = null; //not read to the end.
+			in.close();
+		}
+
+		/**
+		 * <p>
+		 * Cache the copied body, once it is read to the end.
+		 * </p>
+		 */
+		private void finish() {
+			if (copy != null) {
+				put(new Entry(key, etag, lastModified, copy.toByteArray()));
+				copy = null;
+			}
+		}
+
+		/**
+		 * <p>
+		 * Give up copying the body, which exceeds the max size of an entry.
+		 * </p>
+		 */
+		private void giveUp() {
+			copy = null;
+			remove(key); //stale.
+		}
+	}
+}
@@ -10,7 +10,6 @@ package com.twitterapime.io;
 import java.io.IOException;
 
 import com.twitterapime.io.handler.json.HttpResponseCodeErrorJSONHandler;
-import com.twitterapime.parser.Parser;
 import com.twitterapime.parser.ParserFactory;
 import com.twitterapime.search.InvalidQueryException;
 import com.twitterapime.search.LimitExceededException;
@@ -91,12 +90,12 @@ public final class HttpResponseCodeInterpreter {
 		throws IOException {
 		String errorMsg = null;
 		//
-		Parser parser = ParserFactory.getParser(ParserFactory.JSON);
 		HttpResponseCodeErrorJSONHandler handler =
 			new HttpResponseCodeErrorJSONHandler();
 		//
 		try {
-			parser.parse(response.getStream(), handler);
+			ParserFactory.parse(
+				ParserFactory.JSON, response.getStream(), handler);
 			//
 			errorMsg = handler.getMessage();
 		} catch (Exception e) {
@@ -0,0 +1,46 @@
+/*
+ * HttpResponseListener.java
+ * 18/10/2026
+ * Twitter API Micro Edition
+ * Copyright(c) Ernandes Mourao Junior (ernandes@gmail.com)
+ * All rights reserved
+ */
+package com.twitterapime.io;
+
+/**
+ * <p>
+ * This interface defines the methods of a listener interested on the result of
+ * a request sent asynchronously by {@link HttpRequest#sendAsync(HttpResponseListener)}.
+ * </p>
+ * <p>
+ * The methods are called by one of the worker threads of the executor the
+ * request is sent on. Once the method returns, the request is closed, so the
+ * response must be fully consumed within the method.
+ * </p>
+ * 
+ * @author Ernandes Mourao Junior (ernandes@gmail.com)
+ * @version 1.0
+ * @since 2.0
+ * @see HttpRequest
+ * @see com.twitterapime.util.TaskExecutor
+ */
+public interface HttpResponseListener {
+	/**
+	 * <p>
+	 * This method is called when the response of the request is received.
+	 * </p>
+	 * @param request Request.
+	 * @param response Response.
+	 */
+	public void responseReceived(HttpRequest request, HttpResponse response);
+	
+	/**
+	 * <p>
+	 * This method is called when an exception is thrown while sending the
+	 * request, or the request is cancelled.
+	 * </p>
+	 * @param request Request.
+	 * @param cause The thrown exception.
+	 */
+	public void requestFailed(HttpRequest request, Throwable cause);
+}
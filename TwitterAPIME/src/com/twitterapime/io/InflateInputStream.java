@@ -0,0 +1,875 @@
+/*
+ * InflateInputStream.java
+ * 18/10/2026
+ * Twitter API Micro Edition
+ * Copyright(c) Ernandes Mourao Junior (ernandes@gmail.com)
+ * All rights reserved
+ */
+package com.twitterapime.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * <p>
+ * This class implements a stream that decompresses data in the DEFLATE format
+ * (RFC 1951), optionally wrapped by the ZLIB (RFC 1950) or GZIP (RFC 1952)
+ * format.
+ * </p>
+ * <p>
+ * The data is decompressed on demand, as it is read, through a 32 KB sliding
+ * window, so the compressed content is never fully held in memory. This class
+ * is a self-contained implementation, since java.util.zip package is not
+ * available in every supported platform.
+ * </p>
+ * <p>
+ * <pre>
+ * InputStream in = new InflateInputStream(
+ *     conn.openInputStream(), InflateInputStream.FORMAT_GZIP);
+ * </pre>
+ * </p>
+ *
+ * @author Ernandes Mourao Junior (ernandes@gmail.com)
+ * @version 1.0
+ * @since 2.0
+ * @see HttpResponse
+ */
+public final class InflateInputStream extends InputStream {
+	/**
+	 * <p>
+	 * Raw DEFLATE format.
+	 * </p>
+	 */
+	public static final int FORMAT_RAW = 1;
+
+	/**
+	 * <p>
+	 * ZLIB format.
+	 * </p>
+	 */
+	public static final int FORMAT_ZLIB = 2;
+
+	/**
+	 * <p>
+	 * GZIP format.
+	 * </p>
+	 */
+	public static final int FORMAT_GZIP = 3;
+
+	/**
+	 * <p>
+	 * Sliding window size.
+	 * </p>
+	 */
+	private static final int WINDOW_SIZE = 32768;
+
+	/**
+	 * <p>
+	 * Max length of a match.
+	 * </p>
+	 */
+	private static final int MAX_MATCH = 258;
+
+	/**
+	 * <p>
+	 * Max number of bits of a code.
+	 * </p>
+	 */
+	private static final int MAX_BITS = 15;
+
+	/**
+	 * <p>
+	 * State: reading the format header.
+	 * </p>
+	 */
+	private static final int STATE_FORMAT_HEADER = 0;
+
+	/**
+	 * <p>
+	 * State: reading a block header.
+	 * </p>
+	 */
+	private static final int STATE_BLOCK_HEADER = 1;
+
+	/**
+	 * <p>
+	 * State: copying a stored block.
+	 * </p>
+	 */
+	private static final int STATE_STORED = 2;
+
+	/**
+	 * <p>
+	 * State: decoding a Huffman block.
+	 * </p>
+	 */
+	private static final int STATE_CODES = 3;
+
+	/**
+	 * <p>
+	 * State: end of stream.
+	 * </p>
+	 */
+	private static final int STATE_DONE = 4;
+
+	/**
+	 * <p>
+	 * Base lengths of length codes 257..285.
+	 * </p>
+	 */
+	private static final short[] LENGTH_BASE = {
+		3, 4, 5, 6, 7, 8, 9, 10, 11, 13, 15, 17, 19, 23, 27, 31, 35, 43, 51,
+		59, 67, 83, 99, 115, 131, 163, 195, 227, 258};
+
+	/**
+	 * <p>
+	 * Extra bits of length codes 257..285.
+	 * </p>
+	 */
+	private static final short[] LENGTH_EXTRA = {
+		0, 0, 0, 0, 0, 0, 0, 0, 1, 1, 1, 1, 2, 2, 2, 2, 3, 3, 3, 3, 4, 4, 4,
+		4, 5, 5, 5, 5, 0};
+
+	/**
+	 * <p>
+	 * Base distances of distance codes 0..29.
+	 * </p>
+	 */
+	private static final short[] DIST_BASE = {
+		1, 2, 3, 4, 5, 7, 9, 13, 17, 25, 33, 49, 65, 97, 129, 193, 257, 385,
+		513, 769, 1025, 1537, 2049, 3073, 4097, 6145, 8193, 12289, 16385,
+		24577};
+
+	/**
+	 * <p>
+	 * Extra bits of distance codes 0..29.
+	 * </p>
+	 */
+	private static final short[] DIST_EXTRA = {
+		0, 0, 0, 0, 1, 1, 2, 2, 3, 3, 4, 4, 5, 5, 6, 6, 7, 7, 8, 8, 9, 9, 10,
+		10, 11, 11, 12, 12, 13, 13};
+
+	/**
+	 * <p>
+	 * Order of code length codes.
+	 * </p>
+	 */
+	private static final short[] CODE_LENGTH_ORDER = {
+		16, 17, 18, 0, 8, 7, 9, 6, 10, 5, 11, 4, 12, 3, 13, 2, 14, 1, 15};
+
+	/**
+	 * <p>
+	 * Fixed literal/length code.
+	 * </p>
+	 */
+	private static Huffman fixedLengthCode;
+
+	/**
+	 * <p>
+	 * Fixed distance code.
+	 * </p>
+	 */
+	private static Huffman fixedDistCode;
+
+	/**
+	 * <p>
+	 * Compressed stream.
+	 * </p>
+	 */
+	private InputStream in;
+
+	/**
+	 * <p>
+	 * Format.
+	 * </p>
+	 */
+	private int format;
+
+	/**
+	 * <p>
+	 * Input buffer.
+	 * </p>
+	 */
+	private byte[] inBuffer;
+
+	/**
+	 * <p>
+	 * Input buffer position.
+	 * </p>
+	 */
+	private int inPos;
+
+	/**
+	 * <p>
+	 * Input buffer limit.
+	 * </p>
+	 */
+	private int inLimit;
+
+	/**
+	 * <p>
+	 * Bit buffer.
+	 * </p>
+	 */
+	private int bitBuffer;
+
+	/**
+	 * <p>
+	 * Number of bits in bit buffer.
+	 * </p>
+	 */
+	private int bitCount;
+
+	/**
+	 * <p>
+	 * Sliding window.
+	 * </p>
+	 */
+	private byte[] window;
+
+	/**
+	 * <p>
+	 * Window write position.
+	 * </p>
+	 */
+	private int windowPos;
+
+	/**
+	 * <p>
+	 * Number of decompressed bytes not read yet.
+	 * </p>
+	 */
+	private int pending;
+
+	/**
+	 * <p>
+	 * Total number of decompressed bytes.
+	 * </p>
+	 */
+	private long total;
+
+	/**
+	 * <p>
+	 * Current state.
+	 * </p>
+	 */
+	private int state;
+
+	/**
+	 * <p>
+	 * Last block flag.
+	 * </p>
+	 */
+	private boolean lastBlock;
+
+	/**
+	 * <p>
+	 * Bytes left in current stored block.
+	 * </p>
+	 */
+	private int storedLeft;
+
+	/**
+	 * <p>
+	 * Current literal/length code.
+	 * </p>
+	 */
+	private Huffman lengthCode;
+
+	/**
+	 * <p>
+	 * Current distance code.
+	 * </p>
+	 */
+	private Huffman distCode;
+
+	/**
+	 * <p>
+	 * Create an instance of InflateInputStream class.
+	 * </p>
+	 * @param in Compressed stream.
+	 * @param format Format.
+	 * @throws IllegalArgumentException If stream is null or format invalid.
+	 * @see InflateInputStream#FORMAT_RAW
+	 * @see InflateInputStream#FORMAT_ZLIB
+	 * @see InflateInputStream#FORMAT_GZIP
+	 */
+	public InflateInputStream(InputStream in, int format) {
+		if (in == null) {
+			throw new IllegalArgumentException("Stream must not be null.");
+		}
+		if (format < FORMAT_RAW || format > FORMAT_GZIP) {
+			throw new IllegalArgumentException("Invalid format: " + format);
+		}
+		//
+		this.in = in;
+		this.format = format;
+		inBuffer = BufferPool.getInstance().acquire();
+		window = new byte[WINDOW_SIZE];
+		state = format == FORMAT_RAW ? STATE_BLOCK_HEADER : STATE_FORMAT_HEADER;
+	}
+
+	/**
+	 * @see java.io.InputStream#read()
+	 */
+	public int read() throws IOException {
+		if (pending == 0 && !fill()) {
+			return -1;
+		}
+		//
+		return window[(windowPos - pending--) & (WINDOW_SIZE -1)] & 0xff;
+	}
+
+	/**
+	 * @see java.io.InputStream#read(byte[], int, int)
+	 */
+	public int read(byte[] b, int off, int len) throws IOException {
+		if (len == 0) {
+			return 0;
+		}
+		if (pending == 0 && !fill()) {
+			return -1;
+		}
+		//
+		int n = Math.min(len, pending);
+		int start = (windowPos - pending) & (WINDOW_SIZE -1);
+		int first = Math.min(n, WINDOW_SIZE - start);
+		//
+		System.arraycopy(window, start, b, off, first);
+		if (first < n) {
+			System.arraycopy(window, 0, b, off + first, n - first);
+		}
+		//
+		pending -= n;
+		//
+		return n;
+	}
+
+	/**
+	 * @see java.io.InputStream#available()
+	 */
+	public int available() throws IOException {
+		return pending;
+	}
+
+	/**
+	 * @see java.io.InputStream#close()
+	 */
+	public void close() throws IOException {
+		if (inBuffer != null) {
+			BufferPool.getInstance().release(inBuffer);
+			inBuffer = null;
+			window = null;
+			state = STATE_DONE;
+			pending = 0;
+		}
+		//
+		in.close();
+	}
+
+	/**
+	 * <p>
+	 * Decompress more data into the window.
+	 * </p>
+	 * @return Whether there is data to read (true).
+	 * @throws IOException If an I/O error occurs or data is corrupted.
+	 */
+	private boolean fill() throws IOException {
+		while (pending == 0 && state != STATE_DONE) {
+			switch (state) {
+			case STATE_FORMAT_HEADER:
+				readFormatHeader();
+				state = STATE_BLOCK_HEADER;
+				break;
+			case STATE_BLOCK_HEADER:
+				readBlockHeader();
+				break;
+			case STATE_STORED:
+				copyStored();
+				break;
+			case STATE_CODES:
+				decodeCodes();
+				break;
+			}
+		}
+		//
+		return pending > 0;
+	}
+
+	/**
+	 * <p>
+	 * Read the ZLIB or GZIP header.
+	 * </p>
+	 * @throws IOException If an I/O error occurs or header is invalid.
+	 */
+	private void readFormatHeader() throws IOException {
+		if (format == FORMAT_ZLIB) {
+			final int cmf = nextByte();
+			final int flg = nextByte();
+			//
+			if ((cmf & 0x0f) != 8 || ((cmf << 8) + flg) % 31 != 0) {
+				throw new IOException("Invalid zlib header.");
+			}
+			if ((flg & 0x20) != 0) {
+				throw new IOException("Preset dictionary not supported.");
+			}
+		} else {
+			if (nextByte() != 0x1f || nextByte() != 0x8b || nextByte() != 8) {
+				throw new IOException("Invalid gzip header.");
+			}
+			//
+			final int flg = nextByte();
+			//
+			skipBytes(6); //mtime, xfl and os.
+			//
+			if ((flg & 0x04) != 0) { //extra field.
+				skipBytes(nextByte() | (nextByte() << 8));
+			}
+			if ((flg & 0x08) != 0) { //file name.
+				while (nextByte() != 0);
+			}
+			if ((flg & 0x10) != 0) { //comment.
+				while (nextByte() != 0);
+			}
+			if ((flg & 0x02) != 0) { //header crc.
+				skipBytes(2);
+			}
+		}
+	}
+
+	/**
+	 * <p>
+	 * Read a block header, or the format trailer after the last block.
+	 * </p>
+	 * @throws IOException If an I/O error occurs or data is corrupted.
+	 */
+	private void readBlockHeader() throws IOException {
+		if (lastBlock) {
+			bitBuffer = 0;
+			bitCount = 0;
+			//
+			if (format == FORMAT_ZLIB) {
+				skipBytes(4); //adler32.
+			} else if (format == FORMAT_GZIP) {
+				skipBytes(8); //crc32 and size.
+			}
+			//
+			state = STATE_DONE;
+			//
+			return;
+		}
+		//
+		lastBlock = bits(1) == 1;
+		//
+		switch (bits(2)) {
+		case 0:
+			bitBuffer = 0;
+			bitCount = 0;
+			//
+			storedLeft = nextByte() | (nextByte() << 8);
+			final int nlen = nextByte() | (nextByte() << 8);
+			//
+			if (storedLeft != (~nlen & 0xffff)) {
+				throw new IOException("Invalid stored block length.");
+			}
+			//
+			state = STATE_STORED;
+			break;
+		case 1:
+			buildFixedCodes();
+			lengthCode = fixedLengthCode;
+			distCode = fixedDistCode;
+			state = STATE_CODES;
+			break;
+		case 2:
+			readDynamicCodes();
+			state = STATE_CODES;
+			break;
+		default:
+			throw new IOException("Invalid block type.");
+		}
+	}
+
+	/**
+	 * <p>
+	 * Copy the bytes of a stored block into the window.
+	 * </p>
+	 * @throws IOException If an I/O error occurs.
+	 */
+	private void copyStored() throws IOException {
+		while (storedLeft > 0 && pending < WINDOW_SIZE) {
+			put(nextByte());
+			storedLeft--;
+		}
+		//
+		if (storedLeft == 0) {
+			state = STATE_BLOCK_HEADER;
+		}
+	}
+
+	/**
+	 * <p>
+	 * Decode the symbols of a Huffman block into the window, until the block
+	 * ends or the window is nearly full.
+	 * </p>
+	 * @throws IOException If an I/O error occurs or data is corrupted.
+	 */
+	private void decodeCodes() throws IOException {
+		final byte[] window = this.window;
+		final int mask = WINDOW_SIZE -1;
+		//
+		while (pending <= WINDOW_SIZE - MAX_MATCH) {
+			int symbol = decode(lengthCode);
+			//
+			if (symbol < 256) {
+				window[windowPos] = (byte)symbol;
+				windowPos = (windowPos +1) & mask;
+				pending++;
+				total++;
+			} else if (symbol == 256) {
+				state = STATE_BLOCK_HEADER;
+				//
+				return;
+			} else {
+				symbol -= 257;
+				//
+				if (symbol >= 29) {
+					throw new IOException("Invalid length code.");
+				}
+				//
+				int len = LENGTH_BASE[symbol] + bits(LENGTH_EXTRA[symbol]);
+				//
+				symbol = decode(distCode);
+				//
+				if (symbol >= 30) {
+					throw new IOException("Invalid distance code.");
+				}
+				//
+				final int dist = DIST_BASE[symbol] + bits(DIST_EXTRA[symbol]);
+				//
+				if (dist > total) {
+					throw new IOException("Distance too far back.");
+				}
+				//
+				int from = (windowPos - dist) & mask;
+				//
+				pending += len;
+				total += len;
+				//
+				while (len-- > 0) {
+					window[windowPos] = window[from];
+					windowPos = (windowPos +1) & mask;
+					from = (from +1) & mask;
+				}
+			}
+		}
+	}
+
+	/**
+	 * <p>
+	 * Read the code lengths of a dynamic block and build its codes.
+	 * </p>
+	 * @throws IOException If an I/O error occurs or data is corrupted.
+	 */
+	private void readDynamicCodes() throws IOException {
+		final int nlen = bits(5) + 257;
+		final int ndist = bits(5) + 1;
+		final int ncode = bits(4) + 4;
+		//
+		if (nlen > 286 || ndist > 30) {
+			throw new IOException("Invalid code counts.");
+		}
+		//
+		short[] lengths = new short[nlen + ndist];
+		//
+		for (int i = 0; i < ncode; i++) {
+			lengths[CODE_LENGTH_ORDER[i]] = (short)bits(3);
+		}
+		//
+		Huffman code = new Huffman(19);
+		//
+		if (code.build(lengths, 0, 19) != 0) {
+			throw new IOException("Incomplete code length code.");
+		}
+		//
+		for (int i = 0; i < 19; i++) {
+			lengths[i] = 0;
+		}
+		//
+		for (int i = 0; i < nlen + ndist;) {
+			int symbol = decode(code);
+			//
+			if (symbol < 16) {
+				lengths[i++] = (short)symbol;
+			} else {
+				short len = 0;
+				//
+				if (symbol == 16) {
+					if (i == 0) {
+						throw new IOException("Repeat with no first length.");
+					}
+					//
+					len = lengths[i -1];
+					symbol = 3 + bits(2);
+				} else if (symbol == 17) {
+					symbol = 3 + bits(3);
+				} else {
+					symbol = 11 + bits(7);
+				}
+				//
+				if (i + symbol > nlen + ndist) {
+					throw new IOException("Too many code lengths.");
+				}
+				//
+				while (symbol-- > 0) {
+					lengths[i++] = len;
+				}
+			}
+		}
+		//
+		if (lengths[256] == 0) {
+			throw new IOException("Missing end-of-block code.");
+		}
+		//
+		lengthCode = new Huffman(nlen);
+		//
+		if (lengthCode.build(lengths, 0, nlen) < 0) {
+			throw new IOException("Invalid literal/length code.");
+		}
+		//
+		distCode = new Huffman(ndist);
+		//
+		if (distCode.build(lengths, nlen, ndist) < 0) {
+			throw new IOException("Invalid distance code.");
+		}
+	}
+
+	/**
+	 * <p>
+	 * Build the fixed codes, once.
+	 * </p>
+	 */
+	private synchronized static void buildFixedCodes() {
+		if (fixedLengthCode == null) {
+			short[] lengths = new short[288];
+			int i = 0;
+			//
+			for (; i < 144; i++) {
+				lengths[i] = 8;
+			}
+			for (; i < 256; i++) {
+				lengths[i] = 9;
+			}
+			for (; i < 280; i++) {
+				lengths[i] = 7;
+			}
+			for (; i < 288; i++) {
+				lengths[i] = 8;
+			}
+			//
+			Huffman code = new Huffman(288);
+			code.build(lengths, 0, 288);
+			//
+			for (i = 0; i < 30; i++) {
+				lengths[i] = 5;
+			}
+			//
+			fixedDistCode = new Huffman(30);
+			fixedDistCode.build(lengths, 0, 30);
+			fixedLengthCode = code;
+		}
+	}
+
+	/**
+	 * <p>
+	 * Decode a symbol with a given code.
+	 * </p>
+	 * @param h Code.
+	 * @return Symbol.
+	 * @throws IOException If an I/O error occurs or code is invalid.
+	 */
+	private int decode(Huffman h) throws IOException {
+		final short[] count = h.count;
+		int code = 0;
+		int first = 0;
+		int index = 0;
+		//
+		for (int len = 1; len <= MAX_BITS; len++) {
+			if (bitCount == 0) {
+				bitBuffer = nextByte();
+				bitCount = 8;
+			}
+			//
+			code |= bitBuffer & 1;
+			bitBuffer >>= 1;
+			bitCount--;
+			//
+			final int n = count[len];
+			//
+			if (code - n < first) {
+				return h.symbol[index + (code - first)];
+			}
+			//
+			index += n;
+			first = (first + n) << 1;
+			code <<= 1;
+		}
+		//
+		throw new IOException("Invalid Huffman code.");
+	}
+
+	/**
+	 * <p>
+	 * Read a given number of bits, least significant first.
+	 * </p>
+	 * @param need Number of bits.
+	 * @return Bits.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	private int bits(int need) throws IOException {
+		int value = bitBuffer;
+		//
+		while (bitCount < need) {
+			value |= nextByte() << bitCount;
+			bitCount += 8;
+		}
+		//
+		bitBuffer = value >> need;
+		bitCount -= need;
+		//
+		return value & ((1 << need) -1);
+	}
+
+	/**
+	 * <p>
+	 * Put a byte into the window.
+	 * </p>
+	 * @param b Byte.
+	 */
+	private void put(int b) {
+		window[windowPos] = (byte)b;
+		windowPos = (windowPos +1) & (WINDOW_SIZE -1);
+		pending++;
+		total++;
+	}
+
+	/**
+	 * <p>
+	 * Skip a given number of compressed bytes.
+	 * </p>
+	 * @param n Number of bytes.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	private void skipBytes(int n) throws IOException {
+		while (n-- > 0) {
+			nextByte();
+		}
+	}
+
+	/**
+	 * <p>
+	 * Read the next compressed byte.
+	 * </p>
+	 * @return Byte.
+	 * @throws IOException If an I/O error occurs or stream ends unexpectedly.
+	 */
+	private int nextByte() throws IOException {
+		if (inPos == inLimit) {
+			if (inBuffer == null) {
+				throw new IOException("Stream closed.");
+			}
+			//
+			inLimit = in.read(inBuffer, 0, inBuffer.length);
+			inPos = 0;
+			//
+			if (inLimit <= 0) {
+				inLimit = 0;
+				//
+				throw new IOException("Unexpected end of compressed stream.");
+			}
+		}
+		//
+		return inBuffer[inPos++] & 0xff;
+	}
+
+	/**
+	 * <p>
+	 * This class implements a canonical Huffman code.
+	 * </p>
+	 *
+	 * @author Ernandes Mourao Junior (ernandes@gmail.com)
+	 * @version 1.0
+	 * @since 2.0
+	 */
+	private static final class Huffman {
+		/**
+		 * <p>
+		 * Number of symbols of each length.
+		 * </p>
+		 */
+		public short[] count;
+
+		/**
+		 * <p>
+		 * Symbols ordered by length.
+		 * </p>
+		 */
+		public short[] symbol;
+
+		/**
+		 * <p>
+		 * Create an instance of Huffman class.
+		 * </p>
+		 * @param n Number of symbols.
+		 */
+		public Huffman(int n) {
+			count = new short[MAX_BITS +1];
+			symbol = new short[n];
+		}
+
+		/**
+		 * <p>
+		 * Build the code from the given code lengths.
+		 * </p>
+		 * @param lengths Code lengths.
+		 * @param off Offset of first length.
+		 * @param n Number of symbols.
+		 * @return Zero for a complete code, negative for an over-subscribed
+		 *         code and positive for an incomplete code.
+		 */
+		public int build(short[] lengths, int off, int n) {
+			for (int i = 0; i < n; i++) {
+				count[lengths[off + i]]++;
+			}
+			//
+			if (count[0] == n) {
+				return 0;
+			}
+			//
+			int left = 1;
+			//
+			for (int len = 1; len <= MAX_BITS; len++) {
+				left <<= 1;
+				left -= count[len];
+				//
+				if (left < 0) {
+					return left;
+				}
+			}
+			//
+			short[] offs = new short[MAX_BITS +1];
+			//
+			for (int len = 1; len < MAX_BITS; len++) {
+				offs[len +1] = (short)(offs[len] + count[len]);
+			}
+			//
+			for (int i = 0; i < n; i++) {
+				if (lengths[off + i] != 0) {
+					symbol[offs[lengths[off + i]]++] = (short)i;
+				}
+			}
+			//
+			return left;
+		}
+	}
+}
@@ -0,0 +1,170 @@
+/*
+ * LeasedHttpConnection.java
+ * 18/10/2026
+ * Twitter API Micro Edition
+ * Copyright(c) Ernandes Mourao Junior (ernandes@gmail.com)
+ * All rights reserved
+ */
+package com.twitterapime.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * <p>
+ * This class wraps a HttpConnection returned by {@link HttpConnector}, which
+ * holds a slot of its host in {@link HttpConnectionLimiter}.
+ * </p>
+ * <p>
+ * The slot is released once the connection is closed, no matter who opened
+ * it, so the next request to the same host can be opened. Reopening the
+ * connection to another URL moves the slot to the new host.
+ * </p>
+ *
+ * @author Ernandes Mourao Junior (ernandes@gmail.com)
+ * @version 1.0
+ * @since 2.0
+ * @see HttpConnector
+ * @see HttpConnectionLimiter
+ */
+final class LeasedHttpConnection implements HttpConnection {
+	/**
+	 * <p>
+	 * Platform's connection.
+	 * </p>
+	 */
+	private HttpConnection conn;
+
+	/**
+	 * <p>
+	 * URL whose host's slot is held or null, if released.
+	 * </p>
+	 */
+	private String url;
+
+	/**
+	 * <p>
+	 * Create an instance of LeasedHttpConnection class.
+	 * </p>
+	 * @param conn Platform's connection.
+	 * @param url URL whose host's slot is already acquired.
+	 */
+	LeasedHttpConnection(HttpConnection conn, String url) {
+		this.conn = conn;
+		this.url = url;
+	}
+
+	/**
+	 * <p>
+	 * Get the platform's connection.
+	 * </p>
+	 * @return Connection.
+	 */
+	HttpConnection getConnection() {
+		return conn;
+	}
+
+	/**
+	 * @see com.twitterapime.io.HttpConnection#open(java.lang.String)
+	 */
+	public void open(String url) throws IOException {
+		release();
+		//
+		final HttpConnectionLimiter limiter = HttpConnectionLimiter.getInstance();
+		limiter.acquire(url);
+		//
+		try {
+			conn.open(url);
+		} catch (IOException e) {
+			limiter.release(url);
+			throw e;
+		} catch (RuntimeException e) {
+			limiter.release(url);
+			throw e;
+		}
+		//
+		synchronized (this) {
+			this.url = url;
+		}
+	}
+
+	/**
+	 * @see com.twitterapime.io.HttpConnection#close()
+	 */
+	public void close() throws IOException {
+		try {
+			conn.close();
+		} finally {
+			release();
+		}
+	}
+
+	/**
+	 * @see com.twitterapime.io.HttpConnection#getHeaderField(java.lang.String)
+	 */
+	public String getHeaderField(String name) throws IOException {
+		return conn.getHeaderField(name);
+	}
+
+	/**
+	 * @see com.twitterapime.io.HttpConnection#getResponseCode()
+	 */
+	public int getResponseCode() throws IOException {
+		return conn.getResponseCode();
+	}
+
+	/**
+	 * @see com.twitterapime.io.HttpConnection#openInputStream()
+	 */
+	public InputStream openInputStream() throws IOException {
+		return conn.openInputStream();
+	}
+
+	/**
+	 * @see com.twitterapime.io.HttpConnection#openOutputStream()
+	 */
+	public OutputStream openOutputStream() throws IOException {
+		return conn.openOutputStream();
+	}
+
+	/**
+	 * @see com.twitterapime.io.HttpConnection#setRequestMethod(java.lang.String)
+	 */
+	public void setRequestMethod(String method) throws IOException {
+		conn.setRequestMethod(method);
+	}
+
+	/**
+	 * @see com.twitterapime.io.HttpConnection#setRequestProperty(java.lang.String, java.lang.String)
+	 */
+	public void setRequestProperty(String key, String value)
+		throws IOException {
+		conn.setRequestProperty(key, value);
+	}
+
+	/**
+	 * @see com.twitterapime.io.HttpConnection#getRequestProperty(java.lang.String)
+	 */
+	public String getRequestProperty(String key) throws IOException {
+		return conn.getRequestProperty(key);
+	}
+
+	/**
+	 * <p>
+	 * Release the slot held by the connection, if any.
+	 * </p>
+	 */
+	private void release() {
+		String held;
+		//
+		synchronized (this) {
+			held = url;
+			url = null;
+		}
+		//
+		if (held != null) {
+			HttpConnectionLimiter.getInstance().release(held);
+		}
+	}
+}
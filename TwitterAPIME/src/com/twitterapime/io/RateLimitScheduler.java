@@ -0,0 +1,622 @@
+/*
+ * RateLimitScheduler.java
+ * 18/10/2026
+ * Twitter API Micro Edition
+ * Copyright(c) Ernandes Mourao Junior (ernandes@gmail.com)
+ * All rights reserved
+ */
+package com.twitterapime.io;
+
+import java.io.IOException;
+import java.util.Enumeration;
+import java.util.Hashtable;
+import java.util.Vector;
+
+import com.twitterapime.model.MetadataSet;
+import com.twitterapime.rest.RateLimitStatus;
+import com.twitterapime.util.StringUtil;
+import com.twitterapime.xauth.encoders.SHA1;
+
+/**
+ * <p>
+ * This class implements a scheduler of requests aware of Twitter API's rate
+ * limits.
+ * </p>
+ * <p>
+ * It keeps a bucket of request tokens per endpoint family (resource, e.g.,
+ * "/statuses/home_timeline") and per account, updated from the
+ * X-Rate-Limit-Limit, X-Rate-Limit-Remaining and X-Rate-Limit-Reset headers of
+ * every response. Each request takes a token of its bucket before being sent.
+ * Once a bucket is empty, the requests are delayed until its reset time,
+ * instead of being sent only to be answered 429 (Too Many Requests).
+ * </p>
+ * <p>
+ * Buckets are kept per digest of the account's access token, so no token is
+ * held by the scheduler. Buckets whose window has already reset are evicted
+ * as new ones are added, since they can no longer delay any request.
+ * </p>
+ * <p>
+ * Requests whose delay would be longer than {@link #getMaxWaitTime()} are not
+ * held, so they fail as usual with a LimitExceededException. The default max
+ * wait time is short, so that the threads of the asynchronous requests are not
+ * parked for a whole window. Longer waits must be set explicitly.
+ * </p>
+ * <p>
+ * <pre>
+ * RateLimitScheduler s = RateLimitScheduler.getInstance();
+ * s.setMaxWaitTime(60000);
+ * ...
+ * RateLimitStatus[] st = uam.getRateLimitStatuses();
+ * </pre>
+ * </p>
+ *
+ * @author Ernandes Mourao Junior (ernandes@gmail.com)
+ * @version 1.2
+ * @since 2.0
+ * @see HttpRequest
+ * @see RateLimitStatus
+ */
+public final class RateLimitScheduler {
+	/**
+	 * <p>
+	 * Default max time (in milliseconds) a request is delayed.
+	 * </p>
+	 */
+	public static final long DEFAULT_MAX_WAIT_TIME = 10 * 1000;
+
+	/**
+	 * <p>
+	 * Time (in milliseconds) a bucket is considered empty after a 429
+	 * response with no reset time.
+	 * </p>
+	 */
+	private static final long DEFAULT_RESET_DELAY = 60 * 1000;
+
+	/**
+	 * <p>
+	 * Single instance of this class.
+	 * </p>
+	 */
+	private static RateLimitScheduler singleInstance;
+
+	/**
+	 * <p>
+	 * Buckets.
+	 * </p>
+	 */
+	private Hashtable buckets;
+
+	/**
+	 * <p>
+	 * Max wait time.
+	 * </p>
+	 */
+	private long maxWaitTime;
+
+	/**
+	 * <p>
+	 * Enabled flag.
+	 * </p>
+	 */
+	private boolean enabled;
+
+	/**
+	 * <p>
+	 * Number of delayed requests.
+	 * </p>
+	 */
+	private int delayedCount;
+
+	/**
+	 * <p>
+	 * Total time (in milliseconds) requests were delayed.
+	 * </p>
+	 */
+	private long delayTime;
+
+	/**
+	 * <p>
+	 * Get the single instance of RateLimitScheduler class.
+	 * </p>
+	 * @return RateLimitScheduler instance.
+	 */
+	public synchronized static RateLimitScheduler getInstance() {
+		if (singleInstance == null) {
+			singleInstance = new RateLimitScheduler();
+		}
+		//
+		return singleInstance;
+	}
+
+	/**
+	 * <p>
+	 * Get the resource (endpoint family) of a given URL, i.e., its path without
+	 * API version, extension and numeric ids. E.g.,
+	 * "https://api.twitter.com/1.1/statuses/show/123.json" results in
+	 * "/statuses/show/:id".
+	 * </p>
+	 * @param url URL.
+	 * @return Resource.
+	 */
+	public static String getResource(String url) {
+		int i = url.indexOf("://");
+		i = url.indexOf('/', i != -1 ? i +3 : 0);
+		//
+		if (i == -1) {
+			return "/";
+		}
+		//
+		int end = url.indexOf('?', i);
+		String path = url.substring(i, end != -1 ? end : url.length());
+		//
+		if ((end = path.lastIndexOf('.')) > path.lastIndexOf('/')) {
+			path = path.substring(0, end);
+		}
+		//
+		String[] segs = StringUtil.split(path, '/');
+		StringBuffer resource = new StringBuffer(path.length());
+		//
+		for (i = 0; i < segs.length; i++) {
+			if (segs[i].length() == 0
+					|| (resource.length() == 0 && isVersion(segs[i]))) {
+				continue;
+			}
+			//
+			resource.append('/');
+			resource.append(isNumber(segs[i]) ? ":id" : segs[i]);
+		}
+		//
+		return resource.length() > 0 ? resource.toString() : "/";
+	}
+
+	/**
+	 * <p>
+	 * Create an instance of RateLimitScheduler class.
+	 * </p>
+	 * <p>
+	 * Private constructor to avoid object instantiation.
+	 * </p>
+	 */
+	private RateLimitScheduler() {
+		buckets = new Hashtable(16);
+		maxWaitTime = DEFAULT_MAX_WAIT_TIME;
+		enabled = true;
+	}
+
+	/**
+	 * <p>
+	 * Enable or disable the scheduler. Once disabled, no request is delayed.
+	 * </p>
+	 * @param enabled Enabled (true).
+	 */
+	public synchronized void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+		notifyAll();
+	}
+
+	/**
+	 * <p>
+	 * Return whether the scheduler is enabled.
+	 * </p>
+	 * @return Enabled (true).
+	 */
+	public synchronized boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * <p>
+	 * Set the max time (in milliseconds) a request is delayed.
+	 * </p>
+	 * @param time Time.
+	 * @throws IllegalArgumentException If time is negative.
+	 */
+	public synchronized void setMaxWaitTime(long time) {
+		if (time < 0) {
+			throw new IllegalArgumentException("Time must not be negative.");
+		}
+		//
+		maxWaitTime = time;
+	}
+
+	/**
+	 * <p>
+	 * Get the max time (in milliseconds) a request is delayed.
+	 * </p>
+	 * @return Time.
+	 */
+	public synchronized long getMaxWaitTime() {
+		return maxWaitTime;
+	}
+
+	/**
+	 * <p>
+	 * Get the number of requests delayed so far.
+	 * </p>
+	 * @return Number.
+	 */
+	public synchronized int getDelayedCount() {
+		return delayedCount;
+	}
+
+	/**
+	 * <p>
+	 * Get the total time (in milliseconds) requests were delayed so far.
+	 * </p>
+	 * @return Time.
+	 */
+	public synchronized long getDelayTime() {
+		return delayTime;
+	}
+
+	/**
+	 * <p>
+	 * Get the number of buckets.
+	 * </p>
+	 * @return Number.
+	 */
+	public synchronized int getBucketCount() {
+		return buckets.size();
+	}
+
+	/**
+	 * <p>
+	 * Get the rate limit status of a given resource and account.
+	 * </p>
+	 * @param resource Resource (e.g. "/statuses/home_timeline").
+	 * @param account Account's access token. Null for application-only.
+	 * @return Status or null, if still unknown.
+	 */
+	public synchronized RateLimitStatus getStatus(String resource,
+		String account) {
+		Bucket bucket =
+			(Bucket)buckets.get(getBucketKey(resource, getDigest(account)));
+		//
+		return bucket != null && bucket.isKnown() ? bucket.toStatus() : null;
+	}
+
+	/**
+	 * <p>
+	 * Get the rate limit status of all resources known of a given account.
+	 * </p>
+	 * @param account Account's access token. Null for application-only.
+	 * @return Statuses.
+	 */
+	public synchronized RateLimitStatus[] getStatuses(String account) {
+		final String digest = getDigest(account);
+		Vector statuses = new Vector();
+		Enumeration e = buckets.elements();
+		//
+		while (e.hasMoreElements()) {
+			Bucket bucket = (Bucket)e.nextElement();
+			//
+			if (bucket.isKnown()
+					&& (digest == null
+						? bucket.account == null
+						: digest.equals(bucket.account))) {
+				statuses.addElement(bucket.toStatus());
+			}
+		}
+		//
+		RateLimitStatus[] st = new RateLimitStatus[statuses.size()];
+		statuses.copyInto(st);
+		//
+		return st;
+	}
+
+	/**
+	 * <p>
+	 * Remove all buckets.
+	 * </p>
+	 */
+	public synchronized void clear() {
+		buckets.clear();
+		notifyAll();
+	}
+
+	/**
+	 * <p>
+	 * Take a token of the bucket of a given URL and account. In case the
+	 * bucket is empty, it waits until the bucket's reset time, unless it is
+	 * later than the max wait time or unknown.
+	 * </p>
+	 * @param url URL.
+	 * @param account Account's access token. Null for application-only.
+	 * @throws IOException If the thread is interrupted while waiting.
+	 */
+	synchronized void acquire(String url, String account) throws IOException {
+		if (!enabled) {
+			return;
+		}
+		//
+		final String resource = getResource(url);
+		final String digest = getDigest(account);
+		final String key = getBucketKey(resource, digest);
+		Bucket bucket = (Bucket)buckets.get(key);
+		//
+		if (bucket == null) {
+			prune();
+			buckets.put(key, bucket = new Bucket(resource, digest));
+		}
+		//
+		boolean delayed = false;
+		//
+		while (enabled) {
+			final long now = System.currentTimeMillis();
+			//
+			if (bucket.resetTime > 0 && now >= bucket.resetTime) {
+				bucket.remaining = bucket.limit; //new window.
+				bucket.resetTime = 0;
+			}
+			//
+			if (bucket.remaining != 0) {
+				if (bucket.remaining > 0) {
+					bucket.remaining--;
+				}
+				//
+				return;
+			}
+			//
+			if (bucket.resetTime <= 0) {
+				return; //unknown window: let the server tell.
+			}
+			//
+			final long wait = Math.max(bucket.resetTime - now, 1);
+			//
+			if (wait > maxWaitTime) {
+				return; //let it fail.
+			}
+			//
+			if (!delayed) {
+				delayed = true;
+				delayedCount++;
+			}
+			//
+			try {
+				wait(wait);
+			} catch (InterruptedException e) {
+				throw new IOException("Interrupted waiting for rate limit.");
+			} finally {
+				delayTime += System.currentTimeMillis() - now;
+			}
+			//
+			if (buckets.get(key) != bucket) {
+				return; //cleared or evicted.
+			}
+		}
+	}
+
+	/**
+	 * <p>
+	 * Update the bucket of a given URL and account from a response.
+	 * </p>
+	 * @param url URL.
+	 * @param account Account's access token. Null for application-only.
+	 * @param response Response.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	void update(String url, String account, HttpResponse response)
+		throws IOException {
+		final String limit = response.getResponseField("X-Rate-Limit-Limit");
+		final String remaining =
+			response.getResponseField("X-Rate-Limit-Remaining");
+		final String reset = response.getResponseField("X-Rate-Limit-Reset");
+		final int code = response.getCode();
+		final boolean exceeded =
+			code == HttpConnection.HTTP_TOO_MANY_REQUESTS
+				|| code == HttpResponseCodeInterpreter.
+					CUSTOM_HTTP_CODE_ENHANCE_YOUR_CALM;
+		//
+		if (limit == null && remaining == null && reset == null && !exceeded) {
+			return;
+		}
+		//
+		final String resource = getResource(url);
+		final String digest = getDigest(account);
+		final String key = getBucketKey(resource, digest);
+		//
+		synchronized (this) {
+			Bucket bucket = (Bucket)buckets.get(key);
+			//
+			if (bucket == null) {
+				prune();
+				buckets.put(key, bucket = new Bucket(resource, digest));
+			}
+			//
+			try {
+				if (limit != null) {
+					bucket.limit = Integer.parseInt(limit.trim());
+				}
+				if (remaining != null) {
+					bucket.remaining = Integer.parseInt(remaining.trim());
+				}
+				if (reset != null) {
+					bucket.resetTime = Long.parseLong(reset.trim()) * 1000;
+				}
+			} catch (NumberFormatException e) {}
+			//
+			if (exceeded) {
+				bucket.remaining = 0;
+				//
+				if (bucket.resetTime <= System.currentTimeMillis()) {
+					bucket.resetTime =
+						System.currentTimeMillis() + DEFAULT_RESET_DELAY;
+				}
+			}
+			//
+			notifyAll();
+		}
+	}
+
+	/**
+	 * <p>
+	 * Remove the buckets whose window has already reset or is unknown.
+	 * </p>
+	 */
+	private void prune() {
+		final long now = System.currentTimeMillis();
+		Vector expired = new Vector();
+		Enumeration e = buckets.keys();
+		//
+		while (e.hasMoreElements()) {
+			Object key = e.nextElement();
+			//
+			if (((Bucket)buckets.get(key)).resetTime <= now) {
+				expired.addElement(key);
+			}
+		}
+		//
+		for (int i = expired.size() -1; i >= 0; i--) {
+			buckets.remove(expired.elementAt(i));
+		}
+	}
+
+	/**
+	 * <p>
+	 * Get the digest of a given account's access token.
+	 * </p>
+	 * @param account Account's access token.
+	 * @return Digest or null, if account is null.
+	 */
+	private static String getDigest(String account) {
+		return account != null
+			? new SHA1().getDigestOfString(account.getBytes()) : null;
+	}
+
+	/**
+	 * <p>
+	 * Get the bucket key of a given resource and account's digest.
+	 * </p>
+	 * @param resource Resource.
+	 * @param digest Account's digest.
+	 * @return Key.
+	 */
+	private static String getBucketKey(String resource, String digest) {
+		return digest != null ? resource + '#' + digest : resource;
+	}
+
+	/**
+	 * <p>
+	 * Return whether a given path segment is an API version, e.g., "1.1".
+	 * </p>
+	 * @param seg Segment.
+	 * @return Version (true).
+	 */
+	private static boolean isVersion(String seg) {
+		for (int i = seg.length() -1; i >= 0; i--) {
+			char c = seg.charAt(i);
+			//
+			if (c != '.' && (c < '0' || c > '9')) {
+				return false;
+			}
+		}
+		//
+		return true;
+	}
+
+	/**
+	 * <p>
+	 * Return whether a given path segment is a number, e.g., an id.
+	 * </p>
+	 * @param seg Segment.
+	 * @return Number (true).
+	 */
+	private static boolean isNumber(String seg) {
+		for (int i = seg.length() -1; i >= 0; i--) {
+			char c = seg.charAt(i);
+			//
+			if (c < '0' || c > '9') {
+				return false;
+			}
+		}
+		//
+		return seg.length() > 0;
+	}
+
+	/**
+	 * <p>
+	 * This class defines a bucket of request tokens.
+	 * </p>
+	 *
+	 * @author Ernandes Mourao Junior (ernandes@gmail.com)
+	 * @version 1.0
+	 * @since 2.0
+	 */
+	private static final class Bucket {
+		/**
+		 * <p>
+		 * Resource.
+		 * </p>
+		 */
+		public String resource;
+
+		/**
+		 * <p>
+		 * Account's digest.
+		 * </p>
+		 */
+		public String account;
+
+		/**
+		 * <p>
+		 * Tokens per window. Negative means unknown.
+		 * </p>
+		 */
+		public int limit = -1;
+
+		/**
+		 * <p>
+		 * Tokens left in the window. Negative means unknown.
+		 * </p>
+		 */
+		public int remaining = -1;
+
+		/**
+		 * <p>
+		 * Time (in milliseconds) the window resets. Zero means unknown.
+		 * </p>
+		 */
+		public long resetTime;
+
+		/**
+		 * <p>
+		 * Create an instance of Bucket class.
+		 * </p>
+		 * @param resource Resource.
+		 * @param account Account's digest.
+		 */
+		public Bucket(String resource, String account) {
+			this.resource = resource;
+			this.account = account;
+		}
+
+		/**
+		 * <p>
+		 * Return whether any response has reported the bucket's state yet.
+		 * </p>
+		 * @return Known (true).
+		 */
+		public boolean isKnown() {
+			return limit >= 0 || remaining >= 0 || resetTime > 0;
+		}
+
+		/**
+		 * <p>
+		 * Get the bucket's state as a rate limit status.
+		 * </p>
+		 * @return Status.
+		 */
+		public RateLimitStatus toStatus() {
+			Hashtable data = new Hashtable(4);
+			//
+			data.put(MetadataSet.RATELIMITSTATUS_RESOURCE, resource);
+			data.put(MetadataSet.RATELIMITSTATUS_HOURLY_LIMIT, "" + limit);
+			data.put(
+				MetadataSet.RATELIMITSTATUS_REMAINING_HITS,
+				"" + Math.max(remaining, 0));
+			data.put(MetadataSet.RATELIMITSTATUS_RESET_TIME, "" + resetTime);
+			//
+			return new RateLimitStatus(data);
+		}
+	}
+}
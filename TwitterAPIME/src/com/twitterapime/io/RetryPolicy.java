@@ -0,0 +1,621 @@
+/*
+ * RetryPolicy.java
+ * 18/10/2026
+ * Twitter API Micro Edition
+ * Copyright(c) Ernandes Mourao Junior (ernandes@gmail.com)
+ * All rights reserved
+ */
+package com.twitterapime.io;
+
+import java.io.IOException;
+import java.util.Hashtable;
+import java.util.Random;
+
+/**
+ * <p>
+ * This class defines a policy of retries of requests that fail due to
+ * transient errors, i.e., I/O errors or service errors (500, 502 and 503).
+ * </p>
+ * <p>
+ * A failed request is sent again up to a max number of attempts, waiting an
+ * exponential backoff with jitter between them, or the time informed by the
+ * Retry-After header, if longer. A request whose Retry-After is longer than
+ * the max backoff is not retried, so it is never sent again before the time
+ * the service allows. Retries are limited by a budget of retries per time
+ * window, so an outage does not multiply the load on the service. Requests
+ * that are not idempotent, i.e., POST, are not retried, unless the policy
+ * says so.
+ * </p>
+ * <p>
+ * Policies are registered per resource (endpoint family), e.g.,
+ * "/statuses/home_timeline", and the default one applies to the others.
+ * </p>
+ * <p>
+ * <pre>
+ * RetryPolicy p = new RetryPolicy(5, 500, 8000);
+ * RetryPolicy.setPolicy("/statuses/home_timeline", p);
+ * ...
+ * RetryPolicy.setPolicy("/search/tweets", RetryPolicy.NONE);
+ * </pre>
+ * </p>
+ *
+ * @author Ernandes Mourao Junior (ernandes@gmail.com)
+ * @version 1.1
+ * @since 2.0
+ * @see HttpRequest#send()
+ * @see RateLimitScheduler#getResource(String)
+ */
+public final class RetryPolicy {
+	/**
+	 * <p>
+	 * Default max number of attempts.
+	 * </p>
+	 */
+	public static final int DEFAULT_MAX_ATTEMPTS = 3;
+
+	/**
+	 * <p>
+	 * Default backoff (in milliseconds) of the first retry.
+	 * </p>
+	 */
+	public static final long DEFAULT_INITIAL_BACKOFF = 1000;
+
+	/**
+	 * <p>
+	 * Default max backoff (in milliseconds).
+	 * </p>
+	 */
+	public static final long DEFAULT_MAX_BACKOFF = 16000;
+
+	/**
+	 * <p>
+	 * Default max number of retries per budget window.
+	 * </p>
+	 */
+	public static final int DEFAULT_RETRY_BUDGET = 10;
+
+	/**
+	 * <p>
+	 * Default budget window (in milliseconds).
+	 * </p>
+	 */
+	public static final long DEFAULT_BUDGET_WINDOW = 60 * 1000;
+
+	/**
+	 * <p>
+	 * Policy that never retries. It is shared, so its settings must not be
+	 * changed.
+	 * </p>
+	 */
+	public static final RetryPolicy NONE = new RetryPolicy();
+
+	/**
+	 * <p>
+	 * Default policy.
+	 * </p>
+	 */
+	private static RetryPolicy defaultPolicy;
+
+	/**
+	 * <p>
+	 * Policies per resource.
+	 * </p>
+	 */
+	private static final Hashtable policies = new Hashtable();
+
+	/**
+	 * <p>
+	 * Random generator of jitter.
+	 * </p>
+	 */
+	private static final Random random = new Random();
+
+	/**
+	 * <p>
+	 * Max number of attempts.
+	 * </p>
+	 */
+	private int maxAttempts;
+
+	/**
+	 * <p>
+	 * Backoff of the first retry.
+	 * </p>
+	 */
+	private long initialBackoff;
+
+	/**
+	 * <p>
+	 * Max backoff.
+	 * </p>
+	 */
+	private long maxBackoff;
+
+	/**
+	 * <p>
+	 * Settings must not be changed flag.
+	 * </p>
+	 */
+	private boolean readOnly;
+
+	/**
+	 * <p>
+	 * Retry non-idempotent requests flag.
+	 * </p>
+	 */
+	private boolean retryNonIdempotent;
+
+	/**
+	 * <p>
+	 * Max number of retries per budget window.
+	 * </p>
+	 */
+	private int budget;
+
+	/**
+	 * <p>
+	 * Budget window.
+	 * </p>
+	 */
+	private long budgetWindow;
+
+	/**
+	 * <p>
+	 * Number of retries in the current budget window.
+	 * </p>
+	 */
+	private int budgetUsed;
+
+	/**
+	 * <p>
+	 * Start time of the current budget window.
+	 * </p>
+	 */
+	private long budgetWindowStart;
+
+	/**
+	 * <p>
+	 * Number of requests.
+	 * </p>
+	 */
+	private int requestCount;
+
+	/**
+	 * <p>
+	 * Number of retries.
+	 * </p>
+	 */
+	private int retryCount;
+
+	/**
+	 * <p>
+	 * Number of requests succeeded after a retry.
+	 * </p>
+	 */
+	private int recoveredCount;
+
+	/**
+	 * <p>
+	 * Number of requests failed after all retries.
+	 * </p>
+	 */
+	private int exhaustedCount;
+
+	/**
+	 * <p>
+	 * Number of retries denied by the budget.
+	 * </p>
+	 */
+	private int budgetDeniedCount;
+
+	/**
+	 * <p>
+	 * Get the default policy.
+	 * </p>
+	 * @return Policy.
+	 */
+	public synchronized static RetryPolicy getDefault() {
+		if (defaultPolicy == null) {
+			defaultPolicy =
+				new RetryPolicy(
+					DEFAULT_MAX_ATTEMPTS,
+					DEFAULT_INITIAL_BACKOFF,
+					DEFAULT_MAX_BACKOFF);
+		}
+		//
+		return defaultPolicy;
+	}
+
+	/**
+	 * <p>
+	 * Set the default policy.
+	 * </p>
+	 * @param policy Policy. Null for a new one with the default settings.
+	 */
+	public synchronized static void setDefault(RetryPolicy policy) {
+		defaultPolicy = policy;
+	}
+
+	/**
+	 * <p>
+	 * Set the policy of a given resource, e.g., "/statuses/home_timeline".
+	 * </p>
+	 * @param resource Resource.
+	 * @param policy Policy. Null to use the default one.
+	 * @throws IllegalArgumentException If resource is null.
+	 */
+	public static void setPolicy(String resource, RetryPolicy policy) {
+		if (resource == null) {
+			throw new IllegalArgumentException("Resource must not be null.");
+		}
+		//
+		if (policy != null) {
+			policies.put(resource, policy);
+		} else {
+			policies.remove(resource);
+		}
+	}
+
+	/**
+	 * <p>
+	 * Get the policy of a given resource.
+	 * </p>
+	 * @param resource Resource.
+	 * @return Policy.
+	 * @throws IllegalArgumentException If resource is null.
+	 */
+	public static RetryPolicy getPolicy(String resource) {
+		if (resource == null) {
+			throw new IllegalArgumentException("Resource must not be null.");
+		}
+		//
+		RetryPolicy policy = (RetryPolicy)policies.get(resource);
+		//
+		return policy != null ? policy : getDefault();
+	}
+
+	/**
+	 * <p>
+	 * Create an instance of RetryPolicy class.
+	 * </p>
+	 * @param maxAttempts Max number of attempts, including the first one.
+	 * @param initialBackoff Backoff (in milliseconds) of the first retry.
+	 * @param maxBackoff Max backoff (in milliseconds).
+	 * @throws IllegalArgumentException If any value is out of range.
+	 */
+	public RetryPolicy(int maxAttempts, long initialBackoff, long maxBackoff) {
+		if (maxAttempts < 1) {
+			throw new IllegalArgumentException(
+				"Max attempts must be greater than zero.");
+		}
+		if (initialBackoff < 0 || maxBackoff < initialBackoff) {
+			throw new IllegalArgumentException("Invalid backoff.");
+		}
+		//
+		this.maxAttempts = maxAttempts;
+		this.initialBackoff = initialBackoff;
+		this.maxBackoff = maxBackoff;
+		budget = DEFAULT_RETRY_BUDGET;
+		budgetWindow = DEFAULT_BUDGET_WINDOW;
+	}
+
+	/**
+	 * <p>
+	 * Create an instance of RetryPolicy class that never retries and whose
+	 * settings must not be changed.
+	 * </p>
+	 */
+	private RetryPolicy() {
+		this(1, 0, 0);
+		readOnly = true;
+	}
+
+	/**
+	 * <p>
+	 * Get the max number of attempts.
+	 * </p>
+	 * @return Number.
+	 */
+	public int getMaxAttempts() {
+		return maxAttempts;
+	}
+
+	/**
+	 * <p>
+	 * Get the backoff (in milliseconds) of the first retry.
+	 * </p>
+	 * @return Backoff.
+	 */
+	public long getInitialBackoff() {
+		return initialBackoff;
+	}
+
+	/**
+	 * <p>
+	 * Get the max backoff (in milliseconds).
+	 * </p>
+	 * @return Backoff.
+	 */
+	public long getMaxBackoff() {
+		return maxBackoff;
+	}
+
+	/**
+	 * <p>
+	 * Set whether non-idempotent requests, i.e., POST, are retried. Only
+	 * enable it for resources whose repetition is harmless.
+	 * </p>
+	 * @param retry Retry (true).
+	 * @throws IllegalStateException If it is {@link #NONE}.
+	 */
+	public synchronized void setRetryNonIdempotent(boolean retry) {
+		checkWritable();
+		retryNonIdempotent = retry;
+	}
+
+	/**
+	 * <p>
+	 * Return whether non-idempotent requests are retried.
+	 * </p>
+	 * @return Retry (true).
+	 */
+	public synchronized boolean isRetryNonIdempotent() {
+		return retryNonIdempotent;
+	}
+
+	/**
+	 * <p>
+	 * Set the budget of retries, i.e., the max number of retries per time
+	 * window.
+	 * </p>
+	 * @param retries Number of retries.
+	 * @param window Window (in milliseconds).
+	 * @throws IllegalArgumentException If retries is negative or window is
+	 *         not positive.
+	 * @throws IllegalStateException If it is {@link #NONE}.
+	 */
+	public synchronized void setRetryBudget(int retries, long window) {
+		checkWritable();
+		//
+		if (retries < 0) {
+			throw new IllegalArgumentException(
+				"Retries must not be negative.");
+		}
+		if (window <= 0) {
+			throw new IllegalArgumentException(
+				"Window must be greater than zero.");
+		}
+		//
+		budget = retries;
+		budgetWindow = window;
+	}
+
+	/**
+	 * <p>
+	 * Get the max number of retries per budget window.
+	 * </p>
+	 * @return Number.
+	 */
+	public synchronized int getRetryBudget() {
+		return budget;
+	}
+
+	/**
+	 * <p>
+	 * Get the number of requests sent under this policy.
+	 * </p>
+	 * @return Number.
+	 */
+	public synchronized int getRequestCount() {
+		return requestCount;
+	}
+
+	/**
+	 * <p>
+	 * Get the number of retries made under this policy.
+	 * </p>
+	 * @return Number.
+	 */
+	public synchronized int getRetryCount() {
+		return retryCount;
+	}
+
+	/**
+	 * <p>
+	 * Get the number of requests that succeeded after a retry.
+	 * </p>
+	 * @return Number.
+	 */
+	public synchronized int getRecoveredCount() {
+		return recoveredCount;
+	}
+
+	/**
+	 * <p>
+	 * Get the number of requests that still failed after all retries.
+	 * </p>
+	 * @return Number.
+	 */
+	public synchronized int getExhaustedCount() {
+		return exhaustedCount;
+	}
+
+	/**
+	 * <p>
+	 * Get the number of retries denied because the budget ran out.
+	 * </p>
+	 * @return Number.
+	 */
+	public synchronized int getBudgetDeniedCount() {
+		return budgetDeniedCount;
+	}
+
+	/**
+	 * <p>
+	 * Reset the statistics.
+	 * </p>
+	 */
+	public synchronized void resetStatistics() {
+		requestCount = 0;
+		retryCount = 0;
+		recoveredCount = 0;
+		exhaustedCount = 0;
+		budgetDeniedCount = 0;
+	}
+
+	/**
+	 * <p>
+	 * Get the backoff (in milliseconds) before a given retry. It is the
+	 * exponential backoff, with half of it randomized (jitter), or the
+	 * Retry-After time, if longer.
+	 * </p>
+	 * @param attempt Attempt that failed (1 for the first one).
+	 * @param retryAfter Retry-After time (in milliseconds). Zero if none.
+	 * @return Backoff.
+	 */
+	public long getBackoff(int attempt, long retryAfter) {
+		long backoff = initialBackoff;
+		//
+		for (int i = 1; i < attempt && backoff < maxBackoff; i++) {
+			backoff <<= 1;
+		}
+		//
+		backoff = Math.min(backoff, maxBackoff);
+		//
+		if (backoff > 1) {
+			final long half = backoff / 2;
+			backoff = half + Math.abs(random.nextLong() % (half +1));
+		}
+		//
+		return Math.max(backoff, retryAfter);
+	}
+
+	/**
+	 * <p>
+	 * Get the Retry-After time (in milliseconds) of a given response.
+	 * </p>
+	 * @param response Response. Null if none.
+	 * @return Time. Zero if none or an HTTP-date.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	static long getRetryAfter(HttpResponse response) throws IOException {
+		if (response != null) {
+			String value = response.getResponseField("Retry-After");
+			//
+			if (value != null) {
+				try {
+					return Math.max(Long.parseLong(value.trim()) * 1000, 0);
+				} catch (NumberFormatException e) {} //HTTP-date: ignored.
+			}
+		}
+		//
+		return 0;
+	}
+
+	/**
+	 * <p>
+	 * Register a new request.
+	 * </p>
+	 */
+	synchronized void requestStarted() {
+		requestCount++;
+	}
+
+	/**
+	 * <p>
+	 * Register the end of a request.
+	 * </p>
+	 * @param attempts Number of attempts made.
+	 * @param success Succeeded (true).
+	 */
+	synchronized void requestFinished(int attempts, boolean success) {
+		if (attempts > 1) {
+			if (success) {
+				recoveredCount++;
+			} else {
+				exhaustedCount++;
+			}
+		}
+	}
+
+	/**
+	 * <p>
+	 * Return whether a request that failed in a given attempt must be retried,
+	 * taking a retry of the budget if so.
+	 * </p>
+	 * @param attempt Attempt that failed (1 for the first one).
+	 * @param idempotent Request is idempotent (true).
+	 * @return Retry (true).
+	 */
+	boolean shouldRetry(int attempt, boolean idempotent) {
+		return shouldRetry(attempt, idempotent, 0);
+	}
+
+	/**
+	 * <p>
+	 * Return whether a request that failed in a given attempt must be retried,
+	 * taking a retry of the budget if so. It is not retried if the service
+	 * asks to wait longer than the max backoff.
+	 * </p>
+	 * @param attempt Attempt that failed (1 for the first one).
+	 * @param idempotent Request is idempotent (true).
+	 * @param retryAfter Retry-After time (in milliseconds). Zero if none.
+	 * @return Retry (true).
+	 */
+	synchronized boolean shouldRetry(int attempt, boolean idempotent,
+		long retryAfter) {
+		if (attempt >= maxAttempts || (!idempotent && !retryNonIdempotent)
+				|| retryAfter > maxBackoff) {
+			return false;
+		}
+		//
+		final long now = System.currentTimeMillis();
+		//
+		if (now - budgetWindowStart >= budgetWindow) {
+			budgetWindowStart = now;
+			budgetUsed = 0;
+		}
+		//
+		if (budgetUsed >= budget) {
+			budgetDeniedCount++;
+			return false;
+		}
+		//
+		budgetUsed++;
+		retryCount++;
+		//
+		return true;
+	}
+
+	/**
+	 * <p>
+	 * Wait the backoff before a given retry.
+	 * </p>
+	 * @param attempt Attempt that failed (1 for the first one).
+	 * @param retryAfter Retry-After time (in milliseconds). Zero if none.
+	 * @throws IOException If the thread is interrupted while waiting.
+	 */
+	void backoff(int attempt, long retryAfter) throws IOException {
+		final long backoff = getBackoff(attempt, retryAfter);
+		//
+		if (backoff > 0) {
+			try {
+				Thread.sleep(backoff);
+			} catch (InterruptedException e) {
+				throw new IOException("Interrupted waiting to retry.");
+			}
+		}
+	}
+
+	/**
+	 * <p>
+	 * Check whether the settings can be changed.
+	 * </p>
+	 * @throws IllegalStateException If it is {@link #NONE}.
+	 */
+	private void checkWritable() {
+		if (readOnly) {
+			throw new IllegalStateException("Policy must not be changed.");
+		}
+	}
+}
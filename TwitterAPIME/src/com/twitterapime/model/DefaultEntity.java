@@ -27,7 +27,7 @@ import com.twitterapime.util.StringUtil;
  * </p>
  * 
  * @author Ernandes Mourao Junior (ernandes@gmail.com)
- * @version 1.5
+ * @version 1.7
  * @since 1.0
  * @see Tweet
  * @see Credential
@@ -37,6 +37,7 @@ import com.twitterapime.util.StringUtil;
  * @see Topic
  * @see TweetEntity
  * @see List
+ * @see EntityData
  */
 //#ifdef PP_ANDROID
 //@public class DefaultEntity implements Entity, java.io.Serializable {
@@ -56,6 +57,13 @@ import com.twitterapime.util.StringUtil;
 	 */
 	protected Hashtable data;
 
+	/**
+	 * <p>
+	 * Cached hash code or 0, if not computed yet.
+	 * </p>
+	 */
+	private transient int hash;
+
 	/**
 	 * <p>
 	 * Create an instance of DefaultEntity class.
@@ -79,13 +87,21 @@ import com.twitterapime.util.StringUtil;
 	 * <p>
 	 * Set a new pack of attributes/values.
 	 * </p>
+	 * <p>
+	 * In case it is null, a new one is created, which is an
+	 * {@link EntityData} if the entity has a layout.
+	 * </p>
 	 * @param data Pack of attributes/values.
+	 * @see DefaultEntity#getLayout()
 	 */
 	public final void setData(Hashtable data) {
 		if (data == null) {
-			data = new Hashtable();
+			final EntityLayout layout = getLayout();
+			//
+			data = layout != null ? new EntityData(layout) : new Hashtable();
 		}
 		this.data = data;
+		invalidateHashCode();
 	}
 	
 	/**
@@ -109,6 +125,14 @@ import com.twitterapime.util.StringUtil;
 	 * @see com.twitterapime.model.Entity#getDate(java.lang.String)
 	 */
 	public final Date getDate(String attr) {
+		if (data instanceof EntityData) {
+			synchronized (data) {
+				if (((EntityData)data).isNumber(attr)) {
+					return new Date(((EntityData)data).getPrimitive(attr));
+				}
+			}
+		}
+		//
 		Object v = getObject(attr);
 		//
 		if (v == null) {
@@ -131,6 +155,20 @@ import com.twitterapime.util.StringUtil;
 	 * @see com.twitterapime.model.Entity#getInt(java.lang.String)
 	 */
 	public final int getInt(String attr) {
+		if (data instanceof EntityData) {
+			synchronized (data) {
+				if (((EntityData)data).isNumber(attr)) {
+					long dv = ((EntityData)data).getPrimitive(attr);
+					//
+					if (dv >= Integer.MIN_VALUE && dv <= Integer.MAX_VALUE) {
+						return (int)dv;
+					} else {
+						throw new NumberFormatException(String.valueOf(dv));
+					}
+				}
+			}
+		}
+		//
 		Object v = getObject(attr);
 		//
 		if (v == null) {
@@ -162,6 +200,14 @@ import com.twitterapime.util.StringUtil;
 	 * @see com.twitterapime.model.Entity#getLong(java.lang.String)
 	 */
 	public final long getLong(String attr) {
+		if (data instanceof EntityData) {
+			synchronized (data) {
+				if (((EntityData)data).isNumber(attr)) {
+					return ((EntityData)data).getPrimitive(attr);
+				}
+			}
+		}
+		//
 		Object v = getObject(attr);
 		//
 		if (v == null) {
@@ -204,6 +250,14 @@ import com.twitterapime.util.StringUtil;
 	 * @see com.twitterapime.model.Entity#getBoolean(java.lang.String)
 	 */
 	public boolean getBoolean(String attr) {
+		if (data instanceof EntityData) {
+			synchronized (data) {
+				if (((EntityData)data).isBoolean(attr)) {
+					return ((EntityData)data).getPrimitive(attr) != 0;
+				}
+			}
+		}
+		//
 		Object v = getObject(attr);
 		//
 		if (v == null) {
@@ -230,18 +284,70 @@ import com.twitterapime.util.StringUtil;
 	public final boolean equals(Object o) {
 		if (o == this) {
 			return true;
-		} else if (o == null || !(o instanceof DefaultEntity)) {
+		} else if (o == null || o.getClass() != getClass()) {
+			return false;
+		}
+		//
+		final DefaultEntity e = (DefaultEntity)o;
+		final String idKey = getIdentityKey();
+		//
+		if (idKey != null && hashCodeOf(idKey) != e.hashCodeOf(idKey)) {
+			return false;
+		} else if (hash != 0 && e.hash != 0 && hash != e.hash) {
 			return false;
 		} else {
-			return areEquals(data, ((DefaultEntity)o).data);
+			return areEquals(data, e.data);
 		}
 	}
 	
 	/**
+	 * <p>
+	 * Return the hash code, which is the one of the identity attribute's
+	 * value, if the entity has it, or else the one of all the attributes and
+	 * values. The latter is cached in case the entity is immutable.
+	 * </p>
 	 * @see java.lang.Object#hashCode()
+	 * @see DefaultEntity#getIdentityKey()
+	 * @see DefaultEntity#isImmutable()
 	 */
 	public final int hashCode() {
-		return toString().hashCode(); //TODO: find a better way to generate this hash code.
+		final String idKey = getIdentityKey();
+		//
+		if (idKey != null && data.containsKey(idKey)) {
+			return hashCodeOf(idKey);
+		}
+		//
+		int h = hash;
+		//
+		if (h == 0) {
+			Enumeration keys = data.keys();
+			Object key;
+			Object val;
+			//
+			while (keys.hasMoreElements()) {
+				key = keys.nextElement();
+				val = data.get(key);
+				//
+				if (val instanceof Object[]) {
+					Object[] aval = (Object[])val;
+					int ah = 1;
+					//
+					for (int i = 0; i < aval.length; i++) {
+						ah = 31 * ah + aval[i].hashCode();
+					}
+					//
+					h += key.hashCode() ^ ah;
+				} else if (val != null) {
+					h += key.hashCode() ^ val.hashCode();
+				}
+			}
+			//
+			if (isImmutable()) {
+				hash = h;
+			}
+		}
+		//
+		return h;
 	}
 	
 	/**
@@ -305,6 +411,69 @@ import com.twitterapime.util.StringUtil;
 		}
 	}
 	
+	/**
+	 * <p>
+	 * Return the layout of the entity's data, used to create it when none is
+	 * set. Subclasses with a layout override it.
+	 * </p>
+	 * @return Layout or null, if none.
+	 */
+	protected EntityLayout getLayout() {
+		return null;
+	}
+	
+	/**
+	 * <p>
+	 * Return the key of the attribute that identifies the entity, e.g., its
+	 * id, so it is hashed and compared first. Subclasses with such an
+	 * attribute override it.
+	 * </p>
+	 * @return Key or null, if none.
+	 */
+	protected String getIdentityKey() {
+		return null;
+	}
+	
+	/**
+	 * <p>
+	 * Return whether the entity's data is not changed after it is created or
+	 * set, so the hash code can be cached until the next
+	 * {@link DefaultEntity#setData(Hashtable)}. Immutable subclasses override
+	 * it.
+	 * </p>
+	 * @return Immutable (true).
+	 */
+	protected boolean isImmutable() {
+		return false;
+	}
+	
+	/**
+	 * <p>
+	 * Discard the cached hash code, in case an immutable entity's data is
+	 * changed while it is built.
+	 * </p>
+	 */
+	protected final void invalidateHashCode() {
+		hash = 0;
+	}
+	
+	/**
+	 * <p>
+	 * Return the hash code of a given attribute's value.
+	 * </p>
+	 * @param attr Attribute.
+	 * @return Hash code or 0, if it has no value.
+	 */
+	private int hashCodeOf(String attr) {
+		if (data instanceof EntityData) {
+			return ((EntityData)data).getHashCode(attr);
+		}
+		//
+		Object v = data.get(attr);
+		//
+		return v != null ? v.hashCode() : 0;
+	}
+	
 	/**
 	 * Check whether the given hashtables contain the same pair of keys/values.
 	 * @param h1 Hashtable 1.
@@ -0,0 +1,1020 @@
+/*
+ * EntityData.java
+ * 18/10/2026
+ * Twitter API Micro Edition
+ * Copyright(c) Ernandes Mourao Junior (ernandes@gmail.com)
+ * All rights reserved
+ */
+package com.twitterapime.model;
+
+import java.util.Enumeration;
+import java.util.Hashtable;
+import java.util.Vector;
+
+/**
+ * <p>
+ * This class implements a compact storage of an entity's data, laid out in
+ * dense slots by an {@link EntityLayout}.
+ * </p>
+ * <p>
+ * The values of the numeric and boolean slots are kept as primitives, when
+ * they are strings that convert back to the same text, e.g., "123" or "true",
+ * so they are neither parsed again by the getters nor held as strings. Those
+ * values are handed back as strings. Any other value, and the keys out of the
+ * layout, are kept in an ordinary hashtable.
+ * </p>
+ * <p>
+ * It extends Hashtable, so an entity's data is still handled as such. On
+ * Android and Java SE, the views and the other methods of Map interface are
+ * backed by the slots as well, so the data is seen by any Map-based code, e.g.,
+ * <code>new Hashtable(data)</code>.
+ * </p>
+ *
+ * @author Ernandes Mourao Junior (ernandes@gmail.com)
+ * @version 1.1
+ * @since 2.0
+ * @see DefaultEntity
+ */
+public final class EntityData extends Hashtable {
+	/**
+	 * <p>
+	 * Serial UID.
+	 * </p>
+	 */
+	private static final long serialVersionUID = 4125317719012468735L;
+
+	/**
+	 * <p>
+	 * Layout.
+	 * </p>
+	 */
+	private EntityLayout layout;
+
+	/**
+	 * <p>
+	 * Values of the numeric and boolean slots.
+	 * </p>
+	 */
+	private long[] primitives;
+
+	/**
+	 * <p>
+	 * Bits of the numeric and boolean slots with a value.
+	 * </p>
+	 */
+	private long primitiveMask;
+
+	/**
+	 * <p>
+	 * Values of the object slots.
+	 * </p>
+	 */
+	private Object[] objects;
+
+	/**
+	 * <p>
+	 * Number of slots with a value.
+	 * </p>
+	 */
+	private int slotCount;
+
+	/**
+	 * <p>
+	 * Values out of the slots or null, if none.
+	 * </p>
+	 */
+	private Hashtable others;
+
+	/**
+	 * <p>
+	 * Create an instance of EntityData class.
+	 * </p>
+	 * @param layout Layout.
+	 * @throws IllegalArgumentException If layout is null.
+	 */
+	public EntityData(EntityLayout layout) {
+		super(1);
+		//
+		if (layout == null) {
+			throw new IllegalArgumentException("Layout must not be null.");
+		}
+		//
+		this.layout = layout;
+		primitives = new long[layout.getPrimitiveCount()];
+		objects = new Object[layout.size() - layout.getPrimitiveCount()];
+	}
+
+	/**
+	 * <p>
+	 * Create an instance of EntityData class with a copy of a given data.
+	 * </p>
+	 * @param layout Layout.
+	 * @param data Data.
+	 * @throws IllegalArgumentException If layout is null.
+	 */
+	public EntityData(EntityLayout layout, Hashtable data) {
+		this(layout);
+		//
+		Enumeration keys = data.keys();
+		Object key;
+		//
+		while (keys.hasMoreElements()) {
+			key = keys.nextElement();
+			put(key, data.get(key));
+		}
+	}
+
+	/**
+	 * <p>
+	 * Get the layout.
+	 * </p>
+	 * @return Layout.
+	 */
+	public EntityLayout getLayout() {
+		return layout;
+	}
+
+	/**
+	 * <p>
+	 * Verify whether a given key has a value kept in a numeric slot.
+	 * </p>
+	 * @param key Key.
+	 * @return Numeric (true).
+	 */
+	public synchronized boolean isNumber(String key) {
+		return isPrimitive(key, EntityLayout.NUMBER);
+	}
+
+	/**
+	 * <p>
+	 * Verify whether a given key has a value kept in a boolean slot.
+	 * </p>
+	 * @param key Key.
+	 * @return Boolean (true).
+	 */
+	public synchronized boolean isBoolean(String key) {
+		return isPrimitive(key, EntityLayout.BOOLEAN);
+	}
+
+	/**
+	 * <p>
+	 * Get the value of a given key kept in a numeric or boolean slot, i.e.,
+	 * 1 or 0 for a boolean one.
+	 * </p>
+	 * @param key Key.
+	 * @return Value.
+	 * @throws IllegalArgumentException If the key's value is not kept in a
+	 *                                  numeric or boolean slot.
+	 * @see EntityData#isNumber(String)
+	 * @see EntityData#isBoolean(String)
+	 */
+	public synchronized long getPrimitive(String key) {
+		final int slot = layout.getSlot(key);
+		//
+		if (!hasPrimitive(slot)) {
+			throw new IllegalArgumentException(
+				key + " is not kept in a primitive slot.");
+		}
+		//
+		return primitives[slot];
+	}
+
+	/**
+	 * <p>
+	 * Get the hash code of a given key's value, the same as of the value
+	 * returned by {@link EntityData#get(Object)}, but without creating the
+	 * string of a numeric slot.
+	 * </p>
+	 * @param key Key.
+	 * @return Hash code or 0, if the key has no value.
+	 */
+	public synchronized int getHashCode(Object key) {
+		final int slot = layout.getSlot(key);
+		//
+		if (!hasPrimitive(slot)
+				|| layout.getKind(slot) != EntityLayout.NUMBER
+				|| primitives[slot] == Long.MIN_VALUE) {
+			final Object v = get(key);
+			//
+			return v != null ? v.hashCode() : 0;
+		}
+		//
+		long v = primitives[slot];
+		final boolean negative = v < 0;
+		int h = 0;
+		int pow = 1;
+		//
+		if (negative) {
+			v = -v;
+		}
+		do { //String.hashCode() summed from the last digit.
+			h += ('0' + (int)(v % 10)) * pow;
+			pow *= 31;
+			v /= 10;
+		} while (v > 0);
+		//
+		return negative ? h + '-' * pow : h;
+	}
+
+	/**
+	 * @see java.util.Hashtable#get(java.lang.Object)
+	 */
+	public synchronized Object get(Object key) {
+		final int slot = layout.getSlot(key);
+		//
+		if (slot == -1) {
+			return others != null ? others.get(key) : null;
+		} else if (slot >= primitives.length) {
+			return objects[slot - primitives.length];
+		} else if (hasPrimitive(slot)) {
+			if (layout.getKind(slot) == EntityLayout.BOOLEAN) {
+				return primitives[slot] != 0 ? "true" : "false";
+			} else {
+				return String.valueOf(primitives[slot]);
+			}
+		} else {
+			return others != null ? others.get(key) : null;
+		}
+	}
+
+	/**
+	 * @see java.util.Hashtable#put(java.lang.Object, java.lang.Object)
+	 */
+	public synchronized Object put(Object key, Object value) {
+		if (key == null || value == null) {
+			throw new NullPointerException();
+		}
+		//
+		final Object old = remove(key);
+		final int slot = layout.getSlot(key);
+		//
+		if (slot >= primitives.length) {
+			objects[slot - primitives.length] = value;
+			slotCount++;
+		} else if (slot != -1 && toPrimitive(slot, value)) {
+			primitiveMask |= 1L << slot;
+			slotCount++;
+		} else {
+			if (others == null) {
+				others = new Hashtable(4);
+			}
+			//
+			others.put(key, value);
+		}
+		//
+		return old;
+	}
+
+	/**
+	 * @see java.util.Hashtable#remove(java.lang.Object)
+	 */
+	public synchronized Object remove(Object key) {
+		final Object old = get(key);
+		//
+		if (old == null) {
+			return null;
+		}
+		//
+		final int slot = layout.getSlot(key);
+		//
+		if (slot >= primitives.length) {
+			objects[slot - primitives.length] = null;
+			slotCount--;
+		} else if (slot != -1 && hasPrimitive(slot)) {
+			primitiveMask &= ~(1L << slot);
+			slotCount--;
+		} else {
+			others.remove(key);
+		}
+		//
+		return old;
+	}
+
+	/**
+	 * @see java.util.Hashtable#containsKey(java.lang.Object)
+	 */
+	public synchronized boolean containsKey(Object key) {
+		final int slot = layout.getSlot(key);
+		//
+		if (slot >= primitives.length) {
+			return objects[slot - primitives.length] != null;
+		} else if (slot != -1 && hasPrimitive(slot)) {
+			return true;
+		} else {
+			return others != null && others.containsKey(key);
+		}
+	}
+
+	/**
+	 * @see java.util.Hashtable#contains(java.lang.Object)
+	 */
+	public synchronized boolean contains(Object value) {
+		if (value == null) {
+			throw new NullPointerException();
+		}
+		//
+		Enumeration values = elements();
+		//
+		while (values.hasMoreElements()) {
+			if (value.equals(values.nextElement())) {
+				return true;
+			}
+		}
+		//
+		return false;
+	}
+
+	/**
+	 * @see java.util.Hashtable#size()
+	 */
+	public synchronized int size() {
+		return slotCount + (others != null ? others.size() : 0);
+	}
+
+	/**
+	 * @see java.util.Hashtable#isEmpty()
+	 */
+	public synchronized boolean isEmpty() {
+		return size() == 0;
+	}
+
+	/**
+	 * @see java.util.Hashtable#clear()
+	 */
+	public synchronized void clear() {
+		primitiveMask = 0;
+		slotCount = 0;
+		others = null;
+		//
+		for (int i = 0; i < objects.length; i++) {
+			objects[i] = null;
+		}
+	}
+
+	/**
+	 * <p>
+	 * Enumerate a snapshot of the keys.
+	 * </p>
+	 * @see java.util.Hashtable#keys()
+	 */
+	public synchronized Enumeration keys() {
+		return snapshot(true).elements();
+	}
+
+	/**
+	 * <p>
+	 * Enumerate a snapshot of the values.
+	 * </p>
+	 * @see java.util.Hashtable#elements()
+	 */
+	public synchronized Enumeration elements() {
+		return snapshot(false).elements();
+	}
+
+	/**
+	 * @see java.util.Hashtable#equals(java.lang.Object)
+	 */
+	public synchronized boolean equals(Object o) {
+		if (o == this) {
+			return true;
+		} else if (!(o instanceof Hashtable)) {
+			return false;
+		}
+		//
+		Hashtable h = (Hashtable)o;
+		//
+		if (h.size() != size()) {
+			return false;
+		}
+		//
+		Enumeration keys = keys();
+		Object key;
+		//
+		while (keys.hasMoreElements()) {
+			key = keys.nextElement();
+			//
+			if (!get(key).equals(h.get(key))) {
+				return false;
+			}
+		}
+		//
+		return true;
+	}
+
+	/**
+	 * @see java.util.Hashtable#hashCode()
+	 */
+	public synchronized int hashCode() {
+		int hash = 0;
+		Enumeration keys = keys();
+		Object key;
+		//
+		while (keys.hasMoreElements()) {
+			key = keys.nextElement();
+			hash += key.hashCode() ^ get(key).hashCode();
+		}
+		//
+		return hash;
+	}
+
+	/**
+	 * @see java.util.Hashtable#toString()
+	 */
+	public synchronized String toString() {
+		StringBuffer s = new StringBuffer("{");
+		Enumeration keys = keys();
+		Object key;
+		//
+		while (keys.hasMoreElements()) {
+			key = keys.nextElement();
+			//
+			if (s.length() > 1) {
+				s.append(", ");
+			}
+			//
+			s.append(key).append('=').append(get(key));
+		}
+		//
+		return s.append('}').toString();
+	}
+
+	//#if PP_ANDROID || PP_JAVA_SE
+//@	/**
+//@	 * @see java.util.Hashtable#keySet()
+//@	 */
+//@	public java.util.Set keySet() {
+//@		return new SetView(SetView.KEYS);
+//@	}
+//@
+//@	/**
+//@	 * @see java.util.Hashtable#entrySet()
+//@	 */
+//@	public java.util.Set entrySet() {
+//@		return new SetView(SetView.ENTRIES);
+//@	}
+//@
+//@	/**
+//@	 * @see java.util.Hashtable#values()
+//@	 */
+//@	public java.util.Collection values() {
+//@		return new View(View.VALUES);
+//@	}
+//@
+//@	/**
+//@	 * @see java.util.Hashtable#putAll(java.util.Map)
+//@	 */
+//@	public synchronized void putAll(java.util.Map t) {
+//@		java.util.Iterator entries = t.entrySet().iterator();
+//@		java.util.Map.Entry entry;
+//@		//
+//@		while (entries.hasNext()) {
+//@			entry = (java.util.Map.Entry)entries.next();
+//@			put(entry.getKey(), entry.getValue());
+//@		}
+//@	}
+//@
+//@	/**
+//@	 * @see java.util.Hashtable#clone()
+//@	 */
+//@	public synchronized Object clone() {
+//@		return new EntityData(layout, this);
+//@	}
+//@
+	//#ifdef PP_JAVA_SE
+//@	/**
+//@	 * @see java.util.Hashtable#getOrDefault(java.lang.Object, java.lang.Object)
+//@	 */
+//@	public synchronized Object getOrDefault(Object key, Object defaultValue) {
+//@		final Object v = get(key);
+//@		//
+//@		return v != null ? v : defaultValue;
+//@	}
+//@
+//@	/**
+//@	 * @see java.util.Hashtable#forEach(java.util.function.BiConsumer)
+//@	 */
+//@	public void forEach(java.util.function.BiConsumer action) {
+//@		Enumeration keys = keys();
+//@		Object key;
+//@		Object v;
+//@		//
+//@		while (keys.hasMoreElements()) {
+//@			key = keys.nextElement();
+//@			//
+//@			if ((v = get(key)) != null) {
+//@				action.accept(key, v);
+//@			}
+//@		}
+//@	}
+//@
+//@	/**
+//@	 * @see java.util.Hashtable#replaceAll(java.util.function.BiFunction)
+//@	 */
+//@	public synchronized void replaceAll(java.util.function.BiFunction function) {
+//@		Enumeration keys = keys();
+//@		Object key;
+//@		//
+//@		while (keys.hasMoreElements()) {
+//@			key = keys.nextElement();
+//@			put(key, function.apply(key, get(key)));
+//@		}
+//@	}
+//@
+//@	/**
+//@	 * @see java.util.Hashtable#putIfAbsent(java.lang.Object, java.lang.Object)
+//@	 */
+//@	public synchronized Object putIfAbsent(Object key, Object value) {
+//@		final Object v = get(key);
+//@		//
+//@		if (v == null) {
+//@			put(key, value);
+//@		}
+//@		//
+//@		return v;
+//@	}
+//@
+//@	/**
+//@	 * @see java.util.Hashtable#remove(java.lang.Object, java.lang.Object)
+//@	 */
+//@	public synchronized boolean remove(Object key, Object value) {
+//@		final Object v = get(key);
+//@		//
+//@		if (v != null && v.equals(value)) {
+//@			remove(key);
+//@			//
+//@			return true;
+//@		}
+//@		//
+//@		return false;
+//@	}
+//@
+//@	/**
+//@	 * @see java.util.Hashtable#replace(java.lang.Object, java.lang.Object, java.lang.Object)
+//@	 */
+//@	public synchronized boolean replace(Object key, Object oldValue,
+//@		Object newValue) {
+//@		final Object v = get(key);
+//@		//
+//@		if (v != null && v.equals(oldValue)) {
+//@			put(key, newValue);
+//@			//
+//@			return true;
+//@		}
+//@		//
+//@		return false;
+//@	}
+//@
+//@	/**
+//@	 * @see java.util.Hashtable#replace(java.lang.Object, java.lang.Object)
+//@	 */
+//@	public synchronized Object replace(Object key, Object value) {
+//@		return containsKey(key) ? put(key, value) : null;
+//@	}
+//@
+//@	/**
+//@	 * @see java.util.Hashtable#computeIfAbsent(java.lang.Object, java.util.function.Function)
+//@	 */
+//@	public synchronized Object computeIfAbsent(Object key,
+//@		java.util.function.Function function) {
+//@		Object v = get(key);
+//@		//
+//@		if (v == null && (v = function.apply(key)) != null) {
+//@			put(key, v);
+//@		}
+//@		//
+//@		return v;
+//@	}
+//@
+//@	/**
+//@	 * @see java.util.Hashtable#computeIfPresent(java.lang.Object, java.util.function.BiFunction)
+//@	 */
+//@	public synchronized Object computeIfPresent(Object key,
+//@		java.util.function.BiFunction function) {
+//@		final Object old = get(key);
+//@		//
+//@		return old != null ? set(key, function.apply(key, old)) : null;
+//@	}
+//@
+//@	/**
+//@	 * @see java.util.Hashtable#compute(java.lang.Object, java.util.function.BiFunction)
+//@	 */
+//@	public synchronized Object compute(Object key,
+//@		java.util.function.BiFunction function) {
+//@		return set(key, function.apply(key, get(key)));
+//@	}
+//@
+//@	/**
+//@	 * @see java.util.Hashtable#merge(java.lang.Object, java.lang.Object, java.util.function.BiFunction)
+//@	 */
+//@	public synchronized Object merge(Object key, Object value,
+//@		java.util.function.BiFunction function) {
+//@		final Object old = get(key);
+//@		//
+//@		return set(key, old != null ? function.apply(old, value) : value);
+//@	}
+//@
+//@	/**
+//@	 * <p>
+//@	 * Put a given key's value or remove it, if the value is null.
+//@	 * </p>
+//@	 * @param key Key.
+//@	 * @param value Value.
+//@	 * @return Value.
+//@	 */
+//@	private Object set(Object key, Object value) {
+//@		if (value != null) {
+//@			put(key, value);
+//@		} else {
+//@			remove(key);
+//@		}
+//@		//
+//@		return value;
+//@	}
+	//#endif
+	//#endif
+
+	/**
+	 * <p>
+	 * Verify whether a given key has a value kept in a slot of a given kind.
+	 * </p>
+	 * @param key Key.
+	 * @param kind Kind.
+	 * @return Kept (true).
+	 */
+	private boolean isPrimitive(String key, int kind) {
+		final int slot = layout.getSlot(key);
+		//
+		return hasPrimitive(slot) && layout.getKind(slot) == kind;
+	}
+
+	/**
+	 * <p>
+	 * Verify whether a given slot is a numeric or boolean one with a value.
+	 * </p>
+	 * @param slot Slot.
+	 * @return Value (true).
+	 */
+	private boolean hasPrimitive(int slot) {
+		return slot != -1 && slot < primitives.length
+			&& (primitiveMask & (1L << slot)) != 0;
+	}
+
+	/**
+	 * <p>
+	 * Convert a given value to a numeric or boolean slot's value, in case it
+	 * is a string that converts back to the same text.
+	 * </p>
+	 * @param slot Slot.
+	 * @param value Value.
+	 * @return Converted (true).
+	 */
+	private boolean toPrimitive(int slot, Object value) {
+		if (!(value instanceof String)) {
+			return false;
+		}
+		//
+		final String s = (String)value;
+		//
+		if (layout.getKind(slot) == EntityLayout.BOOLEAN) {
+			if (s.equals("true")) {
+				primitives[slot] = 1;
+			} else if (s.equals("false")) {
+				primitives[slot] = 0;
+			} else {
+				return false;
+			}
+			//
+			return true;
+		}
+		//
+		final int length = s.length();
+		final int start = length > 0 && s.charAt(0) == '-' ? 1 : 0;
+		//
+		if (length == start || length - start > 19
+				|| (s.charAt(start) == '0' && length > 1)) {
+			return false; //empty, too long, leading zero or "-0".
+		}
+		for (int i = start; i < length; i++) {
+			final char c = s.charAt(i);
+			//
+			if (c < '0' || c > '9') {
+				return false;
+			}
+		}
+		//
+		try {
+			primitives[slot] = Long.parseLong(s);
+		} catch (NumberFormatException e) {
+			return false; //overflow.
+		}
+		//
+		return true;
+	}
+
+	/**
+	 * <p>
+	 * Copy the keys or the values.
+	 * </p>
+	 * @param keys Keys (true) or values (false).
+	 * @return Copy.
+	 */
+	private Vector snapshot(boolean keys) {
+		Vector v = new Vector(size());
+		//
+		for (int i = 0; i < layout.size(); i++) {
+			if (i < primitives.length
+					? hasPrimitive(i) : objects[i - primitives.length] != null) {
+				final String key = layout.getKey(i);
+				//
+				v.addElement(keys ? key : get(key));
+			}
+		}
+		//
+		if (others != null) {
+			Enumeration e = keys ? others.keys() : others.elements();
+			//
+			while (e.hasMoreElements()) {
+				v.addElement(e.nextElement());
+			}
+		}
+		//
+		return v;
+	}
+	//#if PP_ANDROID || PP_JAVA_SE
+//@
+//@	/**
+//@	 * <p>
+//@	 * This class implements a view of the keys, values or entries, backed by
+//@	 * the data.
+//@	 * </p>
+//@	 *
+//@	 * @author Ernandes Mourao Junior (ernandes@gmail.com)
+//@	 * @version 1.0
+//@	 * @since 2.0
+//@	 */
+//@	private class View extends java.util.AbstractCollection {
+//@		/**
+//@		 * <p>
+//@		 * View of the keys.
+//@		 * </p>
+//@		 */
+//@		public static final int KEYS = 1;
+//@
+//@		/**
+//@		 * <p>
+//@		 * View of the values.
+//@		 * </p>
+//@		 */
+//@		public static final int VALUES = 2;
+//@
+//@		/**
+//@		 * <p>
+//@		 * View of the entries.
+//@		 * </p>
+//@		 */
+//@		public static final int ENTRIES = 3;
+//@
+//@		/**
+//@		 * <p>
+//@		 * Kind of view.
+//@		 * </p>
+//@		 */
+//@		protected final int kind;
+//@
+//@		/**
+//@		 * <p>
+//@		 * Create an instance of View class.
+//@		 * </p>
+//@		 * @param kind Kind of view.
+//@		 */
+//@		public View(int kind) {
+//@			this.kind = kind;
+//@		}
+//@
+//@		/**
+//@		 * <p>
+//@		 * Iterate a snapshot of the data, whose removals are written through.
+//@		 * </p>
+//@		 * @see java.util.AbstractCollection#iterator()
+//@		 */
+//@		public java.util.Iterator iterator() {
+//@			final Vector keys;
+//@			//
+//@			synchronized (EntityData.this) {
+//@				keys = snapshot(true);
+//@			}
+//@			//
+//@			return new java.util.Iterator() {
+//@				private int index;
+//@				private Object last;
+//@
+//@				public boolean hasNext() {
+//@					return index < keys.size();
+//@				}
+//@
+//@				public Object next() {
+//@					if (index >= keys.size()) {
+//@						throw new java.util.NoSuchElementException();
+//@					}
+//@					//
+//@					last = keys.elementAt(index++);
+//@					//
+//@					if (kind == KEYS) {
+//@						return last;
+//@					} else if (kind == VALUES) {
+//@						return get(last);
+//@					} else {
+//@						return new Entry(last, get(last));
+//@					}
+//@				}
+//@
+//@				public void remove() {
+//@					if (last == null) {
+//@						throw new IllegalStateException();
+//@					}
+//@					//
+//@					EntityData.this.remove(last);
+//@					last = null;
+//@				}
+//@			};
+//@		}
+//@
+//@		/**
+//@		 * @see java.util.AbstractCollection#size()
+//@		 */
+//@		public int size() {
+//@			return EntityData.this.size();
+//@		}
+//@
+//@		/**
+//@		 * @see java.util.AbstractCollection#contains(java.lang.Object)
+//@		 */
+//@		public boolean contains(Object o) {
+//@			if (o == null) {
+//@				return false;
+//@			} else if (kind == KEYS) {
+//@				return containsKey(o);
+//@			} else if (kind == VALUES) {
+//@				return EntityData.this.contains(o);
+//@			} else if (o instanceof java.util.Map.Entry) {
+//@				final java.util.Map.Entry e = (java.util.Map.Entry)o;
+//@				final Object v = e.getKey() != null ? get(e.getKey()) : null;
+//@				//
+//@				return v != null && v.equals(e.getValue());
+//@			} else {
+//@				return false;
+//@			}
+//@		}
+//@
+//@		/**
+//@		 * @see java.util.AbstractCollection#clear()
+//@		 */
+//@		public void clear() {
+//@			EntityData.this.clear();
+//@		}
+//@	}
+//@
+//@	/**
+//@	 * <p>
+//@	 * This class implements a set view of the keys or entries, backed by the
+//@	 * data.
+//@	 * </p>
+//@	 *
+//@	 * @author Ernandes Mourao Junior (ernandes@gmail.com)
+//@	 * @version 1.0
+//@	 * @since 2.0
+//@	 */
+//@	private final class SetView extends View implements java.util.Set {
+//@		/**
+//@		 * <p>
+//@		 * Create an instance of SetView class.
+//@		 * </p>
+//@		 * @param kind Kind of view.
+//@		 */
+//@		public SetView(int kind) {
+//@			super(kind);
+//@		}
+//@
+//@		/**
+//@		 * @see java.util.Set#equals(java.lang.Object)
+//@		 */
+//@		public boolean equals(Object o) {
+//@			if (o == this) {
+//@				return true;
+//@			} else if (!(o instanceof java.util.Set)) {
+//@				return false;
+//@			}
+//@			//
+//@			java.util.Set s = (java.util.Set)o;
+//@			//
+//@			return s.size() == size() && containsAll(s);
+//@		}
+//@
+//@		/**
+//@		 * @see java.util.Set#hashCode()
+//@		 */
+//@		public int hashCode() {
+//@			int hash = 0;
+//@			java.util.Iterator i = iterator();
+//@			//
+//@			while (i.hasNext()) {
+//@				hash += i.next().hashCode();
+//@			}
+//@			//
+//@			return hash;
+//@		}
+//@	}
+//@
+//@	/**
+//@	 * <p>
+//@	 * This class implements an entry of the entries view, whose value is
+//@	 * written through.
+//@	 * </p>
+//@	 *
+//@	 * @author Ernandes Mourao Junior (ernandes@gmail.com)
+//@	 * @version 1.0
+//@	 * @since 2.0
+//@	 */
+//@	private final class Entry implements java.util.Map.Entry {
+//@		/**
+//@		 * <p>
+//@		 * Key.
+//@		 * </p>
+//@		 */
+//@		private Object key;
+//@
+//@		/**
+//@		 * <p>
+//@		 * Value.
+//@		 * </p>
+//@		 */
+//@		private Object value;
+//@
+//@		/**
+//@		 * <p>
+//@		 * Create an instance of Entry class.
+//@		 * </p>
+//@		 * @param key Key.
+//@		 * @param value Value.
+//@		 */
+//@		public Entry(Object key, Object value) {
+//@			this.key = key;
+//@			this.value = value;
+//@		}
+//@
+//@		/**
+//@		 * @see java.util.Map.Entry#getKey()
+//@		 */
+//@		public Object getKey() {
+//@			return key;
+//@		}
+//@
+//@		/**
+//@		 * @see java.util.Map.Entry#getValue()
+//@		 */
+//@		public Object getValue() {
+//@			return value;
+//@		}
+//@
+//@		/**
+//@		 * @see java.util.Map.Entry#setValue(java.lang.Object)
+//@		 */
+//@		public Object setValue(Object value) {
+//@			put(key, value);
+//@			//
+//@			final Object old = this.value;
+//@			this.value = value;
+//@			//
+//@			return old;
+//@		}
+//@
+//@		/**
+//@		 * @see java.util.Map.Entry#equals(java.lang.Object)
+//@		 */
+//@		public boolean equals(Object o) {
+//@			if (!(o instanceof java.util.Map.Entry)) {
+//@				return false;
+//@			}
+//@			//
+//@			java.util.Map.Entry e = (java.util.Map.Entry)o;
+//@			//
+//@			return key.equals(e.getKey()) && (value != null
+//@				? value.equals(e.getValue()) : e.getValue() == null);
+//@		}
+//@
+//@		/**
+//@		 * @see java.util.Map.Entry#hashCode()
+//@		 */
+//@		public int hashCode() {
+//@			return key.hashCode() ^ (value != null ? value.hashCode() : 0);
+//@		}
+//@
+//@		/**
+//@		 * @see java.lang.Object#toString()
+//@		 */
+//@		public String toString() {
+//@			return key + "=" + value;
+//@		}
+//@	}
+	//#endif
+}
@@ -0,0 +1,258 @@
+/*
+ * EntityLayout.java
+ * 18/10/2026
+ * Twitter API Micro Edition
+ * Copyright(c) Ernandes Mourao Junior (ernandes@gmail.com)
+ * All rights reserved
+ */
+package com.twitterapime.model;
+
+import java.util.Hashtable;
+
+/**
+ * <p>
+ * This class defines the layout of an entity type's data, i.e., the dense
+ * slot each of its {@link MetadataSet} keys is stored in by an
+ * {@link EntityData}.
+ * </p>
+ * <p>
+ * Ids, counts and dates are kept in numeric slots, flags in boolean slots and
+ * the other values, e.g., text and nested entities, in object slots.
+ * </p>
+ *
+ * @author Ernandes Mourao Junior (ernandes@gmail.com)
+ * @version 1.0
+ * @since 2.0
+ * @see EntityData
+ */
+//#ifdef PP_ANDROID
+//@public final class EntityLayout implements java.io.Serializable {
+//@	/**
+//@	 * <p>
+//@	 * Serial UID.
+//@	 * </p>
+//@	 */
+//@	private static final long serialVersionUID = -2210945402963186529L;
+//#else
+public final class EntityLayout {
+//#endif
+	/**
+	 * <p>
+	 * Kind of a numeric slot.
+	 * </p>
+	 */
+	public static final int NUMBER = 1;
+
+	/**
+	 * <p>
+	 * Kind of a boolean slot.
+	 * </p>
+	 */
+	public static final int BOOLEAN = 2;
+
+	/**
+	 * <p>
+	 * Kind of an object slot.
+	 * </p>
+	 */
+	public static final int OBJECT = 3;
+
+	/**
+	 * <p>
+	 * Layout of the tweets.
+	 * </p>
+	 */
+	public static final EntityLayout TWEET = new EntityLayout(
+		new String[] {
+			MetadataSet.TWEET_ID,
+			MetadataSet.TWEET_PUBLISH_DATE,
+			MetadataSet.TWEET_IN_REPLY_TO_TWEET_ID},
+		new String[] {
+			MetadataSet.TWEET_FAVOURITE},
+		new String[] {
+			MetadataSet.TWEET_CONTENT,
+			MetadataSet.TWEET_SOURCE,
+			MetadataSet.TWEET_USER_ACCOUNT,
+			MetadataSet.TWEET_ENTITY,
+			MetadataSet.TWEET_LOCATION,
+			MetadataSet.TWEET_REPOSTED_TWEET,
+			MetadataSet.TWEET_RECIPIENT_ACCOUNT,
+			MetadataSet.TWEET_URI,
+			MetadataSet.TWEET_LANG,
+			MetadataSet.TWEET_AUTHOR_NAME,
+			MetadataSet.TWEET_AUTHOR_USERNAME,
+			MetadataSet.TWEET_AUTHOR_URI,
+			MetadataSet.TWEET_AUTHOR_PICTURE_URI});
+
+	/**
+	 * <p>
+	 * Layout of the user accounts.
+	 * </p>
+	 */
+	public static final EntityLayout USER_ACCOUNT = new EntityLayout(
+		new String[] {
+			MetadataSet.USERACCOUNT_ID,
+			MetadataSet.USERACCOUNT_CREATE_DATE,
+			MetadataSet.USERACCOUNT_FOLLOWERS_COUNT,
+			MetadataSet.USERACCOUNT_FRIENDS_COUNT,
+			MetadataSet.USERACCOUNT_FAVOURITES_COUNT,
+			MetadataSet.USERACCOUNT_TWEETS_COUNT,
+			MetadataSet.USERACCOUNT_UTC_OFFSET},
+		new String[] {
+			MetadataSet.USERACCOUNT_PROTECTED,
+			MetadataSet.USERACCOUNT_NOTIFICATIONS,
+			MetadataSet.USERACCOUNT_VERIFIED,
+			MetadataSet.USERACCOUNT_GEO_ENABLED},
+		new String[] {
+			MetadataSet.USERACCOUNT_NAME,
+			MetadataSet.USERACCOUNT_USER_NAME,
+			MetadataSet.USERACCOUNT_LOCATION,
+			MetadataSet.USERACCOUNT_DESCRIPTION,
+			MetadataSet.USERACCOUNT_PICTURE_URI,
+			MetadataSet.USERACCOUNT_PICTURE_URI_MINI,
+			MetadataSet.USERACCOUNT_PICTURE_URI_NORMAL,
+			MetadataSet.USERACCOUNT_PICTURE_URI_BIGGER,
+			MetadataSet.USERACCOUNT_URL,
+			MetadataSet.USERACCOUNT_PROFILE_BACKGROUND_COLOR,
+			MetadataSet.USERACCOUNT_PROFILE_TEXT_COLOR,
+			MetadataSet.USERACCOUNT_PROFILE_LINK_COLOR,
+			MetadataSet.USERACCOUNT_PROFILE_BACKGROUND_IMAGE_URI,
+			MetadataSet.USERACCOUNT_TIME_ZONE,
+			MetadataSet.USERACCOUNT_LAST_TWEET});
+
+	/**
+	 * <p>
+	 * Slots by key.
+	 * </p>
+	 */
+	private Hashtable slots;
+
+	/**
+	 * <p>
+	 * Kinds by slot.
+	 * </p>
+	 */
+	private byte[] kinds;
+
+	/**
+	 * <p>
+	 * Keys by slot, numeric and boolean ones first.
+	 * </p>
+	 */
+	private String[] keys;
+
+	/**
+	 * <p>
+	 * Number of numeric and boolean slots.
+	 * </p>
+	 */
+	private int primitiveCount;
+
+	/**
+	 * <p>
+	 * Create an instance of EntityLayout class.
+	 * </p>
+	 * @param numberKeys Keys of the numeric slots.
+	 * @param booleanKeys Keys of the boolean slots.
+	 * @param objectKeys Keys of the object slots.
+	 * @throws IllegalArgumentException If there are more than 64 numeric and
+	 *                                  boolean keys or a key is repeated.
+	 */
+	public EntityLayout(String[] numberKeys, String[] booleanKeys,
+		String[] objectKeys) {
+		primitiveCount = numberKeys.length + booleanKeys.length;
+		//
+		if (primitiveCount > 64) {
+			throw new IllegalArgumentException(
+				"Numeric and boolean keys must not be more than 64.");
+		}
+		//
+		keys = new String[primitiveCount + objectKeys.length];
+		kinds = new byte[keys.length];
+		slots = new Hashtable(keys.length * 2);
+		//
+		int i = 0;
+		i = addKeys(numberKeys, NUMBER, i);
+		i = addKeys(booleanKeys, BOOLEAN, i);
+		addKeys(objectKeys, OBJECT, i);
+	}
+
+	/**
+	 * <p>
+	 * Get the slot of a given key.
+	 * </p>
+	 * @param key Key.
+	 * @return Slot index or -1, if the key is not in the layout.
+	 */
+	public int getSlot(Object key) {
+		Integer slot = (Integer)slots.get(key);
+		//
+		return slot != null ? slot.intValue() : -1;
+	}
+
+	/**
+	 * <p>
+	 * Get the kind of a given slot.
+	 * </p>
+	 * @param slot Slot index.
+	 * @return Kind, e.g., {@link #NUMBER}.
+	 */
+	public int getKind(int slot) {
+		return kinds[slot];
+	}
+
+	/**
+	 * <p>
+	 * Get the key of a given slot.
+	 * </p>
+	 * @param slot Slot index.
+	 * @return Key.
+	 */
+	public String getKey(int slot) {
+		return keys[slot];
+	}
+
+	/**
+	 * <p>
+	 * Get the number of slots.
+	 * </p>
+	 * @return Number.
+	 */
+	public int size() {
+		return keys.length;
+	}
+
+	/**
+	 * <p>
+	 * Get the number of numeric and boolean slots, which are the first ones.
+	 * </p>
+	 * @return Number.
+	 */
+	public int getPrimitiveCount() {
+		return primitiveCount;
+	}
+
+	/**
+	 * <p>
+	 * Add some keys of a given kind.
+	 * </p>
+	 * @param ks Keys.
+	 * @param kind Kind.
+	 * @param slot Slot of the first key.
+	 * @return Slot after the last key.
+	 * @throws IllegalArgumentException If a key is repeated.
+	 */
+	private int addKeys(String[] ks, int kind, int slot) {
+		for (int i = 0; i < ks.length; i++, slot++) {
+			if (slots.containsKey(ks[i])) {
+				throw new IllegalArgumentException("Repeated key: " + ks[i]);
+			}
+			//
+			keys[slot] = ks[i];
+			kinds[slot] = (byte)kind;
+			slots.put(ks[i], new Integer(slot));
+		}
+		//
+		return slot;
+	}
+}
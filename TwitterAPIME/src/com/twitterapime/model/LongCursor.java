@@ -0,0 +1,134 @@
+/*
+ * LongCursor.java
+ * 18/10/2026
+ * Twitter API Micro Edition
+ * Copyright(c) Ernandes Mourao Junior (ernandes@gmail.com)
+ * All rights reserved
+ */
+package com.twitterapime.model;
+
+/**
+ * <p>
+ * This class implements a cursor to navigate through a paginated content of
+ * longs, e.g., ids, with no object per element.
+ * </p>
+ *
+ * @author Ernandes Mourao Junior (ernandes@gmail.com)
+ * @version 1.0
+ * @since 2.0
+ * @see Cursor
+ */
+public class LongCursor {
+	/**
+	 * <p>
+	 * Elements.
+	 * </p>
+	 */
+	private long[] elements;
+
+	/**
+	 * <p>
+	 * Previous page's index.
+	 * </p>
+	 */
+	private long prevPageIndex;
+
+	/**
+	 * <p>
+	 * Next page's index.
+	 * </p>
+	 */
+	private long nextPageIndex;
+
+	/**
+	 * <p>
+	 * Reading index.
+	 * </p>
+	 */
+	private int elementIndex;
+
+	/**
+	 * <p>
+	 * Create an instance of LongCursor class.
+	 * </p>
+	 * @param elements Elements.
+	 * @param prevPageIndex Previous page's index.
+	 * @param nextPageIndex Next page's index.
+	 */
+	public LongCursor(long[] elements, long prevPageIndex, long nextPageIndex) {
+		this.elements = elements;
+		this.prevPageIndex = prevPageIndex;
+		this.nextPageIndex = nextPageIndex;
+	}
+
+	/**
+	 * <p>
+	 * Verify if there is more elements that can be read.
+	 * </p>
+	 * @return There is (true).
+	 */
+	public boolean hasMoreElements() {
+		return elementIndex < elements.length;
+	}
+
+	/**
+	 * <p>
+	 * Read the next element.
+	 * </p>
+	 * @return Element.
+	 * @throws ArrayIndexOutOfBoundsException If there is no more elements.
+	 */
+	public long nextLong() {
+		return elements[elementIndex++];
+	}
+
+	/**
+	 * <p>
+	 * Number of elements of the page.
+	 * </p>
+	 * @return Number.
+	 */
+	public int size() {
+		return elements.length;
+	}
+
+	/**
+	 * <p>
+	 * Elements of the page. The array is not copied.
+	 * </p>
+	 * @return Elements.
+	 */
+	public long[] getElements() {
+		return elements;
+	}
+
+	/**
+	 * <p>
+	 * Next page's index.
+	 * </p>
+	 * @return Index.
+	 */
+	public long getNextPageIndex() {
+		return nextPageIndex;
+	}
+
+	/**
+	 * <p>
+	 * Previous page's index.
+	 * </p>
+	 * @return Index.
+	 */
+	public long getPreviousPageIndex() {
+		return prevPageIndex;
+	}
+
+	/**
+	 * <p>
+	 * Verify if there is more pages that can be read.
+	 * </p>
+	 * @return There is (true).
+	 */
+	public boolean hasMorePages() {
+		return nextPageIndex > 0;
+	}
+}
@@ -218,6 +218,15 @@ public final class MetadataSet {
 	 */
 	public static final String RATELIMITSTATUS_RESET_TIME =
 		"RATELIMITSTATUS_RESET_TIME";
+
+	/**
+	 * <p>
+	 * Report the resource (endpoint family) the rate limit applies to, e.g.,
+	 * "/statuses/home_timeline".
+	 * </p>
+	 */
+	public static final String RATELIMITSTATUS_RESOURCE =
+		"RATELIMITSTATUS_RESOURCE";
 	
 	/**
 	 * <p>
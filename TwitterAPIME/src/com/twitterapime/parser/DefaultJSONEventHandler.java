@@ -0,0 +1,251 @@
+/*
+ * DefaultJSONEventHandler.java
+ * 18/10/2026
+ * Twitter API Micro Edition
+ * Copyright(c) Ernandes Mourao Junior (ernandes@gmail.com)
+ * All rights reserved
+ */
+package com.twitterapime.parser;
+
+/**
+ * <p>
+ * This class defines a JSON event handler that hands each record of a
+ * document, e.g., each tweet of a timeline, as soon as its closing brace is
+ * read.
+ * </p>
+ * <p>
+ * The records are the objects of the root array, or of the array member of the
+ * root object named by the records key. If the root object has no such member,
+ * the root object itself is the record. Only the record being read is kept in
+ * memory.
+ * </p>
+ * <p>
+ * The members of a record that are not needed can be skipped by the parser,
+ * by overriding {@link #acceptRecordField(String)}.
+ * </p>
+ * 
+ * @author Ernandes Mourao Junior (ernandes@gmail.com)
+ * @version 1.1
+ * @since 2.0
+ */
+public abstract class DefaultJSONEventHandler implements JSONEventHandler,
+	JSONFieldFilter {
+	/**
+	 * <p>
+	 * Name of the root object's member that holds the records.
+	 * </p>
+	 */
+	protected String recordsKey;
+	
+	/**
+	 * <p>
+	 * Depth of the open objects/arrays.
+	 * </p>
+	 */
+	private int depth;
+	
+	/**
+	 * <p>
+	 * Depth of the records array, or zero, if it is not open.
+	 * </p>
+	 */
+	private int recordsDepth;
+	
+	/**
+	 * <p>
+	 * Whether the records array was found.
+	 * </p>
+	 */
+	private boolean recordsFound;
+	
+	/**
+	 * <p>
+	 * Name of the last root object's member.
+	 * </p>
+	 */
+	private String lastKey;
+	
+	/**
+	 * <p>
+	 * Builder of the record being read.
+	 * </p>
+	 */
+	private JSONTreeBuilder record;
+	
+	/**
+	 * <p>
+	 * Builder of the root object, without the records array.
+	 * </p>
+	 */
+	private JSONTreeBuilder root;
+	
+	/**
+	 * <p>
+	 * Create an instance of DefaultJSONEventHandler class.
+	 * </p>
+	 * @param recordsKey Name of the root object's member that holds the
+	 *                   records.
+	 */
+	public DefaultJSONEventHandler(String recordsKey) {
+		this.recordsKey = recordsKey;
+	}
+	
+	/**
+	 * <p>
+	 * Callback method called to notify a record has been read.
+	 * </p>
+	 * @param jsonObj Record.
+	 * @throws ParserException If a parser error occurs.
+	 */
+	public abstract void handleRecord(JSONObject jsonObj)
+		throws ParserException;
+	
+	/**
+	 * <p>
+	 * Callback method called to notify the root object has been read, when it
+	 * holds the records array. The array is not a member of the given object.
+	 * </p>
+	 * @param jsonObj Root object.
+	 * @throws ParserException If a parser error occurs.
+	 */
+	public void handleRoot(JSONObject jsonObj) throws ParserException {
+	}
+	
+	/**
+	 * <p>
+	 * Verify whether a given member of a record must be read. Only the
+	 * record's own members are verified, not the ones of its objects.
+	 * </p>
+	 * <p>
+	 * The default implementation accepts all members.
+	 * </p>
+	 * @param name Member's name.
+	 * @return Read (true) or skip (false).
+	 */
+	protected boolean acceptRecordField(String name) {
+		return true;
+	}
+	
+	/**
+	 * @see com.twitterapime.parser.JSONFieldFilter#accept(java.lang.String, int)
+	 */
+	public boolean accept(String name, int depth) {
+		if (record != null) {
+			return depth != recordsDepth + 1 || acceptRecordField(name);
+		} else if (depth == 1 && !recordsFound) {
+			//root object, which may be the record.
+			return name.equals(recordsKey) || acceptRecordField(name);
+		}
+		//
+		return true;
+	}
+
+	/**
+	 * @see com.twitterapime.parser.JSONEventHandler#startObject()
+	 */
+	public void startObject() throws ParserException {
+		depth++;
+		//
+		if (record != null) {
+			record.startObject();
+		} else if (recordsDepth > 0 && depth == recordsDepth + 1) {
+			record = new JSONTreeBuilder();
+			record.startObject();
+		} else if (depth == 1) {
+			root = new JSONTreeBuilder();
+			root.startObject();
+		} else if (root != null) {
+			root.startObject();
+		}
+	}
+
+	/**
+	 * @see com.twitterapime.parser.JSONEventHandler#endObject()
+	 */
+	public void endObject() throws ParserException {
+		if (record != null) {
+			record.endObject();
+			//
+			if (depth == recordsDepth + 1) {
+				JSONObject jsonObj = record.getJSONObject();
+				//
+				record = null;
+				handleRecord(jsonObj);
+			}
+		} else if (root != null) {
+			root.endObject();
+			//
+			if (depth == 1) {
+				JSONObject jsonObj = root.getJSONObject();
+				//
+				root = null;
+				//
+				if (recordsFound) {
+					handleRoot(jsonObj);
+				} else {
+					handleRecord(jsonObj);
+				}
+			}
+		}
+		//
+		depth--;
+	}
+
+	/**
+	 * @see com.twitterapime.parser.JSONEventHandler#startArray()
+	 */
+	public void startArray() throws ParserException {
+		depth++;
+		//
+		if (record != null) {
+			record.startArray();
+		} else if (depth == 1) {
+			recordsDepth = depth;
+			recordsFound = true;
+		} else if (depth == 2 && root != null && !recordsFound
+				&& recordsKey != null && recordsKey.equals(lastKey)) {
+			recordsDepth = depth;
+			recordsFound = true;
+		} else if (root != null) {
+			root.startArray();
+		}
+	}
+
+	/**
+	 * @see com.twitterapime.parser.JSONEventHandler#endArray()
+	 */
+	public void endArray() throws ParserException {
+		if (record != null) {
+			record.endArray();
+		} else if (depth == recordsDepth) {
+			recordsDepth = 0;
+		} else if (root != null) {
+			root.endArray();
+		}
+		//
+		depth--;
+	}
+
+	/**
+	 * @see com.twitterapime.parser.JSONEventHandler#fieldName(java.lang.String)
+	 */
+	public void fieldName(String name) throws ParserException {
+		if (record != null) {
+			record.fieldName(name);
+		} else if (root != null) {
+			lastKey = name;
+			root.fieldName(name);
+		}
+	}
+
+	/**
+	 * @see com.twitterapime.parser.JSONEventHandler#value(java.lang.String, int)
+	 */
+	public void value(String value, int type) throws ParserException {
+		if (record != null) {
+			record.value(value, type);
+		} else if (root != null) {
+			root.value(value, type);
+		}
+	}
+}
@@ -68,7 +68,7 @@ public class DefaultJSONHandler implements JSONHandler {
 	 */
 	public boolean isMember(JSONObject jsonObj, String key)
 		throws ParserException {
-		return jsonObj.getString(key).startsWith("{");
+		return jsonObj.getType(key) == JSONObject.TYPE_OBJECT;
 	}
 	
 	/**
@@ -76,7 +76,7 @@ public class DefaultJSONHandler implements JSONHandler {
 	 */
 	public boolean isArray(JSONObject jsonObj, String key)
 		throws ParserException {
-		return jsonObj.getString(key).startsWith("[");
+		return jsonObj.getType(key) == JSONObject.TYPE_ARRAY;
 	}
 
 	/**
@@ -94,11 +94,12 @@ public class DefaultJSONHandler implements JSONHandler {
 		//
 		while (keys.hasMoreElements()) {
 			String key = keys.nextElement().toString();
+			int type = jsonObj.getType(key);
 			//
-			if (isMember(jsonObj, key)) {
+			if (type == JSONObject.TYPE_OBJECT) {
 				data.put(
 					key, readJSON(jsonObj.getJSONObject(key), new Hashtable()));
-			} else if (isArray(jsonObj, key)) {
+			} else if (type == JSONObject.TYPE_ARRAY) {
 				JSONArray array = jsonObj.getJSONArray(key);
 				Hashtable[] arrayObj = new Hashtable[array.length()];
 				//
@@ -11,18 +11,119 @@ package com.twitterapime.parser;
  * <p>
  * This class defines a default XML document handler.
  * </p>
+ * <p>
+ * A handler created with a {@link XMLPathTrie} gets the id of the current
+ * element's path from {@link #getPathId()}, with no path string built.
+ * Otherwise, the current path is kept in {@link #xmlPath}.
+ * </p>
  * 
  * @author Ernandes Mourao Junior (ernandes@gmail.com)
- * @version 1.0
+ * @version 1.1
  * @since 1.1
  */
 public class DefaultXMLHandler implements XMLHandler {
 	/**
 	 * <p>
-	 * Current reading path.
+	 * Current reading path. It is not kept when a path trie is used.
 	 * </p>
 	 */
 	protected String xmlPath = "";
+	
+	/**
+	 * <p>
+	 * Path trie.
+	 * </p>
+	 */
+	private XMLPathTrie paths;
+	
+	/**
+	 * <p>
+	 * Trie nodes of the open elements.
+	 * </p>
+	 */
+	private XMLPathTrie.Node[] nodes;
+	
+	/**
+	 * <p>
+	 * Path ids of the open elements.
+	 * </p>
+	 */
+	private int[] ids;
+	
+	/**
+	 * <p>
+	 * Descendant ids of the open elements.
+	 * </p>
+	 */
+	private int[] descendantIds;
+	
+	/**
+	 * <p>
+	 * Names of the open elements.
+	 * </p>
+	 */
+	private String[] names;
+	
+	/**
+	 * <p>
+	 * Number of open elements.
+	 * </p>
+	 */
+	private int depth;
+	
+	/**
+	 * <p>
+	 * Create an instance of DefaultXMLHandler class.
+	 * </p>
+	 */
+	public DefaultXMLHandler() {
+	}
+	
+	/**
+	 * <p>
+	 * Create an instance of DefaultXMLHandler class.
+	 * </p>
+	 * @param paths Path trie.
+	 * @throws IllegalArgumentException If paths is null.
+	 * @since 2.0
+	 */
+	protected DefaultXMLHandler(XMLPathTrie paths) {
+		if (paths == null) {
+			throw new IllegalArgumentException("Paths must not be null.");
+		}
+		//
+		this.paths = paths;
+		nodes = new XMLPathTrie.Node[16];
+		ids = new int[16];
+		descendantIds = new int[16];
+		names = new String[16];
+		//
+		nodes[0] = paths.root;
+		ids[0] = XMLPathTrie.NO_ID;
+		descendantIds[0] = paths.root.descendantId;
+	}
+	
+	/**
+	 * <p>
+	 * Get the id of the current element's path.
+	 * </p>
+	 * @return Id or {@link XMLPathTrie#NO_ID}, if the path was not added.
+	 * @since 2.0
+	 */
+	protected int getPathId() {
+		return ids != null ? ids[depth] : XMLPathTrie.NO_ID;
+	}
+	
+	/**
+	 * <p>
+	 * Get the name of the current element, when a path trie is used.
+	 * </p>
+	 * @return Name.
+	 * @since 2.0
+	 */
+	protected String getElementName() {
+		return names != null ? names[depth] : null;
+	}
 
 	/**
 	 * @see com.twitterapime.parser.XMLHandler#startDocument()
@@ -35,7 +136,32 @@ public class DefaultXMLHandler implements XMLHandler {
 	 */
 	public void startElement(String namespaceURI, String localName,
 		String qName, Attributes attrs) throws ParserException {
-		xmlPath += '/' + localName.toLowerCase();
+		if (paths == null) {
+			xmlPath += '/' + localName.toLowerCase();
+			return;
+		}
+		//
+		if (depth + 1 == nodes.length) {
+			grow();
+		}
+		//
+		XMLPathTrie.Node parent = nodes[depth];
+		XMLPathTrie.Node node = parent != null ? parent.child(localName) : null;
+		int inherited = descendantIds[depth];
+		//
+		depth++;
+		nodes[depth] = node;
+		names[depth] = localName;
+		//
+		if (node != null) {
+			ids[depth] = node.id != XMLPathTrie.NO_ID ? node.id : inherited;
+			descendantIds[depth] =
+				node.descendantId != XMLPathTrie.NO_ID
+					? node.descendantId : inherited;
+		} else {
+			ids[depth] = inherited;
+			descendantIds[depth] = inherited;
+		}
 	}
 
 	/**
@@ -49,7 +175,13 @@ public class DefaultXMLHandler implements XMLHandler {
 	 */
 	public void endElement(String namespaceURI, String localName, String qName)
 		throws ParserException {
-		xmlPath = xmlPath.substring(0, xmlPath.lastIndexOf('/'));
+		if (paths == null) {
+			xmlPath = xmlPath.substring(0, xmlPath.lastIndexOf('/'));
+		} else if (depth > 0) {
+			nodes[depth] = null;
+			names[depth] = null;
+			depth--;
+		}
 	}
 
 	/**
@@ -57,4 +189,28 @@ public class DefaultXMLHandler implements XMLHandler {
 	 */
 	public void endDocument() throws ParserException {
 	}
+	
+	/**
+	 * <p>
+	 * Double the capacity of the open elements' stacks.
+	 * </p>
+	 */
+	private void grow() {
+		final int length = nodes.length * 2;
+		//
+		XMLPathTrie.Node[] n = new XMLPathTrie.Node[length];
+		int[] i = new int[length];
+		int[] d = new int[length];
+		String[] s = new String[length];
+		//
+		System.arraycopy(nodes, 0, n, 0, nodes.length);
+		System.arraycopy(ids, 0, i, 0, ids.length);
+		System.arraycopy(descendantIds, 0, d, 0, descendantIds.length);
+		System.arraycopy(names, 0, s, 0, names.length);
+		//
+		nodes = n;
+		ids = i;
+		descendantIds = d;
+		names = s;
+	}
 }
\ No newline at end of file
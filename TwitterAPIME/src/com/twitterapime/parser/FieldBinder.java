@@ -0,0 +1,299 @@
+/*
+ * FieldBinder.java
+ * 18/10/2026
+ * Twitter API Micro Edition
+ * Copyright(c) Ernandes Mourao Junior (ernandes@gmail.com)
+ * All rights reserved
+ */
+package com.twitterapime.parser;
+
+import java.util.Enumeration;
+import java.util.Hashtable;
+
+import com.twitterapime.util.StringPool;
+import com.twitterapime.util.StringUtil;
+
+/**
+ * <p>
+ * This class implements a table that binds the fields of a document, i.e.,
+ * XML elements or JSON members, to the keys of an entity's data.
+ * </p>
+ * <p>
+ * Each field has an id, a name, the key it is stored under and a converter,
+ * which is applied to its text. The table is built once per entity type and
+ * shared by its XML and JSON handlers, so both populate the data the same
+ * way. A field with no key is left to the handler, e.g., a value split into
+ * several keys.
+ * </p>
+ * <p>
+ * The values of the fields bound with the {@link #SHARED} flag, i.e., those
+ * often repeated among the entities, are canonicalized by the
+ * {@link StringPool}, in case it is enabled.
+ * </p>
+ * <p>
+ * <pre>
+ * FieldBinder fields = new FieldBinder(2);
+ * fields.bind(0, "id", MetadataSet.TWEET_ID, FieldBinder.STRING);
+ * fields.bind(1, "created_at", MetadataSet.TWEET_PUBLISH_DATE,
+ *     FieldBinder.DATE);
+ * ...
+ * fields.populate(data, fields.getField("id"), "123");
+ * </pre>
+ * </p>
+ *
+ * @author Ernandes Mourao Junior (ernandes@gmail.com)
+ * @version 1.1
+ * @since 2.0
+ */
+public final class FieldBinder {
+	/**
+	 * <p>
+	 * Id of an unknown field.
+	 * </p>
+	 */
+	public static final int NO_FIELD = -1;
+
+	/**
+	 * <p>
+	 * Converter that stores the text as is.
+	 * </p>
+	 */
+	public static final int STRING = 0;
+
+	/**
+	 * <p>
+	 * Converter that stores a Twitter date in milliseconds.
+	 * </p>
+	 */
+	public static final int DATE = 1;
+
+	/**
+	 * <p>
+	 * Converter that stores the text without its HTML tags.
+	 * </p>
+	 */
+	public static final int UNTAGGED = 2;
+
+	/**
+	 * <p>
+	 * Flag, combined with a converter, e.g., <code>STRING | SHARED</code>,
+	 * of a field whose values are canonicalized by the {@link StringPool}.
+	 * </p>
+	 */
+	public static final int SHARED = 0x100;
+
+	/**
+	 * <p>
+	 * Field ids by name.
+	 * </p>
+	 */
+	private final Hashtable fields;
+
+	/**
+	 * <p>
+	 * Names by field id.
+	 * </p>
+	 */
+	private final String[] names;
+
+	/**
+	 * <p>
+	 * Keys by field id.
+	 * </p>
+	 */
+	private final String[] keys;
+
+	/**
+	 * <p>
+	 * Converters by field id.
+	 * </p>
+	 */
+	private final int[] converters;
+
+	/**
+	 * <p>
+	 * Create an instance of FieldBinder class.
+	 * </p>
+	 * @param size Number of fields.
+	 */
+	public FieldBinder(int size) {
+		fields = new Hashtable(size * 2);
+		names = new String[size];
+		keys = new String[size];
+		converters = new int[size];
+	}
+
+	/**
+	 * <p>
+	 * Bind a field.
+	 * </p>
+	 * @param field Field id, from 0 to size -1.
+	 * @param name Name.
+	 * @param key Key or null, if the field is populated by the handler.
+	 * @param converter Converter, e.g., {@link #STRING}, optionally combined
+	 *        with {@link #SHARED}.
+	 * @throws IllegalArgumentException If name is empty/null.
+	 * @throws ArrayIndexOutOfBoundsException If field is out of range.
+	 */
+	public void bind(int field, String name, String key, int converter) {
+		if (name == null || name.length() == 0) {
+			throw new IllegalArgumentException("Name must not be empty/null.");
+		}
+		//
+		names[field] = name;
+		keys[field] = key;
+		converters[field] = converter;
+		fields.put(name, new Integer(field));
+	}
+
+	/**
+	 * <p>
+	 * Add another name to a given field, e.g., its name in JSON, when it
+	 * differs from the XML one.
+	 * </p>
+	 * @param field Field id.
+	 * @param name Name.
+	 * @throws IllegalArgumentException If name is empty/null.
+	 */
+	public void alias(int field, String name) {
+		if (name == null || name.length() == 0) {
+			throw new IllegalArgumentException("Name must not be empty/null.");
+		}
+		//
+		fields.put(name, new Integer(field));
+	}
+
+	/**
+	 * <p>
+	 * Get the number of fields.
+	 * </p>
+	 * @return Number.
+	 */
+	public int size() {
+		return names.length;
+	}
+
+	/**
+	 * <p>
+	 * Get the name of a given field.
+	 * </p>
+	 * @param field Field id.
+	 * @return Name.
+	 */
+	public String getName(int field) {
+		return names[field];
+	}
+
+	/**
+	 * <p>
+	 * Get the key of a given field.
+	 * </p>
+	 * @param field Field id.
+	 * @return Key or null, if the field is populated by the handler.
+	 */
+	public String getKey(int field) {
+		return keys[field];
+	}
+
+	/**
+	 * <p>
+	 * Get the field of a given name.
+	 * </p>
+	 * @param name Name.
+	 * @return Field id or {@link #NO_FIELD}, if there is none.
+	 */
+	public int getField(String name) {
+		Integer field = (Integer)fields.get(name);
+		//
+		return field != null ? field.intValue() : NO_FIELD;
+	}
+
+	/**
+	 * <p>
+	 * Get the field whose name ends a given XML path.
+	 * </p>
+	 * @param path XML path.
+	 * @return Field id or {@link #NO_FIELD}, if there is none.
+	 * @see XMLPathTrie#match(String, String[])
+	 */
+	public int match(String path) {
+		return XMLPathTrie.match(path, names);
+	}
+
+	/**
+	 * <p>
+	 * Add the paths of the fields to a given trie, whose ids are the base id
+	 * plus the field id.
+	 * </p>
+	 * @param paths Path trie.
+	 * @param prefix Path of the entity's element.
+	 * @param baseId Base id.
+	 */
+	public void addPaths(XMLPathTrie paths, String prefix, int baseId) {
+		for (int i = 0; i < names.length; i++) {
+			paths.add(prefix + '/' + names[i], baseId + i);
+		}
+	}
+
+	/**
+	 * <p>
+	 * Put the converted text of a given field under the field's key. Fields
+	 * with no key and unknown ones are ignored.
+	 * </p>
+	 * @param data Data.
+	 * @param field Field id.
+	 * @param text Text.
+	 */
+	public void populate(Hashtable data, int field, String text) {
+		if (field < 0 || field >= keys.length || keys[field] == null) {
+			return;
+		}
+		//
+		switch (converters[field] & ~SHARED) {
+		case DATE:
+			text = String.valueOf(StringUtil.convertTweetDateToLong(text));
+			break;
+		case UNTAGGED:
+			text = StringUtil.removeTags(text);
+			break;
+		}
+		//
+		if ((converters[field] & SHARED) != 0) {
+			text = StringPool.getInstance().intern(text);
+		}
+		//
+		data.put(keys[field], text);
+	}
+
+	/**
+	 * <p>
+	 * Populate a given data with the members of a JSON object, visiting each
+	 * member once. Members whose value is an object or an array are skipped.
+	 * </p>
+	 * @param data Data.
+	 * @param jsonObj JSON object.
+	 */
+	public void populate(Hashtable data, JSONObject jsonObj) {
+		Enumeration members = jsonObj.keys();
+		//
+		while (members.hasMoreElements()) {
+			final String name = (String)members.nextElement();
+			final int field = getField(name);
+			//
+			if (field != NO_FIELD && isScalar(jsonObj.getType(name))) {
+				populate(data, field, jsonObj.getString(name));
+			}
+		}
+	}
+
+	/**
+	 * <p>
+	 * Verify whether a given JSON type is not an object or an array.
+	 * </p>
+	 * @param type Type.
+	 * @return Scalar (true).
+	 */
+	private static boolean isScalar(int type) {
+		return type != JSONObject.TYPE_OBJECT && type != JSONObject.TYPE_ARRAY;
+	}
+}
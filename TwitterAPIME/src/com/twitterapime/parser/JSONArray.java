@@ -35,6 +35,26 @@ public interface JSONArray {
 	 */
 	public boolean getBoolean(int index);
 	
+	/**
+	 * <p>
+	 * Get the int value associated with an index.
+	 * </p>
+	 * @param index Index.
+	 * @return Int.
+	 * @since 2.0
+	 */
+	public int getInt(int index);
+	
+	/**
+	 * <p>
+	 * Get the long value associated with an index.
+	 * </p>
+	 * @param index Index.
+	 * @return Long.
+	 * @since 2.0
+	 */
+	public long getLong(int index);
+	
 	/**
 	 * <p>
 	 * Get the JSONArray associated with an index.
@@ -62,6 +82,23 @@ public interface JSONArray {
 	 */
 	public String getString(int index);
 	
+	/**
+	 * <p>
+	 * Get the type of the value associated with an index, without converting
+	 * it to string.
+	 * </p>
+	 * @param index Index.
+	 * @return Type.
+	 * @see JSONObject#TYPE_NULL
+	 * @see JSONObject#TYPE_STRING
+	 * @see JSONObject#TYPE_NUMBER
+	 * @see JSONObject#TYPE_BOOLEAN
+	 * @see JSONObject#TYPE_OBJECT
+	 * @see JSONObject#TYPE_ARRAY
+	 * @since 2.0
+	 */
+	public int getType(int index);
+	
 	/**
 	 * <p>
 	 * Determine if the value is null.
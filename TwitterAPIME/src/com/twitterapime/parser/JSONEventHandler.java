@@ -0,0 +1,83 @@
+/*
+ * JSONEventHandler.java
+ * 18/10/2026
+ * Twitter API Micro Edition
+ * Copyright(c) Ernandes Mourao Junior (ernandes@gmail.com)
+ * All rights reserved
+ */
+package com.twitterapime.parser;
+
+/**
+ * <p>
+ * This interface defines a JSON document handler that is notified of each
+ * element, as soon as it is read from the stream.
+ * </p>
+ * <p>
+ * Unlike {@link JSONHandler}, no object is built by the parser, so the
+ * handler can process the document while it is still arriving. Each member of
+ * an object is notified by {@link #fieldName(String)}, followed by the events
+ * of its value.
+ * </p>
+ * 
+ * @author Ernandes Mourao Junior (ernandes@gmail.com)
+ * @version 1.0
+ * @since 2.0
+ * @see JSONTreeBuilder
+ * @see DefaultJSONEventHandler
+ */
+public interface JSONEventHandler extends Handler {
+	/**
+	 * <p>
+	 * Callback method called to notify the start of an object.
+	 * </p>
+	 * @throws ParserException If a parser error occurs.
+	 */
+	public void startObject() throws ParserException;
+	
+	/**
+	 * <p>
+	 * Callback method called to notify the end of an object.
+	 * </p>
+	 * @throws ParserException If a parser error occurs.
+	 */
+	public void endObject() throws ParserException;
+	
+	/**
+	 * <p>
+	 * Callback method called to notify the start of an array.
+	 * </p>
+	 * @throws ParserException If a parser error occurs.
+	 */
+	public void startArray() throws ParserException;
+	
+	/**
+	 * <p>
+	 * Callback method called to notify the end of an array.
+	 * </p>
+	 * @throws ParserException If a parser error occurs.
+	 */
+	public void endArray() throws ParserException;
+	
+	/**
+	 * <p>
+	 * Callback method called to notify the name of an object's member.
+	 * </p>
+	 * @param name Name.
+	 * @throws ParserException If a parser error occurs.
+	 */
+	public void fieldName(String name) throws ParserException;
+	
+	/**
+	 * <p>
+	 * Callback method called to notify a scalar value. Numbers are notified
+	 * as their text, booleans as "true"/"false" and null as "null".
+	 * </p>
+	 * @param value Value.
+	 * @param type Type, i.e., {@link JSONObject#TYPE_STRING},
+	 *             {@link JSONObject#TYPE_NUMBER},
+	 *             {@link JSONObject#TYPE_BOOLEAN} or
+	 *             {@link JSONObject#TYPE_NULL}.
+	 * @throws ParserException If a parser error occurs.
+	 */
+	public void value(String value, int type) throws ParserException;
+}
@@ -0,0 +1,37 @@
+/*
+ * JSONFieldFilter.java
+ * 18/10/2026
+ * Twitter API Micro Edition
+ * Copyright(c) Ernandes Mourao Junior (ernandes@gmail.com)
+ * All rights reserved
+ */
+package com.twitterapime.parser;
+
+/**
+ * <p>
+ * This interface defines a filter of the members of a JSON document. A handler
+ * that implements it is asked about each member before its value is read.
+ * </p>
+ * <p>
+ * The value of a rejected member is skipped by the parser, with no event and
+ * no object for it. A whole subtree, e.g., the user of a tweet, is then just
+ * scanned, instead of decoded.
+ * </p>
+ * 
+ * @author Ernandes Mourao Junior (ernandes@gmail.com)
+ * @version 1.0
+ * @since 2.0
+ * @see JSONEventHandler
+ */
+public interface JSONFieldFilter {
+	/**
+	 * <p>
+	 * Verify whether a given member must be read.
+	 * </p>
+	 * @param name Member's name.
+	 * @param depth Number of objects/arrays open, i.e., 1 for the members of
+	 *              the root object.
+	 * @return Read (true) or skip (false).
+	 */
+	public boolean accept(String name, int depth);
+}
@@ -0,0 +1,37 @@
+/*
+ * JSONLongHandler.java
+ * 18/10/2026
+ * Twitter API Micro Edition
+ * Copyright(c) Ernandes Mourao Junior (ernandes@gmail.com)
+ * All rights reserved
+ */
+package com.twitterapime.parser;
+
+/**
+ * <p>
+ * This interface defines a {@link JSONEventHandler} that takes the integer
+ * numbers of a JSON document as longs, e.g., a large list of ids.
+ * </p>
+ * <p>
+ * The parser converts the number straight from the characters read, so no
+ * string is created for it. Numbers that are not integers in the range of
+ * long, or that are not taken, are notified by
+ * {@link JSONEventHandler#value(String, int)}.
+ * </p>
+ *
+ * @author Ernandes Mourao Junior (ernandes@gmail.com)
+ * @version 1.0
+ * @since 2.0
+ * @see JSONEventHandler
+ */
+public interface JSONLongHandler {
+	/**
+	 * <p>
+	 * Callback method called to notify an integer number value.
+	 * </p>
+	 * @param value Value.
+	 * @return Taken (true) or notify it as text (false).
+	 * @throws ParserException If a parser error occurs.
+	 */
+	public boolean longValue(long value) throws ParserException;
+}
@@ -20,6 +20,48 @@ import java.util.Enumeration;
  * @since 1.5
  */
 public interface JSONObject {
+	/**
+	 * <p>
+	 * Null value type, also returned when there is no value.
+	 * </p>
+	 */
+	public static final int TYPE_NULL = 0;
+	
+	/**
+	 * <p>
+	 * String value type.
+	 * </p>
+	 */
+	public static final int TYPE_STRING = 1;
+	
+	/**
+	 * <p>
+	 * Number value type.
+	 * </p>
+	 */
+	public static final int TYPE_NUMBER = 2;
+	
+	/**
+	 * <p>
+	 * Boolean value type.
+	 * </p>
+	 */
+	public static final int TYPE_BOOLEAN = 3;
+	
+	/**
+	 * <p>
+	 * JSONObject value type.
+	 * </p>
+	 */
+	public static final int TYPE_OBJECT = 4;
+	
+	/**
+	 * <p>
+	 * JSONArray value type.
+	 * </p>
+	 */
+	public static final int TYPE_ARRAY = 5;
+	
 	/**
 	 * <p>
 	 * Get the value object associated with a key.
@@ -83,6 +125,23 @@ public interface JSONObject {
 	 */
 	public String getString(String key);
 	
+	/**
+	 * <p>
+	 * Get the type of the value associated with a key, without converting
+	 * it to string.
+	 * </p>
+	 * @param key Key.
+	 * @return Type.
+	 * @see JSONObject#TYPE_NULL
+	 * @see JSONObject#TYPE_STRING
+	 * @see JSONObject#TYPE_NUMBER
+	 * @see JSONObject#TYPE_BOOLEAN
+	 * @see JSONObject#TYPE_OBJECT
+	 * @see JSONObject#TYPE_ARRAY
+	 * @since 2.0
+	 */
+	public int getType(String key);
+	
 	/**
 	 * <p>
 	 * Determine if the JSONObject contains a specific key.
@@ -0,0 +1,174 @@
+/*
+ * JSONStreamArray.java
+ * 18/10/2026
+ * Twitter API Micro Edition
+ * Copyright(c) Ernandes Mourao Junior (ernandes@gmail.com)
+ * All rights reserved
+ */
+package com.twitterapime.parser;
+
+import java.util.Vector;
+
+/**
+ * <p>
+ * This class defines an implementation of JSONArray built by
+ * {@link JSONTreeBuilder}.
+ * </p>
+ *
+ * @author Ernandes Mourao Junior (ernandes@gmail.com)
+ * @version 1.0
+ * @since 2.0
+ * @see JSONStreamObject
+ */
+public final class JSONStreamArray implements JSONArray {
+	/**
+	 * <p>
+	 * Elements.
+	 * </p>
+	 */
+	private Vector elements;
+
+	/**
+	 * <p>
+	 * Create an instance of JSONStreamArray class.
+	 * </p>
+	 */
+	JSONStreamArray() {
+		elements = new Vector();
+	}
+
+	/**
+	 * @see com.twitterapime.parser.JSONArray#get(int)
+	 */
+	public Object get(int index) {
+		if (index < 0 || index >= elements.size()) {
+			throw new IllegalArgumentException(
+				"JSONArray[" + index + "] not found.");
+		}
+		//
+		return elements.elementAt(index);
+	}
+
+	/**
+	 * @see com.twitterapime.parser.JSONArray#getBoolean(int)
+	 */
+	public boolean getBoolean(int index) {
+		return JSONStreamObject.toBoolean(get(index), new Integer(index));
+	}
+
+	/**
+	 * @see com.twitterapime.parser.JSONArray#getInt(int)
+	 */
+	public int getInt(int index) {
+		return (int)getLong(index);
+	}
+
+	/**
+	 * @see com.twitterapime.parser.JSONArray#getLong(int)
+	 */
+	public long getLong(int index) {
+		return JSONStreamObject.toLong(get(index), new Integer(index));
+	}
+
+	/**
+	 * @see com.twitterapime.parser.JSONArray#getJSONArray(int)
+	 */
+	public JSONArray getJSONArray(int index) {
+		Object value = get(index);
+		//
+		if (!(value instanceof JSONArray)) {
+			throw new IllegalArgumentException(
+				"JSONArray[" + index + "] is not a JSONArray.");
+		}
+		//
+		return (JSONArray)value;
+	}
+
+	/**
+	 * @see com.twitterapime.parser.JSONArray#getJSONObject(int)
+	 */
+	public JSONObject getJSONObject(int index) {
+		Object value = get(index);
+		//
+		if (!(value instanceof JSONObject)) {
+			throw new IllegalArgumentException(
+				"JSONArray[" + index + "] is not a JSONObject.");
+		}
+		//
+		return (JSONObject)value;
+	}
+
+	/**
+	 * @see com.twitterapime.parser.JSONArray#getString(int)
+	 */
+	public String getString(int index) {
+		return get(index).toString();
+	}
+
+	/**
+	 * @see com.twitterapime.parser.JSONArray#getType(int)
+	 */
+	public int getType(int index) {
+		if (index < 0 || index >= elements.size()) {
+			return JSONObject.TYPE_NULL;
+		}
+		//
+		return JSONStreamObject.typeOf(elements.elementAt(index));
+	}
+
+	/**
+	 * @see com.twitterapime.parser.JSONArray#isNull(int)
+	 */
+	public boolean isNull(int index) {
+		return index < 0 || index >= elements.size()
+			|| elements.elementAt(index) == JSONStreamObject.NULL;
+	}
+
+	/**
+	 * @see com.twitterapime.parser.JSONArray#length()
+	 */
+	public int length() {
+		return elements.size();
+	}
+
+	/**
+	 * @see java.lang.Object#toString()
+	 */
+	public String toString() {
+		StringBuffer json = new StringBuffer();
+		//
+		write(json);
+		//
+		return json.toString();
+	}
+
+	/**
+	 * <p>
+	 * Add an element.
+	 * </p>
+	 * @param value Value.
+	 */
+	void add(Object value) {
+		elements.addElement(value);
+	}
+
+	/**
+	 * <p>
+	 * Write the JSON text of this array.
+	 * </p>
+	 * @param json Buffer.
+	 */
+	void write(StringBuffer json) {
+		json.append('[');
+		//
+		for (int i = 0; i < elements.size(); i++) {
+			if (i > 0) {
+				json.append(',');
+			}
+			//
+			JSONStreamObject.writeValue(elements.elementAt(i), json);
+		}
+		//
+		json.append(']');
+	}
+}
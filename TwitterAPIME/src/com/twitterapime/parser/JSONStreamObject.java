@@ -0,0 +1,376 @@
+/*
+ * JSONStreamObject.java
+ * 18/10/2026
+ * Twitter API Micro Edition
+ * Copyright(c) Ernandes Mourao Junior (ernandes@gmail.com)
+ * All rights reserved
+ */
+package com.twitterapime.parser;
+
+import java.util.Enumeration;
+import java.util.Hashtable;
+
+/**
+ * <p>
+ * This class defines an implementation of JSONObject built by
+ * {@link JSONTreeBuilder}.
+ * </p>
+ * <p>
+ * Strings are kept as String, integral numbers as Long, other numbers as
+ * {@link Decimal}, booleans as Boolean and null as {@link #NULL}. Just like the
+ * JSON.org objects, the string of a member object/array is its JSON text.
+ * </p>
+ *
+ * @author Ernandes Mourao Junior (ernandes@gmail.com)
+ * @version 1.0
+ * @since 2.0
+ * @see JSONStreamArray
+ * @see JSONTreeBuilder
+ */
+public final class JSONStreamObject implements JSONObject {
+	/**
+	 * <p>
+	 * Null value.
+	 * </p>
+	 */
+	public static final Object NULL = new Object() {
+		public String toString() {
+			return "null";
+		}
+	};
+
+	/**
+	 * <p>
+	 * Members.
+	 * </p>
+	 */
+	private Hashtable members;
+
+	/**
+	 * <p>
+	 * Create an instance of JSONStreamObject class.
+	 * </p>
+	 */
+	JSONStreamObject() {
+		members = new Hashtable();
+	}
+
+	/**
+	 * @see com.twitterapime.parser.JSONObject#get(java.lang.String)
+	 */
+	public Object get(String key) {
+		Object value = members.get(key);
+		//
+		if (value == null) {
+			throw new IllegalArgumentException(
+				"JSONObject[\"" + key + "\"] not found.");
+		}
+		//
+		return value;
+	}
+
+	/**
+	 * @see com.twitterapime.parser.JSONObject#getBoolean(java.lang.String)
+	 */
+	public boolean getBoolean(String key) {
+		return toBoolean(get(key), key);
+	}
+
+	/**
+	 * @see com.twitterapime.parser.JSONObject#getInt(java.lang.String)
+	 */
+	public int getInt(String key) {
+		return (int)toLong(get(key), key);
+	}
+
+	/**
+	 * @see com.twitterapime.parser.JSONObject#getJSONArray(java.lang.String)
+	 */
+	public JSONArray getJSONArray(String key) {
+		Object value = get(key);
+		//
+		if (!(value instanceof JSONArray)) {
+			throw new IllegalArgumentException(
+				"JSONObject[\"" + key + "\"] is not a JSONArray.");
+		}
+		//
+		return (JSONArray)value;
+	}
+
+	/**
+	 * @see com.twitterapime.parser.JSONObject#getJSONObject(java.lang.String)
+	 */
+	public JSONObject getJSONObject(String key) {
+		Object value = get(key);
+		//
+		if (!(value instanceof JSONObject)) {
+			throw new IllegalArgumentException(
+				"JSONObject[\"" + key + "\"] is not a JSONObject.");
+		}
+		//
+		return (JSONObject)value;
+	}
+
+	/**
+	 * @see com.twitterapime.parser.JSONObject#getLong(java.lang.String)
+	 */
+	public long getLong(String key) {
+		return toLong(get(key), key);
+	}
+
+	/**
+	 * @see com.twitterapime.parser.JSONObject#getString(java.lang.String)
+	 */
+	public String getString(String key) {
+		return get(key).toString();
+	}
+
+	/**
+	 * @see com.twitterapime.parser.JSONObject#getType(java.lang.String)
+	 */
+	public int getType(String key) {
+		return typeOf(members.get(key));
+	}
+
+	/**
+	 * @see com.twitterapime.parser.JSONObject#has(java.lang.String)
+	 */
+	public boolean has(String key) {
+		return members.containsKey(key);
+	}
+
+	/**
+	 * @see com.twitterapime.parser.JSONObject#isNull(java.lang.String)
+	 */
+	public boolean isNull(String key) {
+		Object value = members.get(key);
+		//
+		return value == null || value == NULL;
+	}
+
+	/**
+	 * @see com.twitterapime.parser.JSONObject#keys()
+	 */
+	public Enumeration keys() {
+		return members.keys();
+	}
+
+	/**
+	 * @see com.twitterapime.parser.JSONObject#length()
+	 */
+	public int length() {
+		return members.size();
+	}
+
+	/**
+	 * @see java.lang.Object#toString()
+	 */
+	public String toString() {
+		StringBuffer json = new StringBuffer();
+		//
+		write(json);
+		//
+		return json.toString();
+	}
+
+	/**
+	 * <p>
+	 * Put a member.
+	 * </p>
+	 * @param key Key.
+	 * @param value Value.
+	 */
+	void put(String key, Object value) {
+		members.put(key, value);
+	}
+
+	/**
+	 * <p>
+	 * Write the JSON text of this object.
+	 * </p>
+	 * @param json Buffer.
+	 */
+	void write(StringBuffer json) {
+		Enumeration keys = members.keys();
+		//
+		json.append('{');
+		//
+		while (keys.hasMoreElements()) {
+			String key = (String)keys.nextElement();
+			//
+			writeValue(key, json);
+			json.append(':');
+			writeValue(members.get(key), json);
+			//
+			if (keys.hasMoreElements()) {
+				json.append(',');
+			}
+		}
+		//
+		json.append('}');
+	}
+
+	/**
+	 * <p>
+	 * Write the JSON text of a given value.
+	 * </p>
+	 * @param value Value.
+	 * @param json Buffer.
+	 */
+	static void writeValue(Object value, StringBuffer json) {
+		if (value instanceof JSONStreamObject) {
+			((JSONStreamObject)value).write(json);
+		} else if (value instanceof JSONStreamArray) {
+			((JSONStreamArray)value).write(json);
+		} else if (value instanceof String) {
+			final String str = (String)value;
+			//
+			json.append('"');
+			//
+			for (int i = 0; i < str.length(); i++) {
+				final char c = str.charAt(i);
+				//
+				if (c == '"' || c == '\\') {
+					json.append('\\').append(c);
+				} else if (c == '\n') {
+					json.append("\\n");
+				} else if (c == '\r') {
+					json.append("\\r");
+				} else if (c == '\t') {
+					json.append("\\t");
+				} else if (c < 0x20) {
+					String hex = Integer.toHexString(c);
+					json.append("\\u00");
+					json.append(hex.length() == 1 ? "0" + hex : hex);
+				} else {
+					json.append(c);
+				}
+			}
+			//
+			json.append('"');
+		} else {
+			json.append(value); //number, boolean or null.
+		}
+	}
+
+	/**
+	 * <p>
+	 * Get the type of a given value.
+	 * </p>
+	 * @param value Value.
+	 * @return Type.
+	 */
+	static int typeOf(Object value) {
+		if (value == null || value == NULL) {
+			return TYPE_NULL;
+		} else if (value instanceof String) {
+			return TYPE_STRING;
+		} else if (value instanceof Long || value instanceof Decimal) {
+			return TYPE_NUMBER;
+		} else if (value instanceof Boolean) {
+			return TYPE_BOOLEAN;
+		} else if (value instanceof JSONObject) {
+			return TYPE_OBJECT;
+		} else {
+			return TYPE_ARRAY;
+		}
+	}
+
+	/**
+	 * <p>
+	 * Convert a given value to long.
+	 * </p>
+	 * @param value Value.
+	 * @param key Key or index, for the error message.
+	 * @return Long.
+	 * @throws IllegalArgumentException If value is not a number.
+	 */
+	static long toLong(Object value, Object key) {
+		if (value instanceof Long) {
+			return ((Long)value).longValue();
+		}
+		//
+		if (!(value instanceof String || value instanceof Decimal)) {
+			throw new IllegalArgumentException(
+				"JSON[" + key + "] is not a number.");
+		}
+		//
+		String str = value.toString().trim();
+		int end = 0;
+		//
+		while (end < str.length()
+				&& (Character.isDigit(str.charAt(end))
+					|| (end == 0 && str.charAt(end) == '-'))) {
+			end++;
+		}
+		//
+		try {
+			return Long.parseLong(str.substring(0, end)); //integer part.
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException(
+				"JSON[" + key + "] is not a number.");
+		}
+	}
+
+	/**
+	 * <p>
+	 * Convert a given value to boolean.
+	 * </p>
+	 * @param value Value.
+	 * @param key Key or index, for the error message.
+	 * @return Boolean.
+	 * @throws IllegalArgumentException If value is not a boolean.
+	 */
+	static boolean toBoolean(Object value, Object key) {
+		if (value instanceof Boolean) {
+			return ((Boolean)value).booleanValue();
+		}
+		//
+		final String str = value.toString().toLowerCase();
+		//
+		if (str.equals("true")) {
+			return true;
+		} else if (str.equals("false")) {
+			return false;
+		}
+		//
+		throw new IllegalArgumentException(
+			"JSON[" + key + "] is not a Boolean.");
+	}
+
+	/**
+	 * <p>
+	 * This class defines a number that is not integral, or does not fit in a
+	 * long, kept as its text.
+	 * </p>
+	 *
+	 * @author Ernandes Mourao Junior (ernandes@gmail.com)
+	 * @version 1.0
+	 * @since 2.0
+	 */
+	static final class Decimal {
+		/**
+		 * <p>
+		 * Number text.
+		 * </p>
+		 */
+		private String text;
+
+		/**
+		 * <p>
+		 * Create an instance of Decimal class.
+		 * </p>
+		 * @param text Number text.
+		 */
+		Decimal(String text) {
+			this.text = text;
+		}
+
+		/**
+		 * @see java.lang.Object#toString()
+		 */
+		public String toString() {
+			return text;
+		}
+	}
+}
@@ -0,0 +1,230 @@
+/*
+ * JSONTreeBuilder.java
+ * 18/10/2026
+ * Twitter API Micro Edition
+ * Copyright(c) Ernandes Mourao Junior (ernandes@gmail.com)
+ * All rights reserved
+ */
+package com.twitterapime.parser;
+
+import java.util.Vector;
+
+/**
+ * <p>
+ * This class defines a JSON event handler that builds the JSONObject and
+ * JSONArray of the notified elements.
+ * </p>
+ * <p>
+ * Integral numbers that fit in a long are kept as Long, other numbers as their
+ * text. Booleans are kept as Boolean and null as {@link JSONStreamObject#NULL}.
+ * </p>
+ * 
+ * @author Ernandes Mourao Junior (ernandes@gmail.com)
+ * @version 1.0
+ * @since 2.0
+ * @see JSONStreamObject
+ * @see JSONStreamArray
+ */
+public final class JSONTreeBuilder implements JSONEventHandler {
+	/**
+	 * <p>
+	 * True value.
+	 * </p>
+	 */
+	private static final Boolean TRUE = new Boolean(true);
+
+	/**
+	 * <p>
+	 * False value.
+	 * </p>
+	 */
+	private static final Boolean FALSE = new Boolean(false);
+
+	/**
+	 * <p>
+	 * Stack of open objects/arrays.
+	 * </p>
+	 */
+	private Vector stack;
+	
+	/**
+	 * <p>
+	 * Name of the member whose value is expected.
+	 * </p>
+	 */
+	private String key;
+	
+	/**
+	 * <p>
+	 * Built value.
+	 * </p>
+	 */
+	private Object value;
+	
+	/**
+	 * <p>
+	 * Create an instance of JSONTreeBuilder class.
+	 * </p>
+	 */
+	public JSONTreeBuilder() {
+		stack = new Vector(8);
+	}
+	
+	/**
+	 * <p>
+	 * Get the built value, once its last element has been notified.
+	 * </p>
+	 * @return Value, i.e., a JSONObject, JSONArray, String, Long or Boolean.
+	 */
+	public Object getValue() {
+		return value;
+	}
+	
+	/**
+	 * <p>
+	 * Get the built object, once its last element has been notified.
+	 * </p>
+	 * @return JSONObject.
+	 * @throws IllegalArgumentException If the value is not an object.
+	 */
+	public JSONObject getJSONObject() {
+		if (!(value instanceof JSONObject)) {
+			throw new IllegalArgumentException("Value is not a JSONObject.");
+		}
+		//
+		return (JSONObject)value;
+	}
+	
+	/**
+	 * <p>
+	 * Clear the built value, so another one can be built.
+	 * </p>
+	 */
+	public void reset() {
+		stack.removeAllElements();
+		key = null;
+		value = null;
+	}
+
+	/**
+	 * @see com.twitterapime.parser.JSONEventHandler#startObject()
+	 */
+	public void startObject() throws ParserException {
+		JSONStreamObject obj = new JSONStreamObject();
+		//
+		add(obj);
+		stack.addElement(obj);
+	}
+
+	/**
+	 * @see com.twitterapime.parser.JSONEventHandler#endObject()
+	 */
+	public void endObject() throws ParserException {
+		pop();
+	}
+
+	/**
+	 * @see com.twitterapime.parser.JSONEventHandler#startArray()
+	 */
+	public void startArray() throws ParserException {
+		JSONStreamArray array = new JSONStreamArray();
+		//
+		add(array);
+		stack.addElement(array);
+	}
+
+	/**
+	 * @see com.twitterapime.parser.JSONEventHandler#endArray()
+	 */
+	public void endArray() throws ParserException {
+		pop();
+	}
+
+	/**
+	 * @see com.twitterapime.parser.JSONEventHandler#fieldName(java.lang.String)
+	 */
+	public void fieldName(String name) throws ParserException {
+		key = name;
+	}
+
+	/**
+	 * @see com.twitterapime.parser.JSONEventHandler#value(java.lang.String, int)
+	 */
+	public void value(String value, int type) throws ParserException {
+		switch (type) {
+		case JSONObject.TYPE_NUMBER:
+			add(toNumber(value));
+			break;
+		case JSONObject.TYPE_BOOLEAN:
+			add("true".equals(value) ? TRUE : FALSE);
+			break;
+		case JSONObject.TYPE_NULL:
+			add(JSONStreamObject.NULL);
+			break;
+		default:
+			add(value);
+		}
+	}
+	
+	/**
+	 * <p>
+	 * Add a given value to the open object/array, or set it as the built
+	 * value, if there is none.
+	 * </p>
+	 * @param val Value.
+	 * @throws ParserException If a member value has no name.
+	 */
+	private void add(Object val) throws ParserException {
+		if (stack.size() == 0) {
+			value = val;
+			return;
+		}
+		//
+		Object top = stack.lastElement();
+		//
+		if (top instanceof JSONStreamArray) {
+			((JSONStreamArray)top).add(val);
+		} else {
+			if (key == null) {
+				throw new ParserException("Member value without name.");
+			}
+			//
+			((JSONStreamObject)top).put(key, val);
+			key = null;
+		}
+	}
+	
+	/**
+	 * <p>
+	 * Close the open object/array.
+	 * </p>
+	 * @throws ParserException If there is no open object/array.
+	 */
+	private void pop() throws ParserException {
+		if (stack.size() == 0) {
+			throw new ParserException("Unexpected end of object/array.");
+		}
+		//
+		stack.removeElementAt(stack.size() - 1);
+	}
+
+	/**
+	 * <p>
+	 * Convert a given number text to Long, if it is integral and fits in one.
+	 * Otherwise, to Decimal.
+	 * </p>
+	 * @param number Number text.
+	 * @return Number.
+	 */
+	private Object toNumber(String number) {
+		if (number.indexOf('.') == -1
+				&& number.indexOf('e') == -1
+				&& number.indexOf('E') == -1) {
+			try {
+				return new Long(Long.parseLong(number));
+			} catch (NumberFormatException e) {}
+		}
+		//
+		return new JSONStreamObject.Decimal(number);
+	}
+}
@@ -0,0 +1,482 @@
+/*
+ * ParallelJSONArrayParser.java
+ * 18/10/2026
+ * Twitter API Micro Edition
+ * Copyright(c) Ernandes Mourao Junior (ernandes@gmail.com)
+ * All rights reserved
+ */
+package com.twitterapime.parser;
+
+import java.io.ByteArrayInputStream;
+
+import com.twitterapime.util.TaskExecutor;
+
+/**
+ * <p>
+ * This class implements a parser of large JSON arrays of objects, e.g., an
+ * archive of statuses, which parses the elements concurrently.
+ * </p>
+ * <p>
+ * The bounds of the array's elements are found in a single pass over the
+ * document's bytes, with no value built. The elements are then split into
+ * slices of contiguous elements, which are parsed by the workers of a
+ * {@link TaskExecutor}. The calling thread parses the slices no worker has
+ * taken yet, so the parsing never waits for a busy or full executor. The
+ * parsed objects are returned in the order they are in the array.
+ * </p>
+ * <p>
+ * <pre>
+ * ParallelJSONArrayParser parser = new ParallelJSONArrayParser(executor);
+ * JSONObject[] statuses = parser.parse(json);
+ * </pre>
+ * </p>
+ *
+ * @author Ernandes Mourao Junior (ernandes@gmail.com)
+ * @version 1.0
+ * @since 2.0
+ */
+public final class ParallelJSONArrayParser {
+	/**
+	 * <p>
+	 * Default min number of elements of a slice.
+	 * </p>
+	 */
+	public static final int DEFAULT_MIN_SLICE_SIZE = 8;
+
+	/**
+	 * <p>
+	 * Executor.
+	 * </p>
+	 */
+	private TaskExecutor executor;
+
+	/**
+	 * <p>
+	 * Min number of elements of a slice.
+	 * </p>
+	 */
+	private int minSliceSize;
+
+	/**
+	 * <p>
+	 * Create an instance of ParallelJSONArrayParser class, which runs on the
+	 * default executor.
+	 * </p>
+	 * @see TaskExecutor#getDefault()
+	 */
+	public ParallelJSONArrayParser() {
+		this(TaskExecutor.getDefault());
+	}
+
+	/**
+	 * <p>
+	 * Create an instance of ParallelJSONArrayParser class.
+	 * </p>
+	 * @param executor Executor.
+	 * @throws IllegalArgumentException If executor is null.
+	 */
+	public ParallelJSONArrayParser(TaskExecutor executor) {
+		if (executor == null) {
+			throw new IllegalArgumentException("Executor must not be null.");
+		}
+		//
+		this.executor = executor;
+		minSliceSize = DEFAULT_MIN_SLICE_SIZE;
+	}
+
+	/**
+	 * <p>
+	 * Set the min number of elements of a slice. Arrays with fewer elements
+	 * are parsed by the calling thread only.
+	 * </p>
+	 * @param size Size.
+	 * @throws IllegalArgumentException If size is less than 1.
+	 */
+	public void setMinSliceSize(int size) {
+		if (size < 1) {
+			throw new IllegalArgumentException("Size must be greater than 0.");
+		}
+		//
+		minSliceSize = size;
+	}
+
+	/**
+	 * <p>
+	 * Get the min number of elements of a slice.
+	 * </p>
+	 * @return Size.
+	 */
+	public int getMinSliceSize() {
+		return minSliceSize;
+	}
+
+	/**
+	 * <p>
+	 * Parse a given JSON array of objects.
+	 * </p>
+	 * @param json Document (UTF-8).
+	 * @return Objects, in the array's order.
+	 * @throws IllegalArgumentException If json is null.
+	 * @throws ParserException If the document is malformed.
+	 */
+	public JSONObject[] parse(byte[] json) throws ParserException {
+		final int[] bounds = split(json);
+		final JSONObject[] objs = new JSONObject[bounds.length / 2];
+		//
+		if (objs.length == 0) {
+			return objs;
+		}
+		//
+		int count = Math.min(
+			objs.length / minSliceSize, executor.getMaxWorkers() +1);
+		//
+		if (count < 1) {
+			count = 1;
+		}
+		//
+		Slice[] slices = new Slice[count];
+		//
+		for (int i = 0; i < count; i++) {
+			slices[i] = new Slice(json, bounds, objs,
+				objs.length * i / count, objs.length * (i +1) / count);
+		}
+		//
+		for (int i = 1; i < count; i++) {
+			try {
+				executor.execute(slices[i]);
+			} catch (IllegalStateException e) {
+				//rejected: taken by the calling thread.
+			}
+		}
+		//
+		for (int i = 0; i < count; i++) {
+			slices[i].run(); //parses the slices not taken yet.
+		}
+		//
+		for (int i = 0; i < count; i++) {
+			slices[i].join();
+			//
+			if (slices[i].error != null) {
+				throw slices[i].error;
+			}
+		}
+		//
+		return objs;
+	}
+
+	/**
+	 * <p>
+	 * Find the bounds of the elements of a given JSON array. Only the array's
+	 * structure is verified, i.e., brackets, commas and strings, not the
+	 * elements' content.
+	 * </p>
+	 * @param json Document (UTF-8).
+	 * @return Bounds, i.e., start (inclusive) and end (exclusive) offsets of
+	 *         each element, in the array's order.
+	 * @throws IllegalArgumentException If json is null.
+	 * @throws ParserException If the document is not an array or its
+	 *                         structure is malformed.
+	 */
+	public static int[] split(byte[] json) throws ParserException {
+		if (json == null) {
+			throw new IllegalArgumentException("JSON must not be null.");
+		}
+		//
+		int i = skipWhitespace(json, 0);
+		//
+		if (i == json.length || json[i] != '[') {
+			throw new ParserException("JSON array expected.");
+		}
+		//
+		int[] bounds = new int[32];
+		int size = 0;
+		int start = -1;
+		int depth = 0;
+		boolean inString = false;
+		//
+		for (i++; i < json.length; i++) {
+			final byte b = json[i];
+			//
+			if (inString) {
+				if (b == '\\') {
+					i++;
+				} else if (b == '"') {
+					inString = false;
+				}
+				//
+				continue;
+			}
+			//
+			switch (b) {
+			case ' ':
+			case '\t':
+			case '\n':
+			case '\r':
+				break;
+			case '"':
+				inString = true;
+				//
+				if (start == -1) {
+					start = i;
+				}
+				break;
+			case '{':
+			case '[':
+				depth++;
+				//
+				if (start == -1) {
+					start = i;
+				}
+				break;
+			case '}':
+			case ']':
+				if (depth > 0) {
+					depth--;
+					break;
+				}
+				//
+				if (b != ']' || (start == -1 && size > 0)) {
+					throw new ParserException("Malformed JSON array.");
+				}
+				if (skipWhitespace(json, i +1) != json.length) {
+					throw new ParserException("Content after JSON array.");
+				}
+				//
+				if (start != -1) {
+					bounds = add(bounds, size, start, i);
+					size += 2;
+				}
+				//
+				int[] trimmed = new int[size];
+				System.arraycopy(bounds, 0, trimmed, 0, size);
+				//
+				return trimmed;
+			case ',':
+				if (depth > 0) {
+					break;
+				}
+				if (start == -1) {
+					throw new ParserException("Malformed JSON array.");
+				}
+				//
+				bounds = add(bounds, size, start, i);
+				size += 2;
+				start = -1;
+				break;
+			default:
+				if (start == -1) {
+					start = i;
+				}
+			}
+		}
+		//
+		throw new ParserException("Unterminated JSON array.");
+	}
+
+	/**
+	 * <p>
+	 * Add the bounds of an element, growing the array if needed.
+	 * </p>
+	 * @param bounds Bounds.
+	 * @param size Number of bounds.
+	 * @param start Start offset.
+	 * @param end End offset.
+	 * @return Bounds.
+	 */
+	private static int[] add(int[] bounds, int size, int start, int end) {
+		if (size +2 > bounds.length) {
+			int[] grown = new int[bounds.length * 2];
+			System.arraycopy(bounds, 0, grown, 0, size);
+			bounds = grown;
+		}
+		//
+		bounds[size] = start;
+		bounds[size +1] = end;
+		//
+		return bounds;
+	}
+
+	/**
+	 * <p>
+	 * Skip the whitespaces from a given offset.
+	 * </p>
+	 * @param json Document.
+	 * @param i Offset.
+	 * @return Offset of the next non-whitespace byte or the length.
+	 */
+	private static int skipWhitespace(byte[] json, int i) {
+		while (i < json.length && (json[i] == ' ' || json[i] == '\t'
+				|| json[i] == '\n' || json[i] == '\r')) {
+			i++;
+		}
+		//
+		return i;
+	}
+
+	/**
+	 * <p>
+	 * This class implements a slice of contiguous elements, parsed by the
+	 * first thread to run it.
+	 * </p>
+	 *
+	 * @author Ernandes Mourao Junior (ernandes@gmail.com)
+	 * @version 1.0
+	 * @since 2.0
+	 */
+	private static final class Slice extends DefaultJSONHandler
+		implements Runnable {
+		/**
+		 * <p>
+		 * Slice not taken yet.
+		 * </p>
+		 */
+		private static final int PENDING = 0;
+
+		/**
+		 * <p>
+		 * Slice being parsed.
+		 * </p>
+		 */
+		private static final int RUNNING = 1;
+
+		/**
+		 * <p>
+		 * Slice parsed.
+		 * </p>
+		 */
+		private static final int DONE = 2;
+
+		/**
+		 * <p>
+		 * Document.
+		 * </p>
+		 */
+		private byte[] json;
+
+		/**
+		 * <p>
+		 * Bounds of the elements.
+		 * </p>
+		 */
+		private int[] bounds;
+
+		/**
+		 * <p>
+		 * Parsed objects.
+		 * </p>
+		 */
+		private JSONObject[] objs;
+
+		/**
+		 * <p>
+		 * Index of the first element.
+		 * </p>
+		 */
+		private int from;
+
+		/**
+		 * <p>
+		 * Index after the last element.
+		 * </p>
+		 */
+		private int to;
+
+		/**
+		 * <p>
+		 * Index of the element being parsed.
+		 * </p>
+		 */
+		private int index;
+
+		/**
+		 * <p>
+		 * State.
+		 * </p>
+		 */
+		private int state;
+
+		/**
+		 * <p>
+		 * Error or null, if none.
+		 * </p>
+		 */
+		public ParserException error;
+
+		/**
+		 * <p>
+		 * Create an instance of Slice class.
+		 * </p>
+		 * @param json Document.
+		 * @param bounds Bounds of the elements.
+		 * @param objs Parsed objects.
+		 * @param from Index of the first element.
+		 * @param to Index after the last element.
+		 */
+		public Slice(byte[] json, int[] bounds, JSONObject[] objs, int from,
+			int to) {
+			super("root");
+			//
+			this.json = json;
+			this.bounds = bounds;
+			this.objs = objs;
+			this.from = from;
+			this.to = to;
+		}
+
+		/**
+		 * @see java.lang.Runnable#run()
+		 */
+		public void run() {
+			synchronized (this) {
+				if (state != PENDING) {
+					return;
+				}
+				//
+				state = RUNNING;
+			}
+			//
+			try {
+				for (index = from; index < to; index++) {
+					final int start = bounds[index * 2];
+					final int end = bounds[index * 2 +1];
+					//
+					ParserFactory.parse(ParserFactory.JSON,
+						new ByteArrayInputStream(json, start, end - start),
+						this);
+				}
+			} catch (ParserException e) {
+				error = e;
+			} catch (Exception e) {
+				error = new ParserException(e.getMessage());
+			} finally {
+				synchronized (this) {
+					state = DONE;
+					notifyAll();
+				}
+			}
+		}
+
+		/**
+		 * @see com.twitterapime.parser.DefaultJSONHandler#handle(com.twitterapime.parser.JSONObject)
+		 */
+		public void handle(JSONObject jsonObj) throws ParserException {
+			objs[index] = jsonObj.getJSONObject(startKey);
+		}
+
+		/**
+		 * <p>
+		 * Wait for the slice to be parsed, in case it is running.
+		 * </p>
+		 * @throws ParserException If the thread is interrupted.
+		 */
+		public synchronized void join() throws ParserException {
+			while (state == RUNNING) {
+				try {
+					wait();
+				} catch (InterruptedException e) {
+					throw new ParserException("Parsing interrupted.");
+				}
+			}
+		}
+	}
+}
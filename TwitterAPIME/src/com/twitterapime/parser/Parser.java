@@ -17,7 +17,7 @@ import java.io.InputStream;
  * </p>
  * 
  * @author Ernandes Mourao Junior (ernandes@gmail.com)
- * @version 1.1
+ * @version 1.3
  * @since 1.0
  * @see ParserFactory
  * @see Handler
@@ -35,4 +35,20 @@ public abstract class Parser {
 	 */
 	public abstract void parse(InputStream stream, Handler handler)
 		throws IOException,	ParserException;
+	
+	/**
+	 * <p>
+	 * Reset the parser, releasing any reference to the last parsed document,
+	 * so that the same instance can parse another one. Its objects, e.g., a
+	 * tokenizer, are kept, to be reused by the next parsing, but the I/O
+	 * buffers taken from {@link com.twitterapime.io.BufferPool} are returned
+	 * to it, so an idle parser holds no buffer.
+	 * </p>
+	 * <p>
+	 * The default implementation does nothing.
+	 * </p>
+	 * @see ParserFactory#parse(int, InputStream, Handler)
+	 */
+	public void reset() {
+	}
 }
\ No newline at end of file
@@ -7,6 +7,10 @@
  */
 package com.twitterapime.parser;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Vector;
+
 import com.twitterapime.platform.PlatformProvider;
 import com.twitterapime.platform.PlatformProviderSelector;
 
@@ -19,9 +23,15 @@ import com.twitterapime.platform.PlatformProviderSelector;
  * current platform provider from PlatformProviderSelector class. For each
  * supported platform, there is a specific implementation class.
  * </p>
+ * <p>
+ * Documents parsed through {@link #parse(int, InputStream, Handler)} reuse
+ * the parser objects of previous parsings. Each parser is reset, which
+ * returns its I/O buffers to {@link com.twitterapime.io.BufferPool}, and is
+ * returned to a bounded pool when its parsing is over.
+ * </p>
  * 
  * @author Ernandes Mourao Junior (ernandes@gmail.com)
- * @version 1.4
+ * @version 1.7
  * @since 1.0
  */
 public final class ParserFactory {
@@ -39,6 +49,48 @@ public final class ParserFactory {
 	 */
 	public static final int JSON = 2;
 	
+	/**
+	 * <p>
+	 * Default max number of pooled parsers of each type.
+	 * </p>
+	 */
+	public static final int DEFAULT_MAX_POOLED_PARSERS = 4;
+	
+	/**
+	 * <p>
+	 * Pooled XML parsers.
+	 * </p>
+	 */
+	private static Vector xmlParsers = new Vector(DEFAULT_MAX_POOLED_PARSERS);
+	
+	/**
+	 * <p>
+	 * Pooled JSON parsers.
+	 * </p>
+	 */
+	private static Vector jsonParsers = new Vector(DEFAULT_MAX_POOLED_PARSERS);
+	
+	/**
+	 * <p>
+	 * Platform provider id of the pooled parsers.
+	 * </p>
+	 */
+	private static long pooledPPID = -1;
+	
+	/**
+	 * <p>
+	 * Max number of pooled parsers of each type.
+	 * </p>
+	 */
+	private static int maxPooledParsers = DEFAULT_MAX_POOLED_PARSERS;
+	
+	/**
+	 * <p>
+	 * Number of parsings served by a pooled parser.
+	 * </p>
+	 */
+	private static int reuseCount;
+	
 	/**
 	 * <p>
 	 * Create the default parser instance according to the underlying platform.
@@ -64,18 +116,18 @@ public final class ParserFactory {
 		//#ifdef PP_JAVA_ME
 		if (PPID == PlatformProvider.PPID_JAVA_ME) {
 			if (type == JSON) {
-				return new impl.javame.com.twitterapime.parser.JSONOrgParser();
+				return new impl.javame.com.twitterapime.parser.JSONStreamParser();
 			} else {
-				return new impl.javame.com.twitterapime.parser.KXML2Parser();
+				return new impl.javame.com.twitterapime.parser.XMLStreamParser();
 			}
 		}
 		//#else
 		//#ifdef PP_RIM
 //@		if (PPID == PlatformProvider.PPID_RIM) {
 //@			if (type == JSON) {
-//@				return new impl.javame.com.twitterapime.parser.JSONOrgParser();
+//@				return new impl.javame.com.twitterapime.parser.JSONStreamParser();
 //@			} else {
-//@				return new impl.javame.com.twitterapime.parser.KXML2Parser();
+//@				return new impl.javame.com.twitterapime.parser.XMLStreamParser();
 //@			}
 //@		}
 		//#else
@@ -83,11 +135,22 @@ public final class ParserFactory {
 		//#ifdef PP_ANDROID
 //@		if (PPID == PlatformProvider.PPID_ANDROID) {
 //@			if (type == JSON) {
-//@				return new impl.javame.com.twitterapime.parser.JSONOrgParser();				
+//@				return new impl.javame.com.twitterapime.parser.JSONStreamParser();				
 //@			} else {
 //@				return new impl.android.com.twitterapime.parser.SAXParser();				
 //@			}
 //@		}
+		//#else
+//@		//
+		//#ifdef PP_JAVA_SE
+//@		if (PPID == PlatformProvider.PPID_JAVA_SE) {
+//@			if (type == JSON) {
+//@				return new impl.javame.com.twitterapime.parser.JSONStreamParser();
+//@			} else {
+//@				return new impl.android.com.twitterapime.parser.SAXParser();
+//@			}
+//@		}
+		//#endif
 		//#endif
 		//#endif
 		//#endif
@@ -95,6 +158,123 @@ public final class ParserFactory {
 		throw new IllegalArgumentException("Unknown platform ID: " + PPID);
 	}
 	
+	/**
+	 * <p>
+	 * Parse a given stream with a pooled parser of a given type.
+	 * </p>
+	 * @param type Parser type.
+	 * @param stream Stream.
+	 * @param handler Handler.
+	 * @throws IOException If an I/O error occurs.
+	 * @throws ParserException If there is an error in the document format.
+	 * @see ParserFactory#XML
+	 * @see ParserFactory#JSON
+	 */
+	public static void parse(int type, InputStream stream, Handler handler)
+		throws IOException, ParserException {
+		Parser parser = acquireParser(type);
+		//
+		try {
+			parser.parse(stream, handler);
+		} finally {
+			releaseParser(type, parser);
+		}
+	}
+	
+	/**
+	 * <p>
+	 * Get the number of parsings served by a pooled parser, i.e., with no new
+	 * parser created.
+	 * </p>
+	 * @return Number.
+	 */
+	public synchronized static int getReuseCount() {
+		return reuseCount;
+	}
+	
+	/**
+	 * <p>
+	 * Set the max number of pooled parsers of each type. Zero disables the
+	 * pooling.
+	 * </p>
+	 * @param max Max number.
+	 * @throws IllegalArgumentException If max is negative.
+	 */
+	public synchronized static void setMaxPooledParsers(int max) {
+		if (max < 0) {
+			throw new IllegalArgumentException("Max must not be negative.");
+		}
+		//
+		maxPooledParsers = max;
+		//
+		while (xmlParsers.size() > max) {
+			xmlParsers.removeElementAt(xmlParsers.size() -1);
+		}
+		while (jsonParsers.size() > max) {
+			jsonParsers.removeElementAt(jsonParsers.size() -1);
+		}
+	}
+	
+	/**
+	 * <p>
+	 * Get the max number of pooled parsers of each type.
+	 * </p>
+	 * @return Max number.
+	 */
+	public synchronized static int getMaxPooledParsers() {
+		return maxPooledParsers;
+	}
+	
+	/**
+	 * <p>
+	 * Acquire a parser of a given type from the pool. The pool is emptied if
+	 * the platform provider has changed.
+	 * </p>
+	 * @param type Parser type.
+	 * @return Parser instance.
+	 */
+	private synchronized static Parser acquireParser(int type) {
+		final long PPID = PlatformProviderSelector.getCurrentProvider().getID();
+		//
+		if (PPID != pooledPPID) {
+			xmlParsers.removeAllElements();
+			jsonParsers.removeAllElements();
+			pooledPPID = PPID;
+		}
+		//
+		Vector parsers = type == JSON ? jsonParsers : xmlParsers;
+		final int size = parsers.size();
+		//
+		if (size > 0) {
+			Parser parser = (Parser)parsers.elementAt(size -1);
+			parsers.removeElementAt(size -1);
+			reuseCount++;
+			//
+			return parser;
+		}
+		//
+		return getParser(type);
+	}
+	
+	/**
+	 * <p>
+	 * Reset a given parser and release it back to the pool.
+	 * </p>
+	 * @param type Parser type.
+	 * @param parser Parser.
+	 */
+	private synchronized static void releaseParser(int type, Parser parser) {
+		parser.reset();
+		//
+		Vector parsers = type == JSON ? jsonParsers : xmlParsers;
+		//
+		if (parsers.size() < maxPooledParsers
+				&& PlatformProviderSelector.getCurrentProvider().getID()
+					== pooledPPID) {
+			parsers.addElement(parser);
+		}
+	}
+	
 	/**
 	 * <p>
 	 * Private constructor to avoid object instantiation.
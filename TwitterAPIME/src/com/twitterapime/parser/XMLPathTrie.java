@@ -0,0 +1,186 @@
+/*
+ * XMLPathTrie.java
+ * 18/10/2026
+ * Twitter API Micro Edition
+ * Copyright(c) Ernandes Mourao Junior (ernandes@gmail.com)
+ * All rights reserved
+ */
+package com.twitterapime.parser;
+
+import java.util.Hashtable;
+
+/**
+ * <p>
+ * This class defines a tree of XML paths, e.g., "/feed/entry/id", each one
+ * associated to an id.
+ * </p>
+ * <p>
+ * The paths are added once, usually by the handler class, and the tree is then
+ * walked, element by element, by {@link DefaultXMLHandler}, so the id of the
+ * current element is known with no path string built or compared. A path
+ * ending with "/*" associates the id to every descendant element of the given
+ * path that has no id of its own.
+ * </p>
+ * <p>
+ * Element names are case insensitive. Once the paths are added, the tree can
+ * be shared by several handlers, even in different threads.
+ * </p>
+ * 
+ * @author Ernandes Mourao Junior (ernandes@gmail.com)
+ * @version 1.0
+ * @since 2.0
+ * @see DefaultXMLHandler#getPathId()
+ */
+public final class XMLPathTrie {
+	/**
+	 * <p>
+	 * Id of the elements whose path was not added.
+	 * </p>
+	 */
+	public static final int NO_ID = -1;
+	
+	/**
+	 * <p>
+	 * Root node, i.e., the document.
+	 * </p>
+	 */
+	final Node root = new Node();
+	
+	/**
+	 * <p>
+	 * Add a path, associating it to a given id.
+	 * </p>
+	 * @param path Path, e.g., "/feed/entry/id" or "/feed/entry/author/*".
+	 * @param id Id.
+	 * @throws IllegalArgumentException If path is empty/null or id is negative.
+	 */
+	public void add(String path, int id) {
+		if (path == null || !path.startsWith("/") || path.length() < 2) {
+			throw new IllegalArgumentException("Path must not be empty/null.");
+		}
+		if (id < 0) {
+			throw new IllegalArgumentException("Id must not be negative.");
+		}
+		//
+		Node node = root;
+		int start = 1;
+		//
+		while (true) {
+			int end = path.indexOf('/', start);
+			String name =
+				end == -1 ? path.substring(start) : path.substring(start, end);
+			//
+			if (name.equals("*") && end == -1) {
+				node.descendantId = id;
+				return;
+			}
+			//
+			name = name.toLowerCase();
+			Node child = (Node)node.children.get(name);
+			//
+			if (child == null) {
+				child = new Node();
+				node.children.put(name, child);
+			}
+			node = child;
+			//
+			if (end == -1) {
+				node.id = id;
+				return;
+			}
+			start = end + 1;
+		}
+	}
+	
+	/**
+	 * <p>
+	 * Get the index of the first relative path that ends a given path, e.g.,
+	 * "user/id" ends "/status/user/id", but not "/status/user/user_id".
+	 * </p>
+	 * @param path Path.
+	 * @param relativePaths Relative paths.
+	 * @return Index or {@link #NO_ID}, if there is none.
+	 */
+	public static int match(String path, String[] relativePaths) {
+		for (int i = 0; i < relativePaths.length; i++) {
+			final String rel = relativePaths[i];
+			final int start = path.length() - rel.length();
+			//
+			if (start > 0
+					&& path.charAt(start - 1) == '/'
+					&& path.endsWith(rel)) {
+				return i;
+			}
+		}
+		//
+		return NO_ID;
+	}
+	
+	/**
+	 * <p>
+	 * This class defines a node of the tree, i.e., an element.
+	 * </p>
+	 * 
+	 * @author Ernandes Mourao Junior (ernandes@gmail.com)
+	 * @version 1.0
+	 * @since 2.0
+	 */
+	static final class Node {
+		/**
+		 * <p>
+		 * Child nodes by element name.
+		 * </p>
+		 */
+		final Hashtable children = new Hashtable(4);
+		
+		/**
+		 * <p>
+		 * Id of the element.
+		 * </p>
+		 */
+		int id = NO_ID;
+		
+		/**
+		 * <p>
+		 * Id of the descendant elements with no id of their own.
+		 * </p>
+		 */
+		int descendantId = NO_ID;
+		
+		/**
+		 * <p>
+		 * Get the child node of a given element name.
+		 * </p>
+		 * @param name Element name.
+		 * @return Node or null, if there is none.
+		 */
+		Node child(String name) {
+			Node child = (Node)children.get(name);
+			//
+			if (child == null && hasUpperCase(name)) {
+				child = (Node)children.get(name.toLowerCase());
+			}
+			//
+			return child;
+		}
+		
+		/**
+		 * <p>
+		 * Verify whether a given name has an upper case character.
+		 * </p>
+		 * @param name Name.
+		 * @return Upper case (true).
+		 */
+		private static boolean hasUpperCase(String name) {
+			for (int i = name.length() - 1; i >= 0; i--) {
+				final char c = name.charAt(i);
+				//
+				if (c >= 'A' && c <= 'Z') {
+					return true;
+				}
+			}
+			//
+			return false;
+		}
+	}
+}
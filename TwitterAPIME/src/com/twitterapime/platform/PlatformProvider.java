@@ -43,6 +43,14 @@ public final class PlatformProvider {
 	 */
 	public static final int PPID_RIM = 3;
 
+	/**
+	 * <p>
+	 * Constant that identifies the platform provider ID that represents the
+	 * Java Standard Edition platform.
+	 * </p>
+	 */
+	public static final int PPID_JAVA_SE = 4;
+
 	/**
 	 * <p>
 	 * Constant that identifies the platform provider name that represents the
@@ -67,6 +75,14 @@ public final class PlatformProvider {
 	 */
 	static final String PPNM_RIM = "RIM platform";
 
+	/**
+	 * <p>
+	 * Constant that identifies the platform provider name that represents the
+	 * Java Standard Edition platform.
+	 * </p>
+	 */
+	static final String PPNM_JAVA_SE = "Java Standard Edition platform";
+
 	/**
 	 * <p>
 	 * Platform provider ID.
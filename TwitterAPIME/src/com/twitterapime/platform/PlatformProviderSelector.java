@@ -60,6 +60,17 @@ public final class PlatformProviderSelector {
 //@			PlatformProvider.PPID_ANDROID, PlatformProvider.PPNM_ANDROID);
 	//#endif
 	
+	//#ifdef PP_JAVA_SE
+//@	/**
+//@	 * <p>
+//@	 * Platform provider that represents Java Standard Edition platform.
+//@	 * </p>
+//@	 */
+//@	private static final PlatformProvider javaseProvider =
+//@		new PlatformProvider(
+//@			PlatformProvider.PPID_JAVA_SE, PlatformProvider.PPNM_JAVA_SE);
+	//#endif
+	
 	/**
 	 * <p>
 	 * Hold the default platform provider object defined by Platform Provider
@@ -74,6 +85,10 @@ public final class PlatformProviderSelector {
 	//#else
 	//#ifdef PP_ANDROID
 //@	private static final PlatformProvider defaultPlatform = androidProvider;
+	//#else
+	//#ifdef PP_JAVA_SE
+//@	private static final PlatformProvider defaultPlatform = javaseProvider;
+	//#endif
 	//#endif
 	//#endif
 	//#endif
@@ -106,6 +121,10 @@ public final class PlatformProviderSelector {
 		//#else
 		//#ifdef PP_ANDROID
 //@		v.addElement(androidProvider);
+		//#else
+		//#ifdef PP_JAVA_SE
+//@		v.addElement(javaseProvider);
+		//#endif
 		//#endif
 		//#endif
 		//#endif
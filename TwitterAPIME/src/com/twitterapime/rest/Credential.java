@@ -20,7 +20,7 @@ import com.twitterapime.xauth.Token;
  * </p>
  * 
  * @author Ernandes Mourao Junior (ernandes@gmail.com)
- * @version 1.4
+ * @version 1.5
  * @since 1.1
  * @see UserAccountManager
  */
@@ -176,5 +176,13 @@ public final class Credential extends DefaultEntity {
 	 */
 	void setUsername(String username) {
 		data.put(MetadataSet.CREDENTIAL_USERNAME, username);
+		invalidateHashCode();
+	}
+	
+	/**
+	 * @see com.twitterapime.model.DefaultEntity#isImmutable()
+	 */
+	protected boolean isImmutable() {
+		return true;
 	}
 }
@@ -10,15 +10,14 @@ package com.twitterapime.rest;
 import java.io.IOException;
 import java.util.Enumeration;
 import java.util.Hashtable;
-import java.util.Vector;
 
 import com.twitterapime.io.HttpConnection;
 import com.twitterapime.io.HttpRequest;
 import com.twitterapime.io.HttpResponse;
 import com.twitterapime.io.HttpResponseCodeInterpreter;
 import com.twitterapime.model.Cursor;
+import com.twitterapime.model.LongCursor;
 import com.twitterapime.model.MetadataSet;
-import com.twitterapime.parser.Parser;
 import com.twitterapime.parser.ParserException;
 import com.twitterapime.parser.ParserFactory;
 import com.twitterapime.rest.handler.FriendshipHandler;
@@ -28,6 +27,7 @@ import com.twitterapime.search.InvalidQueryException;
 import com.twitterapime.search.LimitExceededException;
 import com.twitterapime.search.Query;
 import com.twitterapime.search.QueryComposer;
+import com.twitterapime.util.LongVector;
 import com.twitterapime.util.StringUtil;
 
 /**
@@ -50,7 +50,7 @@ import com.twitterapime.util.StringUtil;
  * </p>
  * 
  * @author Ernandes Mourao Junior (ernandes@gmail.com)
- * @version 1.4
+ * @version 1.5
  * @since 1.4
  */
 public final class FriendshipManager {
@@ -670,6 +670,83 @@ public final class FriendshipManager {
 		return getFriendsIDsOrFollowersIDs(
 			getURL(TWITTER_API_URL_SERVICE_FOLLOWERS_ID), query);
 	}
+	
+	/**
+	 * <p>
+	 * Get the friends IDs of the authenticating user or given user, as longs.
+	 * </p>
+	 * <p>
+	 * It works as {@link FriendshipManager#getFriendsIDs(Query)}, but the IDs
+	 * are converted straight from the response into a long array, with no
+	 * object per ID, so large accounts can be crawled with little memory.
+	 * </p>
+	 * <pre>
+	 * FriendshipManager fm = ...;
+	 * Query query = QueryComposer.cursor(-1);
+	 * LongCursor cursor = null;
+	 * 
+	 * do {
+	 *   if (cursor != null) {
+	 *     query = QueryComposer.cursor(cursor.getNextPageIndex());
+	 *   }
+	 *   
+	 *   cursor = fm.getFriendsIDsAsLongs(query);
+	 *    
+	 *   while (cursor.hasMoreElements()) {
+	 *       long friendID = cursor.nextLong();
+	 *       ...
+	 *   }
+	 * } while (cursor.hasMorePages());
+	 * ...
+	 * </pre>
+	 * @param query Query.
+	 * @return Friends.
+	 * @throws IOException If an I/O error occurs.
+	 * @throws LimitExceededException If the limit of access is exceeded.
+	 * @throws SecurityException If user account manager is not informed or
+	 *                           given user is protected.
+	 * @see FriendshipManager#getFriendsIDs(Query)
+	 */
+	public LongCursor getFriendsIDsAsLongs(Query query) throws IOException,
+		LimitExceededException {
+		UserIdJSONHandler handler =
+			requestIDs(getURL(TWITTER_API_URL_SERVICE_FRIENDS_ID), query);
+		//
+		return new LongCursor(
+			handler.getParsedLongIds(),
+			handler.getPreviousCursorIndex(),
+			handler.getNextCursorIndex());
+	}
+	
+	/**
+	 * <p>
+	 * Get the followers IDs of the authenticating user or given user, as
+	 * longs.
+	 * </p>
+	 * <p>
+	 * It works as {@link FriendshipManager#getFollowersIDs(Query)}, but the
+	 * IDs are converted straight from the response into a long array, with no
+	 * object per ID, so large accounts can be crawled with little memory.
+	 * </p>
+	 * @param query Query.
+	 * @return Followers.
+	 * @throws IOException If an I/O error occurs.
+	 * @throws LimitExceededException If the limit of access is exceeded.
+	 * @throws SecurityException If user account manager is not informed or
+	 *                           given user is protected.
+	 * @see FriendshipManager#getFollowersIDs(Query)
+	 * @see FriendshipManager#getFriendsIDsAsLongs(Query)
+	 */
+	public LongCursor getFollowersIDsAsLongs(Query query) throws IOException,
+		LimitExceededException {
+		UserIdJSONHandler handler =
+			requestIDs(getURL(TWITTER_API_URL_SERVICE_FOLLOWERS_ID), query);
+		//
+		return new LongCursor(
+			handler.getParsedLongIds(),
+			handler.getPreviousCursorIndex(),
+			handler.getNextCursorIndex());
+	}
 
 	/**
 	 * <p>
@@ -1010,9 +1087,8 @@ public final class FriendshipManager {
 			//
 			HttpResponseCodeInterpreter.perform(resp);
 			//
-			Parser parser = ParserFactory.getParser(ParserFactory.JSON);
 			FriendshipHandler handler = new FriendshipHandler();
-			parser.parse(resp.getStream(), handler);
+			ParserFactory.parse(ParserFactory.JSON, resp.getStream(), handler);
 			//
 			return handler.getParsedFriendship();
 		} catch (ParserException e) {
@@ -1105,9 +1181,8 @@ public final class FriendshipManager {
 			//
 			HttpResponseCodeInterpreter.perform(resp);
 			//
-			Parser parser = ParserFactory.getParser(ParserFactory.JSON);
 			UserJSONHandler handler = new UserJSONHandler();
-			parser.parse(resp.getStream(), handler);
+			ParserFactory.parse(ParserFactory.JSON, resp.getStream(), handler);
 			//
 			return handler.getParsedUserAccounts()[0];
 		} catch (ParserException e) {
@@ -1149,9 +1224,8 @@ public final class FriendshipManager {
 			//
 			HttpResponseCodeInterpreter.perform(resp);
 			//
-			Parser parser = ParserFactory.getParser(ParserFactory.JSON);
 			UserJSONHandler handler = new UserJSONHandler();
-			parser.parse(resp.getStream(), handler);
+			ParserFactory.parse(ParserFactory.JSON, resp.getStream(), handler);
 			//
 			Cursor cursor =
 				new Cursor(
@@ -1181,6 +1255,30 @@ public final class FriendshipManager {
 	 * @throws IllegalArgumentException If url is null/empty.
 	 */
 	private Cursor getFriendsIDsOrFollowersIDs(String url, Query query)
+		throws IOException,	LimitExceededException {
+		UserIdJSONHandler handler = requestIDs(url, query);
+		//
+		return new Cursor(
+			handler.getParsedIds(),
+			handler.getPreviousCursorIndex(),
+			handler.getNextCursorIndex());
+	}
+
+	/**
+	 * <p>
+	 * Request a page of friend/follower IDs of the authenticating user or
+	 * given user.
+	 * </p>
+	 * @param url Url.
+	 * @param query Query.
+	 * @return Handler with the parsed IDs.
+	 * @throws IOException If an I/O error occurs.
+	 * @throws LimitExceededException If the limit of access is exceeded.
+	 * @throws SecurityException If user account manager is not informed or
+	 *                           given user is protected.
+	 * @throws IllegalArgumentException If url is null/empty.
+	 */
+	private UserIdJSONHandler requestIDs(String url, Query query)
 		throws IOException,	LimitExceededException {
 		checkUserAuth();
 		//
@@ -1199,17 +1297,10 @@ public final class FriendshipManager {
 			//
 			HttpResponseCodeInterpreter.perform(resp);
 			//
-			Parser parser = ParserFactory.getParser(ParserFactory.JSON);
 			UserIdJSONHandler handler = new UserIdJSONHandler();
-			parser.parse(resp.getStream(), handler);
+			ParserFactory.parse(ParserFactory.JSON, resp.getStream(), handler);
 			//
-			Cursor cursor =
-				new Cursor(
-					handler.getParsedIds(),
-					handler.getPreviousCursorIndex(),
-					handler.getNextCursorIndex());
-			//
-			return cursor;
+			return handler;
 		} catch (ParserException e) {
 			throw new IOException(e.getMessage());
 		} finally {
@@ -1251,9 +1342,8 @@ public final class FriendshipManager {
 		//
 		long loadedCount = 0;
 		long cursorNextIdx = -1;
-		Vector idsList = new Vector(20);
+		LongVector idsList = new LongVector(20);
 		UserIdJSONHandler handler = new UserIdJSONHandler(maxCount);
-		Parser parser = ParserFactory.getParser(ParserFactory.JSON);
 		//
 		do {
 			HttpRequest req =
@@ -1264,13 +1354,12 @@ public final class FriendshipManager {
 				//
 				HttpResponseCodeInterpreter.perform(resp);
 				//
-				parser.parse(resp.getStream(), handler);
+				ParserFactory.parse(
+					ParserFactory.JSON, resp.getStream(), handler);
 				//
-				String[] ids = handler.getParsedIds();
-				for (int i = 0; i < ids.length; i++) {
-					idsList.addElement(ids[i]);
-					loadedCount++;
-				}
+				long[] ids = handler.getParsedLongIds();
+				idsList.addElements(ids);
+				loadedCount += ids.length;
 				//
 				cursorNextIdx = handler.getNextCursorIndex();
 				//
@@ -1283,7 +1372,10 @@ public final class FriendshipManager {
 		} while (loadedCount < maxCount && cursorNextIdx != 0);
 		//
 		String[] ids = new String[idsList.size()];
-		idsList.copyInto(ids);
+		//
+		for (int i = 0; i < ids.length; i++) {
+			ids[i] = String.valueOf(idsList.elementAt(i));
+		}
 		//
 		return ids;
 	}
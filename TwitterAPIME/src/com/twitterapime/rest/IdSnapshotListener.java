@@ -0,0 +1,58 @@
+/*
+ * IdSnapshotListener.java
+ * 18/10/2026
+ * Twitter API Micro Edition
+ * Copyright(c) Ernandes Mourao Junior (ernandes@gmail.com)
+ * All rights reserved
+ */
+package com.twitterapime.rest;
+
+/**
+ * <p>
+ * This interface defines the methods of a listener interested on the changes
+ * found by {@link IdSnapshotUpdate#commit()}, e.g., new and lost followers.
+ * </p>
+ * <p>
+ * The ids are notified in batches, in ascending order, while the new snapshot
+ * is merged with the previous one. The array of a batch is reused once the
+ * method returns, so it must be copied to be kept.
+ * </p>
+ *
+ * @author Ernandes Mourao Junior (ernandes@gmail.com)
+ * @version 1.0
+ * @since 2.0
+ * @see IdSnapshotManager
+ * @see IdSnapshotUpdate
+ */
+public interface IdSnapshotListener {
+	/**
+	 * <p>
+	 * This method is called when ids not in the previous snapshot are found.
+	 * </p>
+	 * @param key Snapshot's key.
+	 * @param ids Ids.
+	 * @param count Number of ids of the array.
+	 */
+	public void idsAdded(String key, long[] ids, int count);
+
+	/**
+	 * <p>
+	 * This method is called when ids of the previous snapshot are not found.
+	 * </p>
+	 * @param key Snapshot's key.
+	 * @param ids Ids.
+	 * @param count Number of ids of the array.
+	 */
+	public void idsRemoved(String key, long[] ids, int count);
+
+	/**
+	 * <p>
+	 * This method is called when the new snapshot is saved, after all the
+	 * changes are notified.
+	 * </p>
+	 * @param key Snapshot's key.
+	 * @param count Number of ids.
+	 * @param baseline No previous snapshot, so no changes notified (true).
+	 */
+	public void snapshotSaved(String key, int count, boolean baseline);
+}
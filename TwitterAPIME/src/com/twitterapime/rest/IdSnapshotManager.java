@@ -0,0 +1,446 @@
+/*
+ * IdSnapshotManager.java
+ * 18/10/2026
+ * Twitter API Micro Edition
+ * Copyright(c) Ernandes Mourao Junior (ernandes@gmail.com)
+ * All rights reserved
+ */
+package com.twitterapime.rest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import com.twitterapime.model.LongCursor;
+import com.twitterapime.search.LimitExceededException;
+import com.twitterapime.search.Query;
+import com.twitterapime.search.QueryComposer;
+import com.twitterapime.util.StringUtil;
+
+/**
+ * <p>
+ * This class manages snapshots of sets of ids, e.g., the followers or friends
+ * of the accounts, in order to find out the ids added and removed since the
+ * previous snapshot of each one.
+ * </p>
+ * <p>
+ * A snapshot is kept in an {@link IdSnapshotStore} as sorted blocks of 1024
+ * ids. The pages of a new one are written to the store as sorted runs, as
+ * they are read, and are merged on {@link IdSnapshotUpdate#commit()}, along
+ * with the previous snapshot, a block at a time. So the changes are found by
+ * a linear merge, and the memory used is the same for any number of ids.
+ * </p>
+ * <p>
+ * <pre>
+ * IdSnapshotManager ism =
+ *   new IdSnapshotManager(new FileIdSnapshotStore(dir));
+ * FriendshipManager fm = FriendshipManager.getInstance(uam);
+ * ...
+ * ism.updateFollowers(
+ *   fm, QueryComposer.userID(id), "followers:" + id, listener);
+ * </pre>
+ * </p>
+ * <p>
+ * The store must be durable and keep the entries of distinct keys apart, e.g.,
+ * FileIdSnapshotStore on Android and Java SE, which writes a file per key. If
+ * a block of a snapshot is lost, the updates of it fail with an IOException,
+ * until it is removed by {@link IdSnapshotManager#remove(String)}. Each entry
+ * holds its own key, which is checked on read, so an entry of another key,
+ * i.e., a store that mixes them up, fails with an IOException too, instead
+ * of being taken as no snapshot and silently replaced by a new baseline. Only
+ * one update of a given snapshot can be done at a time.
+ * </p>
+ *
+ * @author Ernandes Mourao Junior (ernandes@gmail.com)
+ * @version 1.1
+ * @since 2.0
+ * @see IdSnapshotUpdate
+ * @see IdSnapshotListener
+ */
+public final class IdSnapshotManager {
+	/**
+	 * <p>
+	 * Max number of ids per block.
+	 * </p>
+	 */
+	static final int BLOCK_SIZE = 1024;
+
+	/**
+	 * <p>
+	 * Max number of runs merged at once.
+	 * </p>
+	 */
+	static final int FAN_IN = 8;
+
+	/**
+	 * <p>
+	 * Header's magic number.
+	 * </p>
+	 */
+	private static final int MAGIC = 0x49445331;
+
+	/**
+	 * <p>
+	 * Store.
+	 * </p>
+	 */
+	private final IdSnapshotStore store;
+
+	/**
+	 * <p>
+	 * Read the header of the snapshot of a given key.
+	 * </p>
+	 * @param store Store.
+	 * @param key Snapshot's key.
+	 * @return Generation, number of ids and number of blocks or null, if
+	 *         there is no snapshot.
+	 * @throws IOException If the header is corrupted, holds another key or an
+	 *         I/O error occurs.
+	 */
+	static int[] readHeader(IdSnapshotStore store, String key) throws IOException {
+		DataInputStream in = openEntry(store, key);
+		//
+		if (in == null) {
+			return null;
+		}
+		//
+		if (in.readInt() != MAGIC) {
+			throw new IOException("Corrupted snapshot: " + key);
+		}
+		//
+		return new int[] {in.readInt(), in.readInt(), in.readInt()};
+	}
+
+	/**
+	 * <p>
+	 * Write the header of the snapshot of a given key.
+	 * </p>
+	 * @param store Store.
+	 * @param key Snapshot's key.
+	 * @param generation Generation.
+	 * @param count Number of ids.
+	 * @param blocks Number of blocks.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	static void writeHeader(IdSnapshotStore store, String key, int generation,
+		int count, int blocks) throws IOException {
+		ByteArrayOutputStream data = new ByteArrayOutputStream(32);
+		DataOutputStream out = new DataOutputStream(data);
+		//
+		out.writeUTF(key);
+		out.writeInt(MAGIC);
+		out.writeInt(generation);
+		out.writeInt(count);
+		out.writeInt(blocks);
+		out.flush();
+		//
+		store.put(key, data.toByteArray());
+	}
+
+	/**
+	 * <p>
+	 * Read a block of ids.
+	 * </p>
+	 * @param store Store.
+	 * @param key Block's key.
+	 * @return Ids.
+	 * @throws IOException If the block is not found, is corrupted, holds
+	 *         another key or an I/O error occurs.
+	 */
+	static long[] readBlock(IdSnapshotStore store, String key) throws IOException {
+		DataInputStream in = openEntry(store, key);
+		//
+		if (in == null) {
+			throw new IOException("Snapshot block not found: " + key);
+		}
+		//
+		final int count = in.readInt();
+		//
+		if (count < 0 || count > BLOCK_SIZE) {
+			throw new IOException("Corrupted snapshot block: " + key);
+		}
+		//
+		long[] ids = new long[count];
+		//
+		for (int i = 0; i < ids.length; i++) {
+			ids[i] = in.readLong();
+		}
+		//
+		return ids;
+	}
+
+	/**
+	 * <p>
+	 * Write a block of ids.
+	 * </p>
+	 * @param store Store.
+	 * @param key Block's key.
+	 * @param ids Ids.
+	 * @param count Number of ids.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	static void writeBlock(IdSnapshotStore store, String key, long[] ids, int count)
+		throws IOException {
+		ByteArrayOutputStream data =
+			new ByteArrayOutputStream(key.length() + 6 + count * 8);
+		DataOutputStream out = new DataOutputStream(data);
+		//
+		out.writeUTF(key);
+		out.writeInt(count);
+		//
+		for (int i = 0; i < count; i++) {
+			out.writeLong(ids[i]);
+		}
+		//
+		out.flush();
+		store.put(key, data.toByteArray());
+	}
+
+	/**
+	 * <p>
+	 * Remove the blocks of a given prefix.
+	 * </p>
+	 * @param store Store.
+	 * @param prefix Prefix.
+	 * @param blocks Number of blocks.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	static void removeBlocks(IdSnapshotStore store, String prefix, int blocks)
+		throws IOException {
+		for (int i = 0; i < blocks; i++) {
+			store.remove(prefix + "." + i);
+		}
+	}
+
+	/**
+	 * <p>
+	 * Open the entry of a given key.
+	 * </p>
+	 * @param store Store.
+	 * @param key Key.
+	 * @return Entry's content after the key or null, if there is no entry of
+	 *         the key.
+	 * @throws IOException If the entry holds another key or an I/O error
+	 *         occurs.
+	 */
+	private static DataInputStream openEntry(IdSnapshotStore store, String key)
+		throws IOException {
+		byte[] data = store.get(key);
+		//
+		if (data == null) {
+			return null;
+		}
+		//
+		DataInputStream in =
+			new DataInputStream(new ByteArrayInputStream(data));
+		//
+		final String entryKey = in.readUTF();
+		//
+		if (!key.equals(entryKey)) {
+			throw new IOException(
+				"Snapshot entry of " + key + " holds another key: " + entryKey);
+		}
+		//
+		return in;
+	}
+
+	/**
+	 * <p>
+	 * Get the prefix of the blocks of a given generation of a snapshot.
+	 * </p>
+	 * @param key Snapshot's key.
+	 * @param generation Generation.
+	 * @return Prefix.
+	 */
+	static String getPrefix(String key, int generation) {
+		return key + "#" + generation;
+	}
+
+	/**
+	 * <p>
+	 * Create an instance of IdSnapshotManager class.
+	 * </p>
+	 * @param store Store of the snapshots.
+	 * @throws IllegalArgumentException If store is null.
+	 */
+	public IdSnapshotManager(IdSnapshotStore store) {
+		if (store == null) {
+			throw new IllegalArgumentException("Store must not be null.");
+		}
+		//
+		this.store = store;
+	}
+
+	/**
+	 * <p>
+	 * Begin a new snapshot of a given key.
+	 * </p>
+	 * @param key Snapshot's key, e.g., "followers:" + user id.
+	 * @param listener Listener of the changes or null.
+	 * @return Update.
+	 * @throws IOException If an I/O error occurs.
+	 * @throws IllegalArgumentException If key is null/empty.
+	 */
+	public IdSnapshotUpdate begin(String key, IdSnapshotListener listener)
+		throws IOException {
+		if (StringUtil.isEmpty(key)) {
+			throw new IllegalArgumentException("Key must not be null/empty.");
+		}
+		//
+		return new IdSnapshotUpdate(
+			store, key, readHeader(store, key), listener);
+	}
+
+	/**
+	 * <p>
+	 * Take a new snapshot of the followers of the authenticating user or given
+	 * user, by reading all the pages of
+	 * {@link FriendshipManager#getFollowersIDsAsLongs(Query)}.
+	 * </p>
+	 * @param fm Friendship manager.
+	 * @param query Query, e.g., {@link QueryComposer#userID(String)}, or null.
+	 * @param key Snapshot's key.
+	 * @param listener Listener of the changes or null.
+	 * @throws IOException If an I/O error occurs.
+	 * @throws LimitExceededException If the limit of access is exceeded.
+	 * @see IdSnapshotManager#updateFriends(FriendshipManager, Query, String, IdSnapshotListener)
+	 */
+	public void updateFollowers(FriendshipManager fm, Query query, String key,
+		IdSnapshotListener listener) throws IOException,
+		LimitExceededException {
+		update(fm, true, query, key, listener);
+	}
+
+	/**
+	 * <p>
+	 * Take a new snapshot of the friends of the authenticating user or given
+	 * user, by reading all the pages of
+	 * {@link FriendshipManager#getFriendsIDsAsLongs(Query)}.
+	 * </p>
+	 * @param fm Friendship manager.
+	 * @param query Query, e.g., {@link QueryComposer#userID(String)}, or null.
+	 * @param key Snapshot's key.
+	 * @param listener Listener of the changes or null.
+	 * @throws IOException If an I/O error occurs.
+	 * @throws LimitExceededException If the limit of access is exceeded.
+	 * @see IdSnapshotManager#updateFollowers(FriendshipManager, Query, String, IdSnapshotListener)
+	 */
+	public void updateFriends(FriendshipManager fm, Query query, String key,
+		IdSnapshotListener listener) throws IOException,
+		LimitExceededException {
+		update(fm, false, query, key, listener);
+	}
+
+	/**
+	 * <p>
+	 * Get the number of ids of the snapshot of a given key.
+	 * </p>
+	 * @param key Snapshot's key.
+	 * @return Number or -1, if there is no snapshot.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	public int getSize(String key) throws IOException {
+		int[] header = readHeader(store, key);
+		//
+		return header != null ? header[1] : -1;
+	}
+
+	/**
+	 * <p>
+	 * Read the ids of the snapshot of a given key into a cursor.
+	 * </p>
+	 * <p>
+	 * All the ids are loaded, so it is meant to small snapshots.
+	 * </p>
+	 * @param key Snapshot's key.
+	 * @return Ids, in ascending order, or null, if there is no snapshot.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	public LongCursor getIds(String key) throws IOException {
+		int[] header = readHeader(store, key);
+		//
+		if (header == null) {
+			return null;
+		}
+		//
+		final String prefix = getPrefix(key, header[0]);
+		long[] ids = new long[header[1]];
+		int n = 0;
+		//
+		for (int i = 0; i < header[2]; i++) {
+			long[] block = readBlock(store, prefix + "." + i);
+			//
+			if (n + block.length > ids.length) {
+				throw new IOException("Corrupted snapshot: " + key);
+			}
+			//
+			System.arraycopy(block, 0, ids, n, block.length);
+			n += block.length;
+		}
+		//
+		return new LongCursor(ids, 0, 0);
+	}
+
+	/**
+	 * <p>
+	 * Remove the snapshot of a given key.
+	 * </p>
+	 * @param key Snapshot's key.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	public void remove(String key) throws IOException {
+		int[] header = readHeader(store, key);
+		//
+		if (header != null) {
+			store.remove(key);
+			removeBlocks(store, getPrefix(key, header[0]), header[2]);
+		}
+	}
+
+	/**
+	 * <p>
+	 * Take a new snapshot of the followers or friends.
+	 * </p>
+	 * @param fm Friendship manager.
+	 * @param followers Followers (true) or friends (false).
+	 * @param query Query.
+	 * @param key Snapshot's key.
+	 * @param listener Listener.
+	 * @throws IOException If an I/O error occurs.
+	 * @throws LimitExceededException If the limit of access is exceeded.
+	 */
+	private void update(FriendshipManager fm, boolean followers, Query query,
+		String key, IdSnapshotListener listener) throws IOException,
+		LimitExceededException {
+		if (fm == null) {
+			throw new IllegalArgumentException(
+				"Friendship manager must not be null.");
+		}
+		//
+		IdSnapshotUpdate update = begin(key, listener);
+		long cursorIdx = -1;
+		//
+		try {
+			do {
+				Query q = QueryComposer.cursor(cursorIdx);
+				if (query != null) {
+					q = QueryComposer.append(query, q);
+				}
+				//
+				LongCursor page =
+					followers
+						? fm.getFollowersIDsAsLongs(q)
+						: fm.getFriendsIDsAsLongs(q);
+				//
+				update.addPage(page);
+				cursorIdx = page.getNextPageIndex();
+			} while (cursorIdx > 0);
+			//
+			update.commit();
+		} finally {
+			update.abort();
+		}
+	}
+}
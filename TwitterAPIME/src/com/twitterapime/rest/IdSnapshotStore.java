@@ -0,0 +1,60 @@
+/*
+ * IdSnapshotStore.java
+ * 18/10/2026
+ * Twitter API Micro Edition
+ * Copyright(c) Ernandes Mourao Junior (ernandes@gmail.com)
+ * All rights reserved
+ */
+package com.twitterapime.rest;
+
+import java.io.IOException;
+
+/**
+ * <p>
+ * This interface defines the methods of a durable store of the snapshots of
+ * {@link IdSnapshotManager}.
+ * </p>
+ * <p>
+ * Entries are opaque arrays of bytes, identified by string keys. Unlike a
+ * {@link com.twitterapime.io.CacheStore}, a store must keep every entry until
+ * it is removed, and must keep the entries of distinct keys apart, e.g., not
+ * name them by the keys' hashes. Otherwise, the changes found by the updates
+ * are wrong.
+ * </p>
+ * 
+ * @author Ernandes Mourao Junior (ernandes@gmail.com)
+ * @version 1.0
+ * @since 2.0
+ * @see IdSnapshotManager#IdSnapshotManager(IdSnapshotStore)
+ */
+public interface IdSnapshotStore {
+	/**
+	 * <p>
+	 * Get the entry of a given key.
+	 * </p>
+	 * @param key Key.
+	 * @return Entry or null, if not found.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	public byte[] get(String key) throws IOException;
+	
+	/**
+	 * <p>
+	 * Put an entry with a given key, replacing the previous one, if any. The
+	 * entry must be durable once it returns.
+	 * </p>
+	 * @param key Key.
+	 * @param entry Entry.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	public void put(String key, byte[] entry) throws IOException;
+	
+	/**
+	 * <p>
+	 * Remove the entry of a given key.
+	 * </p>
+	 * @param key Key.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	public void remove(String key) throws IOException;
+}
@@ -0,0 +1,744 @@
+/*
+ * IdSnapshotUpdate.java
+ * 18/10/2026
+ * Twitter API Micro Edition
+ * Copyright(c) Ernandes Mourao Junior (ernandes@gmail.com)
+ * All rights reserved
+ */
+package com.twitterapime.rest;
+
+import java.io.IOException;
+import java.util.Vector;
+
+import com.twitterapime.model.LongCursor;
+import com.twitterapime.util.LongVector;
+
+/**
+ * <p>
+ * This class implements an update of a snapshot of ids, created by
+ * {@link IdSnapshotManager#begin(String, IdSnapshotListener)}.
+ * </p>
+ * <p>
+ * Each page added is sorted and written to the store as a run. On commit, the
+ * runs are merged, at most 8 at a time, and the result is merged with the
+ * previous snapshot, which gives the ids added and removed. The new snapshot
+ * is written along, and replaces the previous one once the changes are
+ * notified. If the update fails before that, the changes are notified again by
+ * the next one.
+ * </p>
+ * <p>
+ * <pre>
+ * IdSnapshotUpdate update = ism.begin("followers:" + id, listener);
+ * try {
+ *   do {
+ *     ...
+ *     update.addPage(cursor);
+ *   } while (cursor.hasMorePages());
+ *   update.commit();
+ * } finally {
+ *   update.abort();
+ * }
+ * </pre>
+ * </p>
+ *
+ * @author Ernandes Mourao Junior (ernandes@gmail.com)
+ * @version 1.1
+ * @since 2.0
+ * @see IdSnapshotManager
+ * @see IdSnapshotListener
+ */
+public final class IdSnapshotUpdate {
+	/**
+	 * <p>
+	 * Store.
+	 * </p>
+	 */
+	private final IdSnapshotStore store;
+
+	/**
+	 * <p>
+	 * Snapshot's key.
+	 * </p>
+	 */
+	private final String key;
+
+	/**
+	 * <p>
+	 * Listener.
+	 * </p>
+	 */
+	private final IdSnapshotListener listener;
+
+	/**
+	 * <p>
+	 * Previous snapshot's generation, number of ids and number of blocks or
+	 * null, if there is none.
+	 * </p>
+	 */
+	private final int[] previous;
+
+	/**
+	 * <p>
+	 * New snapshot's generation.
+	 * </p>
+	 */
+	private final int generation;
+
+	/**
+	 * <p>
+	 * Runs not merged yet.
+	 * </p>
+	 */
+	private final Vector runs = new Vector();
+
+	/**
+	 * <p>
+	 * Buffer of the page being added.
+	 * </p>
+	 */
+	private final LongVector page =
+		new LongVector(IdSnapshotManager.BLOCK_SIZE);
+
+	/**
+	 * <p>
+	 * Writer of the new snapshot, while it is written.
+	 * </p>
+	 */
+	private BlockWriter snapshot;
+
+	/**
+	 * <p>
+	 * Number of runs created.
+	 * </p>
+	 */
+	private int runCount;
+
+	/**
+	 * <p>
+	 * Committed or aborted.
+	 * </p>
+	 */
+	private boolean closed;
+
+	/**
+	 * <p>
+	 * Create an instance of IdSnapshotUpdate class.
+	 * </p>
+	 * @param store Store.
+	 * @param key Snapshot's key.
+	 * @param previous Previous snapshot's header or null.
+	 * @param listener Listener or null.
+	 */
+	IdSnapshotUpdate(IdSnapshotStore store, String key, int[] previous,
+		IdSnapshotListener listener) {
+		this.store = store;
+		this.key = key;
+		this.previous = previous;
+		this.listener = listener;
+		generation = previous != null ? previous[0] +1 : 1;
+	}
+
+	/**
+	 * <p>
+	 * Add a page of ids, in any order.
+	 * </p>
+	 * @param ids Ids.
+	 * @throws IOException If an I/O error occurs.
+	 * @throws IllegalStateException If update is committed or aborted.
+	 */
+	public void addPage(long[] ids) throws IOException {
+		checkOpen();
+		//
+		if (ids.length == 0) {
+			return;
+		}
+		//
+		page.removeAllElements();
+		page.addElements(ids);
+		page.sort();
+		//
+		BlockWriter run = createRun();
+		//
+		for (int i = 0, n = page.size(); i < n; i++) {
+			run.write(page.elementAt(i));
+		}
+		//
+		run.close();
+	}
+
+	/**
+	 * <p>
+	 * Add all the ids of a page of a cursor, e.g., the one returned by
+	 * {@link FriendshipManager#getFollowersIDsAsLongs(com.twitterapime.search.Query)}.
+	 * </p>
+	 * @param cursor Cursor.
+	 * @throws IOException If an I/O error occurs.
+	 * @throws IllegalStateException If update is committed or aborted.
+	 */
+	public void addPage(LongCursor cursor) throws IOException {
+		addPage(cursor.getElements());
+	}
+
+	/**
+	 * <p>
+	 * Merge the pages added with the previous snapshot, notify the changes
+	 * and save the new snapshot.
+	 * </p>
+	 * @throws IOException If an I/O error occurs.
+	 * @throws IllegalStateException If update is committed or aborted.
+	 */
+	public void commit() throws IOException {
+		checkOpen();
+		//
+		try {
+			while (runs.size() > IdSnapshotManager.FAN_IN) {
+				Merger in = new Merger(IdSnapshotManager.FAN_IN);
+				BlockWriter run = createRun();
+				//
+				while (in.hasNext()) {
+					run.write(in.next());
+				}
+				//
+				run.close();
+				//
+				for (int i = 0; i < IdSnapshotManager.FAN_IN; i++) {
+					((BlockWriter)runs.elementAt(0)).remove();
+					runs.removeElementAt(0);
+				}
+			}
+			//
+			merge();
+		} finally {
+			abort();
+		}
+	}
+
+	/**
+	 * <p>
+	 * Abort the update, removing the runs written. Nothing is done if it is
+	 * already committed or aborted.
+	 * </p>
+	 */
+	public void abort() {
+		if (closed) {
+			return;
+		}
+		//
+		closed = true;
+		//
+		try {
+			for (int i = runs.size() -1; i >= 0; i--) {
+				((BlockWriter)runs.elementAt(i)).remove();
+			}
+			//
+			if (snapshot != null) {
+				snapshot.remove();
+			}
+		} catch (IOException e) {
+		} finally {
+			runs.removeAllElements();
+			snapshot = null;
+		}
+	}
+
+	/**
+	 * <p>
+	 * Merge the runs with the previous snapshot, into the new one.
+	 * </p>
+	 * @throws IOException If an I/O error occurs.
+	 */
+	private void merge() throws IOException {
+		Merger in = new Merger(runs.size());
+		final boolean baseline = previous == null;
+		BlockReader old =
+			new BlockReader(
+				baseline
+					? null
+					: IdSnapshotManager.getPrefix(key, previous[0]),
+				baseline ? 0 : previous[2]);
+		Batch added = new Batch(true);
+		Batch removed = new Batch(false);
+		//
+		snapshot =
+			new BlockWriter(IdSnapshotManager.getPrefix(key, generation));
+		//
+		while (in.hasNext() || old.hasNext()) {
+			if (!old.hasNext() || (in.hasNext() && in.peek() < old.peek())) {
+				final long id = in.next();
+				snapshot.write(id);
+				//
+				if (!baseline) {
+					added.add(id);
+				}
+			} else if (!in.hasNext() || old.peek() < in.peek()) {
+				removed.add(old.next());
+			} else {
+				snapshot.write(in.next());
+				old.next();
+			}
+		}
+		//
+		snapshot.close();
+		added.flush();
+		removed.flush();
+		//
+		IdSnapshotManager.writeHeader(
+			store, key, generation, snapshot.count, snapshot.blocks);
+		//
+		final int count = snapshot.count;
+		snapshot = null; //saved, so it is not removed on abort.
+		//
+		if (!baseline) {
+			try {
+				old.remove();
+			} catch (IOException e) {
+			}
+		}
+		//
+		if (listener != null) {
+			listener.snapshotSaved(key, count, baseline);
+		}
+	}
+
+	/**
+	 * <p>
+	 * Create a new run.
+	 * </p>
+	 * @return Writer of the run.
+	 */
+	private BlockWriter createRun() {
+		BlockWriter run =
+			new BlockWriter(
+				IdSnapshotManager.getPrefix(key, generation) + "r" + runCount++);
+		runs.addElement(run);
+		//
+		return run;
+	}
+
+	/**
+	 * <p>
+	 * Verify whether the update is open.
+	 * </p>
+	 * @throws IllegalStateException If update is committed or aborted.
+	 */
+	private void checkOpen() {
+		if (closed) {
+			throw new IllegalStateException(
+				"Update must not be committed/aborted.");
+		}
+	}
+
+	/**
+	 * <p>
+	 * This class implements a writer of sorted ids into blocks. Repeated ids
+	 * are written once.
+	 * </p>
+	 *
+	 * @author Ernandes Mourao Junior (ernandes@gmail.com)
+	 * @version 1.0
+	 * @since 2.0
+	 */
+	private final class BlockWriter {
+		/**
+		 * <p>
+		 * Prefix of the blocks' keys.
+		 * </p>
+		 */
+		public final String prefix;
+
+		/**
+		 * <p>
+		 * Buffer.
+		 * </p>
+		 */
+		private long[] buffer = new long[IdSnapshotManager.BLOCK_SIZE];
+
+		/**
+		 * <p>
+		 * Number of ids in buffer.
+		 * </p>
+		 */
+		private int length;
+
+		/**
+		 * <p>
+		 * Number of blocks written.
+		 * </p>
+		 */
+		public int blocks;
+
+		/**
+		 * <p>
+		 * Number of ids.
+		 * </p>
+		 */
+		public int count;
+
+		/**
+		 * <p>
+		 * Last id.
+		 * </p>
+		 */
+		private long last;
+
+		/**
+		 * <p>
+		 * Create an instance of BlockWriter class.
+		 * </p>
+		 * @param prefix Prefix of the blocks' keys.
+		 */
+		public BlockWriter(String prefix) {
+			this.prefix = prefix;
+		}
+
+		/**
+		 * <p>
+		 * Write an id, greater than or equal to the last one.
+		 * </p>
+		 * @param id Id.
+		 * @throws IOException If an I/O error occurs.
+		 */
+		public void write(long id) throws IOException {
+			if (count > 0 && id == last) {
+				return;
+			}
+			//
+			if (length == buffer.length) {
+				flush();
+			}
+			//
+			buffer[length++] = id;
+			last = id;
+			count++;
+		}
+
+		/**
+		 * <p>
+		 * Write the last block and release the buffer.
+		 * </p>
+		 * @throws IOException If an I/O error occurs.
+		 */
+		public void close() throws IOException {
+			if (length > 0) {
+				flush();
+			}
+			//
+			buffer = null;
+		}
+
+		/**
+		 * <p>
+		 * Remove the blocks written.
+		 * </p>
+		 * @throws IOException If an I/O error occurs.
+		 */
+		public void remove() throws IOException {
+			IdSnapshotManager.removeBlocks(store, prefix, blocks);
+		}
+
+		/**
+		 * <p>
+		 * Write the buffer as a block.
+		 * </p>
+		 * @throws IOException If an I/O error occurs.
+		 */
+		private void flush() throws IOException {
+			IdSnapshotManager.writeBlock(
+				store, prefix + "." + blocks, buffer, length);
+			blocks++;
+			length = 0;
+		}
+	}
+
+	/**
+	 * <p>
+	 * This class implements a reader of sorted ids from blocks, one block at a
+	 * time.
+	 * </p>
+	 *
+	 * @author Ernandes Mourao Junior (ernandes@gmail.com)
+	 * @version 1.0
+	 * @since 2.0
+	 */
+	private final class BlockReader {
+		/**
+		 * <p>
+		 * Prefix of the blocks' keys.
+		 * </p>
+		 */
+		private final String prefix;
+
+		/**
+		 * <p>
+		 * Number of blocks.
+		 * </p>
+		 */
+		private final int blocks;
+
+		/**
+		 * <p>
+		 * Index of the next block.
+		 * </p>
+		 */
+		private int blockIndex;
+
+		/**
+		 * <p>
+		 * Current block.
+		 * </p>
+		 */
+		private long[] block = new long[0];
+
+		/**
+		 * <p>
+		 * Index of the next id of the current block.
+		 * </p>
+		 */
+		private int index;
+
+		/**
+		 * <p>
+		 * Create an instance of BlockReader class.
+		 * </p>
+		 * @param run Run.
+		 */
+		public BlockReader(BlockWriter run) {
+			this(run.prefix, run.blocks);
+		}
+
+		/**
+		 * <p>
+		 * Create an instance of BlockReader class.
+		 * </p>
+		 * @param prefix Prefix of the blocks' keys.
+		 * @param blocks Number of blocks.
+		 */
+		public BlockReader(String prefix, int blocks) {
+			this.prefix = prefix;
+			this.blocks = blocks;
+		}
+
+		/**
+		 * <p>
+		 * Verify whether there are more ids, loading the next block, if
+		 * needed.
+		 * </p>
+		 * @return There are (true).
+		 * @throws IOException If an I/O error occurs.
+		 */
+		public boolean hasNext() throws IOException {
+			while (index == block.length) {
+				if (blockIndex == blocks) {
+					return false;
+				}
+				//
+				block =
+					IdSnapshotManager.readBlock(
+						store, prefix + "." + blockIndex++);
+				index = 0;
+			}
+			//
+			return true;
+		}
+
+		/**
+		 * <p>
+		 * Get the next id, without reading it. hasNext() must be true.
+		 * </p>
+		 * @return Id.
+		 */
+		public long peek() {
+			return block[index];
+		}
+
+		/**
+		 * <p>
+		 * Read the next id. hasNext() must be true.
+		 * </p>
+		 * @return Id.
+		 */
+		public long next() {
+			return block[index++];
+		}
+
+		/**
+		 * <p>
+		 * Remove the blocks.
+		 * </p>
+		 * @throws IOException If an I/O error occurs.
+		 */
+		public void remove() throws IOException {
+			IdSnapshotManager.removeBlocks(store, prefix, blocks);
+		}
+	}
+
+	/**
+	 * <p>
+	 * This class implements a merger of the first runs, which reads their ids
+	 * in ascending order. Ids in more than one run are read once.
+	 * </p>
+	 *
+	 * @author Ernandes Mourao Junior (ernandes@gmail.com)
+	 * @version 1.0
+	 * @since 2.0
+	 */
+	private final class Merger {
+		/**
+		 * <p>
+		 * Readers of the runs.
+		 * </p>
+		 */
+		private final BlockReader[] in;
+
+		/**
+		 * <p>
+		 * Create an instance of Merger class.
+		 * </p>
+		 * @param count Number of runs.
+		 */
+		public Merger(int count) {
+			in = new BlockReader[count];
+			//
+			for (int i = 0; i < count; i++) {
+				in[i] = new BlockReader((BlockWriter)runs.elementAt(i));
+			}
+		}
+
+		/**
+		 * <p>
+		 * Verify whether there are more ids.
+		 * </p>
+		 * @return There are (true).
+		 * @throws IOException If an I/O error occurs.
+		 */
+		public boolean hasNext() throws IOException {
+			for (int i = 0; i < in.length; i++) {
+				if (in[i].hasNext()) {
+					return true;
+				}
+			}
+			//
+			return false;
+		}
+
+		/**
+		 * <p>
+		 * Get the next id, without reading it. hasNext() must be true.
+		 * </p>
+		 * @return Id.
+		 * @throws IOException If an I/O error occurs.
+		 */
+		public long peek() throws IOException {
+			long min = Long.MAX_VALUE;
+			//
+			for (int i = 0; i < in.length; i++) {
+				if (in[i].hasNext() && in[i].peek() < min) {
+					min = in[i].peek();
+				}
+			}
+			//
+			return min;
+		}
+
+		/**
+		 * <p>
+		 * Read the next id. hasNext() must be true.
+		 * </p>
+		 * @return Id.
+		 * @throws IOException If an I/O error occurs.
+		 */
+		public long next() throws IOException {
+			final long min = peek();
+			//
+			for (int i = 0; i < in.length; i++) {
+				if (in[i].hasNext() && in[i].peek() == min) {
+					in[i].next();
+				}
+			}
+			//
+			return min;
+		}
+	}
+
+	/**
+	 * <p>
+	 * This class implements a batch of added or removed ids, notified to the
+	 * listener when it is full.
+	 * </p>
+	 *
+	 * @author Ernandes Mourao Junior (ernandes@gmail.com)
+	 * @version 1.0
+	 * @since 2.0
+	 */
+	private final class Batch {
+		/**
+		 * <p>
+		 * Added (true) or removed (false) ids.
+		 * </p>
+		 */
+		private final boolean added;
+
+		/**
+		 * <p>
+		 * Ids.
+		 * </p>
+		 */
+		private final long[] ids;
+
+		/**
+		 * <p>
+		 * Number of ids.
+		 * </p>
+		 */
+		private int count;
+
+		/**
+		 * <p>
+		 * Create an instance of Batch class.
+		 * </p>
+		 * @param added Added (true) or removed (false) ids.
+		 */
+		public Batch(boolean added) {
+			this.added = added;
+			ids =
+				listener != null
+					? new long[IdSnapshotManager.BLOCK_SIZE]
+					: null;
+		}
+
+		/**
+		 * <p>
+		 * Add an id.
+		 * </p>
+		 * @param id Id.
+		 */
+		public void add(long id) {
+			if (ids == null) {
+				return;
+			}
+			//
+			if (count == ids.length) {
+				flush();
+			}
+			//
+			ids[count++] = id;
+		}
+
+		/**
+		 * <p>
+		 * Notify the ids to the listener.
+		 * </p>
+		 */
+		public void flush() {
+			if (count > 0) {
+				if (added) {
+					listener.idsAdded(key, ids, count);
+				} else {
+					listener.idsRemoved(key, ids, count);
+				}
+				//
+				count = 0;
+			}
+		}
+	}
+}
@@ -19,7 +19,7 @@ import com.twitterapime.util.StringUtil;
  * </p>
  * 
  * @author Ernandes Mourao Junior (ernandes@gmail.com)
- * @version 1.1
+ * @version 1.2
  * @since 1.6
  */
 public final class List extends DefaultEntity {
@@ -123,4 +123,11 @@ public final class List extends DefaultEntity {
 	public UserAccount getUserAccount() {
 		return (UserAccount)data.get(MetadataSet.LIST_USER_ACCOUNT);
 	}
+	
+	/**
+	 * @see com.twitterapime.model.DefaultEntity#getIdentityKey()
+	 */
+	protected String getIdentityKey() {
+		return MetadataSet.LIST_ID;
+	}
 }
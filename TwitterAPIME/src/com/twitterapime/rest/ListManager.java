@@ -16,7 +16,6 @@ import com.twitterapime.io.HttpRequest;
 import com.twitterapime.io.HttpResponse;
 import com.twitterapime.io.HttpResponseCodeInterpreter;
 import com.twitterapime.model.MetadataSet;
-import com.twitterapime.parser.Parser;
 import com.twitterapime.parser.ParserException;
 import com.twitterapime.parser.ParserFactory;
 import com.twitterapime.rest.handler.json.ListJSONHandler;
@@ -1006,9 +1005,8 @@ public final class ListManager {
 			//
 			HttpResponseCodeInterpreter.perform(resp);
 			//
-			Parser parser = ParserFactory.getParser(ParserFactory.JSON);
 			ListJSONHandler handler = new ListJSONHandler();
-			parser.parse(resp.getStream(), handler);
+			ParserFactory.parse(ParserFactory.JSON, resp.getStream(), handler);
 			//
 			return handler.getParsedLists();
 		} catch (ParserException e) {
@@ -1051,9 +1049,8 @@ public final class ListManager {
 			//
 			HttpResponseCodeInterpreter.perform(resp);
 			//
-			Parser parser = ParserFactory.getParser(ParserFactory.JSON);
 			UserJSONHandler handler = new UserJSONHandler();
-			parser.parse(resp.getStream(), handler);
+			ParserFactory.parse(ParserFactory.JSON, resp.getStream(), handler);
 			//
 			return handler.getParsedUserAccounts();
 		} catch (ParserException e) {
@@ -7,23 +7,23 @@
  */
 package com.twitterapime.rest;
 
-import java.io.IOException;
 import java.util.Enumeration;
 import java.util.Hashtable;
 
 import com.twitterapime.io.HttpRequest;
 import com.twitterapime.io.HttpResponse;
 import com.twitterapime.io.HttpResponseCodeInterpreter;
+import com.twitterapime.io.HttpResponseListener;
 import com.twitterapime.model.MetadataSet;
 import com.twitterapime.parser.Handler;
-import com.twitterapime.parser.Parser;
 import com.twitterapime.parser.ParserFactory;
 import com.twitterapime.rest.handler.TimelineHandler;
-import com.twitterapime.rest.handler.json.StatusJSONHandler;
+import com.twitterapime.rest.handler.json.StatusJSONEventHandler;
 import com.twitterapime.search.Query;
 import com.twitterapime.search.QueryComposer;
 import com.twitterapime.search.SearchDeviceListener;
 import com.twitterapime.util.StringUtil;
+import com.twitterapime.util.TaskExecutor;
 
 /**
  * <p>
@@ -52,7 +52,7 @@ import com.twitterapime.util.StringUtil;
  * </p>
  * 
  * @author Ernandes Mourao Junior (ernandes@gmail.com)
- * @version 1.6
+ * @version 1.7
  * @since 1.2
  * @see UserAccountManager
  * @see SearchDeviceListener
@@ -505,8 +505,29 @@ public final class Timeline {
 	 * @throws IllegalArgumentException If listener is null.
 	 */
 	public void startGetHomeTweets(Query q, SearchDeviceListener l) {
-		StatusJSONHandler h = new StatusJSONHandler();
+		startGetHomeTweets(q, null, l);
+	}
+	
+	/**
+	 * <p>
+	 * Get most recent tweets of the home timeline, populating only the given
+	 * keys of the tweets.
+	 * The parts of the response holding the other keys, e.g., the users or the
+	 * entities, are skipped while it is read.
+	 * </p>
+	 * @param q The filter query. If null all tweets are returned.
+	 * @param fieldMask Keys of the tweets to be populated, e.g.,
+	 *                  {@link MetadataSet#TWEET_ID}, or null, if all.
+	 * @param l Listener object to be notified about the search's result.
+	 * @throws SecurityException If it is not authenticated.
+	 * @throws IllegalArgumentException If listener is null.
+	 * @see Timeline#startGetHomeTweets(Query, SearchDeviceListener)
+	 */
+	public void startGetHomeTweets(Query q, String[] fieldMask,
+		SearchDeviceListener l) {
+		StatusJSONEventHandler h = new StatusJSONEventHandler();
 		h.setSearchDeviceListener(l);
+		h.setFieldMask(fieldMask);
 		//
 		startGet(TWITTER_API_URL_SERVICE_STATUSES_HOME_TIMELINE, q, l, h, true);
 	}
@@ -543,8 +564,29 @@ public final class Timeline {
 	 * @throws IllegalArgumentException If listener is null.
 	 */
 	public void startGetUserTweets(Query q, SearchDeviceListener l) {
-		StatusJSONHandler h = new StatusJSONHandler();
+		startGetUserTweets(q, null, l);
+	}
+	
+	/**
+	 * <p>
+	 * Get most recent tweets of the user timeline, populating only the given
+	 * keys of the tweets.
+	 * The parts of the response holding the other keys, e.g., the users or the
+	 * entities, are skipped while it is read.
+	 * </p>
+	 * @param q The filter query. If null all tweets are returned.
+	 * @param fieldMask Keys of the tweets to be populated, e.g.,
+	 *                  {@link MetadataSet#TWEET_ID}, or null, if all.
+	 * @param l Listener object to be notified about the search's result.
+	 * @throws SecurityException If it is not authenticated.
+	 * @throws IllegalArgumentException If listener is null.
+	 * @see Timeline#startGetUserTweets(Query, SearchDeviceListener)
+	 */
+	public void startGetUserTweets(Query q, String[] fieldMask,
+		SearchDeviceListener l) {
+		StatusJSONEventHandler h = new StatusJSONEventHandler();
 		h.setSearchDeviceListener(l);
+		h.setFieldMask(fieldMask);
 		//
 		startGet(TWITTER_API_URL_SERVICE_STATUSES_USER_TIMELINE, q, l, h, true);
 	}
@@ -578,8 +620,28 @@ public final class Timeline {
 	 * @throws IllegalArgumentException If listener is null.
 	 */
 	public void startGetMentions(Query q, SearchDeviceListener l) {
-		StatusJSONHandler h = new StatusJSONHandler();
+		startGetMentions(q, null, l);
+	}
+	
+	/**
+	 * <p>
+	 * Get most recent mentions, populating only the given keys of the tweets.
+	 * The parts of the response holding the other keys, e.g., the users or the
+	 * entities, are skipped while it is read.
+	 * </p>
+	 * @param q The filter query. If null all tweets are returned.
+	 * @param fieldMask Keys of the tweets to be populated, e.g.,
+	 *                  {@link MetadataSet#TWEET_ID}, or null, if all.
+	 * @param l Listener object to be notified about the search's result.
+	 * @throws SecurityException If it is not authenticated.
+	 * @throws IllegalArgumentException If listener is null.
+	 * @see Timeline#startGetMentions(Query, SearchDeviceListener)
+	 */
+	public void startGetMentions(Query q, String[] fieldMask,
+		SearchDeviceListener l) {
+		StatusJSONEventHandler h = new StatusJSONEventHandler();
 		h.setSearchDeviceListener(l);
+		h.setFieldMask(fieldMask);
 		//
 		startGet(TWITTER_API_URL_SERVICE_STATUSES_MENTIONS, q, l, h, true);
 	}
@@ -617,7 +679,7 @@ public final class Timeline {
 			received
 				? TWITTER_API_URL_SERVICE_DIRECT_MESSAGES
 				: TWITTER_API_URL_SERVICE_DIRECT_MESSAGES_SENT;
-		StatusJSONHandler h = new StatusJSONHandler();
+		StatusJSONEventHandler h = new StatusJSONEventHandler();
 		h.setSearchDeviceListener(l);
 		//
 		startGet(urlKey, q, l, h, true);
@@ -721,8 +783,29 @@ public final class Timeline {
 	 * @throws IllegalArgumentException If listener is null.
 	 */
 	public void startGetRetweetsOfMe(Query q, SearchDeviceListener l) {
-		StatusJSONHandler h = new StatusJSONHandler();
+		startGetRetweetsOfMe(q, null, l);
+	}
+	
+	/**
+	 * <p>
+	 * Get most recent tweets by authenticating user that were reposted by
+	 * other users, populating only the given keys of the tweets.
+	 * The parts of the response holding the other keys, e.g., the users or the
+	 * entities, are skipped while it is read.
+	 * </p>
+	 * @param q The filter query. If null all tweets are returned.
+	 * @param fieldMask Keys of the tweets to be populated, e.g.,
+	 *                  {@link MetadataSet#TWEET_ID}, or null, if all.
+	 * @param l Listener object to be notified about the search's result.
+	 * @throws SecurityException If it is not authenticated.
+	 * @throws IllegalArgumentException If listener is null.
+	 * @see Timeline#startGetRetweetsOfMe(Query, SearchDeviceListener)
+	 */
+	public void startGetRetweetsOfMe(Query q, String[] fieldMask,
+		SearchDeviceListener l) {
+		StatusJSONEventHandler h = new StatusJSONEventHandler();
 		h.setSearchDeviceListener(l);
+		h.setFieldMask(fieldMask);
 		//
 		startGet(TWITTER_API_URL_SERVICE_STATUSES_RETWEETS_OF_ME, q, l, h,true);
 	}
@@ -756,14 +839,37 @@ public final class Timeline {
 	 * @throws IllegalArgumentException If List and/or listener is null.
 	 */
 	public void startGetListTweets(List list, Query q, SearchDeviceListener l) {
+		startGetListTweets(list, q, null, l);
+	}
+	
+	/**
+	 * <p>
+	 * Get tweets from users who belongs to a given list, populating only the
+	 * given keys of the tweets.
+	 * The parts of the response holding the other keys, e.g., the users or the
+	 * entities, are skipped while it is read.
+	 * </p>
+	 * @param list List object.
+	 * @param q The filter query. If null all tweets are returned.
+	 * @param fieldMask Keys of the tweets to be populated, e.g.,
+	 *                  {@link MetadataSet#TWEET_ID}, or null, if all.
+	 * @param l Listener object to be notified about the search's result.
+	 * @throws SecurityException If the list is private or the user is not
+	 *                           authenticated.
+	 * @throws IllegalArgumentException If List and/or listener is null.
+	 * @see Timeline#startGetListTweets(List, Query, SearchDeviceListener)
+	 */
+	public void startGetListTweets(List list, Query q, String[] fieldMask,
+		SearchDeviceListener l) {
 		if (list == null) {
 			throw new IllegalArgumentException("List must not be null.");
 		}
 		//
 		list.checkEmpty(MetadataSet.LIST_ID);
 		//
-		StatusJSONHandler h = new StatusJSONHandler();
+		StatusJSONEventHandler h = new StatusJSONEventHandler();
 		h.setSearchDeviceListener(l);
+		h.setFieldMask(fieldMask);
 		//
 		String url = getURL(TWITTER_API_URL_SERVICE_LISTS_STATUSES);
 		Query qry =	new Query("list_id=" + list.getString(MetadataSet.LIST_ID));
@@ -837,6 +943,28 @@ public final class Timeline {
 	 */
 	public void startGetFavoriteTweets(UserAccount user, Query q,
 		SearchDeviceListener l) {
+		startGetFavoriteTweets(user, q, null, l);
+	}
+	
+	/**
+	 * <p>
+	 * Get most recent favorite tweets for the given user, populating only the
+	 * given keys of the tweets.
+	 * The parts of the response holding the other keys, e.g., the users or the
+	 * entities, are skipped while it is read.
+	 * </p>
+	 * @param user User account.
+	 * @param q The filter query. If null all tweets are returned.
+	 * @param fieldMask Keys of the tweets to be populated, e.g.,
+	 *                  {@link MetadataSet#TWEET_ID}, or null, if all.
+	 * @param l Listener object to be notified about the search's result.
+	 * @throws SecurityException If the given user is protected or user is not 
+	 *                           authenticated.
+	 * @throws IllegalArgumentException If user or listener is null.
+	 * @see Timeline#startGetFavoriteTweets(UserAccount, Query, SearchDeviceListener)
+	 */
+	public void startGetFavoriteTweets(UserAccount user, Query q,
+		String[] fieldMask, SearchDeviceListener l) {
 		if (user == null) {
 			throw new IllegalArgumentException("User must not be null");
 		}
@@ -845,8 +973,9 @@ public final class Timeline {
 			user.checkEmpty(MetadataSet.USERACCOUNT_USER_NAME);
 		}
 		//
-		StatusJSONHandler h = new StatusJSONHandler();
+		StatusJSONEventHandler h = new StatusJSONEventHandler();
 		h.setSearchDeviceListener(l);
+		h.setFieldMask(fieldMask);
 		//
 		String url = getURL(TWITTER_API_URL_SERVICE_FAVORITES);
 		//
@@ -884,43 +1013,50 @@ public final class Timeline {
 		//
 		checkUserAuth();
 		//
-		Runnable r = new Runnable() {
-			public void run() {
-				HttpRequest req;
-				String url = servURLKey;
-				//
-				if (!servURLKey.startsWith("http")) {
-					url = getURL(servURLKey);
-				}
-				url = q != null ? url + '?' + q.toString() : url;
-				//
-				if (userAccountMngr != null) {
-					req = userAccountMngr.createRequest(url);
-				} else {
-					req = new HttpRequest(url);
-				}
-				//
+		HttpRequest req;
+		String url = servURLKey;
+		//
+		if (!servURLKey.startsWith("http")) {
+			url = getURL(servURLKey);
+		}
+		url = q != null ? url + '?' + q.toString() : url;
+		//
+		if (userAccountMngr != null) {
+			req = userAccountMngr.createRequest(url);
+		} else {
+			req = new HttpRequest(url);
+		}
+		//
+		req.sendAsync(new HttpResponseListener() {
+			public void responseReceived(HttpRequest req, HttpResponse resp) {
 				try {
-					HttpResponse resp = req.send();
-					//
 					HttpResponseCodeInterpreter.perform(resp);
 					//
-					Parser parser = ParserFactory.getParser(ParserFactory.JSON);
-					parser.parse(resp.getStream(), h);
+					ParserFactory.parse(
+						ParserFactory.JSON, resp.getStream(), h);
 					//
 					l.searchCompleted();
 				} catch (Exception e) {
 					l.searchFailed(e);
-				} finally {
-					try {
-						req.close();
-					} catch (IOException e) {}
 				}
 			}
-		};
-		//
-		Thread t = new Thread(r);
-		t.start();
+			//
+			public void requestFailed(HttpRequest req, Throwable cause) {
+				l.searchFailed(cause);
+			}
+		}, getExecutor());
+	}
+	
+	/**
+	 * <p>
+	 * Get the executor of the asynchronous methods, i.e., the user account
+	 * manager's one or the default one.
+	 * </p>
+	 * @return Executor.
+	 */
+	private TaskExecutor getExecutor() {
+		return userAccountMngr != null
+			? userAccountMngr.getExecutor() : TaskExecutor.getDefault();
 	}
 	
 	/**
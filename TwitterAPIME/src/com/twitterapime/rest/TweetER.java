@@ -16,7 +16,6 @@ import com.twitterapime.io.HttpRequest;
 import com.twitterapime.io.HttpResponse;
 import com.twitterapime.io.HttpResponseCodeInterpreter;
 import com.twitterapime.model.MetadataSet;
-import com.twitterapime.parser.Parser;
 import com.twitterapime.parser.ParserException;
 import com.twitterapime.parser.ParserFactory;
 import com.twitterapime.rest.handler.json.StatusJSONHandler;
@@ -359,9 +358,8 @@ public final class TweetER {
 			//
 			HttpResponseCodeInterpreter.perform(resp);
 			//
-			Parser parser = ParserFactory.getParser(ParserFactory.JSON);
 			StatusJSONHandler handler = new StatusJSONHandler();
-			parser.parse(resp.getStream(), handler);
+			ParserFactory.parse(ParserFactory.JSON, resp.getStream(), handler);
 			//
 			return handler.getParsedTweets()[0];
 		} catch (ParserException e) {
@@ -428,9 +426,8 @@ public final class TweetER {
 			//
 			HttpResponseCodeInterpreter.perform(resp);
 			//
-			Parser parser = ParserFactory.getParser(ParserFactory.JSON);
 			StatusJSONHandler handler = new StatusJSONHandler();
-			parser.parse(resp.getStream(), handler);
+			ParserFactory.parse(ParserFactory.JSON, resp.getStream(), handler);
 			handler.loadParsedTweet(tweet, 0);
 			//
 			return tweet;
@@ -479,9 +476,8 @@ public final class TweetER {
 			//
 			HttpResponseCodeInterpreter.perform(resp);
 			//
-			Parser parser = ParserFactory.getParser(ParserFactory.JSON);
 			StatusJSONHandler handler = new StatusJSONHandler();
-			parser.parse(resp.getStream(), handler);
+			ParserFactory.parse(ParserFactory.JSON, resp.getStream(), handler);
 			handler.loadParsedTweet(tweet, 0);
 			//
 			return tweet;
@@ -537,9 +533,8 @@ public final class TweetER {
 			//
 			HttpResponseCodeInterpreter.perform(resp);
 			//
-			Parser parser = ParserFactory.getParser(ParserFactory.JSON);
 			StatusJSONHandler handler = new StatusJSONHandler();
-			parser.parse(resp.getStream(), handler);
+			ParserFactory.parse(ParserFactory.JSON, resp.getStream(), handler);
 			handler.loadParsedTweet(dm, 0);
 			//
 			return dm;
@@ -595,10 +590,9 @@ public final class TweetER {
 			//
 			HttpResponseCodeInterpreter.perform(resp);
 			//
-			Parser parser = ParserFactory.getParser(ParserFactory.JSON);
 			StatusJSONHandler handler = new StatusJSONHandler();
 			//
-			parser.parse(resp.getStream(), handler);
+			ParserFactory.parse(ParserFactory.JSON, resp.getStream(), handler);
 			handler.loadParsedTweet(tweet, 0);
 			//
 			return tweet;
@@ -10,6 +10,7 @@ package com.twitterapime.rest;
 import java.util.Hashtable;
 
 import com.twitterapime.model.DefaultEntity;
+import com.twitterapime.model.EntityLayout;
 import com.twitterapime.model.MetadataSet;
 import com.twitterapime.search.Tweet;
 import com.twitterapime.util.StringUtil;
@@ -20,7 +21,7 @@ import com.twitterapime.util.StringUtil;
  * </p>
  * 
  * @author Ernandes Mourao Junior (ernandes@gmail.com)
- * @version 1.3
+ * @version 1.4
  * @since 1.1
  * @see UserAccountManager
  */
@@ -206,4 +207,18 @@ public final class UserAccount extends DefaultEntity {
 				"Username/ID must no be empty/null");
 		}
 	}
+	
+	/**
+	 * @see com.twitterapime.model.DefaultEntity#getLayout()
+	 */
+	protected EntityLayout getLayout() {
+		return EntityLayout.USER_ACCOUNT;
+	}
+	
+	/**
+	 * @see com.twitterapime.model.DefaultEntity#getIdentityKey()
+	 */
+	protected String getIdentityKey() {
+		return MetadataSet.USERACCOUNT_ID;
+	}
 }
@@ -10,14 +10,16 @@ package com.twitterapime.rest;
 import java.io.IOException;
 import java.util.Enumeration;
 import java.util.Hashtable;
+import java.util.Vector;
 
 import com.twitterapime.io.HttpConnection;
 import com.twitterapime.io.HttpRequest;
 import com.twitterapime.io.HttpResponse;
 import com.twitterapime.io.HttpResponseCodeInterpreter;
+import com.twitterapime.io.RateLimitScheduler;
 import com.twitterapime.model.Cursor;
+import com.twitterapime.model.LongCursor;
 import com.twitterapime.model.MetadataSet;
-import com.twitterapime.parser.Parser;
 import com.twitterapime.parser.ParserException;
 import com.twitterapime.parser.ParserFactory;
 import com.twitterapime.rest.handler.RateLimitStatusHandler;
@@ -25,6 +27,8 @@ import com.twitterapime.rest.handler.json.UserJSONHandler;
 import com.twitterapime.search.LimitExceededException;
 import com.twitterapime.search.Query;
 import com.twitterapime.search.QueryComposer;
+import com.twitterapime.util.StringUtil;
+import com.twitterapime.util.TaskExecutor;
 import com.twitterapime.xauth.Token;
 import com.twitterapime.xauth.XAuthSigner;
 
@@ -44,7 +48,7 @@ import com.twitterapime.xauth.XAuthSigner;
  * </p>
  * 
  * @author Ernandes Mourao Junior (ernandes@gmail.com)
- * @version 1.7
+ * @version 1.8
  * @since 1.1
  */
 public final class UserAccountManager {
@@ -248,6 +252,20 @@ public final class UserAccountManager {
 	 */
 	private XAuthSigner signer;
 	
+	/**
+	 * <p>
+	 * Executor of the asynchronous methods.
+	 * </p>
+	 */
+	private TaskExecutor executor;
+	
+	/**
+	 * <p>
+	 * Batcher of lookups.
+	 * </p>
+	 */
+	private UserLookupBatcher lookupBatcher;
+	
 	/**
 	 * <p>
 	 * Get an URL related to the given service key.
@@ -358,9 +376,8 @@ public final class UserAccountManager {
 			//
 			HttpResponseCodeInterpreter.perform(resp);
 			//
-			Parser parser = ParserFactory.getDefaultParser();
 			RateLimitStatusHandler handler = new RateLimitStatusHandler();
-			parser.parse(resp.getStream(), handler);
+			ParserFactory.parse(ParserFactory.XML, resp.getStream(), handler);
 			//
 			return handler.getParsedRateLimitStatus();
 		} catch (ParserException e) {
@@ -370,6 +387,23 @@ public final class UserAccountManager {
 		}
 	}
 
+	/**
+	 * <p>
+	 * Returns the rate limit status of each resource (endpoint family), e.g.,
+	 * "/statuses/home_timeline", accessed by this user account so far. The
+	 * statuses are kept up to date from the responses' X-Rate-Limit headers,
+	 * with no additional request.
+	 * </p>
+	 * @return Rate limiting status info.
+	 * @throws SecurityException If it is not properly logged in.
+	 * @see RateLimitScheduler
+	 */
+	public RateLimitStatus[] getRateLimitStatuses() {
+		checkValid();
+		//
+		return RateLimitScheduler.getInstance().getStatuses(token.getToken());
+	}
+
 	/**
 	 * <p>
 	 * Return whether it is properly verified.
@@ -438,8 +472,8 @@ public final class UserAccountManager {
 			//
 			if (resp.getCode() == HttpConnection.HTTP_OK) {
 				UserJSONHandler handler = new UserJSONHandler();
-				Parser parser = ParserFactory.getParser(ParserFactory.JSON);
-				parser.parse(resp.getStream(), handler);
+				ParserFactory.parse(
+					ParserFactory.JSON, resp.getStream(), handler);
 				UserAccount ua = handler.getParsedUserAccounts()[0];
 				//
 				credential.setUsername(
@@ -529,6 +563,11 @@ public final class UserAccountManager {
 	 * <p>
 	 * Get the account of a given user.
 	 * </p>
+	 * <p>
+	 * Once the {@link #getLookupBatcher()} is enabled, concurrent calls of
+	 * this method are merged into lookup requests. Otherwise (default), the
+	 * user is requested individually.
+	 * </p>
 	 * @param user User.
 	 * @return Username/id.
 	 * @throws SecurityException If it is not properly logged in.
@@ -546,6 +585,12 @@ public final class UserAccountManager {
 		}
 		user.validateUserNameOrID();
 		//
+		UserLookupBatcher batcher = getLookupBatcher();
+		//
+		if (batcher.isEnabled()) {
+			return batcher.load(user);
+		}
+		//
 		String[] pv = user.getUserNameOrIDParamValue();
 		String param = "?" + pv[0] + "=" + pv[1];
 		//
@@ -557,9 +602,8 @@ public final class UserAccountManager {
 			//
 			HttpResponseCodeInterpreter.perform(resp);
 			//
-			Parser parser = ParserFactory.getParser(ParserFactory.JSON);
 			UserJSONHandler handler = new UserJSONHandler();
-			parser.parse(resp.getStream(), handler);
+			ParserFactory.parse(ParserFactory.JSON, resp.getStream(), handler);
 			//
 			handler.loadParsedUserAccount(user, 0);
 			//
@@ -673,6 +717,26 @@ public final class UserAccountManager {
 		return FriendshipManager.getInstance(this).getFollowersIDs(query);
 	}
 
+	/**
+	 * {@link FriendshipManager#getFriendsIDsAsLongs(Query)}
+	 */
+	public LongCursor getFriendsIDsAsLongs(Query query) throws IOException,
+		LimitExceededException {
+		checkValid();
+		//
+		return FriendshipManager.getInstance(this).getFriendsIDsAsLongs(query);
+	}
+
+	/**
+	 * {@link FriendshipManager#getFollowersIDsAsLongs(Query)}
+	 */
+	public LongCursor getFollowersIDsAsLongs(Query query) throws IOException,
+		LimitExceededException {
+		checkValid();
+		//
+		return FriendshipManager.getInstance(this).getFollowersIDsAsLongs(query);
+	}
+
 	/**
 	 * {@link FriendshipManager#getIncomingFollowersID(Query)}
 	 */
@@ -799,9 +863,8 @@ public final class UserAccountManager {
 			//
 			HttpResponseCodeInterpreter.perform(resp);
 			//
-			Parser parser = ParserFactory.getParser(ParserFactory.JSON);
 			UserJSONHandler handler = new UserJSONHandler();
-			parser.parse(resp.getStream(), handler);
+			ParserFactory.parse(ParserFactory.JSON, resp.getStream(), handler);
 			//
 			handler.loadParsedUserAccount(newUserInfo, 0);
 			//
@@ -845,9 +908,8 @@ public final class UserAccountManager {
 			//
 			HttpResponseCodeInterpreter.perform(resp);
 			//
-			Parser parser = ParserFactory.getParser(ParserFactory.JSON);
 			UserJSONHandler handler = new UserJSONHandler();
-			parser.parse(resp.getStream(), handler);
+			ParserFactory.parse(ParserFactory.JSON, resp.getStream(), handler);
 			//
 			handler.loadParsedUserAccount(user, 0);
 			//
@@ -914,9 +976,8 @@ public final class UserAccountManager {
 			//
 			HttpResponseCodeInterpreter.perform(resp);
 			//
-			Parser parser = ParserFactory.getParser(ParserFactory.JSON);
 			UserJSONHandler handler = new UserJSONHandler();
-			parser.parse(resp.getStream(), handler);
+			ParserFactory.parse(ParserFactory.JSON, resp.getStream(), handler);
 			//
 			return handler.getParsedUserAccounts();
 		} catch (ParserException e) {
@@ -971,6 +1032,11 @@ public final class UserAccountManager {
 	 * <li>{@link QueryComposer#includeEntities()}</li>
 	 * </ul>
 	 * </p>
+	 * <p>
+	 * Twitter API accepts up to {@link UserLookupBatcher#MAX_BATCH_SIZE}
+	 * ids/usernames per request. Longer lists are split into as many requests
+	 * as necessary, whose results are returned together.
+	 * </p>
 	 * @param query Search query.
 	 * @return Users associated to the given ids/usernames.
 	 * @throws SecurityException If it is not properly logged in.
@@ -996,11 +1062,96 @@ public final class UserAccountManager {
 					"QueryComposer#screenNames(String[]) is required.");
 		}
 		//
+		Hashtable params = HttpRequest.getQueryStringParams(qryStr);
+		String[] ids = getLookupValues(params.remove("user_id"));
+		String[] names = getLookupValues(params.remove("screen_name"));
+		//
+		if (ids.length + names.length <= UserLookupBatcher.MAX_BATCH_SIZE) {
+			if (ids.length > 0) {
+				params.put("user_id", StringUtil.join(ids, 0, ids.length, ','));
+			}
+			if (names.length > 0) {
+				params.put(
+					"screen_name",
+					StringUtil.join(names, 0, names.length, ','));
+			}
+			//
+			return lookup(params);
+		}
+		//
+		Vector users = new Vector();
+		//
+		for (int i = 0; i < ids.length + names.length;
+				i += UserLookupBatcher.MAX_BATCH_SIZE) {
+			Hashtable chunk = new Hashtable();
+			Enumeration keys = params.keys();
+			//
+			while (keys.hasMoreElements()) {
+				Object key = keys.nextElement();
+				chunk.put(key, params.get(key));
+			}
+			//
+			final int end = i + UserLookupBatcher.MAX_BATCH_SIZE;
+			//
+			if (i < ids.length) {
+				chunk.put(
+					"user_id",
+					StringUtil.join(ids, i, Math.min(end, ids.length), ','));
+			}
+			if (end > ids.length) {
+				chunk.put(
+					"screen_name",
+					StringUtil.join(
+						names,
+						Math.max(i - ids.length, 0),
+						Math.min(end - ids.length, names.length),
+						','));
+			}
+			//
+			UserAccount[] chunkUsers = lookup(chunk);
+			//
+			for (int j = 0; j < chunkUsers.length; j++) {
+				users.addElement(chunkUsers[j]);
+			}
+		}
+		//
+		UserAccount[] result = new UserAccount[users.size()];
+		users.copyInto(result);
+		//
+		return result;
+	}
+	
+	/**
+	 * <p>
+	 * Get the lookup batcher of this user account, which merges the
+	 * concurrent calls of {@link #getUserAccount(UserAccount)} into lookup
+	 * requests.
+	 * </p>
+	 * @return Batcher.
+	 */
+	public synchronized UserLookupBatcher getLookupBatcher() {
+		if (lookupBatcher == null) {
+			lookupBatcher = new UserLookupBatcher(this);
+		}
+		//
+		return lookupBatcher;
+	}
+	
+	/**
+	 * <p>
+	 * Send a lookup request with the given parameters.
+	 * </p>
+	 * @param params Parameters.
+	 * @return Users.
+	 * @throws IOException If an I/O error occurs.
+	 * @throws LimitExceededException If limit has been hit.
+	 */
+	private UserAccount[] lookup(Hashtable params) throws IOException,
+		LimitExceededException {
 		HttpRequest req = 
 			createRequest(getURL(TWITTER_API_URL_SERVICE_USERS_LOOKUP));
 		req.setMethod(HttpConnection.POST);
 		//
-		Hashtable params = HttpRequest.getQueryStringParams(qryStr);
 		Enumeration keys = params.keys();
 		//
 		while (keys.hasMoreElements()) {
@@ -1014,9 +1165,8 @@ public final class UserAccountManager {
 			//
 			HttpResponseCodeInterpreter.perform(resp);
 			//
-			Parser parser = ParserFactory.getParser(ParserFactory.JSON);
 			UserJSONHandler handler = new UserJSONHandler();
-			parser.parse(resp.getStream(), handler);
+			ParserFactory.parse(ParserFactory.JSON, resp.getStream(), handler);
 			//
 			return handler.getParsedUserAccounts();
 		} catch (ParserException e) {
@@ -1026,6 +1176,42 @@ public final class UserAccountManager {
 		}		
 	}
 	
+	/**
+	 * <p>
+	 * Get the values of a lookup parameter, e.g., "user_id".
+	 * </p>
+	 * @param value Comma-separated values. Null for none.
+	 * @return Values.
+	 */
+	private String[] getLookupValues(Object value) {
+		return value != null && value.toString().length() > 0
+			? StringUtil.split(value.toString(), ',') : new String[0];
+	}
+	
+	/**
+	 * <p>
+	 * Set the executor of the asynchronous methods, e.g.,
+	 * {@link Timeline#startGetHomeTweets(Query, com.twitterapime.search.SearchDeviceListener)},
+	 * of this user account.
+	 * </p>
+	 * @param executor Executor. Null for the default one.
+	 * @see TaskExecutor#getDefault()
+	 */
+	public synchronized void setExecutor(TaskExecutor executor) {
+		this.executor = executor;
+	}
+	
+	/**
+	 * <p>
+	 * Get the executor of the asynchronous methods of this user account.
+	 * </p>
+	 * @return Executor.
+	 * @see TaskExecutor#getDefault()
+	 */
+	public synchronized TaskExecutor getExecutor() {
+		return executor != null ? executor : TaskExecutor.getDefault();
+	}
+	
 	/**
 	 * @see java.lang.Object#equals(java.lang.Object)
 	 */
@@ -1107,4 +1293,4 @@ public final class UserAccountManager {
 			userAccountMngrPoll.put(credential, this);
 		}
 	}
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -0,0 +1,546 @@
+/*
+ * UserLookupBatcher.java
+ * 18/10/2026
+ * Twitter API Micro Edition
+ * Copyright(c) Ernandes Mourao Junior (ernandes@gmail.com)
+ * All rights reserved
+ */
+package com.twitterapime.rest;
+
+import java.io.IOException;
+import java.util.Hashtable;
+import java.util.Vector;
+
+import com.twitterapime.model.MetadataSet;
+import com.twitterapime.search.InvalidQueryException;
+import com.twitterapime.search.LimitExceededException;
+import com.twitterapime.search.Query;
+import com.twitterapime.search.QueryComposer;
+
+/**
+ * <p>
+ * This class implements a batcher of user lookups.
+ * </p>
+ * <p>
+ * The users requested by concurrent threads within a short window are
+ * merged into a single lookup request of up to {@link #MAX_BATCH_SIZE}
+ * ids/usernames, whose results are handed back to each thread. A batch is
+ * sent as soon as it is full or its window expires.
+ * </p>
+ * <p>
+ * Once enabled, it is used by
+ * {@link UserAccountManager#getUserAccount(UserAccount)}, so hydrating many
+ * users one by one does not cost one request each. It is disabled by default,
+ * since every user then waits for the window and is looked up by a POST
+ * request, which {@link com.twitterapime.io.RetryPolicy} does not retry by
+ * default.
+ * </p>
+ * <p>
+ * <pre>
+ * UserLookupBatcher b = uam.getLookupBatcher();
+ * b.setEnabled(true);
+ * b.setWindow(100);
+ * ...
+ * UserAccount ua = uam.getUserAccount(new UserAccount("twitterapime"));
+ * </pre>
+ * </p>
+ *
+ * @author Ernandes Mourao Junior (ernandes@gmail.com)
+ * @version 1.1
+ * @since 2.0
+ * @see UserAccountManager#getLookupBatcher()
+ * @see UserAccountManager#lookup(Query)
+ */
+public final class UserLookupBatcher {
+	/**
+	 * <p>
+	 * Max number of ids/usernames per lookup request.
+	 * </p>
+	 */
+	public static final int MAX_BATCH_SIZE = 100;
+
+	/**
+	 * <p>
+	 * Default window (in milliseconds) a batch waits for more users.
+	 * </p>
+	 */
+	public static final long DEFAULT_WINDOW = 50;
+
+	/**
+	 * <p>
+	 * Lookup that sends the requests.
+	 * </p>
+	 */
+	private Lookup lookup;
+
+	/**
+	 * <p>
+	 * Batch being filled.
+	 * </p>
+	 */
+	private Batch batch;
+
+	/**
+	 * <p>
+	 * Window.
+	 * </p>
+	 */
+	private long window;
+
+	/**
+	 * <p>
+	 * Enabled flag.
+	 * </p>
+	 */
+	private boolean enabled;
+
+	/**
+	 * <p>
+	 * Number of users loaded.
+	 * </p>
+	 */
+	private int loadCount;
+
+	/**
+	 * <p>
+	 * Number of lookup requests sent.
+	 * </p>
+	 */
+	private int batchCount;
+
+	/**
+	 * <p>
+	 * Create an instance of UserLookupBatcher class.
+	 * </p>
+	 * @param manager User account manager.
+	 */
+	UserLookupBatcher(final UserAccountManager manager) {
+		this(new Lookup() {
+			public UserAccount[] lookup(Query query) throws IOException,
+				LimitExceededException {
+				return manager.lookup(query);
+			}
+		});
+	}
+
+	/**
+	 * <p>
+	 * Create an instance of UserLookupBatcher class.
+	 * </p>
+	 * @param lookup Lookup that sends the requests.
+	 */
+	UserLookupBatcher(Lookup lookup) {
+		this.lookup = lookup;
+		window = DEFAULT_WINDOW;
+	}
+
+	/**
+	 * <p>
+	 * Set the window (in milliseconds) a batch waits for more users.
+	 * </p>
+	 * @param window Window.
+	 * @throws IllegalArgumentException If window is negative.
+	 */
+	public synchronized void setWindow(long window) {
+		if (window < 0) {
+			throw new IllegalArgumentException("Window must not be negative.");
+		}
+		//
+		this.window = window;
+	}
+
+	/**
+	 * <p>
+	 * Get the window (in milliseconds) a batch waits for more users.
+	 * </p>
+	 * @return Window.
+	 */
+	public synchronized long getWindow() {
+		return window;
+	}
+
+	/**
+	 * <p>
+	 * Enable or disable the batcher. While disabled (default), each user is
+	 * requested individually.
+	 * </p>
+	 * @param enabled Enabled (true).
+	 */
+	public synchronized void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	/**
+	 * <p>
+	 * Return whether the batcher is enabled.
+	 * </p>
+	 * @return Enabled (true).
+	 */
+	public synchronized boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * <p>
+	 * Get the number of users loaded so far.
+	 * </p>
+	 * @return Number.
+	 */
+	public synchronized int getLoadCount() {
+		return loadCount;
+	}
+
+	/**
+	 * <p>
+	 * Get the number of lookup requests sent so far.
+	 * </p>
+	 * @return Number.
+	 */
+	public synchronized int getBatchCount() {
+		return batchCount;
+	}
+
+	/**
+	 * <p>
+	 * Load the account of a given user, along with the ones requested by other
+	 * threads within the window.
+	 * </p>
+	 * @param user User.
+	 * @return User loaded.
+	 * @throws SecurityException If it is not properly logged in.
+	 * @throws IOException If an I/O error occurs.
+	 * @throws LimitExceededException If limit has been hit.
+	 * @throws InvalidQueryException If user is not found.
+	 * @throws IllegalArgumentException If user/id/username is null/empty.
+	 */
+	public UserAccount load(UserAccount user) throws IOException,
+		LimitExceededException {
+		if (user == null) {
+			throw new IllegalArgumentException("User must not be null.");
+		}
+		user.validateUserNameOrID();
+		//
+		final Entry entry = new Entry(user);
+		final Batch b;
+		final boolean first;
+		boolean send = false;
+		final long wait;
+		//
+		synchronized (this) {
+			loadCount++;
+			first = batch == null;
+			//
+			if (first) {
+				batch = new Batch();
+			}
+			//
+			b = batch;
+			b.entries.addElement(entry);
+			//
+			if (b.entries.size() >= MAX_BATCH_SIZE) {
+				batch = null; //full.
+				send = true;
+			}
+			//
+			wait = window;
+		}
+		//
+		if (send) {
+			synchronized (b) {
+				b.notifyAll(); //wake up first thread.
+			}
+		} else if (first) {
+			final long end = System.currentTimeMillis() + wait;
+			//
+			synchronized (b) {
+				long remaining;
+				//
+				while ((remaining = end - System.currentTimeMillis()) > 0
+						&& !isFull(b)) {
+					try {
+						b.wait(remaining);
+					} catch (InterruptedException e) {
+						break;
+					}
+				}
+			}
+			//
+			synchronized (this) {
+				if (batch == b) {
+					batch = null;
+					send = true;
+				}
+			}
+		}
+		//
+		if (send) {
+			send(b);
+		}
+		//
+		return entry.await();
+	}
+
+	/**
+	 * <p>
+	 * Return whether a given batch is already full.
+	 * </p>
+	 * @param b Batch.
+	 * @return Full (true).
+	 */
+	private synchronized boolean isFull(Batch b) {
+		return batch != b;
+	}
+
+	/**
+	 * <p>
+	 * Send a lookup request of a given batch and hand its results back to the
+	 * entries.
+	 * </p>
+	 * @param b Batch.
+	 */
+	private void send(Batch b) {
+		Vector ids = new Vector();
+		Vector names = new Vector();
+		Hashtable added = new Hashtable();
+		final int size = b.entries.size();
+		//
+		for (int i = 0; i < size; i++) {
+			Entry e = (Entry)b.entries.elementAt(i);
+			//
+			if (!added.containsKey(e.key)) {
+				added.put(e.key, e.key);
+				(e.byID ? ids : names).addElement(e.value);
+			}
+		}
+		//
+		synchronized (this) {
+			batchCount++;
+		}
+		//
+		try {
+			UserAccount[] users = lookup.lookup(createQuery(ids, names));
+			Hashtable found = new Hashtable(users.length * 2);
+			//
+			for (int i = 0; i < users.length; i++) {
+				String id = users[i].getString(MetadataSet.USERACCOUNT_ID);
+				String name =
+					users[i].getString(MetadataSet.USERACCOUNT_USER_NAME);
+				//
+				if (id != null) {
+					found.put(getKey(true, id), users[i]);
+				}
+				if (name != null) {
+					found.put(getKey(false, name), users[i]);
+				}
+			}
+			//
+			for (int i = 0; i < size; i++) {
+				Entry e = (Entry)b.entries.elementAt(i);
+				UserAccount ua = (UserAccount)found.get(e.key);
+				//
+				if (ua != null) {
+					e.user.setData(ua);
+					e.done(null);
+				} else {
+					e.done(
+						new InvalidQueryException("User not found: " + e.value));
+				}
+			}
+		} catch (Throwable t) {
+			for (int i = 0; i < size; i++) {
+				((Entry)b.entries.elementAt(i)).done(t);
+			}
+		}
+	}
+
+	/**
+	 * <p>
+	 * Create the lookup query of given ids and usernames.
+	 * </p>
+	 * @param ids Ids.
+	 * @param names Usernames.
+	 * @return Query.
+	 */
+	private Query createQuery(Vector ids, Vector names) {
+		Query query = null;
+		//
+		if (ids.size() > 0) {
+			String[] values = new String[ids.size()];
+			ids.copyInto(values);
+			query = QueryComposer.userIDs(values);
+		}
+		//
+		if (names.size() > 0) {
+			String[] values = new String[names.size()];
+			names.copyInto(values);
+			Query q = QueryComposer.screenNames(values);
+			query = query != null ? QueryComposer.append(query, q) : q;
+		}
+		//
+		return query;
+	}
+
+	/**
+	 * <p>
+	 * Get the key of a given id or username.
+	 * </p>
+	 * @param byID Id (true) or username (false).
+	 * @param value Value.
+	 * @return Key.
+	 */
+	private static String getKey(boolean byID, String value) {
+		return byID ? "#" + value : value.toLowerCase();
+	}
+
+	/**
+	 * <p>
+	 * This interface defines the lookup request sent for each batch.
+	 * </p>
+	 *
+	 * @author Ernandes Mourao Junior (ernandes@gmail.com)
+	 * @version 1.0
+	 * @since 2.0
+	 */
+	static interface Lookup {
+		/**
+		 * <p>
+		 * Look up the users of a given query.
+		 * </p>
+		 * @param query Query.
+		 * @return Users found.
+		 * @throws IOException If an I/O error occurs.
+		 * @throws LimitExceededException If limit has been hit.
+		 */
+		public UserAccount[] lookup(Query query) throws IOException,
+			LimitExceededException;
+	}
+
+	/**
+	 * <p>
+	 * This class defines a batch of users.
+	 * </p>
+	 *
+	 * @author Ernandes Mourao Junior (ernandes@gmail.com)
+	 * @version 1.0
+	 * @since 2.0
+	 */
+	private static final class Batch {
+		/**
+		 * <p>
+		 * Entries.
+		 * </p>
+		 */
+		public Vector entries = new Vector();
+	}
+
+	/**
+	 * <p>
+	 * This class defines an user requested by a thread.
+	 * </p>
+	 *
+	 * @author Ernandes Mourao Junior (ernandes@gmail.com)
+	 * @version 1.0
+	 * @since 2.0
+	 */
+	private static final class Entry {
+		/**
+		 * <p>
+		 * User.
+		 * </p>
+		 */
+		public UserAccount user;
+
+		/**
+		 * <p>
+		 * Requested by id (true) or username (false).
+		 * </p>
+		 */
+		public boolean byID;
+
+		/**
+		 * <p>
+		 * Id or username.
+		 * </p>
+		 */
+		public String value;
+
+		/**
+		 * <p>
+		 * Key.
+		 * </p>
+		 */
+		public String key;
+
+		/**
+		 * <p>
+		 * Done flag.
+		 * </p>
+		 */
+		private boolean done;
+
+		/**
+		 * <p>
+		 * Error.
+		 * </p>
+		 */
+		private Throwable error;
+
+		/**
+		 * <p>
+		 * Create an instance of Entry class.
+		 * </p>
+		 * @param user User.
+		 */
+		public Entry(UserAccount user) {
+			String[] pv = user.getUserNameOrIDParamValue();
+			//
+			this.user = user;
+			byID = "user_id".equals(pv[0]);
+			value = pv[1];
+			key = getKey(byID, value);
+		}
+
+		/**
+		 * <p>
+		 * Set the entry as done.
+		 * </p>
+		 * @param error Error. Null if succeeded.
+		 */
+		public synchronized void done(Throwable error) {
+			this.error = error;
+			done = true;
+			notifyAll();
+		}
+
+		/**
+		 * <p>
+		 * Wait for the entry to be done.
+		 * </p>
+		 * @return User.
+		 * @throws IOException If an I/O error occurs.
+		 * @throws LimitExceededException If limit has been hit.
+		 */
+		public synchronized UserAccount await() throws IOException,
+			LimitExceededException {
+			while (!done) {
+				try {
+					wait();
+				} catch (InterruptedException e) {
+					throw new IOException("Interrupted waiting for lookup.");
+				}
+			}
+			//
+			if (error instanceof IOException) {
+				throw (IOException)error;
+			} else if (error instanceof LimitExceededException) {
+				throw (LimitExceededException)error;
+			} else if (error instanceof RuntimeException) {
+				throw (RuntimeException)error;
+			} else if (error instanceof Error) {
+				throw (Error)error;
+			}
+			//
+			return user;
+		}
+	}
+}
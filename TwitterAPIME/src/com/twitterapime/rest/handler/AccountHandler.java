@@ -10,6 +10,8 @@ package com.twitterapime.rest.handler;
 import java.util.Hashtable;
 import java.util.Vector;
 
+import com.twitterapime.model.EntityData;
+import com.twitterapime.model.EntityLayout;
 import com.twitterapime.model.MetadataSet;
 import com.twitterapime.parser.Attributes;
 import com.twitterapime.parser.DefaultXMLHandler;
@@ -91,8 +93,8 @@ public final class AccountHandler extends DefaultXMLHandler {
 		super.startElement(namespaceURI, localName, qName, attrs);
 		//
 		if (localName.toLowerCase().equals("user")) {
-			userAccountValues = new Hashtable(25);
-			lastTweetValues = new Hashtable(5);
+			userAccountValues = new EntityData(EntityLayout.USER_ACCOUNT);
+			lastTweetValues = new EntityData(EntityLayout.TWEET);
 			//
 			usersHashList.addElement(userAccountValues);
 			usersList.addElement(new UserAccount(userAccountValues));
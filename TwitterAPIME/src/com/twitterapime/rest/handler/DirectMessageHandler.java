@@ -10,6 +10,8 @@ package com.twitterapime.rest.handler;
 import java.util.Hashtable;
 import java.util.Vector;
 
+import com.twitterapime.model.EntityData;
+import com.twitterapime.model.EntityLayout;
 import com.twitterapime.model.MetadataSet;
 import com.twitterapime.parser.Attributes;
 import com.twitterapime.parser.DefaultXMLHandler;
@@ -85,9 +87,9 @@ public final class DirectMessageHandler extends DefaultXMLHandler {
 		super.startElement(namespaceURI, localName, qName, attrs);
 		//
 		if (localName.toLowerCase().equals("direct_message")) {
-			dmValues = new Hashtable(5);
-			senderValues = new Hashtable(25);
-			recipientValues = new Hashtable(25);
+			dmValues = new EntityData(EntityLayout.TWEET);
+			senderValues = new EntityData(EntityLayout.USER_ACCOUNT);
+			recipientValues = new EntityData(EntityLayout.USER_ACCOUNT);
 			//
 			dmValues.put(
 				MetadataSet.TWEET_USER_ACCOUNT, new UserAccount(senderValues));
@@ -11,8 +11,10 @@ import java.util.Hashtable;
 import java.util.Vector;
 
 import com.twitterapime.model.MetadataSet;
+import com.twitterapime.parser.FieldBinder;
 import com.twitterapime.parser.JSONArray;
 import com.twitterapime.parser.JSONObject;
+import com.twitterapime.parser.XMLPathTrie;
 import com.twitterapime.util.StringUtil;
 
 /**
@@ -21,10 +23,57 @@ import com.twitterapime.util.StringUtil;
  * </p>
  * 
  * @author Ernandes Mourao Junior (ernandes@gmail.com)
- * @version 1.1
+ * @version 1.2
  * @since 1.4
  */
 public final class GeoLocationHandler {
+	/**
+	 * <p>
+	 * Fields of the location, whose names are relative to the geo/place's
+	 * element.
+	 * </p>
+	 */
+	private static final FieldBinder FIELDS = new FieldBinder(8);
+	
+	/**
+	 * <p>
+	 * Field id of the point.
+	 * </p>
+	 */
+	private static final int POINT = 0;
+	
+	/**
+	 * <p>
+	 * Field id of the polygon.
+	 * </p>
+	 */
+	private static final int POLYGON = 6;
+	
+	static {
+		FIELDS.bind(POINT, "georss:point", null, FieldBinder.STRING);
+		FIELDS.bind(1, "id", MetadataSet.GEOLOCATION_PLACE_ID, FieldBinder.STRING);
+		FIELDS.bind(2, "name", MetadataSet.GEOLOCATION_PLACE_NAME, FieldBinder.STRING | FieldBinder.SHARED);
+		FIELDS.bind(3, "full_name", MetadataSet.GEOLOCATION_PLACE_FULL_NAME, FieldBinder.STRING | FieldBinder.SHARED);
+		FIELDS.bind(4, "place_type", MetadataSet.GEOLOCATION_PLACE_TYPE, FieldBinder.STRING | FieldBinder.SHARED);
+		FIELDS.bind(5, "url", MetadataSet.GEOLOCATION_PLACE_URL, FieldBinder.STRING | FieldBinder.SHARED);
+		FIELDS.bind(POLYGON, "georss:polygon", null, FieldBinder.STRING);
+		FIELDS.bind(7, "country", MetadataSet.GEOLOCATION_COUNTRY, FieldBinder.STRING | FieldBinder.SHARED);
+	}
+	
+	/**
+	 * <p>
+	 * Add the paths of the location's elements to a given trie, whose ids are
+	 * the base id plus the field id.
+	 * </p>
+	 * @param paths Path trie.
+	 * @param prefix Path of the geo/place's element.
+	 * @param baseId Base id.
+	 */
+	public static void addPaths(XMLPathTrie paths, String prefix, int baseId) {
+		FIELDS.addPaths(paths, prefix, baseId);
+		paths.add(prefix + "/bounding_box/georss:polygon", baseId + POLYGON);
+	}
+	
 	/**
 	 * <p>
 	 * Populate the given hash according to the tags and their values
@@ -34,26 +83,32 @@ public final class GeoLocationHandler {
 	 * @param text Tag's text.
 	 */
 	public void populate(Hashtable data, String path, String text) {
-		if (path.endsWith("/georss:point")) {
+		populate(data, FIELDS.match(path), text);
+	}
+	
+	/**
+	 * <p>
+	 * Populate the given hash according to the field and its value.
+	 * </p>
+	 * @param data Hash to be populated.
+	 * @param field Field id.
+	 * @param text Tag's text.
+	 * @see GeoLocationHandler#addPaths(XMLPathTrie, String, int)
+	 */
+	public void populate(Hashtable data, int field, String text) {
+		switch (field) {
+		case POINT:
 			String[] values = StringUtil.split(text, ' ');
 			//
 			data.put(MetadataSet.GEOLOCATION_LATITUDE, values[0]);
 			data.put(MetadataSet.GEOLOCATION_LONGITUDE, values[1]);
-		} else if (path.endsWith("/id")) {
-			data.put(MetadataSet.GEOLOCATION_PLACE_ID, text);
-		} else if (path.endsWith("/name")) {
-			data.put(MetadataSet.GEOLOCATION_PLACE_NAME, text);
-		} else if (path.endsWith("/full_name")) {
-			data.put(MetadataSet.GEOLOCATION_PLACE_FULL_NAME, text);
-		} else if (path.endsWith("/place_type")) {
-			data.put(MetadataSet.GEOLOCATION_PLACE_TYPE, text);
-		} else if (path.endsWith("/url")) {
-			data.put(MetadataSet.GEOLOCATION_PLACE_URL, text);
-		} else if (path.endsWith("/georss:polygon")) {
+			break;
+		case POLYGON:
 			data.put(
 				MetadataSet.GEOLOCATION_POLYGON, StringUtil.split(text, ' '));
-		} else if (path.endsWith("/country")) {
-			data.put(MetadataSet.GEOLOCATION_COUNTRY, text);
+			break;
+		default:
+			FIELDS.populate(data, field, text);
 		}
 	}
 	
@@ -65,12 +120,7 @@ public final class GeoLocationHandler {
 	 * @param jsonObj JSON object that contains user's data.
 	 */
 	public void populate(Hashtable data, JSONObject jsonObj) {
-		putIf(data, MetadataSet.GEOLOCATION_PLACE_ID, jsonObj, "id");
-		putIf(data, MetadataSet.GEOLOCATION_PLACE_NAME, jsonObj, "name");
-		putIf(data,MetadataSet.GEOLOCATION_PLACE_FULL_NAME,jsonObj,"full_name");
-		putIf(data, MetadataSet.GEOLOCATION_PLACE_TYPE, jsonObj, "place_type");
-		putIf(data, MetadataSet.GEOLOCATION_PLACE_URL, jsonObj, "url");
-		putIf(data, MetadataSet.GEOLOCATION_COUNTRY, jsonObj, "country");
+		FIELDS.populate(data, jsonObj);
 		//
 		if (jsonObj.has("coordinates")) {
 			JSONArray coord = jsonObj.getJSONArray("coordinates");
@@ -96,20 +146,4 @@ public final class GeoLocationHandler {
 			data.put(MetadataSet.GEOLOCATION_POLYGON, array);
 		}
 	}
-
-	/**
-	 * <p>
-	 * Put the given key's value in hash table if present in json object.
-	 * </p>
-	 * @param data Table.
-	 * @param dataKey Table's key.
-	 * @param jsonObj JSON object.
-	 * @param jsonKey JSON's key.
-	 */
-	private void putIf(Hashtable data, String dataKey, JSONObject jsonObj,
-		String jsonKey) {
-		if (jsonObj.has(jsonKey)) {
-			data.put(dataKey, jsonObj.getString(jsonKey));
-		}
-	}
 }
\ No newline at end of file
@@ -10,6 +10,8 @@ package com.twitterapime.rest.handler;
 import java.util.Hashtable;
 import java.util.Vector;
 
+import com.twitterapime.model.EntityData;
+import com.twitterapime.model.EntityLayout;
 import com.twitterapime.model.MetadataSet;
 import com.twitterapime.parser.Attributes;
 import com.twitterapime.parser.DefaultXMLHandler;
@@ -64,7 +66,7 @@ public final class ListHandler extends DefaultXMLHandler {
 		//
 		if (localName.toLowerCase().equals("list")) {
 			listValues = new Hashtable(10);
-			uaValues = new Hashtable(25);
+			uaValues = new EntityData(EntityLayout.USER_ACCOUNT);
 			//
 			listValues.put(
 				MetadataSet.LIST_USER_ACCOUNT, new UserAccount(uaValues));
@@ -9,9 +9,12 @@ package com.twitterapime.rest.handler;
 
 import java.util.Hashtable;
 
+import com.twitterapime.model.EntityData;
+import com.twitterapime.model.EntityLayout;
 import com.twitterapime.model.MetadataSet;
 import com.twitterapime.parser.DefaultXMLHandler;
 import com.twitterapime.parser.ParserException;
+import com.twitterapime.parser.XMLPathTrie;
 import com.twitterapime.rest.GeoLocation;
 import com.twitterapime.rest.UserAccount;
 import com.twitterapime.search.Tweet;
@@ -28,6 +31,53 @@ import com.twitterapime.search.handler.TweetEntityHandler;
  * @since 1.2
  */
 public final class StatusHandler extends DefaultXMLHandler {
+	/**
+	 * <p>
+	 * Base path id of the tweet's elements.
+	 * </p>
+	 */
+	private static final int TWEET = 100;
+	
+	/**
+	 * <p>
+	 * Base path id of the user's elements.
+	 * </p>
+	 */
+	private static final int USER = 200;
+	
+	/**
+	 * <p>
+	 * Base path id of the geo/place's elements.
+	 * </p>
+	 */
+	private static final int LOCATION = 300;
+	
+	/**
+	 * <p>
+	 * Base path id of the entities' elements.
+	 * </p>
+	 */
+	private static final int ENTITY = 400;
+	
+	/**
+	 * <p>
+	 * Offset of the retweeted status' base path ids.
+	 * </p>
+	 */
+	private static final int RETWEET = 1000;
+	
+	/**
+	 * <p>
+	 * Paths of the handled elements.
+	 * </p>
+	 */
+	private static final XMLPathTrie PATHS = new XMLPathTrie();
+	
+	static {
+		addPaths("/status", 0);
+		addPaths("/status/retweeted_status", RETWEET);
+	}
+	
 	/**
 	 * <p>
 	 * User Account XML handler object.
@@ -61,28 +111,28 @@ public final class StatusHandler extends DefaultXMLHandler {
 	 * Hash with user account values.
 	 * </p>
 	 */
-	private Hashtable tweeetUserValues = new Hashtable(25);
+	private Hashtable tweeetUserValues = new EntityData(EntityLayout.USER_ACCOUNT);
 	
 	/**
 	 * <p>
 	 * Hash with user account values from reposted tweet.
 	 * </p>
 	 */
-	private Hashtable retweetUserValues = new Hashtable(25);
+	private Hashtable retweetUserValues = new EntityData(EntityLayout.USER_ACCOUNT);
 
 	/**
 	 * <p>
 	 * Hash with tweet values.
 	 * </p>
 	 */
-	private Hashtable tweetValues = new Hashtable(10);
+	private Hashtable tweetValues = new EntityData(EntityLayout.TWEET);
 	
 	/**
 	 * <p>
 	 * Hash with reposted tweet values.
 	 * </p>
 	 */
-	private Hashtable retweetValues = new Hashtable(10);
+	private Hashtable retweetValues = new EntityData(EntityLayout.TWEET);
 	
 	/**
 	 * <p>
@@ -112,32 +162,70 @@ public final class StatusHandler extends DefaultXMLHandler {
 	 */
 	private Hashtable retweetEntityValues = new Hashtable(3);
 
+	/**
+	 * <p>
+	 * Add the paths of a status' elements.
+	 * </p>
+	 * @param prefix Path of the status' element.
+	 * @param offset Offset of the base path ids.
+	 */
+	private static void addPaths(String prefix, int offset) {
+		TweetHandler.addPaths(PATHS, prefix, TWEET + offset);
+		UserAccountHandler.addPaths(PATHS, prefix + "/user", USER + offset);
+		GeoLocationHandler.addPaths(PATHS, prefix + "/geo", LOCATION + offset);
+		GeoLocationHandler.addPaths(
+			PATHS, prefix + "/place", LOCATION + offset);
+		TweetEntityHandler.addPaths(
+			PATHS, prefix + "/entities", ENTITY + offset);
+	}
+	
+	/**
+	 * <p>
+	 * Create an instance of StatusHandler class.
+	 * </p>
+	 */
+	public StatusHandler() {
+		super(PATHS);
+	}
+	
 	/**
 	 * @see com.twitterapime.parser.DefaultXMLHandler#text(java.lang.String)
 	 */
 	public void text(String text) throws ParserException {
+		final int id = getPathId();
+		//
+		if (id < TWEET) {
+			return;
+		}
+		//
+		final int field = id % 100;
 		text = text.trim();
 		//
-		if (xmlPath.startsWith("/status/retweeted_status/user/")) {
-			userHandler.populate(retweetUserValues, xmlPath, text);
-		} else if (xmlPath.startsWith("/status/retweeted_status/geo/")) {
-			locationHandler.populate(retweetLocationValues, xmlPath, text);
-		} else if (xmlPath.startsWith("/status/retweeted_status/place/")) {
-			locationHandler.populate(retweetLocationValues, xmlPath, text);
-		} else if (xmlPath.startsWith("/status/retweeted_status/entities/")) {
-			entityHandler.populate(retweetEntityValues, xmlPath, text);
-		} else if (xmlPath.startsWith("/status/retweeted_status/")) {
-			tweetHandler.populate(retweetValues, xmlPath, text);
-		} else if (xmlPath.startsWith("/status/user/")) {
-			userHandler.populate(tweeetUserValues, xmlPath, text);
-		} else if (xmlPath.startsWith("/status/geo/")) {
-			locationHandler.populate(tweetLocationValues, xmlPath, text);
-		} else if (xmlPath.startsWith("/status/place/")) {
-			locationHandler.populate(tweetLocationValues, xmlPath, text);
-		} else if (xmlPath.startsWith("/status/entities/")) {
-			entityHandler.populate(tweetEntityValues, xmlPath, text);
-		} else if (xmlPath.startsWith("/status/")) {
-			tweetHandler.populate(tweetValues, xmlPath, text);
+		switch (id - field) {
+		case TWEET:
+			tweetHandler.populate(tweetValues, field, text);
+			break;
+		case USER:
+			userHandler.populate(tweeetUserValues, field, text);
+			break;
+		case LOCATION:
+			locationHandler.populate(tweetLocationValues, field, text);
+			break;
+		case ENTITY:
+			entityHandler.populate(tweetEntityValues, field, text);
+			break;
+		case TWEET + RETWEET:
+			tweetHandler.populate(retweetValues, field, text);
+			break;
+		case USER + RETWEET:
+			userHandler.populate(retweetUserValues, field, text);
+			break;
+		case LOCATION + RETWEET:
+			locationHandler.populate(retweetLocationValues, field, text);
+			break;
+		case ENTITY + RETWEET:
+			entityHandler.populate(retweetEntityValues, field, text);
+			break;
 		}
 	}
 	
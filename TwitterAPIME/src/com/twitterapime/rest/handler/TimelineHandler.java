@@ -10,10 +10,13 @@ package com.twitterapime.rest.handler;
 import java.util.Hashtable;
 import java.util.Vector;
 
+import com.twitterapime.model.EntityData;
+import com.twitterapime.model.EntityLayout;
 import com.twitterapime.model.MetadataSet;
 import com.twitterapime.parser.Attributes;
 import com.twitterapime.parser.DefaultXMLHandler;
 import com.twitterapime.parser.ParserException;
+import com.twitterapime.parser.XMLPathTrie;
 import com.twitterapime.rest.GeoLocation;
 import com.twitterapime.rest.UserAccount;
 import com.twitterapime.search.SearchDeviceListener;
@@ -31,6 +34,61 @@ import com.twitterapime.search.handler.TweetEntityHandler;
  * @since 1.2
  */
 public final class TimelineHandler extends DefaultXMLHandler {
+	/**
+	 * <p>
+	 * Path id of the status' element.
+	 * </p>
+	 */
+	private static final int STATUS = 0;
+	
+	/**
+	 * <p>
+	 * Base path id of the tweet's elements.
+	 * </p>
+	 */
+	private static final int TWEET = 100;
+	
+	/**
+	 * <p>
+	 * Base path id of the user's elements.
+	 * </p>
+	 */
+	private static final int USER = 200;
+	
+	/**
+	 * <p>
+	 * Base path id of the geo/place's elements.
+	 * </p>
+	 */
+	private static final int LOCATION = 300;
+	
+	/**
+	 * <p>
+	 * Base path id of the entities' elements.
+	 * </p>
+	 */
+	private static final int ENTITY = 400;
+	
+	/**
+	 * <p>
+	 * Offset of the retweeted status' base path ids.
+	 * </p>
+	 */
+	private static final int RETWEET = 1000;
+	
+	/**
+	 * <p>
+	 * Paths of the handled elements.
+	 * </p>
+	 */
+	private static final XMLPathTrie PATHS = new XMLPathTrie();
+	
+	static {
+		PATHS.add("/statuses/status", STATUS);
+		addPaths("/statuses/status", 0);
+		addPaths("/statuses/status/retweeted_status", RETWEET);
+	}
+	
 	/**
 	 * <p>
 	 * User Account XML handler object.
@@ -129,6 +187,32 @@ public final class TimelineHandler extends DefaultXMLHandler {
 	 */
 	private SearchDeviceListener listener;
 		
+	/**
+	 * <p>
+	 * Add the paths of a status' elements.
+	 * </p>
+	 * @param prefix Path of the status' element.
+	 * @param offset Offset of the base path ids.
+	 */
+	private static void addPaths(String prefix, int offset) {
+		TweetHandler.addPaths(PATHS, prefix, TWEET + offset);
+		UserAccountHandler.addPaths(PATHS, prefix + "/user", USER + offset);
+		GeoLocationHandler.addPaths(PATHS, prefix + "/geo", LOCATION + offset);
+		GeoLocationHandler.addPaths(
+			PATHS, prefix + "/place", LOCATION + offset);
+		TweetEntityHandler.addPaths(
+			PATHS, prefix + "/entities", ENTITY + offset);
+	}
+	
+	/**
+	 * <p>
+	 * Create an instance of TimelineHandler class.
+	 * </p>
+	 */
+	public TimelineHandler() {
+		super(PATHS);
+	}
+	
 	/**
 	 * @see com.twitterapime.parser.DefaultXMLHandler#startElement(java.lang.String, java.lang.String, java.lang.String, com.twitterapime.parser.Attributes)
 	 */
@@ -136,11 +220,11 @@ public final class TimelineHandler extends DefaultXMLHandler {
 		String qName, Attributes attrs) throws ParserException {
 		super.startElement(namespaceURI, localName, qName, attrs);
 		//
-		if (localName.toLowerCase().equals("status")) {
-			tweetValues = new Hashtable(5);
-			retweetValues = new Hashtable(5);
-			userValues = new Hashtable(25);
-			retweetUserValues = new Hashtable(25);
+		if (getPathId() == STATUS) {
+			tweetValues = new EntityData(EntityLayout.TWEET);
+			retweetValues = new EntityData(EntityLayout.TWEET);
+			userValues = new EntityData(EntityLayout.USER_ACCOUNT);
+			retweetUserValues = new EntityData(EntityLayout.USER_ACCOUNT);
 			locationValues = new Hashtable(10);
 			retweetLocationValues = new Hashtable(10);
 			entityValues = new Hashtable(3);
@@ -157,31 +241,40 @@ public final class TimelineHandler extends DefaultXMLHandler {
 	 * @see com.twitterapime.parser.DefaultXMLHandler#text(java.lang.String)
 	 */
 	public void text(String text) throws ParserException {
+		final int id = getPathId();
+		//
+		if (id < TWEET) {
+			return;
+		}
+		//
+		final int field = id % 100;
 		text = text.trim();
 		//
-		if (xmlPath.startsWith("/statuses/status/retweeted_status/user/")) {
-			userHandler.populate(retweetUserValues, xmlPath, text);
-		} else if (xmlPath.startsWith(
-				"/statuses/status/retweeted_status/geo/")) {
-			locationHandler.populate(retweetLocationValues, xmlPath, text);
-		} else if (xmlPath.startsWith(
-				"/statuses/status/retweeted_status/place/")) {
-			locationHandler.populate(retweetLocationValues, xmlPath, text);
-		} else if (xmlPath.startsWith(
-				"/statuses/status/retweeted_status/entities/")) {
-			entityHandler.populate(retweetEntityValues, xmlPath, text);
-		} else if (xmlPath.startsWith("/statuses/status/retweeted_status/")) {
-			tweetHandler.populate(retweetValues, xmlPath, text);
-		} else if (xmlPath.startsWith("/statuses/status/user/")) {
-			userHandler.populate(userValues, xmlPath, text);
-		} else if (xmlPath.startsWith("/statuses/status/geo/")) {
-			locationHandler.populate(locationValues, xmlPath, text);
-		} else if (xmlPath.startsWith("/statuses/status/place/")) {
-			locationHandler.populate(locationValues, xmlPath, text);
-		} else if (xmlPath.startsWith("/statuses/status/entities/")) {
-			entityHandler.populate(entityValues, xmlPath, text);
-		} else if (xmlPath.startsWith("/statuses/status/")) {
-			tweetHandler.populate(tweetValues, xmlPath, text);
+		switch (id - field) {
+		case TWEET:
+			tweetHandler.populate(tweetValues, field, text);
+			break;
+		case USER:
+			userHandler.populate(userValues, field, text);
+			break;
+		case LOCATION:
+			locationHandler.populate(locationValues, field, text);
+			break;
+		case ENTITY:
+			entityHandler.populate(entityValues, field, text);
+			break;
+		case TWEET + RETWEET:
+			tweetHandler.populate(retweetValues, field, text);
+			break;
+		case USER + RETWEET:
+			userHandler.populate(retweetUserValues, field, text);
+			break;
+		case LOCATION + RETWEET:
+			locationHandler.populate(retweetLocationValues, field, text);
+			break;
+		case ENTITY + RETWEET:
+			entityHandler.populate(retweetEntityValues, field, text);
+			break;
 		}
 	}
 	
@@ -190,9 +283,11 @@ public final class TimelineHandler extends DefaultXMLHandler {
 	 */
 	public void endElement(String namespaceURI, String localName, String qName)
 		throws ParserException {
+		final boolean status = getPathId() == STATUS;
+		//
 		super.endElement(namespaceURI, localName, qName);
 		//
-		if (localName.toLowerCase().equals("status")) {
+		if (status) {
 			if (retweetValues.size() > 0) {  // is it a retweet?
 				if (retweetUserValues.size() > 0) {
 					retweetValues.put(
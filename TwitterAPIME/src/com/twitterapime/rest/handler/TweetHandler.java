@@ -10,8 +10,9 @@ package com.twitterapime.rest.handler;
 import java.util.Hashtable;
 
 import com.twitterapime.model.MetadataSet;
+import com.twitterapime.parser.FieldBinder;
 import com.twitterapime.parser.JSONObject;
-import com.twitterapime.util.StringUtil;
+import com.twitterapime.parser.XMLPathTrie;
 
 /**
  * <p>
@@ -19,10 +20,52 @@ import com.twitterapime.util.StringUtil;
  * </p>
  * 
  * @author Ernandes Mourao Junior (ernandes@gmail.com)
- * @version 1.2
+ * @version 1.3
  * @since 1.1
  */
 public final class TweetHandler {
+	/**
+	 * <p>
+	 * Fields of the tweet, whose names are relative to the tweet's element.
+	 * </p>
+	 */
+	private static final FieldBinder FIELDS = new FieldBinder(6);
+	
+	static {
+		FIELDS.bind(0, "created_at", MetadataSet.TWEET_PUBLISH_DATE, FieldBinder.DATE);
+		FIELDS.bind(1, "id", MetadataSet.TWEET_ID, FieldBinder.STRING);
+		FIELDS.bind(2, "text", MetadataSet.TWEET_CONTENT, FieldBinder.STRING);
+		FIELDS.bind(3, "source", MetadataSet.TWEET_SOURCE, FieldBinder.UNTAGGED | FieldBinder.SHARED);
+		FIELDS.bind(4, "favorited", MetadataSet.TWEET_FAVOURITE, FieldBinder.STRING | FieldBinder.SHARED);
+		FIELDS.bind(5, "in_reply_to_status_id", MetadataSet.TWEET_IN_REPLY_TO_TWEET_ID, FieldBinder.STRING);
+	}
+	
+	/**
+	 * <p>
+	 * Add the paths of the tweet's elements to a given trie, whose ids are
+	 * the base id plus the field id.
+	 * </p>
+	 * @param paths Path trie.
+	 * @param prefix Path of the tweet's element.
+	 * @param baseId Base id.
+	 */
+	public static void addPaths(XMLPathTrie paths, String prefix, int baseId) {
+		FIELDS.addPaths(paths, prefix, baseId);
+	}
+	
+	/**
+	 * <p>
+	 * Get the key that a given field of the tweet is populated under.
+	 * </p>
+	 * @param name Field's name, e.g., "text".
+	 * @return Key or null, if there is none.
+	 */
+	public static String getKey(String name) {
+		final int field = FIELDS.getField(name);
+		//
+		return field != FieldBinder.NO_FIELD ? FIELDS.getKey(field) : null;
+	}
+	
 	/**
 	 * <p>
 	 * Populate the given hash according to the tags and their values
@@ -32,57 +75,30 @@ public final class TweetHandler {
 	 * @param text Tag's text.
 	 */
 	public void populate(Hashtable data, String path, String text) {
-		if (path.endsWith("/created_at")) {
-			data.put(
-				MetadataSet.TWEET_PUBLISH_DATE,
-				"" + StringUtil.convertTweetDateToLong(text));
-		} else if (path.endsWith("/id")) {
-			data.put(MetadataSet.TWEET_ID, text);
-		} else if (path.endsWith("/text")) {
-			data.put(MetadataSet.TWEET_CONTENT, text);
-		} else if (path.endsWith("/source")) {
-			data.put(MetadataSet.TWEET_SOURCE, StringUtil.removeTags(text));
-		} else if (path.endsWith("/favorited")) {
-			data.put(MetadataSet.TWEET_FAVOURITE, text);
-		} else if (path.endsWith("/in_reply_to_status_id")) {
-			data.put(MetadataSet.TWEET_IN_REPLY_TO_TWEET_ID, text);
-		}
+		FIELDS.populate(data, FIELDS.match(path), text);
 	}
 	
 	/**
 	 * <p>
-	 * Populate the given hash according to the keys and their values
+	 * Populate the given hash according to the field and its value.
 	 * </p>
 	 * @param data Hash to be populated.
-	 * @param jsonObj JSON object that contains tweet's data.
+	 * @param field Field id.
+	 * @param text Tag's text.
+	 * @see TweetHandler#addPaths(XMLPathTrie, String, int)
 	 */
-	public void populate(Hashtable data, JSONObject jsonObj) {
-		putIf(data, MetadataSet.TWEET_ID, jsonObj, "id");
-		putIf(data, MetadataSet.TWEET_CONTENT, jsonObj, "text");
-		putIf(data, MetadataSet.TWEET_FAVOURITE, jsonObj, "favorited");
-		putIf(data, MetadataSet.TWEET_IN_REPLY_TO_TWEET_ID, jsonObj, "in_reply_to_status_id");
-		//
-		if (jsonObj.has("created_at")) {
-			data.put(MetadataSet.TWEET_PUBLISH_DATE, String.valueOf(StringUtil.convertTweetDateToLong(jsonObj.getString("created_at"))));
-		}
-		if (jsonObj.has("source")) {
-			data.put(MetadataSet.TWEET_SOURCE, StringUtil.removeTags(jsonObj.getString("source")));
-		}
+	public void populate(Hashtable data, int field, String text) {
+		FIELDS.populate(data, field, text);
 	}
 	
 	/**
 	 * <p>
-	 * Put the given key's value in hash table if present in json object.
+	 * Populate the given hash according to the keys and their values
 	 * </p>
-	 * @param data Table.
-	 * @param dataKey Table's key.
-	 * @param jsonObj JSON object.
-	 * @param jsonKey JSON's key.
+	 * @param data Hash to be populated.
+	 * @param jsonObj JSON object that contains tweet's data.
 	 */
-	private void putIf(Hashtable data, String dataKey, JSONObject jsonObj,
-		String jsonKey) {
-		if (jsonObj.has(jsonKey)) {
-			data.put(dataKey, jsonObj.getString(jsonKey));
-		}
+	public void populate(Hashtable data, JSONObject jsonObj) {
+		FIELDS.populate(data, jsonObj);
 	}
 }
\ No newline at end of file
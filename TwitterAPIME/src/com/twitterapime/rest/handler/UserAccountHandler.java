@@ -10,8 +10,10 @@ package com.twitterapime.rest.handler;
 import java.util.Hashtable;
 
 import com.twitterapime.model.MetadataSet;
+import com.twitterapime.parser.FieldBinder;
 import com.twitterapime.parser.JSONObject;
-import com.twitterapime.util.StringUtil;
+import com.twitterapime.parser.XMLPathTrie;
+import com.twitterapime.util.StringPool;
 
 /**
  * <p>
@@ -19,10 +21,63 @@ import com.twitterapime.util.StringUtil;
  * </p>
  * 
  * @author Ernandes Mourao Junior (ernandes@gmail.com)
- * @version 1.4
+ * @version 1.6
  * @since 1.1
  */
 public final class UserAccountHandler {
+	/**
+	 * <p>
+	 * Fields of the user account, whose names are relative to the user's
+	 * element.
+	 * </p>
+	 */
+	private static final FieldBinder FIELDS = new FieldBinder(22);
+	
+	/**
+	 * <p>
+	 * Field id of the user name.
+	 * </p>
+	 */
+	private static final int USER_NAME = 2;
+	
+	static {
+		FIELDS.bind(0, "id", MetadataSet.USERACCOUNT_ID, FieldBinder.STRING);
+		FIELDS.bind(1, "name", MetadataSet.USERACCOUNT_NAME, FieldBinder.STRING | FieldBinder.SHARED);
+		FIELDS.bind(2, "screen_name", MetadataSet.USERACCOUNT_USER_NAME, FieldBinder.STRING | FieldBinder.SHARED);
+		FIELDS.bind(3, "location", MetadataSet.USERACCOUNT_LOCATION, FieldBinder.STRING | FieldBinder.SHARED);
+		FIELDS.bind(4, "description", MetadataSet.USERACCOUNT_DESCRIPTION, FieldBinder.STRING);
+		FIELDS.bind(5, "profile_image_url", MetadataSet.USERACCOUNT_PICTURE_URI, FieldBinder.STRING | FieldBinder.SHARED);
+		FIELDS.bind(6, "url", MetadataSet.USERACCOUNT_URL, FieldBinder.STRING | FieldBinder.SHARED);
+		FIELDS.bind(7, "protected", MetadataSet.USERACCOUNT_PROTECTED, FieldBinder.STRING | FieldBinder.SHARED);
+		FIELDS.bind(8, "followers_count", MetadataSet.USERACCOUNT_FOLLOWERS_COUNT, FieldBinder.STRING);
+		FIELDS.bind(9, "profile_background_color", MetadataSet.USERACCOUNT_PROFILE_BACKGROUND_COLOR, FieldBinder.STRING | FieldBinder.SHARED);
+		FIELDS.bind(10, "profile_text_color", MetadataSet.USERACCOUNT_PROFILE_TEXT_COLOR, FieldBinder.STRING | FieldBinder.SHARED);
+		FIELDS.bind(11, "profile_link_color", MetadataSet.USERACCOUNT_PROFILE_LINK_COLOR, FieldBinder.STRING | FieldBinder.SHARED);
+		FIELDS.bind(12, "friends_count", MetadataSet.USERACCOUNT_FRIENDS_COUNT, FieldBinder.STRING);
+		FIELDS.bind(13, "created_at", MetadataSet.USERACCOUNT_CREATE_DATE, FieldBinder.DATE);
+		FIELDS.bind(14, "favourites_count", MetadataSet.USERACCOUNT_FAVOURITES_COUNT, FieldBinder.STRING);
+		FIELDS.bind(15, "utc_offset", MetadataSet.USERACCOUNT_UTC_OFFSET, FieldBinder.STRING | FieldBinder.SHARED);
+		FIELDS.bind(16, "time_zone", MetadataSet.USERACCOUNT_TIME_ZONE, FieldBinder.STRING | FieldBinder.SHARED);
+		FIELDS.bind(17, "profile_background_image_url", MetadataSet.USERACCOUNT_PROFILE_BACKGROUND_IMAGE_URI, FieldBinder.STRING | FieldBinder.SHARED);
+		FIELDS.bind(18, "statuses_count", MetadataSet.USERACCOUNT_TWEETS_COUNT, FieldBinder.STRING);
+		FIELDS.bind(19, "notifications", MetadataSet.USERACCOUNT_NOTIFICATIONS, FieldBinder.STRING | FieldBinder.SHARED);
+		FIELDS.bind(20, "verified", MetadataSet.USERACCOUNT_VERIFIED, FieldBinder.STRING | FieldBinder.SHARED);
+		FIELDS.bind(21, "geo_enabled", MetadataSet.USERACCOUNT_GEO_ENABLED, FieldBinder.STRING | FieldBinder.SHARED);
+	}
+	
+	/**
+	 * <p>
+	 * Add the paths of the user account's elements to a given trie, whose ids
+	 * are the base id plus the field id.
+	 * </p>
+	 * @param paths Path trie.
+	 * @param prefix Path of the user's element.
+	 * @param baseId Base id.
+	 */
+	public static void addPaths(XMLPathTrie paths, String prefix, int baseId) {
+		FIELDS.addPaths(paths, prefix, baseId);
+	}
+	
 	/**
 	 * <p>
 	 * Populate the given hash according to the tags and their values
@@ -32,64 +87,23 @@ public final class UserAccountHandler {
 	 * @param text Tag's text.
 	 */
 	public void populate(Hashtable data, String path, String text) {
-		if (path.endsWith("/id")) {
-			data.put(MetadataSet.USERACCOUNT_ID, text);
-		} else if (path.endsWith("/name")) {
-			data.put(MetadataSet.USERACCOUNT_NAME, text);
-		} else if (path.endsWith("/screen_name")) {
-			data.put(MetadataSet.USERACCOUNT_USER_NAME, text);
-			//
-			final String picUri =
-				"http://api.twitter.com/1/users/profile_image/" + 
-				text + 
-				".json?size=";
-			//
-			data.put(
-				MetadataSet.USERACCOUNT_PICTURE_URI_MINI, picUri + "mini");
-			data.put(
-				MetadataSet.USERACCOUNT_PICTURE_URI_NORMAL, picUri + "normal");
-			data.put(
-				MetadataSet.USERACCOUNT_PICTURE_URI_BIGGER, picUri + "bigger");
-		} else if (path.endsWith("/location")) {
-			data.put(MetadataSet.USERACCOUNT_LOCATION, text);
-		} else if (path.endsWith("/description")) {
-			data.put(MetadataSet.USERACCOUNT_DESCRIPTION, text);
-		} else if (path.endsWith("/profile_image_url")) {
-			data.put(MetadataSet.USERACCOUNT_PICTURE_URI, text);
-		} else if (path.endsWith("/url")) {
-			data.put(MetadataSet.USERACCOUNT_URL, text);
-		} else if (path.endsWith("/protected")) {
-			data.put(MetadataSet.USERACCOUNT_PROTECTED, text);
-		} else if (path.endsWith("/followers_count")) {
-			data.put(MetadataSet.USERACCOUNT_FOLLOWERS_COUNT, text);
-		} else if (path.endsWith("/profile_background_color")) {
-			data.put(MetadataSet.USERACCOUNT_PROFILE_BACKGROUND_COLOR, text);
-		} else if (path.endsWith("/profile_text_color")){
-			data.put(MetadataSet.USERACCOUNT_PROFILE_TEXT_COLOR, text);
-		} else if (path.endsWith("/profile_link_color")){
-			data.put(MetadataSet.USERACCOUNT_PROFILE_LINK_COLOR, text);
-		} else if (path.endsWith("/friends_count")) {
-			data.put(MetadataSet.USERACCOUNT_FRIENDS_COUNT, text);
-		} else if (path.endsWith("/created_at")) {
-			data.put(
-				MetadataSet.USERACCOUNT_CREATE_DATE,
-				"" + StringUtil.convertTweetDateToLong(text));
-		} else if (path.endsWith("/favourites_count")) {
-			data.put(MetadataSet.USERACCOUNT_FAVOURITES_COUNT, text);
-		} else if (path.endsWith("/utc_offset")) {
-			data.put(MetadataSet.USERACCOUNT_UTC_OFFSET, text);
-		} else if (path.endsWith("/time_zone")) {
-			data.put(MetadataSet.USERACCOUNT_TIME_ZONE, text);
-		} else if (path.endsWith("/profile_background_image_url")){
-			data.put(MetadataSet.USERACCOUNT_PROFILE_BACKGROUND_IMAGE_URI,text);
-		} else if (path.endsWith("/statuses_count")) {
-			data.put(MetadataSet.USERACCOUNT_TWEETS_COUNT, text);
-		} else if (path.endsWith("/notifications")) {
-			data.put(MetadataSet.USERACCOUNT_NOTIFICATIONS, text);
-		} else if (path.endsWith("/verified")) {
-			data.put(MetadataSet.USERACCOUNT_VERIFIED, text);
-		} else if (path.endsWith("/geo_enabled")) {
-			data.put(MetadataSet.USERACCOUNT_GEO_ENABLED, text);
+		populate(data, FIELDS.match(path), text);
+	}
+	
+	/**
+	 * <p>
+	 * Populate the given hash according to the field and its value.
+	 * </p>
+	 * @param data Hash to be populated.
+	 * @param field Field id.
+	 * @param text Tag's text.
+	 * @see UserAccountHandler#addPaths(XMLPathTrie, String, int)
+	 */
+	public void populate(Hashtable data, int field, String text) {
+		FIELDS.populate(data, field, text);
+		//
+		if (field == USER_NAME) {
+			populatePictureURIs(data, text);
 		}
 	}
 	
@@ -101,56 +115,40 @@ public final class UserAccountHandler {
 	 * @param jsonObj JSON object that contains user's data.
 	 */
 	public void populate(Hashtable data, JSONObject jsonObj) {
-		putIf(data, MetadataSet.USERACCOUNT_ID, jsonObj, "id");
-		putIf(data, MetadataSet.USERACCOUNT_NAME, jsonObj, "name");
-		putIf(data, MetadataSet.USERACCOUNT_USER_NAME, jsonObj, "screen_name");
-		putIf(data, MetadataSet.USERACCOUNT_LOCATION, jsonObj, "location");
-		putIf(data, MetadataSet.USERACCOUNT_DESCRIPTION, jsonObj, "description");
-		putIf(data, MetadataSet.USERACCOUNT_PICTURE_URI, jsonObj, "profile_image_url");
-		putIf(data, MetadataSet.USERACCOUNT_URL, jsonObj, "url");
-		putIf(data, MetadataSet.USERACCOUNT_UTC_OFFSET, jsonObj, "utc_offset");
-		putIf(data, MetadataSet.USERACCOUNT_TIME_ZONE, jsonObj, "time_zone");
-		putIf(data, MetadataSet.USERACCOUNT_PROTECTED, jsonObj, "protected");
-		putIf(data, MetadataSet.USERACCOUNT_NOTIFICATIONS, jsonObj, "notifications");
-		putIf(data, MetadataSet.USERACCOUNT_VERIFIED, jsonObj, "verified");
-		putIf(data, MetadataSet.USERACCOUNT_GEO_ENABLED, jsonObj, "geo_enabled");
-		putIf(data, MetadataSet.USERACCOUNT_TWEETS_COUNT, jsonObj, "statuses_count");
-		putIf(data, MetadataSet.USERACCOUNT_FAVOURITES_COUNT, jsonObj, "favourites_count");
-		putIf(data, MetadataSet.USERACCOUNT_FOLLOWERS_COUNT, jsonObj, "followers_count");
-		putIf(data, MetadataSet.USERACCOUNT_FRIENDS_COUNT, jsonObj, "friends_count");
-		putIf(data, MetadataSet.USERACCOUNT_PROFILE_BACKGROUND_COLOR, jsonObj, "profile_background_color");
-		putIf(data, MetadataSet.USERACCOUNT_PROFILE_TEXT_COLOR, jsonObj, "profile_text_color");
-		putIf(data, MetadataSet.USERACCOUNT_PROFILE_LINK_COLOR, jsonObj, "profile_link_color");
-		putIf(data, MetadataSet.USERACCOUNT_PROFILE_BACKGROUND_IMAGE_URI, jsonObj, "profile_background_image_url");
+		FIELDS.populate(data, jsonObj);
 		//
-		if (jsonObj.has("created_at")) {
-			data.put(MetadataSet.USERACCOUNT_CREATE_DATE, String.valueOf(StringUtil.convertTweetDateToLong(jsonObj.getString("created_at"))));
-		}
-		if (jsonObj.has("screen_name")) {
-			final String picUri =
-				"http://api.twitter.com/1/users/profile_image/" + 
-				jsonObj.getString("screen_name") + 
-				".json?size=";
-			//
-			data.put(MetadataSet.USERACCOUNT_PICTURE_URI_MINI, picUri + "mini");
-			data.put(MetadataSet.USERACCOUNT_PICTURE_URI_NORMAL, picUri + "normal");
-			data.put(MetadataSet.USERACCOUNT_PICTURE_URI_BIGGER, picUri + "bigger");
+		final String userName =
+			(String)data.get(MetadataSet.USERACCOUNT_USER_NAME);
+		//
+		if (userName != null) {
+			populatePictureURIs(data, userName);
 		}
 	}
 	
 	/**
 	 * <p>
-	 * Put the given key's value in hash table if present in json object.
+	 * Populate the given hash with the URIs of the user's pictures, which are
+	 * canonicalized by the string pool.
 	 * </p>
-	 * @param data Table.
-	 * @param dataKey Table's key.
-	 * @param jsonObj JSON object.
-	 * @param jsonKey JSON's key.
+	 * @param data Hash to be populated.
+	 * @param userName User name.
 	 */
-	private void putIf(Hashtable data, String dataKey, JSONObject jsonObj,
-		String jsonKey) {
-		if (jsonObj.has(jsonKey)) {
-			data.put(dataKey, jsonObj.getString(jsonKey));
-		}
+	private void populatePictureURIs(Hashtable data, String userName) {
+		final String picUri =
+			"http://api.twitter.com/1/users/profile_image/" + 
+			userName + 
+			".json?size=";
+		//
+		final StringPool pool = StringPool.getInstance();
+		//
+		data.put(
+			MetadataSet.USERACCOUNT_PICTURE_URI_MINI,
+			pool.intern(picUri + "mini"));
+		data.put(
+			MetadataSet.USERACCOUNT_PICTURE_URI_NORMAL,
+			pool.intern(picUri + "normal"));
+		data.put(
+			MetadataSet.USERACCOUNT_PICTURE_URI_BIGGER,
+			pool.intern(picUri + "bigger"));
 	}
 }
\ No newline at end of file
@@ -10,15 +10,17 @@ package com.twitterapime.rest.handler.json;
 import java.util.Hashtable;
 import java.util.Vector;
 
+import com.twitterapime.model.EntityData;
+import com.twitterapime.model.EntityLayout;
 import com.twitterapime.model.MetadataSet;
 import com.twitterapime.parser.DefaultJSONHandler;
+import com.twitterapime.parser.FieldBinder;
 import com.twitterapime.parser.JSONArray;
 import com.twitterapime.parser.JSONObject;
 import com.twitterapime.parser.ParserException;
 import com.twitterapime.rest.List;
 import com.twitterapime.rest.UserAccount;
 import com.twitterapime.rest.handler.UserAccountHandler;
-import com.twitterapime.util.StringUtil;
 
 /**
  * <p>
@@ -26,10 +28,31 @@ import com.twitterapime.util.StringUtil;
  * </p>
  * 
  * @author Ernandes Mourao Junior (ernandes@gmail.com)
- * @version 1.0
+ * @version 1.1
  * @since 1.9
  */
 public final class ListJSONHandler extends DefaultJSONHandler {
+	/**
+	 * <p>
+	 * Fields of the list.
+	 * </p>
+	 */
+	private static final FieldBinder FIELDS = new FieldBinder(11);
+	
+	static {
+		FIELDS.bind(0, "id", MetadataSet.LIST_ID, FieldBinder.STRING);
+		FIELDS.bind(1, "name", MetadataSet.LIST_NAME, FieldBinder.STRING);
+		FIELDS.bind(2, "full_name", MetadataSet.LIST_FULL_NAME, FieldBinder.STRING);
+		FIELDS.bind(3, "slug", MetadataSet.LIST_SLUG, FieldBinder.STRING);
+		FIELDS.bind(4, "description", MetadataSet.LIST_DESCRIPTION, FieldBinder.STRING);
+		FIELDS.bind(5, "subscriber_count", MetadataSet.LIST_SUBSCRIBER_COUNT, FieldBinder.STRING);
+		FIELDS.bind(6, "member_count", MetadataSet.LIST_MEMBER_COUNT, FieldBinder.STRING);
+		FIELDS.bind(7, "uri", MetadataSet.LIST_URI, FieldBinder.STRING);
+		FIELDS.bind(8, "following", MetadataSet.LIST_FOLLOWING, FieldBinder.STRING | FieldBinder.SHARED);
+		FIELDS.bind(9, "mode", MetadataSet.LIST_MODE, FieldBinder.STRING | FieldBinder.SHARED);
+		FIELDS.bind(10, "created_at", MetadataSet.LIST_CREATE_DATE, FieldBinder.DATE);
+	}
+	
 	/**
 	 * <p>
 	 * List of lists.
@@ -82,26 +105,10 @@ public final class ListJSONHandler extends DefaultJSONHandler {
 	public void handleList(JSONObject jsonObj) throws ParserException {
 		Hashtable listValues = new Hashtable(25);
 		//
-		putIf(listValues, MetadataSet.LIST_ID, jsonObj, "id");
-		putIf(listValues, MetadataSet.LIST_NAME, jsonObj, "name");
-		putIf(listValues, MetadataSet.LIST_FULL_NAME, jsonObj, "full_name");
-		putIf(listValues, MetadataSet.LIST_SLUG, jsonObj, "slug");
-		putIf(listValues, MetadataSet.LIST_DESCRIPTION, jsonObj, "description");
-		putIf(listValues, MetadataSet.LIST_SUBSCRIBER_COUNT, jsonObj, "subscriber_count");
-		putIf(listValues, MetadataSet.LIST_MEMBER_COUNT, jsonObj, "member_count");
-		putIf(listValues, MetadataSet.LIST_URI, jsonObj, "uri");
-		putIf(listValues, MetadataSet.LIST_FOLLOWING, jsonObj, "following");
-		putIf(listValues, MetadataSet.LIST_MODE, jsonObj, "mode");
-		//
-		if (jsonObj.has("created_at")) {
-			listValues.put(
-				MetadataSet.LIST_CREATE_DATE,
-				String.valueOf(StringUtil.convertTweetDateToLong(
-					jsonObj.getString("created_at"))));
-		}
+		FIELDS.populate(listValues, jsonObj);
 		//
 		if (jsonObj.has("user")) {
-			Hashtable userValues = new Hashtable(25);
+			Hashtable userValues = new EntityData(EntityLayout.USER_ACCOUNT);
 			//
 			new UserAccountHandler().populate(
 				userValues, jsonObj.getJSONObject("user"));
@@ -127,20 +134,4 @@ public final class ListJSONHandler extends DefaultJSONHandler {
 		//
 		return ts;
 	}
-	
-	/**
-	 * <p>
-	 * Put the given key's value in hash table if present in json object.
-	 * </p>
-	 * @param data Table.
-	 * @param dataKey Table's key.
-	 * @param jsonObj JSON object.
-	 * @param jsonKey JSON's key.
-	 */
-	private void putIf(Hashtable data, String dataKey, JSONObject jsonObj,
-		String jsonKey) {
-		if (jsonObj.has(jsonKey)) {
-			data.put(dataKey, jsonObj.getString(jsonKey));
-		}
-	}
 }
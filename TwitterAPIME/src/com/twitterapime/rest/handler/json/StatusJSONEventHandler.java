@@ -0,0 +1,111 @@
+/*
+ * StatusJSONEventHandler.java
+ * 18/10/2026
+ * Twitter API Micro Edition
+ * Copyright(c) Ernandes Mourao Junior (ernandes@gmail.com)
+ * All rights reserved
+ */
+package com.twitterapime.rest.handler.json;
+
+import com.twitterapime.parser.DefaultJSONEventHandler;
+import com.twitterapime.parser.JSONObject;
+import com.twitterapime.parser.ParserException;
+import com.twitterapime.search.SearchDeviceListener;
+import com.twitterapime.search.Tweet;
+
+/**
+ * <p>
+ * Handler class for parsing the status' JSON results from Twitter API, as the
+ * response is read. 
+ * </p>
+ * <p>
+ * Each tweet is handed to the search device listener as soon as its closing
+ * brace is read, instead of after the whole response, as
+ * {@link StatusJSONHandler} does.
+ * </p>
+ * <p>
+ * With a field mask, the status' members that are not needed, e.g., the user
+ * or the entities, are skipped by the parser, instead of being read.
+ * </p>
+ * 
+ * @author Ernandes Mourao Junior (ernandes@gmail.com)
+ * @version 1.1
+ * @since 2.0
+ */
+public final class StatusJSONEventHandler extends DefaultJSONEventHandler {
+	/**
+	 * <p>
+	 * Handler of each status.
+	 * </p>
+	 */
+	private StatusJSONHandler statusHandler;
+	
+	/**
+	 * <p>
+	 * Create an instance of StatusJSONEventHandler class.
+	 * </p>
+	 */
+	public StatusJSONEventHandler() {
+		super("statuses");
+		//
+		statusHandler = new StatusJSONHandler();
+	}
+
+	/**
+	 * @see com.twitterapime.parser.DefaultJSONEventHandler#handleRecord(com.twitterapime.parser.JSONObject)
+	 */
+	public void handleRecord(JSONObject jsonObj) throws ParserException {
+		statusHandler.handleStatus(jsonObj);
+	}
+	
+	/**
+	 * @see com.twitterapime.parser.DefaultJSONEventHandler#acceptRecordField(java.lang.String)
+	 */
+	protected boolean acceptRecordField(String name) {
+		return statusHandler.isMemberRequested(name);
+	}
+	
+	/**
+	 * <p>
+	 * Set the keys of the tweets to be populated.
+	 * </p>
+	 * @param keys Keys, e.g.,
+	 *             {@link com.twitterapime.model.MetadataSet#TWEET_ID}, or
+	 *             null, if all.
+	 * @see StatusJSONHandler#setFieldMask(String[])
+	 */
+	public void setFieldMask(String[] keys) {
+		statusHandler.setFieldMask(keys);
+	}
+	
+	/**
+	 * <p>
+	 * Return the parsed tweets.
+	 * </p>
+	 * @return Array of tweets.
+	 */
+	public Tweet[] getParsedTweets() {
+		return statusHandler.getParsedTweets();
+	}
+	
+	/**
+	 * <p>
+	 * Load the parsed values into the given tweet.
+	 * </p>
+	 * @param tweet Tweet to be loaded.
+	 * @param index Tweet index.
+	 */
+	public void loadParsedTweet(Tweet tweet, int index) {
+		statusHandler.loadParsedTweet(tweet, index);
+	}
+	
+	/**
+	 * <p>
+	 * Set the search device listener object.
+	 * </p>
+	 * @param listener Listener object.
+	 */
+	public void setSearchDeviceListener(SearchDeviceListener listener) {
+		statusHandler.setSearchDeviceListener(listener);
+	}
+}
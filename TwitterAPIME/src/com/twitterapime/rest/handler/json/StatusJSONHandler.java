@@ -7,13 +7,17 @@
  */
 package com.twitterapime.rest.handler.json;
 
+import java.util.Enumeration;
 import java.util.Hashtable;
 import java.util.Vector;
 
+import com.twitterapime.model.EntityData;
+import com.twitterapime.model.EntityLayout;
 import com.twitterapime.model.MetadataSet;
 import com.twitterapime.parser.DefaultJSONHandler;
 import com.twitterapime.parser.JSONArray;
 import com.twitterapime.parser.JSONObject;
+import com.twitterapime.parser.ParallelJSONArrayParser;
 import com.twitterapime.parser.ParserException;
 import com.twitterapime.rest.GeoLocation;
 import com.twitterapime.rest.UserAccount;
@@ -24,17 +28,51 @@ import com.twitterapime.search.SearchDeviceListener;
 import com.twitterapime.search.Tweet;
 import com.twitterapime.search.TweetEntity;
 import com.twitterapime.search.handler.TweetEntityHandler;
+import com.twitterapime.util.TaskExecutor;
 
 /**
  * <p>
  * Handler class for parsing the status' JSON results from Twitter API. 
  * </p>
+ * <p>
+ * A field mask restricts the tweets' data to some keys, e.g.,
+ * {@link MetadataSet#TWEET_ID} and {@link MetadataSet#TWEET_CONTENT}, so the
+ * members holding the other ones, e.g., the user, are not populated.
+ * </p>
+ * <p>
+ * Large arrays of statuses, e.g., an archive, can have their elements parsed
+ * concurrently by {@link #handleStatuses(byte[], TaskExecutor)}.
+ * </p>
  * 
  * @author Ernandes Mourao Junior (ernandes@gmail.com)
- * @version 1.0
+ * @version 1.2
  * @since 1.9
  */
 public final class StatusJSONHandler extends DefaultJSONHandler {
+	/**
+	 * <p>
+	 * Keys of the tweet populated from the status' object members.
+	 * </p>
+	 */
+	private static final Hashtable MEMBER_KEYS = new Hashtable(10);
+	
+	static {
+		MEMBER_KEYS.put("user", MetadataSet.TWEET_USER_ACCOUNT);
+		MEMBER_KEYS.put("sender", MetadataSet.TWEET_USER_ACCOUNT);
+		MEMBER_KEYS.put("recipient", MetadataSet.TWEET_RECIPIENT_ACCOUNT);
+		MEMBER_KEYS.put("entities", MetadataSet.TWEET_ENTITY);
+		MEMBER_KEYS.put("geo", MetadataSet.TWEET_LOCATION);
+		MEMBER_KEYS.put("place", MetadataSet.TWEET_LOCATION);
+		MEMBER_KEYS.put("retweeted_status", MetadataSet.TWEET_REPOSTED_TWEET);
+	}
+	
+	/**
+	 * <p>
+	 * Keys of the tweet to be populated or null, if all.
+	 * </p>
+	 */
+	private Hashtable fieldMask;
+	
 	/**
 	 * <p>
 	 * List of tweets.
@@ -98,6 +136,26 @@ public final class StatusJSONHandler extends DefaultJSONHandler {
 		}
 	}
 	
+	/**
+	 * <p>
+	 * Parse a given JSON array of statuses, whose elements are parsed
+	 * concurrently on a given executor. The statuses are handled in the
+	 * array's order, on the calling thread.
+	 * </p>
+	 * @param json JSON array (UTF-8).
+	 * @param executor Executor.
+	 * @throws ParserException If a parser error occurs.
+	 * @see ParallelJSONArrayParser
+	 */
+	public void handleStatuses(byte[] json, TaskExecutor executor)
+		throws ParserException {
+		JSONObject[] statuses = new ParallelJSONArrayParser(executor).parse(json);
+		//
+		for (int i = 0; i < statuses.length; i++) {
+			handleStatus(statuses[i]);
+		}
+	}
+	
 	/**
 	 * <p>
 	 * Callback method called to notify to start status parsing.
@@ -106,21 +164,33 @@ public final class StatusJSONHandler extends DefaultJSONHandler {
 	 * @throws ParserException If a parser error occurs.
 	 */
 	public void handleStatus(JSONObject jsonObj) throws ParserException {
-		Hashtable statusValues = new Hashtable(10);
+		Hashtable statusValues = new EntityData(EntityLayout.TWEET);
 		TweetHandler tweetHandler = new TweetHandler();
 		//
 		tweetHandler.populate(statusValues, jsonObj);
-		populateUser(statusValues, jsonObj);
-		populateEntity(statusValues, jsonObj);
-		populateLocation(statusValues, jsonObj);
 		//
-		populateSender(statusValues, jsonObj);
-		populateRecipient(statusValues, jsonObj);
+		if (fieldMask != null) {
+			applyFieldMask(statusValues);
+		}
+		if (isFieldRequested(MetadataSet.TWEET_USER_ACCOUNT)) {
+			populateUser(statusValues, jsonObj);
+			populateSender(statusValues, jsonObj);
+		}
+		if (isFieldRequested(MetadataSet.TWEET_ENTITY)) {
+			populateEntity(statusValues, jsonObj);
+		}
+		if (isFieldRequested(MetadataSet.TWEET_LOCATION)) {
+			populateLocation(statusValues, jsonObj);
+		}
+		if (isFieldRequested(MetadataSet.TWEET_RECIPIENT_ACCOUNT)) {
+			populateRecipient(statusValues, jsonObj);
+		}
 		//
-		if (jsonObj.has("retweeted_status")) {
+		if (isFieldRequested(MetadataSet.TWEET_REPOSTED_TWEET)
+				&& jsonObj.has("retweeted_status")) {
 			jsonObj = jsonObj.getJSONObject("retweeted_status");
 			//
-			Hashtable retweetValues = new Hashtable(25);
+			Hashtable retweetValues = new EntityData(EntityLayout.TWEET);
 			//
 			tweetHandler.populate(retweetValues, jsonObj);
 			//
@@ -166,6 +236,47 @@ public final class StatusJSONHandler extends DefaultJSONHandler {
 		tweet.setData((Hashtable)statusHashList.elementAt(index));
 	}
 	
+	/**
+	 * <p>
+	 * Set the keys of the tweets to be populated. The retweet, if requested,
+	 * is populated in full.
+	 * </p>
+	 * @param keys Keys, e.g., {@link MetadataSet#TWEET_ID}, or null, if all.
+	 */
+	public void setFieldMask(String[] keys) {
+		if (keys == null) {
+			fieldMask = null;
+		} else {
+			fieldMask = new Hashtable(keys.length * 2);
+			//
+			for (int i = 0; i < keys.length; i++) {
+				fieldMask.put(keys[i], keys[i]);
+			}
+		}
+	}
+	
+	/**
+	 * <p>
+	 * Verify whether a given member of the status' object is needed by the
+	 * field mask.
+	 * </p>
+	 * @param name Member's name.
+	 * @return Needed (true).
+	 */
+	public boolean isMemberRequested(String name) {
+		if (fieldMask == null) {
+			return true;
+		}
+		//
+		String key = (String)MEMBER_KEYS.get(name);
+		//
+		if (key == null) {
+			key = TweetHandler.getKey(name);
+		}
+		//
+		return key != null && fieldMask.containsKey(key);
+	}
+	
 	/**
 	 * <p>
 	 * Set the search device listener object.
@@ -188,6 +299,36 @@ public final class StatusJSONHandler extends DefaultJSONHandler {
 		}
 	}
 	
+	/**
+	 * Verify whether a given key is requested by the field mask.
+	 * @param key Key.
+	 * @return Requested (true).
+	 */
+	private boolean isFieldRequested(String key) {
+		return fieldMask == null || fieldMask.containsKey(key);
+	}
+	
+	/**
+	 * Remove the keys not requested by the field mask.
+	 * @param tweetValues Tweet data.
+	 */
+	private void applyFieldMask(Hashtable tweetValues) {
+		Enumeration keys = tweetValues.keys();
+		Vector removed = new Vector(tweetValues.size());
+		//
+		while (keys.hasMoreElements()) {
+			Object key = keys.nextElement();
+			//
+			if (!fieldMask.containsKey(key)) {
+				removed.addElement(key);
+			}
+		}
+		//
+		for (int i = removed.size() -1; i >= 0; i--) {
+			tweetValues.remove(removed.elementAt(i));
+		}
+	}
+	
 	/**
 	 * Populate user data.
 	 * @param tweetValues Tweet data.
@@ -195,7 +336,7 @@ public final class StatusJSONHandler extends DefaultJSONHandler {
 	 */
 	private void populateUser(Hashtable tweetValues, JSONObject jsonObj) {
 		if (jsonObj.has("user")) {
-			Hashtable userValues = new Hashtable(25);
+			Hashtable userValues = new EntityData(EntityLayout.USER_ACCOUNT);
 			//
 			new UserAccountHandler().populate(
 				userValues, jsonObj.getJSONObject("user"));
@@ -236,13 +377,11 @@ public final class StatusJSONHandler extends DefaultJSONHandler {
 		Hashtable geoValues = new Hashtable(5);
 		GeoLocationHandler handler = new GeoLocationHandler();
 		//
-		if (jsonObj.has("geo")
-				&& !jsonObj.get("geo").toString().equals("null")) {
+		if (jsonObj.getType("geo") == JSONObject.TYPE_OBJECT) {
 			//
 			handler.populate(geoValues, jsonObj.getJSONObject("geo"));
 		}
-		if (jsonObj.has("place")
-				&& !jsonObj.get("place").toString().equals("null")) {
+		if (jsonObj.getType("place") == JSONObject.TYPE_OBJECT) {
 			//
 			handler.populate(geoValues, jsonObj.getJSONObject("place"));
 		}
@@ -260,7 +399,7 @@ public final class StatusJSONHandler extends DefaultJSONHandler {
 	 */
 	private void populateSender(Hashtable tweetValues, JSONObject jsonObj) {
 		if (jsonObj.has("sender")) {
-			Hashtable senderValues = new Hashtable(3);
+			Hashtable senderValues = new EntityData(EntityLayout.USER_ACCOUNT);
 			//
 			new UserAccountHandler().populate(
 				senderValues, jsonObj.getJSONObject("sender"));
@@ -280,7 +419,7 @@ public final class StatusJSONHandler extends DefaultJSONHandler {
 	 */
 	private void populateRecipient(Hashtable tweetValues, JSONObject jsonObj) {
 		if (jsonObj.has("recipient")) {
-			Hashtable recipientValues = new Hashtable(3);
+			Hashtable recipientValues = new EntityData(EntityLayout.USER_ACCOUNT);
 			//
 			new UserAccountHandler().populate(
 				recipientValues, jsonObj.getJSONObject("recipient"));
@@ -7,29 +7,36 @@
  */
 package com.twitterapime.rest.handler.json;
 
-import java.util.Vector;
-
 import com.twitterapime.parser.DefaultJSONHandler;
 import com.twitterapime.parser.JSONArray;
+import com.twitterapime.parser.JSONEventHandler;
+import com.twitterapime.parser.JSONFieldFilter;
+import com.twitterapime.parser.JSONLongHandler;
 import com.twitterapime.parser.JSONObject;
 import com.twitterapime.parser.ParserException;
+import com.twitterapime.util.LongVector;
 
 /**
  * <p>
  * Handler class for parsing the user id's JSON results from Twitter API. 
  * </p>
+ * <p>
+ * As an event handler, the ids are converted straight from the stream into
+ * longs, with no object per id, and the other members are skipped.
+ * </p>
  * 
  * @author Ernandes Mourao Junior (ernandes@gmail.com)
- * @version 1.0
+ * @version 1.1
  * @since 1.9
  */
-public final class UserIdJSONHandler extends DefaultJSONHandler {
+public final class UserIdJSONHandler extends DefaultJSONHandler implements
+	JSONEventHandler, JSONLongHandler, JSONFieldFilter {
 	/**
 	 * <p>
 	 * IDs list.
 	 * </p>
 	 */
-	private Vector idsList;
+	private LongVector idsList;
 	
 	/**
 	 * <p>
@@ -52,6 +59,27 @@ public final class UserIdJSONHandler extends DefaultJSONHandler {
 	 */
 	private long prevCursorIndex;
 
+	/**
+	 * <p>
+	 * Depth of the open objects/arrays.
+	 * </p>
+	 */
+	private int depth;
+
+	/**
+	 * <p>
+	 * Depth of the ids array, or zero, if it is not open.
+	 * </p>
+	 */
+	private int idsDepth;
+
+	/**
+	 * <p>
+	 * Name of the last root object's member.
+	 * </p>
+	 */
+	private String lastKey;
+
 	/**
 	 * <p>
 	 * Create an instance of AccountJSONHandler class.
@@ -70,7 +98,7 @@ public final class UserIdJSONHandler extends DefaultJSONHandler {
 	public UserIdJSONHandler(long maxCount) {
 		super("root");
 		//
-		idsList = new Vector(10);
+		idsList = new LongVector(maxCount < 100 ? (int)maxCount : 100);
 		this.maxCount = maxCount;
 	}
 
@@ -103,10 +131,96 @@ public final class UserIdJSONHandler extends DefaultJSONHandler {
 				break;
 			}
 			//
-			idsList.addElement(jsonObj.get(i).toString());
+			idsList.addElement(Long.parseLong(jsonObj.get(i).toString()));
 		}
 	}
 	
+	/**
+	 * @see com.twitterapime.parser.JSONFieldFilter#accept(java.lang.String, int)
+	 */
+	public boolean accept(String name, int depth) {
+		return depth != 1
+			|| name.equals("ids")
+			|| name.equals("next_cursor")
+			|| name.equals("previous_cursor");
+	}
+	
+	/**
+	 * @see com.twitterapime.parser.JSONEventHandler#startObject()
+	 */
+	public void startObject() throws ParserException {
+		depth++;
+	}
+	
+	/**
+	 * @see com.twitterapime.parser.JSONEventHandler#endObject()
+	 */
+	public void endObject() throws ParserException {
+		depth--;
+	}
+	
+	/**
+	 * @see com.twitterapime.parser.JSONEventHandler#startArray()
+	 */
+	public void startArray() throws ParserException {
+		depth++;
+		//
+		if (depth == 1 || (depth == 2 && "ids".equals(lastKey))) {
+			idsDepth = depth; //root array or ids member.
+		}
+	}
+	
+	/**
+	 * @see com.twitterapime.parser.JSONEventHandler#endArray()
+	 */
+	public void endArray() throws ParserException {
+		if (depth == idsDepth) {
+			idsDepth = 0;
+		}
+		//
+		depth--;
+	}
+	
+	/**
+	 * @see com.twitterapime.parser.JSONEventHandler#fieldName(java.lang.String)
+	 */
+	public void fieldName(String name) throws ParserException {
+		if (depth == 1) {
+			lastKey = name;
+		}
+	}
+	
+	/**
+	 * @see com.twitterapime.parser.JSONEventHandler#value(java.lang.String, int)
+	 */
+	public void value(String value, int type) throws ParserException {
+		if ((type == JSONObject.TYPE_STRING || type == JSONObject.TYPE_NUMBER)
+				&& (depth == 1 || (idsDepth > 0 && depth == idsDepth))) {
+			try {
+				longValue(Long.parseLong(value));
+			} catch (NumberFormatException e) {
+				throw new ParserException("Invalid id: " + value);
+			}
+		}
+	}
+	
+	/**
+	 * @see com.twitterapime.parser.JSONLongHandler#longValue(long)
+	 */
+	public boolean longValue(long value) throws ParserException {
+		if (idsDepth > 0 && depth == idsDepth) {
+			if (idsList.size() < maxCount) {
+				idsList.addElement(value);
+			}
+		} else if (depth == 1 && "next_cursor".equals(lastKey)) {
+			nextCursorIndex = value;
+		} else if (depth == 1 && "previous_cursor".equals(lastKey)) {
+			prevCursorIndex = value;
+		}
+		//
+		return true;
+	}
+	
 	/**
 	 * <p>
 	 * Get the parsed ids.
@@ -115,11 +229,24 @@ public final class UserIdJSONHandler extends DefaultJSONHandler {
 	 */
 	public String[] getParsedIds() {
 		String[] ids = new String[idsList.size()];
-		idsList.copyInto(ids);
+		//
+		for (int i = 0; i < ids.length; i++) {
+			ids[i] = String.valueOf(idsList.elementAt(i));
+		}
 		//
 		return ids;
 	}
 	
+	/**
+	 * <p>
+	 * Get the parsed ids as longs.
+	 * </p>
+	 * @return Ids.
+	 */
+	public long[] getParsedLongIds() {
+		return idsList.toArray();
+	}
+	
 	/**
 	 * <p>
 	 * Return the next cursor index.
@@ -149,5 +276,8 @@ public final class UserIdJSONHandler extends DefaultJSONHandler {
 		idsList.removeAllElements();
 		nextCursorIndex = 0;
 		prevCursorIndex = 0;
+		depth = 0;
+		idsDepth = 0;
+		lastKey = null;
 	}
 }
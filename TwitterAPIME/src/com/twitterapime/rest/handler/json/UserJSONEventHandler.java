@@ -0,0 +1,134 @@
+/*
+ * UserJSONEventHandler.java
+ * 18/10/2026
+ * Twitter API Micro Edition
+ * Copyright(c) Ernandes Mourao Junior (ernandes@gmail.com)
+ * All rights reserved
+ */
+package com.twitterapime.rest.handler.json;
+
+import com.twitterapime.parser.DefaultJSONEventHandler;
+import com.twitterapime.parser.JSONObject;
+import com.twitterapime.parser.ParserException;
+import com.twitterapime.rest.UserAccount;
+
+/**
+ * <p>
+ * Handler class for parsing the user's JSON results from Twitter API, as the
+ * response is read. 
+ * </p>
+ * <p>
+ * Each user account is handed to {@link #handleAccount(JSONObject)} as soon as
+ * its closing brace is read, instead of after the whole response, as
+ * {@link UserJSONHandler} does. Subclasses may override it in order to process
+ * the accounts as they arrive.
+ * </p>
+ * 
+ * @author Ernandes Mourao Junior (ernandes@gmail.com)
+ * @version 1.0
+ * @since 2.0
+ */
+public class UserJSONEventHandler extends DefaultJSONEventHandler {
+	/**
+	 * <p>
+	 * Handler of each user account.
+	 * </p>
+	 */
+	private UserJSONHandler userHandler;
+	
+	/**
+	 * <p>
+	 * Next cursor index.
+	 * </p>
+	 */
+	private long nextCursorIndex;
+
+	/**
+	 * <p>
+	 * Previous cursor index.
+	 * </p>
+	 */
+	private long prevCursorIndex;
+
+	/**
+	 * <p>
+	 * Create an instance of UserJSONEventHandler class.
+	 * </p>
+	 */
+	public UserJSONEventHandler() {
+		super("users");
+		//
+		userHandler = new UserJSONHandler();
+	}
+
+	/**
+	 * @see com.twitterapime.parser.DefaultJSONEventHandler#handleRecord(com.twitterapime.parser.JSONObject)
+	 */
+	public void handleRecord(JSONObject jsonObj) throws ParserException {
+		handleAccount(jsonObj);
+	}
+	
+	/**
+	 * @see com.twitterapime.parser.DefaultJSONEventHandler#handleRoot(com.twitterapime.parser.JSONObject)
+	 */
+	public void handleRoot(JSONObject jsonObj) throws ParserException {
+		if (jsonObj.has("next_cursor")) {
+			nextCursorIndex = jsonObj.getLong("next_cursor");
+		}
+		if (jsonObj.has("previous_cursor")) {
+			prevCursorIndex = jsonObj.getLong("previous_cursor");
+		}
+	}
+	
+	/**
+	 * <p>
+	 * Callback method called to notify an account has been read.
+	 * </p>
+	 * @param jsonObj JSONObject.
+	 * @throws ParserException If a parser error occurs.
+	 */
+	public void handleAccount(JSONObject jsonObj) throws ParserException {
+		userHandler.handleAccount(jsonObj);
+	}
+	
+	/**
+	 * <p>
+	 * Return the parsed user accounts.
+	 * </p>
+	 * @return User accounts.
+	 */
+	public UserAccount[] getParsedUserAccounts() {
+		return userHandler.getParsedUserAccounts();
+	}
+	
+	/**
+	 * <p>
+	 * Load the parsed values into the given UserAccount.
+	 * </p>
+	 * @param user UserAccount to be loaded.
+	 * @param index UserAccount index.
+	 */
+	public void loadParsedUserAccount(UserAccount user, int index) {
+		userHandler.loadParsedUserAccount(user, index);
+	}
+	
+	/**
+	 * <p>
+	 * Return the next cursor index.
+	 * </p>
+	 * @return Index.
+	 */
+	public long getNextCursorIndex() {
+		return nextCursorIndex;
+	}
+
+	/**
+	 * <p>
+	 * Return the previous cursor index.
+	 * </p>
+	 * @return Index.
+	 */
+	public long getPreviousCursorIndex() {
+		return prevCursorIndex;
+	}
+}
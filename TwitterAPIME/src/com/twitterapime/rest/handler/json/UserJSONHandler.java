@@ -10,23 +10,31 @@ package com.twitterapime.rest.handler.json;
 import java.util.Hashtable;
 import java.util.Vector;
 
+import com.twitterapime.model.EntityData;
+import com.twitterapime.model.EntityLayout;
 import com.twitterapime.model.MetadataSet;
 import com.twitterapime.parser.DefaultJSONHandler;
 import com.twitterapime.parser.JSONArray;
 import com.twitterapime.parser.JSONObject;
+import com.twitterapime.parser.ParallelJSONArrayParser;
 import com.twitterapime.parser.ParserException;
 import com.twitterapime.rest.UserAccount;
 import com.twitterapime.rest.handler.TweetHandler;
 import com.twitterapime.rest.handler.UserAccountHandler;
 import com.twitterapime.search.Tweet;
+import com.twitterapime.util.TaskExecutor;
 
 /**
  * <p>
  * Handler class for parsing the user's JSON results from Twitter API. 
  * </p>
+ * <p>
+ * Large arrays of users can have their elements parsed concurrently by
+ * {@link #handleAccounts(byte[], TaskExecutor)}.
+ * </p>
  * 
  * @author Ernandes Mourao Junior (ernandes@gmail.com)
- * @version 1.0
+ * @version 1.1
  * @since 1.9
  */
 public final class UserJSONHandler extends DefaultJSONHandler {
@@ -105,6 +113,26 @@ public final class UserJSONHandler extends DefaultJSONHandler {
 		}
 	}
 	
+	/**
+	 * <p>
+	 * Parse a given JSON array of users, whose elements are parsed
+	 * concurrently on a given executor. The accounts are handled in the
+	 * array's order, on the calling thread.
+	 * </p>
+	 * @param json JSON array (UTF-8).
+	 * @param executor Executor.
+	 * @throws ParserException If a parser error occurs.
+	 * @see ParallelJSONArrayParser
+	 */
+	public void handleAccounts(byte[] json, TaskExecutor executor)
+		throws ParserException {
+		JSONObject[] users = new ParallelJSONArrayParser(executor).parse(json);
+		//
+		for (int i = 0; i < users.length; i++) {
+			handleAccount(users[i]);
+		}
+	}
+	
 	/**
 	 * <p>
 	 * Callback method called to notify to start account parsing.
@@ -113,8 +141,8 @@ public final class UserJSONHandler extends DefaultJSONHandler {
 	 * @throws ParserException If a parser error occurs.
 	 */
 	public void handleAccount(JSONObject jsonObj) throws ParserException {
-		Hashtable accountValues = new Hashtable(25);
-		Hashtable lastTweetValues = new Hashtable(5);
+		Hashtable accountValues = new EntityData(EntityLayout.USER_ACCOUNT);
+		Hashtable lastTweetValues = new EntityData(EntityLayout.TWEET);
 		//
 		new UserAccountHandler().populate(accountValues, jsonObj);
 		//
@@ -14,12 +14,12 @@ import com.twitterapime.io.HttpConnection;
 import com.twitterapime.io.HttpRequest;
 import com.twitterapime.io.HttpResponse;
 import com.twitterapime.io.HttpResponseCodeInterpreter;
-import com.twitterapime.parser.Parser;
 import com.twitterapime.parser.ParserException;
 import com.twitterapime.parser.ParserFactory;
 import com.twitterapime.rest.RateLimitStatus;
 import com.twitterapime.rest.handler.RateLimitStatusHandler;
 import com.twitterapime.search.handler.SearchResultHandler;
+import com.twitterapime.util.TaskExecutor;
 
 /**
  * <p>
@@ -40,7 +40,7 @@ import com.twitterapime.search.handler.SearchResultHandler;
  * </p>
  * 
  * @author Ernandes Mourao Junior (ernandes@gmail.com)
- * @version 1.3
+ * @version 1.4
  * @since 1.0
  * @see SearchDeviceListener
  * @see QueryComposer
@@ -230,9 +230,16 @@ public final class SearchDevice {
 	 * for the search process is completed to return. To have access to this
 	 * search's result, a SearchDeviceListener object must be registered. 
 	 * </p>
+	 * <p>
+	 * If the search is rejected by the executor, e.g., its queue is full, the
+	 * listener is notified through
+	 * {@link SearchDeviceListener#searchFailed(Throwable)}.
+	 * </p>
 	 * @param query The query.
 	 * @param listener Listener object to be notified about the search's result.
 	 * @throws IllegalArgumentException If query is null.
+	 * @throws IllegalStateException If search is rejected by the executor and
+	 *                               no listener is registered.
 	 * @deprecated No longer available in Twitter API v1.1.
 	 */
 	public void startSearchTweets(Query query, SearchDeviceListener listener) {
@@ -249,9 +256,16 @@ public final class SearchDevice {
 	 * wait for the search process is completed to return. To have access to
 	 * this search's result, a SearchDeviceListener object must be registered. 
 	 * </p>
+	 * <p>
+	 * If the search is rejected by the executor, e.g., its queue is full, the
+	 * listener is notified through
+	 * {@link SearchDeviceListener#searchFailed(Throwable)}.
+	 * </p>
 	 * @param queryString The query string.
 	 * @param listener Listener object to be notified about the search's result.
 	 * @throws IllegalArgumentException If queryString is null/empty.
+	 * @throws IllegalStateException If search is rejected by the executor and
+	 *                               no listener is registered.
 	 * @deprecated No longer available in Twitter API v1.1.
 	 */
 	public void startSearchTweets(final String queryString,
@@ -276,8 +290,15 @@ public final class SearchDevice {
 			}
 		};
 		//
-		Thread t = new Thread(r);
-		t.start();
+		try {
+			TaskExecutor.getDefault().execute(r);
+		} catch (IllegalStateException e) {
+			if (listener == null) {
+				throw e;
+			}
+			//
+			listener.searchFailed(e);
+		}
 	}
 	
 	/**
@@ -306,9 +327,8 @@ public final class SearchDevice {
 			//
 			HttpResponseCodeInterpreter.perform(resp);
 			//
-			Parser parser = ParserFactory.getDefaultParser();
 			RateLimitStatusHandler handler = new RateLimitStatusHandler();
-			parser.parse(resp.getStream(), handler);
+			ParserFactory.parse(ParserFactory.XML, resp.getStream(), handler);
 			//
 			return handler.getParsedRateLimitStatus();
 		} catch (ParserException e) {
@@ -372,10 +392,9 @@ public final class SearchDevice {
 			//verify whether there is an error in the request.
 			HttpResponseCodeInterpreter.perform(resp);
 			//
-			Parser parser = ParserFactory.getDefaultParser();
 			SearchResultHandler handler = new SearchResultHandler();
 			handler.setSearchDeviceListener(l);
-			parser.parse(resp.getStream(), handler);
+			ParserFactory.parse(ParserFactory.XML, resp.getStream(), handler);
 			//
 			return handler.getParsedTweets();
 		} catch (ParserException e) {
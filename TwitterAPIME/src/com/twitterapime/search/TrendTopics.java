@@ -13,7 +13,6 @@ import java.util.Hashtable;
 import com.twitterapime.io.HttpRequest;
 import com.twitterapime.io.HttpResponse;
 import com.twitterapime.io.HttpResponseCodeInterpreter;
-import com.twitterapime.parser.Parser;
 import com.twitterapime.parser.ParserException;
 import com.twitterapime.parser.ParserFactory;
 import com.twitterapime.search.handler.TrendTopicsHandler;
@@ -236,9 +235,8 @@ public final class TrendTopics {
 			//
 			HttpResponseCodeInterpreter.perform(resp);
 			//
-			Parser parser = ParserFactory.getParser(ParserFactory.JSON);
 			TrendTopicsWoeidHandler handler = new TrendTopicsWoeidHandler();
-			parser.parse(resp.getStream(), handler);
+			ParserFactory.parse(ParserFactory.JSON, resp.getStream(), handler);
 			//
 			return handler.getParsedTopics();
 		} catch (ParserException e) {
@@ -324,9 +322,8 @@ public final class TrendTopics {
 			//
 			HttpResponseCodeInterpreter.perform(resp);
 			//
-			Parser parser = ParserFactory.getParser(ParserFactory.JSON);
 			TrendTopicsHandler handler = new TrendTopicsHandler();
-			parser.parse(resp.getStream(), handler);
+			ParserFactory.parse(ParserFactory.JSON, resp.getStream(), handler);
 			//
 			return handler.getParsedTopics();
 		} catch (ParserException e) {
@@ -10,6 +10,7 @@ package com.twitterapime.search;
 import java.util.Hashtable;
 
 import com.twitterapime.model.DefaultEntity;
+import com.twitterapime.model.EntityLayout;
 import com.twitterapime.model.MetadataSet;
 import com.twitterapime.rest.GeoLocation;
 import com.twitterapime.rest.TweetER;
@@ -23,7 +24,7 @@ import com.twitterapime.util.StringUtil;
  * </p>
  * 
  * @author Ernandes Mourao Junior (ernandes@gmail.com)
- * @version 1.6
+ * @version 1.7
  * @since 1.0
  * @see SearchDevice
  * @see TweetER
@@ -263,4 +264,18 @@ public final class Tweet extends DefaultEntity {
 	public TweetEntity getEntity() {
 		return (TweetEntity)data.get(MetadataSet.TWEET_ENTITY);
 	}
+	
+	/**
+	 * @see com.twitterapime.model.DefaultEntity#getLayout()
+	 */
+	protected EntityLayout getLayout() {
+		return EntityLayout.TWEET;
+	}
+	
+	/**
+	 * @see com.twitterapime.model.DefaultEntity#getIdentityKey()
+	 */
+	protected String getIdentityKey() {
+		return MetadataSet.TWEET_ID;
+	}
 }
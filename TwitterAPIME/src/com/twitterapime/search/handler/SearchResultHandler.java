@@ -10,10 +10,13 @@ package com.twitterapime.search.handler;
 import java.util.Hashtable;
 import java.util.Vector;
 
+import com.twitterapime.model.EntityData;
+import com.twitterapime.model.EntityLayout;
 import com.twitterapime.model.MetadataSet;
 import com.twitterapime.parser.Attributes;
 import com.twitterapime.parser.DefaultXMLHandler;
 import com.twitterapime.parser.ParserException;
+import com.twitterapime.parser.XMLPathTrie;
 import com.twitterapime.rest.UserAccount;
 import com.twitterapime.search.SearchDeviceListener;
 import com.twitterapime.search.Tweet;
@@ -25,10 +28,46 @@ import com.twitterapime.util.StringUtil;
  * </p>
  * 
  * @author Ernandes Mourao Junior (ernandes@gmail.com)
- * @version 1.2
+ * @version 1.3
  * @since 1.1
  */
 public final class SearchResultHandler extends DefaultXMLHandler {
+	/**
+	 * <p>
+	 * Path ids of the search result's elements.
+	 * </p>
+	 */
+	private static final int ENTRY = 0;
+	private static final int LINK = 1;
+	private static final int ID = 2;
+	private static final int PUBLISHED = 3;
+	private static final int TITLE = 4;
+	private static final int SOURCE = 5;
+	private static final int LANG = 6;
+	private static final int AUTHOR_NAME = 7;
+	private static final int AUTHOR_URI = 8;
+	
+	/**
+	 * <p>
+	 * Paths handled by this handler.
+	 * </p>
+	 */
+	private static final XMLPathTrie PATHS = new XMLPathTrie();
+	
+	static {
+		PATHS.add("/feed/entry", ENTRY);
+		PATHS.add("/feed/entry/link", LINK);
+		PATHS.add("/feed/entry/id", ID);
+		PATHS.add("/feed/entry/published", PUBLISHED);
+		PATHS.add("/feed/entry/title", TITLE);
+		PATHS.add("/feed/entry/twitter:source", SOURCE);
+		PATHS.add("/feed/entry/source", SOURCE);
+		PATHS.add("/feed/entry/twitter:lang", LANG);
+		PATHS.add("/feed/entry/lang", LANG);
+		PATHS.add("/feed/entry/author/name", AUTHOR_NAME);
+		PATHS.add("/feed/entry/author/uri", AUTHOR_URI);
+	}
+	
 	/**
 	 * <p>
 	 * Search device listener object.
@@ -63,6 +102,15 @@ public final class SearchResultHandler extends DefaultXMLHandler {
 	 * </p>
 	 */
 	private Hashtable tweetUserValues;
+	
+	/**
+	 * <p>
+	 * Create an instance of SearchResultHandler class.
+	 * </p>
+	 */
+	public SearchResultHandler() {
+		super(PATHS);
+	}
 
 	/**
 	 * @see com.twitterapime.parser.DefaultXMLHandler#startElement(java.lang.String, java.lang.String, java.lang.String, com.twitterapime.parser.Attributes)
@@ -70,18 +118,17 @@ public final class SearchResultHandler extends DefaultXMLHandler {
 	public void startElement(String namespaceURI, String localName,
 		String qName, Attributes attrs) throws ParserException {
 		super.startElement(namespaceURI, localName, qName, attrs);
-		localName = localName.toLowerCase();
+		final int id = getPathId();
 		//
-		if (localName.equals("entry")) {
+		if (id == ENTRY) {
 			tweet = new Tweet();
-			tweetValues = new Hashtable(15);
+			tweetValues = new EntityData(EntityLayout.TWEET);
 			tweet.setData(tweetValues);
-			tweetUserValues = new Hashtable(3);
+			tweetUserValues = new EntityData(EntityLayout.USER_ACCOUNT);
 			tweetValues.put(
 				MetadataSet.TWEET_USER_ACCOUNT,
 				new UserAccount(tweetUserValues));
-		} else if (localName.equals("link")
-				&& xmlPath.equals("/feed/entry/link")) {
+		} else if (id == LINK) {
 			final String attrValue = attrs.getValue("type");
 			//
 			if (attrValue.equals("text/html")) {
@@ -103,9 +150,11 @@ public final class SearchResultHandler extends DefaultXMLHandler {
 	 */
 	public void endElement(String namespaceURI, String localName, String qName)
 		throws ParserException {
+		final boolean entry = getPathId() == ENTRY;
+		//
 		super.endElement(namespaceURI, localName, qName);
 		//
-		if (localName.toLowerCase().equals("entry")) {
+		if (entry) {
 			tweetList.addElement(tweet);
 			fireTweetParsed(tweet);
 		}
@@ -115,23 +164,27 @@ public final class SearchResultHandler extends DefaultXMLHandler {
 	 * @see com.twitterapime.parser.DefaultXMLHandler#text(java.lang.String)
 	 */
 	public void text(String text) throws ParserException {
-		if (xmlPath.equals("/feed/entry/id")) {
+		switch (getPathId()) {
+		case ID:
 			tweetValues.put(
 				MetadataSet.TWEET_ID, StringUtil.formatTweetID(text));
-		} else if (xmlPath.equals("/feed/entry/published")) {
+			break;
+		case PUBLISHED:
 			tweetValues.put(
 				MetadataSet.TWEET_PUBLISH_DATE,
 				"" + StringUtil.convertTweetDateToLong(text));
-		} else if (xmlPath.equals("/feed/entry/title")) {
+			break;
+		case TITLE:
 			tweetValues.put(MetadataSet.TWEET_CONTENT, text);
-		} else if (xmlPath.equals("/feed/entry/twitter:source")
-				|| xmlPath.equals("/feed/entry/source")) {
+			break;
+		case SOURCE:
 			tweetValues.put(
 				MetadataSet.TWEET_SOURCE, StringUtil.removeTags(text));
-		} else if (xmlPath.equals("/feed/entry/twitter:lang")
-				|| xmlPath.equals("/feed/entry/lang")) {
+			break;
+		case LANG:
 			tweetValues.put(MetadataSet.TWEET_LANG, text);
-		} else if (xmlPath.equals("/feed/entry/author/name")) {
+			break;
+		case AUTHOR_NAME:
 			String[] names = StringUtil.splitTweetAuthorNames(text);
 			tweetValues.put(MetadataSet.TWEET_AUTHOR_USERNAME, names[0]);
 			tweetValues.put(MetadataSet.TWEET_AUTHOR_NAME, names[1]);
@@ -150,8 +203,10 @@ public final class SearchResultHandler extends DefaultXMLHandler {
 				MetadataSet.USERACCOUNT_PICTURE_URI_NORMAL, picUri + "normal");
 			tweetUserValues.put(
 				MetadataSet.USERACCOUNT_PICTURE_URI_BIGGER, picUri + "bigger");
-		} else if (xmlPath.equals("/feed/entry/author/uri")) {
+			break;
+		case AUTHOR_URI:
 			tweetValues.put(MetadataSet.TWEET_AUTHOR_URI, text);
+			break;
 		}
 	}
 	
@@ -11,8 +11,10 @@ import java.util.Hashtable;
 import java.util.Vector;
 
 import com.twitterapime.model.MetadataSet;
+import com.twitterapime.parser.FieldBinder;
 import com.twitterapime.parser.JSONArray;
 import com.twitterapime.parser.JSONObject;
+import com.twitterapime.parser.XMLPathTrie;
 import com.twitterapime.search.TweetEntity;
 
 /**
@@ -21,7 +23,7 @@ import com.twitterapime.search.TweetEntity;
  * </p>
  * 
  * @author Ernandes Mourao Junior (ernandes@gmail.com)
- * @version 1.2
+ * @version 1.3
  * @since 1.5
  */
 public final class TweetEntityHandler {
@@ -46,6 +48,84 @@ public final class TweetEntityHandler {
 	 */
 	private Hashtable mediaData;
 
+	/**
+	 * <p>
+	 * Paths of the entity's elements, relative to the entities' one. Their
+	 * indexes are the field ids.
+	 * </p>
+	 */
+	private static final String[] PATHS = {
+		"user_mentions/user_mention/id",
+		"user_mentions/user_mention/screen_name",
+		"user_mentions/user_mention/name",
+		"urls/url/url",
+		"urls/url/display_url",
+		"urls/url/expanded_url",
+		"media/creative/media_url",
+		"media/creative/display_url",
+		"media/creative/url",
+		"hashtags/hashtag/text"
+	};
+	
+	/**
+	 * <p>
+	 * Fields of the user mention.
+	 * </p>
+	 */
+	private static final FieldBinder MENTION_FIELDS = new FieldBinder(3);
+	
+	/**
+	 * <p>
+	 * Fields of the url.
+	 * </p>
+	 */
+	private static final FieldBinder URL_FIELDS = new FieldBinder(3);
+	
+	/**
+	 * <p>
+	 * Fields of the media.
+	 * </p>
+	 */
+	private static final FieldBinder MEDIA_FIELDS = new FieldBinder(3);
+	
+	/**
+	 * <p>
+	 * Fields of the hashtag.
+	 * </p>
+	 */
+	private static final FieldBinder HASHTAG_FIELDS = new FieldBinder(1);
+	
+	static {
+		MENTION_FIELDS.bind(0, "id", MetadataSet.TWEETENTITY_USERACCOUNT_ID, FieldBinder.STRING);
+		MENTION_FIELDS.bind(1, "screen_name", MetadataSet.TWEETENTITY_USERACCOUNT_USER_NAME, FieldBinder.STRING | FieldBinder.SHARED);
+		MENTION_FIELDS.bind(2, "name", MetadataSet.TWEETENTITY_USERACCOUNT_NAME, FieldBinder.STRING | FieldBinder.SHARED);
+		//
+		URL_FIELDS.bind(0, "url", MetadataSet.TWEETENTITY_URL, FieldBinder.STRING);
+		URL_FIELDS.bind(1, "display_url", MetadataSet.TWEETENTITY_DISPLAY_URL, FieldBinder.STRING);
+		URL_FIELDS.bind(2, "expanded_url", MetadataSet.TWEETENTITY_EXPANDED_URL, FieldBinder.STRING);
+		//
+		MEDIA_FIELDS.bind(0, "media_url", MetadataSet.TWEETENTITY_MEDIA, FieldBinder.STRING);
+		MEDIA_FIELDS.bind(1, "display_url", MetadataSet.TWEETENTITY_DISPLAY_URL, FieldBinder.STRING);
+		MEDIA_FIELDS.bind(2, "url", MetadataSet.TWEETENTITY_URL, FieldBinder.STRING);
+		//
+		HASHTAG_FIELDS.bind(0, "text", MetadataSet.TWEETENTITY_HASHTAG, FieldBinder.STRING | FieldBinder.SHARED);
+	}
+	
+	/**
+	 * <p>
+	 * Add the paths of the entity's elements to a given trie, whose ids are
+	 * the base id plus the field id.
+	 * </p>
+	 * @param paths Path trie.
+	 * @param prefix Path of the entities' element.
+	 * @param baseId Base id.
+	 */
+	public static void addPaths(XMLPathTrie paths, String prefix, int baseId) {
+		for (int i = 0; i < PATHS.length; i++) {
+			paths.add(prefix + '/' + PATHS[i], baseId + i);
+		}
+	}
+	
 	/**
 	 * <p>
 	 * Populate the given hash according to the tags and their values
@@ -55,62 +135,70 @@ public final class TweetEntityHandler {
 	 * @param text Tag's text.
 	 */
 	public void populate(Hashtable data, String path, String text) {
-		if (path.endsWith("/user_mentions/user_mention/id")) {
-			Vector v =
-				getOrCreateIfNecessary(data, MetadataSet.TWEETENTITY_MENTIONS);
+		populate(data, XMLPathTrie.match(path, PATHS), text);
+	}
+	
+	/**
+	 * <p>
+	 * Populate the given hash according to the field and its value.
+	 * </p>
+	 * @param data Hash to be populated.
+	 * @param field Field id.
+	 * @param text Tag's text.
+	 * @see TweetEntityHandler#addPaths(XMLPathTrie, String, int)
+	 */
+	public void populate(Hashtable data, int field, String text) {
+		Vector v;
+		//
+		switch (field) {
+		case 0:
+			v = getOrCreateIfNecessary(data, MetadataSet.TWEETENTITY_MENTIONS);
 			//
 			userAccountData = new Hashtable();
-			userAccountData.put(MetadataSet.TWEETENTITY_USERACCOUNT_ID, text);
+			MENTION_FIELDS.populate(userAccountData, 0, text);
 			//
 			v.addElement(new TweetEntity(userAccountData));
-		} else if (path.endsWith("/user_mentions/user_mention/screen_name")) {
+			break;
+		case 1:
+		case 2:
 			if (userAccountData != null) {
-				userAccountData.put(
-					MetadataSet.TWEETENTITY_USERACCOUNT_USER_NAME, text);
+				MENTION_FIELDS.populate(userAccountData, field, text);
 			}
-		} else if (path.endsWith("/user_mentions/user_mention/name")) {
-			if (userAccountData != null) {
-				userAccountData.put(
-					MetadataSet.TWEETENTITY_USERACCOUNT_NAME, text);
-			}
-		} else if (path.endsWith("/urls/url/url")) {
-			Vector v =
-				getOrCreateIfNecessary(data, MetadataSet.TWEETENTITY_URLS);
+			break;
+		case 3:
+			v = getOrCreateIfNecessary(data, MetadataSet.TWEETENTITY_URLS);
 			urlData = new Hashtable();
-			urlData.put(MetadataSet.TWEETENTITY_URL, text);
+			URL_FIELDS.populate(urlData, 0, text);
 			//			
 			v.addElement(new TweetEntity(urlData));
-		} else if (path.endsWith("/urls/url/display_url")) {
-			if (urlData != null) {
-				urlData.put(MetadataSet.TWEETENTITY_DISPLAY_URL, text);
-			}
-		} else if (path.endsWith("/urls/url/expanded_url")) {
+			break;
+		case 4:
+		case 5:
 			if (urlData != null) {
-				urlData.put(MetadataSet.TWEETENTITY_EXPANDED_URL, text);
+				URL_FIELDS.populate(urlData, field - 3, text);
 			}
-		} else if (path.endsWith("/media/creative/media_url")) {
-			Vector v =
-				getOrCreateIfNecessary(data, MetadataSet.TWEETENTITY_MEDIAS);
+			break;
+		case 6:
+			v = getOrCreateIfNecessary(data, MetadataSet.TWEETENTITY_MEDIAS);
 			mediaData = new Hashtable();
-			mediaData.put(MetadataSet.TWEETENTITY_MEDIA, text);
+			MEDIA_FIELDS.populate(mediaData, 0, text);
 			
 			v.addElement(new TweetEntity(mediaData));
-		} else if (path.endsWith("/media/creative/display_url")) {
-			if (mediaData != null) {
-				mediaData.put(MetadataSet.TWEETENTITY_DISPLAY_URL, text);
-			}
-		} else if (path.endsWith("/media/creative/url")) {
+			break;
+		case 7:
+		case 8:
 			if (mediaData != null) {
-				mediaData.put(MetadataSet.TWEETENTITY_URL, text);
+				MEDIA_FIELDS.populate(mediaData, field - 6, text);
 			}
-		} else if (path.endsWith("/hashtags/hashtag/text")) {
-			Vector v =
-				getOrCreateIfNecessary(data, MetadataSet.TWEETENTITY_HASHTAGS);
+			break;
+		case 9:
+			v = getOrCreateIfNecessary(data, MetadataSet.TWEETENTITY_HASHTAGS);
 			//
 			Hashtable t = new Hashtable();
-			t.put(MetadataSet.TWEETENTITY_HASHTAG, text);
+			HASHTAG_FIELDS.populate(t, 0, text);
 			//
 			v.addElement(new TweetEntity(t));
+			break;
 		}
 	}
 	
@@ -122,108 +210,57 @@ public final class TweetEntityHandler {
 	 * @param jsonObj JSON object that contains tweet's data.
 	 */
 	public void populate(Hashtable data, JSONObject jsonObj) {
-		if (jsonObj.has("user_mentions")) {
-			JSONArray jsonMentions = jsonObj.getJSONArray("user_mentions");
-			Vector mentions = new Vector(jsonMentions.length());
-			//
-			for (int i = 0; i < jsonMentions.length(); i++) {
-				JSONObject obj = jsonMentions.getJSONObject(i);
-				Hashtable t = new Hashtable();
-				//
-				putIf(t, MetadataSet.TWEETENTITY_USERACCOUNT_ID, obj, "id");
-				putIf(t, MetadataSet.TWEETENTITY_USERACCOUNT_USER_NAME, obj, "screen_name");
-				putIf(t, MetadataSet.TWEETENTITY_USERACCOUNT_NAME, obj, "name");
-				//
-				if (t.size() > 0) {
-					mentions.addElement(new TweetEntity(t));
-				}
-			}
-			//
-			if (mentions.size() > 0) {
-				data.put(MetadataSet.TWEETENTITY_MENTIONS, mentions);
-			}
-		}
-		//
-		if (jsonObj.has("media")) {
-			JSONArray jsonMedias = jsonObj.getJSONArray("media");
-			Vector medias = new Vector(jsonMedias.length());
-			//
-			for (int i = 0; i < jsonMedias.length(); i++) {
-				JSONObject obj = jsonMedias.getJSONObject(i);
-				Hashtable t = new Hashtable();
-				//
-				putIf(t, MetadataSet.TWEETENTITY_MEDIA, obj, "media_url");
-				putIf(t, MetadataSet.TWEETENTITY_DISPLAY_URL, obj, "display_url");
-				//
-				if (t.size() > 0) {
-					medias.addElement(new TweetEntity(t));
-				}
-			}
-			//
-			if (medias.size() > 0) {
-				data.put(MetadataSet.TWEETENTITY_MEDIAS, medias);
-			}
-		}
-		//
-		if (jsonObj.has("urls")) {
-			JSONArray jsonUrls = jsonObj.getJSONArray("urls");
-			Vector urls = new Vector(jsonUrls.length());
-			//
-			for (int i = 0; i < jsonUrls.length(); i++) {
-				JSONObject obj = jsonUrls.getJSONObject(i);
-				Hashtable t = new Hashtable();
-				//
-				putIf(t, MetadataSet.TWEETENTITY_URL, obj, "url");
-				putIf(t, MetadataSet.TWEETENTITY_DISPLAY_URL, obj, "display_url");
-				putIf(t, MetadataSet.TWEETENTITY_EXPANDED_URL, obj, "expanded_url");
-				//
-				if (t.size() > 0) {
-					urls.addElement(new TweetEntity(t));
-				}
-			}
-			//
-			if (urls.size() > 0) {
-				data.put(MetadataSet.TWEETENTITY_URLS, urls);
-			}
-		}
-		//
-		if (jsonObj.has("hashtags")) {
-			JSONArray jsonHashtags = jsonObj.getJSONArray("hashtags");
-			Vector hashtags = new Vector(jsonHashtags.length());
+		populate(
+			data,
+			MetadataSet.TWEETENTITY_MENTIONS,
+			jsonObj,
+			"user_mentions",
+			MENTION_FIELDS);
+		populate(
+			data, MetadataSet.TWEETENTITY_MEDIAS, jsonObj, "media", MEDIA_FIELDS);
+		populate(
+			data, MetadataSet.TWEETENTITY_URLS, jsonObj, "urls", URL_FIELDS);
+		populate(
+			data,
+			MetadataSet.TWEETENTITY_HASHTAGS,
+			jsonObj,
+			"hashtags",
+			HASHTAG_FIELDS);
+	}
+	
+	/**
+	 * <p>
+	 * Populate the given hash with the entities of a given JSON array, if
+	 * present in json object.
+	 * </p>
+	 * @param data Hash to be populated.
+	 * @param dataKey Hash's key of the entities.
+	 * @param jsonObj JSON object.
+	 * @param jsonKey JSON's key of the array.
+	 * @param fields Fields of the entities.
+	 */
+	private void populate(Hashtable data, String dataKey, JSONObject jsonObj,
+		String jsonKey, FieldBinder fields) {
+		if (jsonObj.has(jsonKey)) {
+			JSONArray jsonEntities = jsonObj.getJSONArray(jsonKey);
+			Vector entities = new Vector(jsonEntities.length());
 			//
-			for (int i = 0; i < jsonHashtags.length(); i++) {
-				JSONObject obj = jsonHashtags.getJSONObject(i);
+			for (int i = 0; i < jsonEntities.length(); i++) {
 				Hashtable t = new Hashtable();
 				//
-				putIf(t, MetadataSet.TWEETENTITY_HASHTAG, obj, "text");
+				fields.populate(t, jsonEntities.getJSONObject(i));
 				//
 				if (t.size() > 0) {
-					hashtags.addElement(new TweetEntity(t));
+					entities.addElement(new TweetEntity(t));
 				}
 			}
 			//
-			if (hashtags.size() > 0) {
-				data.put(MetadataSet.TWEETENTITY_HASHTAGS, hashtags);
+			if (entities.size() > 0) {
+				data.put(dataKey, entities);
 			}
 		}
 	}
 	
-	/**
-	 * <p>
-	 * Put the given key's value in hash table if present in json object.
-	 * </p>
-	 * @param data Table.
-	 * @param dataKey Table's key.
-	 * @param jsonObj JSON object.
-	 * @param jsonKey JSON's key.
-	 */
-	private void putIf(Hashtable data, String dataKey, JSONObject jsonObj,
-		String jsonKey) {
-		if (jsonObj.has(jsonKey)) {
-			data.put(dataKey, jsonObj.getString(jsonKey));
-		}
-	}
-	
 	/**
 	 * <p>
 	 * Get (and create if necessary) a vector for associated to a given key.
@@ -0,0 +1,1275 @@
+/*
+ * LongIdSet.java
+ * 18/10/2026
+ * Twitter API Micro Edition
+ * Copyright(c) Ernandes Mourao Junior (ernandes@gmail.com)
+ * All rights reserved
+ */
+package com.twitterapime.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import com.twitterapime.model.Cursor;
+import com.twitterapime.model.LongCursor;
+
+/**
+ * <p>
+ * This class implements a compressed set of ids, e.g., the friends or
+ * followers of a user, with the set algebra to combine them.
+ * </p>
+ * <p>
+ * The ids are grouped by their high 48 bits, each group with a container of
+ * their low 16 bits. A container with up to 4096 ids keeps them in a sorted
+ * array, i.e., 2 bytes per id. A fuller one keeps a bitmap of 8 KB. So the
+ * ids assigned in sequence, as the old users' ones, take from 1 bit to 2
+ * bytes each, and the set operations work on whole containers, mostly on 64
+ * ids at once.
+ * </p>
+ * <p>
+ * The sparse 64-bit ids, as the ones generated from a timestamp, rarely
+ * share their high 48 bits, so each of them ends up in a container of its
+ * own and takes some tens of bytes, as in a sorted array of Long objects.
+ * They must be added in bulk, through the addAll methods, which sort the
+ * given ids and merge them into the set in a single pass. Adding them one by
+ * one, in random order, shifts the containers on each id.
+ * </p>
+ * <p>
+ * <pre>
+ * LongIdSet followers = new LongIdSet();
+ * LongCursor cursor = null;
+ * ...
+ * cursor = fm.getFollowersIDsAsLongs(query);
+ * followers.addAll(cursor);
+ * ...
+ * LongIdSet mutual = followers.intersection(friends);
+ * </pre>
+ * </p>
+ * <p>
+ * Unlike Hashtable, it is not synchronized.
+ * </p>
+ *
+ * @author Ernandes Mourao Junior (ernandes@gmail.com)
+ * @version 1.1
+ * @since 2.0
+ * @see LongCursor
+ */
+public final class LongIdSet {
+	/**
+	 * <p>
+	 * Max number of ids of an array container.
+	 * </p>
+	 */
+	private static final int MAX_ARRAY_SIZE = 4096;
+
+	/**
+	 * <p>
+	 * Number of words of a bitmap container.
+	 * </p>
+	 */
+	private static final int BITMAP_SIZE = 1024;
+
+	/**
+	 * <p>
+	 * High 48 bits of the ids of each container, sorted.
+	 * </p>
+	 */
+	private long[] keys;
+
+	/**
+	 * <p>
+	 * Containers.
+	 * </p>
+	 */
+	private Container[] containers;
+
+	/**
+	 * <p>
+	 * Number of containers.
+	 * </p>
+	 */
+	private int size;
+
+	/**
+	 * <p>
+	 * Number of ids.
+	 * </p>
+	 */
+	private int cardinality;
+
+	/**
+	 * <p>
+	 * Create a set from its serialized form.
+	 * </p>
+	 * @param data Serialized form.
+	 * @return Set.
+	 * @throws IOException If data is corrupted.
+	 * @see LongIdSet#serialize()
+	 */
+	public static LongIdSet deserialize(byte[] data) throws IOException {
+		DataInputStream in =
+			new DataInputStream(new ByteArrayInputStream(data));
+		//
+		final int count = in.readInt();
+		//
+		if (count < 0 || count > (data.length -4) / 14) { //key, card and id.
+			throw new IOException("Corrupted data.");
+		}
+		//
+		LongIdSet set = new LongIdSet(count);
+		//
+		for (int i = 0; i < count; i++) {
+			final long key = in.readLong();
+			final int card = in.readInt();
+			Container c = new Container();
+			//
+			if ((i > 0 && key <= set.keys[i -1]) || card < 1 || card > 65536) {
+				throw new IOException("Corrupted data.");
+			}
+			//
+			if (card > MAX_ARRAY_SIZE) {
+				c.bits = new long[BITMAP_SIZE];
+				//
+				for (int j = 0; j < BITMAP_SIZE; j++) {
+					c.bits[j] = in.readLong();
+				}
+				//
+				c.cardinality = bitCount(c.bits);
+			} else {
+				c.values = new char[card];
+				//
+				for (int j = 0; j < card; j++) {
+					c.values[j] = in.readChar();
+					//
+					if (j > 0 && c.values[j] <= c.values[j -1]) {
+						throw new IOException("Corrupted data.");
+					}
+				}
+				//
+				c.cardinality = card;
+			}
+			//
+			if (c.cardinality != card) {
+				throw new IOException("Corrupted data.");
+			}
+			//
+			set.append(key, c);
+		}
+		//
+		return set;
+	}
+
+	/**
+	 * <p>
+	 * Create an instance of LongIdSet class.
+	 * </p>
+	 */
+	public LongIdSet() {
+		this(4);
+	}
+
+	/**
+	 * <p>
+	 * Create an instance of LongIdSet class.
+	 * </p>
+	 * @param capacity Initial number of containers.
+	 */
+	private LongIdSet(int capacity) {
+		keys = new long[Math.max(capacity, 1)];
+		containers = new Container[keys.length];
+	}
+
+	/**
+	 * <p>
+	 * Add an id.
+	 * </p>
+	 * @param id Id.
+	 * @return Added (true) or already in the set (false).
+	 */
+	public boolean add(long id) {
+		final long key = id >> 16;
+		int i = indexOf(key);
+		//
+		if (i < 0) {
+			i = -i -1;
+			insert(i, key, new Container());
+		}
+		//
+		if (containers[i].add((char)id)) {
+			cardinality++;
+			//
+			return true;
+		}
+		//
+		return false;
+	}
+
+	/**
+	 * <p>
+	 * Add the ids of a given array, in any order. They are sorted and merged
+	 * into the set in a single pass.
+	 * </p>
+	 * @param ids Ids.
+	 */
+	public void addAll(long[] ids) {
+		long[] sorted = new long[ids.length];
+		System.arraycopy(ids, 0, sorted, 0, ids.length);
+		//
+		merge(sorted);
+	}
+
+	/**
+	 * <p>
+	 * Add the ids remaining in a given cursor's page. They are sorted and
+	 * merged into the set in a single pass.
+	 * </p>
+	 * @param cursor Cursor.
+	 */
+	public void addAll(LongCursor cursor) {
+		LongVector ids = new LongVector(cursor.size());
+		//
+		while (cursor.hasMoreElements()) {
+			ids.addElement(cursor.nextLong());
+		}
+		//
+		merge(ids.toArray());
+	}
+
+	/**
+	 * <p>
+	 * Add the ids remaining in a given cursor's page, e.g., the one returned
+	 * by FriendshipManager's getFollowersIDs. The elements are the ids as
+	 * strings or longs.
+	 * </p>
+	 * @param cursor Cursor.
+	 * @throws NumberFormatException If an element is not an id.
+	 */
+	public void addAll(Cursor cursor) {
+		LongVector ids = new LongVector();
+		Object id;
+		//
+		while (cursor.hasMoreElements()) {
+			id = cursor.nextElement();
+			//
+			if (id instanceof Long) {
+				ids.addElement(((Long)id).longValue());
+			} else {
+				ids.addElement(Long.parseLong(id.toString()));
+			}
+		}
+		//
+		merge(ids.toArray());
+	}
+
+	/**
+	 * <p>
+	 * Remove an id.
+	 * </p>
+	 * @param id Id.
+	 * @return Removed (true) or not in the set (false).
+	 */
+	public boolean remove(long id) {
+		final int i = indexOf(id >> 16);
+		//
+		if (i < 0 || !containers[i].remove((char)id)) {
+			return false;
+		}
+		//
+		cardinality--;
+		//
+		if (containers[i].cardinality == 0) {
+			delete(i);
+		}
+		//
+		return true;
+	}
+
+	/**
+	 * <p>
+	 * Verify whether an id is in the set.
+	 * </p>
+	 * @param id Id.
+	 * @return In the set (true).
+	 */
+	public boolean contains(long id) {
+		final int i = indexOf(id >> 16);
+		//
+		return i >= 0 && containers[i].contains((char)id);
+	}
+
+	/**
+	 * <p>
+	 * Get the number of ids.
+	 * </p>
+	 * @return Number.
+	 */
+	public int getCardinality() {
+		return cardinality;
+	}
+
+	/**
+	 * <p>
+	 * Verify whether the set has no ids.
+	 * </p>
+	 * @return Empty (true).
+	 */
+	public boolean isEmpty() {
+		return cardinality == 0;
+	}
+
+	/**
+	 * <p>
+	 * Remove all the ids.
+	 * </p>
+	 */
+	public void clear() {
+		for (int i = 0; i < size; i++) {
+			containers[i] = null;
+		}
+		//
+		size = 0;
+		cardinality = 0;
+	}
+
+	/**
+	 * <p>
+	 * Create the union of this set and a given one, i.e., the ids in any of
+	 * them.
+	 * </p>
+	 * @param set Set.
+	 * @return Union.
+	 */
+	public LongIdSet union(LongIdSet set) {
+		LongIdSet result = new LongIdSet(size + set.size);
+		int i = 0;
+		int j = 0;
+		//
+		while (i < size || j < set.size) {
+			if (j == set.size || (i < size && keys[i] < set.keys[j])) {
+				result.append(keys[i], containers[i].copy());
+				i++;
+			} else if (i == size || set.keys[j] < keys[i]) {
+				result.append(set.keys[j], set.containers[j].copy());
+				j++;
+			} else {
+				result.append(
+					keys[i], Container.or(containers[i], set.containers[j]));
+				i++;
+				j++;
+			}
+		}
+		//
+		return result;
+	}
+
+	/**
+	 * <p>
+	 * Create the intersection of this set and a given one, i.e., the ids in
+	 * both of them.
+	 * </p>
+	 * @param set Set.
+	 * @return Intersection.
+	 */
+	public LongIdSet intersection(LongIdSet set) {
+		LongIdSet result = new LongIdSet(Math.min(size, set.size));
+		int i = 0;
+		int j = 0;
+		//
+		while (i < size && j < set.size) {
+			if (keys[i] < set.keys[j]) {
+				i++;
+			} else if (set.keys[j] < keys[i]) {
+				j++;
+			} else {
+				Container c = Container.and(containers[i], set.containers[j]);
+				//
+				if (c != null) {
+					result.append(keys[i], c);
+				}
+				//
+				i++;
+				j++;
+			}
+		}
+		//
+		return result;
+	}
+
+	/**
+	 * <p>
+	 * Count the ids in both this set and a given one, without creating their
+	 * intersection.
+	 * </p>
+	 * @param set Set.
+	 * @return Number.
+	 */
+	public int intersectionCardinality(LongIdSet set) {
+		int count = 0;
+		int i = 0;
+		int j = 0;
+		//
+		while (i < size && j < set.size) {
+			if (keys[i] < set.keys[j]) {
+				i++;
+			} else if (set.keys[j] < keys[i]) {
+				j++;
+			} else {
+				count +=
+					Container.andCardinality(containers[i], set.containers[j]);
+				i++;
+				j++;
+			}
+		}
+		//
+		return count;
+	}
+
+	/**
+	 * <p>
+	 * Create the difference of this set and a given one, i.e., the ids in
+	 * this set that are not in the given one.
+	 * </p>
+	 * @param set Set.
+	 * @return Difference.
+	 */
+	public LongIdSet difference(LongIdSet set) {
+		LongIdSet result = new LongIdSet(size);
+		int j = 0;
+		//
+		for (int i = 0; i < size; i++) {
+			while (j < set.size && set.keys[j] < keys[i]) {
+				j++;
+			}
+			//
+			Container c;
+			//
+			if (j < set.size && set.keys[j] == keys[i]) {
+				c = Container.andNot(containers[i], set.containers[j]);
+			} else {
+				c = containers[i].copy();
+			}
+			//
+			if (c != null) {
+				result.append(keys[i], c);
+			}
+		}
+		//
+		return result;
+	}
+
+	/**
+	 * <p>
+	 * Copy the ids into a new array, in ascending order.
+	 * </p>
+	 * @return Ids.
+	 */
+	public long[] toArray() {
+		long[] ids = new long[cardinality];
+		int n = 0;
+		//
+		for (int i = 0; i < size; i++) {
+			n = containers[i].copyInto(keys[i] << 16, ids, n);
+		}
+		//
+		return ids;
+	}
+
+	/**
+	 * <p>
+	 * Get the serialized form of the set.
+	 * </p>
+	 * @return Serialized form.
+	 * @throws IOException If an I/O error occurs.
+	 * @see LongIdSet#deserialize(byte[])
+	 */
+	public byte[] serialize() throws IOException {
+		ByteArrayOutputStream data =
+			new ByteArrayOutputStream(4 + size * 12 + cardinality * 2);
+		DataOutputStream out = new DataOutputStream(data);
+		//
+		out.writeInt(size);
+		//
+		for (int i = 0; i < size; i++) {
+			final Container c = containers[i];
+			//
+			out.writeLong(keys[i]);
+			out.writeInt(c.cardinality);
+			//
+			if (c.bits != null) {
+				for (int j = 0; j < BITMAP_SIZE; j++) {
+					out.writeLong(c.bits[j]);
+				}
+			} else {
+				for (int j = 0; j < c.cardinality; j++) {
+					out.writeChar(c.values[j]);
+				}
+			}
+		}
+		//
+		out.flush();
+		//
+		return data.toByteArray();
+	}
+
+	/**
+	 * @see java.lang.Object#equals(java.lang.Object)
+	 */
+	public boolean equals(Object o) {
+		if (o == this) {
+			return true;
+		} else if (!(o instanceof LongIdSet)) {
+			return false;
+		}
+		//
+		LongIdSet set = (LongIdSet)o;
+		//
+		if (set.size != size || set.cardinality != cardinality) {
+			return false;
+		}
+		//
+		for (int i = 0; i < size; i++) {
+			if (keys[i] != set.keys[i]
+					|| Container.andCardinality(containers[i], set.containers[i])
+						!= containers[i].cardinality) {
+				return false;
+			}
+		}
+		//
+		return true;
+	}
+
+	/**
+	 * @see java.lang.Object#hashCode()
+	 */
+	public int hashCode() {
+		int hash = cardinality;
+		//
+		for (int i = 0; i < size; i++) {
+			hash = 31 * hash + (int)(keys[i] ^ (keys[i] >>> 32));
+		}
+		//
+		return hash;
+	}
+
+	/**
+	 * <p>
+	 * Find the container of a given key.
+	 * </p>
+	 * @param key Key.
+	 * @return Index or (-(insertion point) -1), if not found.
+	 */
+	private int indexOf(long key) {
+		int low = 0;
+		int high = size -1;
+		//
+		if (high >= 0 && keys[high] < key) {
+			return -size -1; //ids mostly added in ascending order.
+		}
+		//
+		while (low <= high) {
+			final int mid = (low + high) >>> 1;
+			//
+			if (keys[mid] < key) {
+				low = mid +1;
+			} else if (keys[mid] > key) {
+				high = mid -1;
+			} else {
+				return mid;
+			}
+		}
+		//
+		return -low -1;
+	}
+
+	/**
+	 * <p>
+	 * Sort a given array of ids and merge them into the set, creating the
+	 * missing containers along the way.
+	 * </p>
+	 * @param ids Ids, which are sorted in place.
+	 */
+	private void merge(long[] ids) {
+		LongVector.sort(ids, 0, ids.length -1);
+		//
+		int newSize = size;
+		//
+		for (int j = 0; j < ids.length; j++) {
+			if (j == 0 || ids[j] >> 16 != ids[j -1] >> 16) {
+				newSize++; //upper bound.
+			}
+		}
+		//
+		if (newSize == size) {
+			return;
+		}
+		//
+		long[] newKeys = new long[newSize];
+		Container[] newContainers = new Container[newSize];
+		int i = 0;
+		int j = 0;
+		int n = 0;
+		//
+		while (i < size || j < ids.length) {
+			if (j == ids.length || (i < size && keys[i] < ids[j] >> 16)) {
+				newKeys[n] = keys[i];
+				newContainers[n++] = containers[i++];
+			} else {
+				final long key = ids[j] >> 16;
+				int end = j +1;
+				//
+				while (end < ids.length && ids[end] >> 16 == key) {
+					end++;
+				}
+				//
+				Container c;
+				//
+				if (i < size && keys[i] == key) {
+					c = containers[i++];
+				} else {
+					c = new Container(end - j);
+				}
+				//
+				cardinality += c.addAll(ids, j, end);
+				newKeys[n] = key;
+				newContainers[n++] = c;
+				j = end;
+			}
+		}
+		//
+		keys = newKeys;
+		containers = newContainers;
+		size = n;
+	}
+
+	/**
+	 * <p>
+	 * Insert a container at a given index.
+	 * </p>
+	 * @param index Index.
+	 * @param key Key.
+	 * @param c Container.
+	 */
+	private void insert(int index, long key, Container c) {
+		if (size == keys.length) {
+			long[] newKeys = new long[size * 2];
+			Container[] newContainers = new Container[size * 2];
+			System.arraycopy(keys, 0, newKeys, 0, size);
+			System.arraycopy(containers, 0, newContainers, 0, size);
+			keys = newKeys;
+			containers = newContainers;
+		}
+		//
+		System.arraycopy(keys, index, keys, index +1, size - index);
+		System.arraycopy(containers, index, containers, index +1, size - index);
+		keys[index] = key;
+		containers[index] = c;
+		size++;
+	}
+
+	/**
+	 * <p>
+	 * Append a container with a key greater than the others.
+	 * </p>
+	 * @param key Key.
+	 * @param c Container.
+	 */
+	private void append(long key, Container c) {
+		insert(size, key, c);
+		cardinality += c.cardinality;
+	}
+
+	/**
+	 * <p>
+	 * Delete the container at a given index.
+	 * </p>
+	 * @param index Index.
+	 */
+	private void delete(int index) {
+		size--;
+		System.arraycopy(keys, index +1, keys, index, size - index);
+		System.arraycopy(containers, index +1, containers, index, size - index);
+		containers[size] = null;
+	}
+
+	/**
+	 * <p>
+	 * Count the bits set of a given bitmap.
+	 * </p>
+	 * @param bits Bitmap.
+	 * @return Number.
+	 */
+	private static int bitCount(long[] bits) {
+		int count = 0;
+		//
+		for (int i = 0; i < bits.length; i++) {
+			count += bitCount(bits[i]);
+		}
+		//
+		return count;
+	}
+
+	/**
+	 * <p>
+	 * Count the bits set of a given word.
+	 * </p>
+	 * @param w Word.
+	 * @return Number.
+	 */
+	private static int bitCount(long w) {
+		w = w - ((w >>> 1) & 0x5555555555555555L);
+		w = (w & 0x3333333333333333L) + ((w >>> 2) & 0x3333333333333333L);
+		w = (w + (w >>> 4)) & 0x0f0f0f0f0f0f0f0fL;
+		//
+		return (int)((w * 0x0101010101010101L) >>> 56);
+	}
+
+	/**
+	 * <p>
+	 * This class implements a container of the low 16 bits of the ids with
+	 * the same high 48 bits, either as a sorted array or as a bitmap.
+	 * </p>
+	 *
+	 * @author Ernandes Mourao Junior (ernandes@gmail.com)
+	 * @version 1.0
+	 * @since 2.0
+	 */
+	private static final class Container {
+		/**
+		 * <p>
+		 * Sorted values or null, if a bitmap.
+		 * </p>
+		 */
+		public char[] values;
+
+		/**
+		 * <p>
+		 * Bitmap or null, if an array.
+		 * </p>
+		 */
+		public long[] bits;
+
+		/**
+		 * <p>
+		 * Number of values.
+		 * </p>
+		 */
+		public int cardinality;
+
+		/**
+		 * <p>
+		 * Create an empty array container.
+		 * </p>
+		 */
+		public Container() {
+			values = new char[4];
+		}
+
+		/**
+		 * <p>
+		 * Create a container from a bitmap, as an array, if it is not full
+		 * enough.
+		 * </p>
+		 * @param bits Bitmap.
+		 * @return Container or null, if the bitmap is empty.
+		 */
+		public static Container fromBitmap(long[] bits) {
+			final int card = bitCount(bits);
+			//
+			if (card == 0) {
+				return null;
+			}
+			//
+			Container c = new Container(card > MAX_ARRAY_SIZE ? 0 : card);
+			//
+			if (card > MAX_ARRAY_SIZE) {
+				c.values = null;
+				c.bits = bits;
+			} else {
+				c.copyInto(0, bits);
+			}
+			//
+			c.cardinality = card;
+			//
+			return c;
+		}
+
+		/**
+		 * <p>
+		 * Create the union of two containers.
+		 * </p>
+		 * @param a Container.
+		 * @param b Container.
+		 * @return Union.
+		 */
+		public static Container or(Container a, Container b) {
+			if (a.bits == null && b.bits == null
+					&& a.cardinality + b.cardinality <= MAX_ARRAY_SIZE) {
+				Container c = new Container(a.cardinality + b.cardinality);
+				int i = 0;
+				int j = 0;
+				int n = 0;
+				//
+				while (i < a.cardinality && j < b.cardinality) {
+					if (a.values[i] < b.values[j]) {
+						c.values[n++] = a.values[i++];
+					} else if (b.values[j] < a.values[i]) {
+						c.values[n++] = b.values[j++];
+					} else {
+						c.values[n++] = a.values[i++];
+						j++;
+					}
+				}
+				while (i < a.cardinality) {
+					c.values[n++] = a.values[i++];
+				}
+				while (j < b.cardinality) {
+					c.values[n++] = b.values[j++];
+				}
+				//
+				c.cardinality = n;
+				//
+				return c;
+			}
+			//
+			long[] bits = a.toBitmap();
+			//
+			if (b.bits != null) {
+				for (int i = 0; i < BITMAP_SIZE; i++) {
+					bits[i] |= b.bits[i];
+				}
+			} else {
+				for (int i = 0; i < b.cardinality; i++) {
+					bits[b.values[i] >>> 6] |= 1L << b.values[i];
+				}
+			}
+			//
+			return fromBitmap(bits);
+		}
+
+		/**
+		 * <p>
+		 * Create the intersection of two containers.
+		 * </p>
+		 * @param a Container.
+		 * @param b Container.
+		 * @return Intersection or null, if empty.
+		 */
+		public static Container and(Container a, Container b) {
+			if (a.bits != null && b.bits != null) {
+				long[] bits = new long[BITMAP_SIZE];
+				//
+				for (int i = 0; i < BITMAP_SIZE; i++) {
+					bits[i] = a.bits[i] & b.bits[i];
+				}
+				//
+				return fromBitmap(bits);
+			} else if (a.bits != null) {
+				return and(b, a);
+			}
+			//
+			Container c = new Container(a.cardinality);
+			int n = 0;
+			//
+			if (b.bits != null) {
+				for (int i = 0; i < a.cardinality; i++) {
+					if (b.contains(a.values[i])) {
+						c.values[n++] = a.values[i];
+					}
+				}
+			} else {
+				int i = 0;
+				int j = 0;
+				//
+				while (i < a.cardinality && j < b.cardinality) {
+					if (a.values[i] < b.values[j]) {
+						i++;
+					} else if (b.values[j] < a.values[i]) {
+						j++;
+					} else {
+						c.values[n++] = a.values[i++];
+						j++;
+					}
+				}
+			}
+			//
+			c.cardinality = n;
+			//
+			return n > 0 ? c : null;
+		}
+
+		/**
+		 * <p>
+		 * Count the values of the intersection of two containers.
+		 * </p>
+		 * @param a Container.
+		 * @param b Container.
+		 * @return Number.
+		 */
+		public static int andCardinality(Container a, Container b) {
+			int count = 0;
+			//
+			if (a.bits != null && b.bits != null) {
+				for (int i = 0; i < BITMAP_SIZE; i++) {
+					count += bitCount(a.bits[i] & b.bits[i]);
+				}
+			} else if (a.bits != null) {
+				return andCardinality(b, a);
+			} else if (b.bits != null) {
+				for (int i = 0; i < a.cardinality; i++) {
+					if (b.contains(a.values[i])) {
+						count++;
+					}
+				}
+			} else {
+				int i = 0;
+				int j = 0;
+				//
+				while (i < a.cardinality && j < b.cardinality) {
+					if (a.values[i] < b.values[j]) {
+						i++;
+					} else if (b.values[j] < a.values[i]) {
+						j++;
+					} else {
+						count++;
+						i++;
+						j++;
+					}
+				}
+			}
+			//
+			return count;
+		}
+
+		/**
+		 * <p>
+		 * Create the difference of two containers.
+		 * </p>
+		 * @param a Container.
+		 * @param b Container.
+		 * @return Difference or null, if empty.
+		 */
+		public static Container andNot(Container a, Container b) {
+			if (a.bits != null) {
+				long[] bits = a.toBitmap();
+				//
+				if (b.bits != null) {
+					for (int i = 0; i < BITMAP_SIZE; i++) {
+						bits[i] &= ~b.bits[i];
+					}
+				} else {
+					for (int i = 0; i < b.cardinality; i++) {
+						bits[b.values[i] >>> 6] &= ~(1L << b.values[i]);
+					}
+				}
+				//
+				return fromBitmap(bits);
+			}
+			//
+			Container c = new Container(a.cardinality);
+			int n = 0;
+			//
+			for (int i = 0; i < a.cardinality; i++) {
+				if (!b.contains(a.values[i])) {
+					c.values[n++] = a.values[i];
+				}
+			}
+			//
+			c.cardinality = n;
+			//
+			return n > 0 ? c : null;
+		}
+
+		/**
+		 * <p>
+		 * Create an empty array container with a given capacity.
+		 * </p>
+		 * @param capacity Capacity.
+		 */
+		private Container(int capacity) {
+			values = new char[Math.min(capacity, MAX_ARRAY_SIZE)];
+		}
+
+		/**
+		 * <p>
+		 * Verify whether a value is in the container.
+		 * </p>
+		 * @param v Value.
+		 * @return In the container (true).
+		 */
+		public boolean contains(char v) {
+			if (bits != null) {
+				return (bits[v >>> 6] & (1L << v)) != 0;
+			} else {
+				return indexOf(v) >= 0;
+			}
+		}
+
+		/**
+		 * <p>
+		 * Add a value.
+		 * </p>
+		 * @param v Value.
+		 * @return Added (true) or already in the container (false).
+		 */
+		public boolean add(char v) {
+			if (bits != null) {
+				final long bit = 1L << v;
+				//
+				if ((bits[v >>> 6] & bit) != 0) {
+					return false;
+				}
+				//
+				bits[v >>> 6] |= bit;
+				cardinality++;
+				//
+				return true;
+			}
+			//
+			int i = indexOf(v);
+			//
+			if (i >= 0) {
+				return false;
+			} else if (cardinality == MAX_ARRAY_SIZE) {
+				bits = toBitmap();
+				values = null;
+				//
+				return add(v);
+			}
+			//
+			i = -i -1;
+			//
+			if (cardinality == values.length) {
+				char[] newValues =
+					new char[Math.min(cardinality * 2, MAX_ARRAY_SIZE)];
+				System.arraycopy(values, 0, newValues, 0, cardinality);
+				values = newValues;
+			}
+			//
+			System.arraycopy(values, i, values, i +1, cardinality - i);
+			values[i] = v;
+			cardinality++;
+			//
+			return true;
+		}
+
+		/**
+		 * <p>
+		 * Add the low 16 bits of a sorted range of ids, in a single pass.
+		 * </p>
+		 * @param ids Ids.
+		 * @param from Index of the first id.
+		 * @param to Index after the last id.
+		 * @return Number of values added.
+		 */
+		public int addAll(long[] ids, int from, int to) {
+			final int before = cardinality;
+			//
+			if (bits == null && cardinality + to - from <= MAX_ARRAY_SIZE) {
+				char[] merged = new char[cardinality + to - from];
+				int i = 0;
+				int j = from;
+				int n = 0;
+				//
+				while (i < cardinality || j < to) {
+					char v;
+					//
+					if (j == to
+							|| (i < cardinality && values[i] <= (char)ids[j])) {
+						v = values[i++];
+					} else {
+						v = (char)ids[j++];
+					}
+					//
+					if (n == 0 || merged[n -1] != v) {
+						merged[n++] = v;
+					}
+				}
+				//
+				values = merged;
+				cardinality = n;
+			} else {
+				if (bits == null) {
+					bits = toBitmap();
+					values = null;
+				}
+				//
+				for (int j = from; j < to; j++) {
+					final char v = (char)ids[j];
+					bits[v >>> 6] |= 1L << v;
+				}
+				//
+				cardinality = bitCount(bits);
+				//
+				if (cardinality <= MAX_ARRAY_SIZE) { //duplicated ids.
+					long[] b = bits;
+					bits = null;
+					values = new char[cardinality];
+					copyInto(0, b);
+				}
+			}
+			//
+			return cardinality - before;
+		}
+
+		/**
+		 * <p>
+		 * Remove a value.
+		 * </p>
+		 * @param v Value.
+		 * @return Removed (true) or not in the container (false).
+		 */
+		public boolean remove(char v) {
+			if (bits != null) {
+				final long bit = 1L << v;
+				//
+				if ((bits[v >>> 6] & bit) == 0) {
+					return false;
+				}
+				//
+				bits[v >>> 6] &= ~bit;
+				cardinality--;
+				//
+				if (cardinality == MAX_ARRAY_SIZE) {
+					long[] b = bits;
+					bits = null;
+					values = new char[MAX_ARRAY_SIZE];
+					copyInto(0, b);
+				}
+				//
+				return true;
+			}
+			//
+			final int i = indexOf(v);
+			//
+			if (i < 0) {
+				return false;
+			}
+			//
+			cardinality--;
+			System.arraycopy(values, i +1, values, i, cardinality - i);
+			//
+			return true;
+		}
+
+		/**
+		 * <p>
+		 * Copy the container.
+		 * </p>
+		 * @return Copy.
+		 */
+		public Container copy() {
+			Container c = new Container(0);
+			//
+			if (bits != null) {
+				c.values = null;
+				c.bits = new long[BITMAP_SIZE];
+				System.arraycopy(bits, 0, c.bits, 0, BITMAP_SIZE);
+			} else {
+				c.values = new char[cardinality];
+				System.arraycopy(values, 0, c.values, 0, cardinality);
+			}
+			//
+			c.cardinality = cardinality;
+			//
+			return c;
+		}
+
+		/**
+		 * <p>
+		 * Copy the values into an array of ids, in ascending order.
+		 * </p>
+		 * @param high High bits of the ids.
+		 * @param ids Ids.
+		 * @param offset Index of the first id.
+		 * @return Index after the last id.
+		 */
+		public int copyInto(long high, long[] ids, int offset) {
+			if (bits != null) {
+				for (int i = 0; i < BITMAP_SIZE; i++) {
+					long w = bits[i];
+					//
+					for (int j = 0; w != 0; j++, w >>>= 1) {
+						if ((w & 1) != 0) {
+							ids[offset++] = high | (i << 6 | j);
+						}
+					}
+				}
+			} else {
+				for (int i = 0; i < cardinality; i++) {
+					ids[offset++] = high | values[i];
+				}
+			}
+			//
+			return offset;
+		}
+
+		/**
+		 * <p>
+		 * Copy the bits set of a given bitmap into the values array, which
+		 * must fit them.
+		 * </p>
+		 * @param offset Index of the first value.
+		 * @param b Bitmap.
+		 */
+		private void copyInto(int offset, long[] b) {
+			for (int i = 0; i < BITMAP_SIZE; i++) {
+				long w = b[i];
+				//
+				for (int j = 0; w != 0; j++, w >>>= 1) {
+					if ((w & 1) != 0) {
+						values[offset++] = (char)(i << 6 | j);
+					}
+				}
+			}
+		}
+
+		/**
+		 * <p>
+		 * Create a bitmap with the values.
+		 * </p>
+		 * @return Bitmap, a copy, if the container is a bitmap.
+		 */
+		private long[] toBitmap() {
+			long[] b = new long[BITMAP_SIZE];
+			//
+			if (bits != null) {
+				System.arraycopy(bits, 0, b, 0, BITMAP_SIZE);
+			} else {
+				for (int i = 0; i < cardinality; i++) {
+					b[values[i] >>> 6] |= 1L << values[i];
+				}
+			}
+			//
+			return b;
+		}
+
+		/**
+		 * <p>
+		 * Find a value in the values array.
+		 * </p>
+		 * @param v Value.
+		 * @return Index or (-(insertion point) -1), if not found.
+		 */
+		private int indexOf(char v) {
+			int low = 0;
+			int high = cardinality -1;
+			//
+			while (low <= high) {
+				final int mid = (low + high) >>> 1;
+				//
+				if (values[mid] < v) {
+					low = mid +1;
+				} else if (values[mid] > v) {
+					high = mid -1;
+				} else {
+					return mid;
+				}
+			}
+			//
+			return -low -1;
+		}
+	}
+}
@@ -0,0 +1,228 @@
+/*
+ * LongVector.java
+ * 18/10/2026
+ * Twitter API Micro Edition
+ * Copyright(c) Ernandes Mourao Junior (ernandes@gmail.com)
+ * All rights reserved
+ */
+package com.twitterapime.util;
+
+/**
+ * <p>
+ * This class implements a growable array of longs, like Vector, but with no
+ * object per element, e.g., for large lists of ids.
+ * </p>
+ * <p>
+ * Unlike Vector, it is not synchronized.
+ * </p>
+ *
+ * @author Ernandes Mourao Junior (ernandes@gmail.com)
+ * @version 1.1
+ * @since 2.0
+ */
+public final class LongVector {
+	/**
+	 * <p>
+	 * Elements.
+	 * </p>
+	 */
+	private long[] elements;
+
+	/**
+	 * <p>
+	 * Number of elements.
+	 * </p>
+	 */
+	private int count;
+
+	/**
+	 * <p>
+	 * Create an instance of LongVector class.
+	 * </p>
+	 */
+	public LongVector() {
+		this(10);
+	}
+
+	/**
+	 * <p>
+	 * Create an instance of LongVector class.
+	 * </p>
+	 * @param initialCapacity Initial capacity.
+	 * @throws IllegalArgumentException If initialCapacity is negative.
+	 */
+	public LongVector(int initialCapacity) {
+		if (initialCapacity < 0) {
+			throw new IllegalArgumentException(
+				"Initial capacity must not be negative.");
+		}
+		//
+		elements = new long[initialCapacity];
+	}
+
+	/**
+	 * <p>
+	 * Add an element to the end.
+	 * </p>
+	 * @param element Element.
+	 */
+	public void addElement(long element) {
+		if (count == elements.length) {
+			long[] newElements = new long[count * 2 + 1];
+			System.arraycopy(elements, 0, newElements, 0, count);
+			elements = newElements;
+		}
+		//
+		elements[count++] = element;
+	}
+
+	/**
+	 * <p>
+	 * Add the elements of a given array to the end.
+	 * </p>
+	 * @param array Elements.
+	 */
+	public void addElements(long[] array) {
+		if (count + array.length > elements.length) {
+			long[] newElements =
+				new long[Math.max(count * 2 + 1, count + array.length)];
+			System.arraycopy(elements, 0, newElements, 0, count);
+			elements = newElements;
+		}
+		//
+		System.arraycopy(array, 0, elements, count, array.length);
+		count += array.length;
+	}
+
+	/**
+	 * <p>
+	 * Get the element at a given index.
+	 * </p>
+	 * @param index Index.
+	 * @return Element.
+	 * @throws ArrayIndexOutOfBoundsException If index is out of range.
+	 */
+	public long elementAt(int index) {
+		if (index >= count) {
+			throw new ArrayIndexOutOfBoundsException(index + " >= " + count);
+		}
+		//
+		return elements[index];
+	}
+
+	/**
+	 * <p>
+	 * Get the number of elements.
+	 * </p>
+	 * @return Number.
+	 */
+	public int size() {
+		return count;
+	}
+
+	/**
+	 * <p>
+	 * Remove all the elements. The capacity is kept.
+	 * </p>
+	 */
+	public void removeAllElements() {
+		count = 0;
+	}
+
+	/**
+	 * <p>
+	 * Sort the elements in ascending order.
+	 * </p>
+	 */
+	public void sort() {
+		sort(elements, 0, count -1);
+	}
+
+	/**
+	 * <p>
+	 * Copy the elements into a new array.
+	 * </p>
+	 * @return Array.
+	 */
+	public long[] toArray() {
+		long[] array = new long[count];
+		System.arraycopy(elements, 0, array, 0, count);
+		//
+		return array;
+	}
+
+	/**
+	 * <p>
+	 * Sort a range of a given array in ascending order. The smaller partition
+	 * is sorted recursively, so the recursion depth is logarithmic.
+	 * </p>
+	 * @param a Array.
+	 * @param low Index of the first element.
+	 * @param high Index of the last element.
+	 */
+	static void sort(long[] a, int low, int high) {
+		while (high - low > 16) {
+			final int mid = (low + high) >>> 1;
+			//
+			if (a[mid] < a[low]) {
+				swap(a, mid, low);
+			}
+			if (a[high] < a[low]) {
+				swap(a, high, low);
+			}
+			if (a[high] < a[mid]) {
+				swap(a, high, mid);
+			}
+			//
+			final long pivot = a[mid];
+			int i = low;
+			int j = high;
+			//
+			while (i <= j) {
+				while (a[i] < pivot) {
+					i++;
+				}
+				while (a[j] > pivot) {
+					j--;
+				}
+				if (i <= j) {
+					swap(a, i++, j--);
+				}
+			}
+			//
+			if (j - low < high - i) {
+				sort(a, low, j);
+				low = i;
+			} else {
+				sort(a, i, high);
+				high = j;
+			}
+		}
+		//
+		for (int i = low +1; i <= high; i++) {
+			final long v = a[i];
+			int j = i -1;
+			//
+			while (j >= low && a[j] > v) {
+				a[j +1] = a[j];
+				j--;
+			}
+			//
+			a[j +1] = v;
+		}
+	}
+
+	/**
+	 * <p>
+	 * Swap two elements of a given array.
+	 * </p>
+	 * @param a Array.
+	 * @param i Index of one element.
+	 * @param j Index of the other element.
+	 */
+	private static void swap(long[] a, int i, int j) {
+		final long t = a[i];
+		a[i] = a[j];
+		a[j] = t;
+	}
+}
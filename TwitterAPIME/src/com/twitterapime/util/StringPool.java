@@ -0,0 +1,343 @@
+/*
+ * StringPool.java
+ * 18/10/2026
+ * Twitter API Micro Edition
+ * Copyright(c) Ernandes Mourao Junior (ernandes@gmail.com)
+ * All rights reserved
+ */
+package com.twitterapime.util;
+
+import java.util.Hashtable;
+
+/**
+ * <p>
+ * This class implements a bounded pool of canonical strings, so equal values
+ * parsed from many entities, e.g., the author's screen name or the tweet's
+ * source, share a single instance.
+ * </p>
+ * <p>
+ * The pool is split into stripes, each one with its own lock, so threads
+ * parsing at the same time seldom wait for each other. Once a stripe is full,
+ * it is emptied and starts over. Strings longer than
+ * {@link #getMaxStringLength()} are not pooled.
+ * </p>
+ * <p>
+ * The pool is disabled by default, i.e., {@link #intern(String)} returns the
+ * given string.
+ * </p>
+ * <p>
+ * <pre>
+ * StringPool pool = StringPool.getInstance();
+ * pool.setEnabled(true);
+ * ...
+ * String source = pool.intern(text);
+ * </pre>
+ * </p>
+ *
+ * @author Ernandes Mourao Junior (ernandes@gmail.com)
+ * @version 1.0
+ * @since 2.0
+ */
+public final class StringPool {
+	/**
+	 * <p>
+	 * Default max number of pooled strings.
+	 * </p>
+	 */
+	public static final int DEFAULT_MAX_SIZE = 1024;
+
+	/**
+	 * <p>
+	 * Default max length of a pooled string.
+	 * </p>
+	 */
+	public static final int DEFAULT_MAX_STRING_LENGTH = 128;
+
+	/**
+	 * <p>
+	 * Number of stripes.
+	 * </p>
+	 */
+	private static final int STRIPE_COUNT = 8;
+
+	/**
+	 * <p>
+	 * Single instance.
+	 * </p>
+	 */
+	private static StringPool singleInstance;
+
+	/**
+	 * <p>
+	 * Stripes.
+	 * </p>
+	 */
+	private Stripe[] stripes;
+
+	/**
+	 * <p>
+	 * Enabled flag.
+	 * </p>
+	 */
+	private volatile boolean enabled;
+
+	/**
+	 * <p>
+	 * Max number of strings of a stripe.
+	 * </p>
+	 */
+	private volatile int maxStripeSize;
+
+	/**
+	 * <p>
+	 * Max length of a pooled string.
+	 * </p>
+	 */
+	private volatile int maxStringLength;
+
+	/**
+	 * <p>
+	 * Get the single instance of StringPool class.
+	 * </p>
+	 * @return Instance.
+	 */
+	public synchronized static StringPool getInstance() {
+		if (singleInstance == null) {
+			singleInstance = new StringPool();
+		}
+		//
+		return singleInstance;
+	}
+
+	/**
+	 * <p>
+	 * Create an instance of StringPool class.
+	 * </p>
+	 */
+	private StringPool() {
+		stripes = new Stripe[STRIPE_COUNT];
+		//
+		for (int i = 0; i < STRIPE_COUNT; i++) {
+			stripes[i] = new Stripe();
+		}
+		//
+		maxStripeSize = DEFAULT_MAX_SIZE / STRIPE_COUNT;
+		maxStringLength = DEFAULT_MAX_STRING_LENGTH;
+	}
+
+	/**
+	 * <p>
+	 * Get the canonical instance of a given string, i.e., the pooled one
+	 * equal to it. The string is pooled in case there is none.
+	 * </p>
+	 * @param str String.
+	 * @return Canonical instance or str, if the pool is disabled, str is null
+	 *         or too long.
+	 */
+	public String intern(String str) {
+		if (!enabled || str == null || str.length() > maxStringLength) {
+			return str;
+		}
+		//
+		final Stripe stripe =
+			stripes[(str.hashCode() & 0x7fffffff) % STRIPE_COUNT];
+		//
+		synchronized (stripe) {
+			String pooled = (String)stripe.strings.get(str);
+			//
+			if (pooled != null) {
+				stripe.hitCount++;
+				//
+				return pooled;
+			}
+			//
+			stripe.missCount++;
+			//
+			if (stripe.strings.size() >= maxStripeSize) {
+				stripe.strings.clear();
+			}
+			//
+			stripe.strings.put(str, str);
+			//
+			return str;
+		}
+	}
+
+	/**
+	 * <p>
+	 * Enable or disable the pool. Disabling it empties it.
+	 * </p>
+	 * @param enabled Enabled (true).
+	 */
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+		//
+		if (!enabled) {
+			clear();
+		}
+	}
+
+	/**
+	 * <p>
+	 * Return whether the pool is enabled.
+	 * </p>
+	 * @return Enabled (true).
+	 */
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * <p>
+	 * Set the max number of pooled strings.
+	 * </p>
+	 * @param max Max number.
+	 * @throws IllegalArgumentException If max is less than the number of
+	 *                                  stripes (8).
+	 */
+	public void setMaxSize(int max) {
+		if (max < STRIPE_COUNT) {
+			throw new IllegalArgumentException(
+				"Max must not be less than " + STRIPE_COUNT + ".");
+		}
+		//
+		maxStripeSize = max / STRIPE_COUNT;
+		clear();
+	}
+
+	/**
+	 * <p>
+	 * Get the max number of pooled strings.
+	 * </p>
+	 * @return Max number.
+	 */
+	public int getMaxSize() {
+		return maxStripeSize * STRIPE_COUNT;
+	}
+
+	/**
+	 * <p>
+	 * Set the max length of a pooled string.
+	 * </p>
+	 * @param length Length.
+	 * @throws IllegalArgumentException If length is negative.
+	 */
+	public void setMaxStringLength(int length) {
+		if (length < 0) {
+			throw new IllegalArgumentException("Length must not be negative.");
+		}
+		//
+		maxStringLength = length;
+	}
+
+	/**
+	 * <p>
+	 * Get the max length of a pooled string.
+	 * </p>
+	 * @return Length.
+	 */
+	public int getMaxStringLength() {
+		return maxStringLength;
+	}
+
+	/**
+	 * <p>
+	 * Get the number of pooled strings.
+	 * </p>
+	 * @return Number.
+	 */
+	public int getSize() {
+		int size = 0;
+		//
+		for (int i = 0; i < STRIPE_COUNT; i++) {
+			synchronized (stripes[i]) {
+				size += stripes[i].strings.size();
+			}
+		}
+		//
+		return size;
+	}
+
+	/**
+	 * <p>
+	 * Get the number of strings found in the pool.
+	 * </p>
+	 * @return Number.
+	 */
+	public long getHitCount() {
+		long count = 0;
+		//
+		for (int i = 0; i < STRIPE_COUNT; i++) {
+			synchronized (stripes[i]) {
+				count += stripes[i].hitCount;
+			}
+		}
+		//
+		return count;
+	}
+
+	/**
+	 * <p>
+	 * Get the number of strings not found in the pool.
+	 * </p>
+	 * @return Number.
+	 */
+	public long getMissCount() {
+		long count = 0;
+		//
+		for (int i = 0; i < STRIPE_COUNT; i++) {
+			synchronized (stripes[i]) {
+				count += stripes[i].missCount;
+			}
+		}
+		//
+		return count;
+	}
+
+	/**
+	 * <p>
+	 * Empty the pool and reset its hit and miss counts.
+	 * </p>
+	 */
+	public void clear() {
+		for (int i = 0; i < STRIPE_COUNT; i++) {
+			synchronized (stripes[i]) {
+				stripes[i].strings.clear();
+				stripes[i].hitCount = 0;
+				stripes[i].missCount = 0;
+			}
+		}
+	}
+
+	/**
+	 * <p>
+	 * This class defines a stripe of the pool, which is also its lock.
+	 * </p>
+	 *
+	 * @author Ernandes Mourao Junior (ernandes@gmail.com)
+	 * @version 1.0
+	 * @since 2.0
+	 */
+	private static final class Stripe {
+		/**
+		 * <p>
+		 * Pooled strings.
+		 * </p>
+		 */
+		public Hashtable strings = new Hashtable();
+
+		/**
+		 * <p>
+		 * Hit count.
+		 * </p>
+		 */
+		public long hitCount;
+
+		/**
+		 * <p>
+		 * Miss count.
+		 * </p>
+		 */
+		public long missCount;
+	}
+}
@@ -107,6 +107,35 @@ public final class StringUtil {
         return codes;
     }
 	
+	/**
+	 * <p>
+	 * Join a range of strings with a given delimiter.
+	 * </p>
+	 * @param strs Strings.
+	 * @param start Start index (inclusive).
+	 * @param end End index (exclusive).
+	 * @param delimiter Delimiter.
+	 * @return Joined string.
+	 * @throws IllegalArgumentException If strs is null.
+	 */
+	public static String join(String[] strs, int start, int end,
+		char delimiter) {
+		if (strs == null) {
+			throw new IllegalArgumentException("Strs must not be null.");
+		}
+		//
+		StringBuffer str = new StringBuffer();
+		//
+		for (int i = start; i < end; i++) {
+			if (i > start) {
+				str.append(delimiter);
+			}
+			str.append(strs[i]);
+		}
+		//
+		return str.toString();
+	}
+	
 	/**
 	 * <p>
 	 * Format the Tweet ID returned by Twitter Search API.
@@ -0,0 +1,667 @@
+/*
+ * TaskExecutor.java
+ * 18/10/2026
+ * Twitter API Micro Edition
+ * Copyright(c) Ernandes Mourao Junior (ernandes@gmail.com)
+ * All rights reserved
+ */
+package com.twitterapime.util;
+
+import java.util.Vector;
+
+/**
+ * <p>
+ * This class implements a bounded pool of worker threads that executes tasks
+ * asynchronously.
+ * </p>
+ * <p>
+ * Tasks are kept in a bounded queue, ordered by priority (FIFO among tasks of
+ * the same priority), and executed by at most {@link #getMaxWorkers()}
+ * threads. Workers are started on demand and finish after being idle for
+ * {@link #getKeepAliveTime()} milliseconds. Once the queue is full, the
+ * rejection policy decides what happens to the new task.
+ * </p>
+ * <p>
+ * All the asynchronous methods of the API, e.g.,
+ * {@link com.twitterapime.rest.Timeline#startGetHomeTweets(com.twitterapime.search.Query, com.twitterapime.search.SearchDeviceListener)},
+ * run on the executor returned by {@link #getDefault()}, unless another one is
+ * set to the user account manager in use. The default executor rejects a task
+ * once its queue is full. Those methods then notify their listeners about the
+ * failure, instead of running the task on the calling thread, which is often
+ * the UI one.
+ * </p>
+ * <p>
+ * <pre>
+ * TaskExecutor.setDefault(
+ *     new TaskExecutor(2, 50, TaskExecutor.POLICY_CALLER_RUNS));
+ * ...
+ * UserAccountManager uam = UserAccountManager.getInstance(c);
+ * uam.setExecutor(new TaskExecutor(1, 10, TaskExecutor.POLICY_DISCARD));
+ * </pre>
+ * </p>
+ *
+ * @author Ernandes Mourao Junior (ernandes@gmail.com)
+ * @version 1.0
+ * @since 2.0
+ */
+public final class TaskExecutor {
+	/**
+	 * <p>
+	 * Low priority.
+	 * </p>
+	 */
+	public static final int PRIORITY_LOW = 1;
+
+	/**
+	 * <p>
+	 * Normal priority.
+	 * </p>
+	 */
+	public static final int PRIORITY_NORMAL = 5;
+
+	/**
+	 * <p>
+	 * High priority.
+	 * </p>
+	 */
+	public static final int PRIORITY_HIGH = 10;
+
+	/**
+	 * <p>
+	 * Rejection policy that throws an IllegalStateException.
+	 * </p>
+	 */
+	public static final int POLICY_ABORT = 1;
+
+	/**
+	 * <p>
+	 * Rejection policy that runs the task on the calling thread.
+	 * </p>
+	 */
+	public static final int POLICY_CALLER_RUNS = 2;
+
+	/**
+	 * <p>
+	 * Rejection policy that silently discards the new task.
+	 * </p>
+	 */
+	public static final int POLICY_DISCARD = 3;
+
+	/**
+	 * <p>
+	 * Rejection policy that discards the oldest task with the lowest priority,
+	 * in case it is not more important than the new task.
+	 * </p>
+	 */
+	public static final int POLICY_DISCARD_OLDEST = 4;
+
+	/**
+	 * <p>
+	 * Default max number of workers.
+	 * </p>
+	 */
+	public static final int DEFAULT_MAX_WORKERS = 4;
+
+	/**
+	 * <p>
+	 * Default queue capacity.
+	 * </p>
+	 */
+	public static final int DEFAULT_QUEUE_CAPACITY = 100;
+
+	/**
+	 * <p>
+	 * Default time (in milliseconds) an idle worker waits before finishing.
+	 * </p>
+	 */
+	public static final long DEFAULT_KEEP_ALIVE_TIME = 30000;
+
+	/**
+	 * <p>
+	 * Default executor.
+	 * </p>
+	 */
+	private static TaskExecutor defaultExecutor;
+
+	/**
+	 * <p>
+	 * Queue of pending tasks.
+	 * </p>
+	 */
+	private Vector queue;
+
+	/**
+	 * <p>
+	 * Max number of workers.
+	 * </p>
+	 */
+	private int maxWorkers;
+
+	/**
+	 * <p>
+	 * Queue capacity.
+	 * </p>
+	 */
+	private int queueCapacity;
+
+	/**
+	 * <p>
+	 * Rejection policy.
+	 * </p>
+	 */
+	private int rejectionPolicy;
+
+	/**
+	 * <p>
+	 * Keep-alive time of idle workers.
+	 * </p>
+	 */
+	private long keepAliveTime;
+
+	/**
+	 * <p>
+	 * Number of running workers.
+	 * </p>
+	 */
+	private int workerCount;
+
+	/**
+	 * <p>
+	 * Number of idle workers.
+	 * </p>
+	 */
+	private int idleCount;
+
+	/**
+	 * <p>
+	 * Number of completed tasks.
+	 * </p>
+	 */
+	private long completedCount;
+
+	/**
+	 * <p>
+	 * Number of rejected tasks.
+	 * </p>
+	 */
+	private long rejectedCount;
+
+	/**
+	 * <p>
+	 * Largest queue depth reached.
+	 * </p>
+	 */
+	private int largestQueueDepth;
+
+	/**
+	 * <p>
+	 * Shutdown flag.
+	 * </p>
+	 */
+	private boolean shutdown;
+
+	/**
+	 * <p>
+	 * Get the default executor, used by all asynchronous methods of the API.
+	 * </p>
+	 * @return Executor.
+	 */
+	public synchronized static TaskExecutor getDefault() {
+		if (defaultExecutor == null) {
+			defaultExecutor = new TaskExecutor();
+		}
+		//
+		return defaultExecutor;
+	}
+
+	/**
+	 * <p>
+	 * Set the default executor, used by all asynchronous methods of the API.
+	 * </p>
+	 * @param executor Executor.
+	 * @throws IllegalArgumentException If executor is null.
+	 */
+	public synchronized static void setDefault(TaskExecutor executor) {
+		if (executor == null) {
+			throw new IllegalArgumentException("Executor must not be null.");
+		}
+		//
+		defaultExecutor = executor;
+	}
+
+	/**
+	 * <p>
+	 * Create an instance of TaskExecutor class with default settings, i.e.,
+	 * {@link TaskExecutor#POLICY_ABORT} rejection policy.
+	 * </p>
+	 */
+	public TaskExecutor() {
+		this(DEFAULT_MAX_WORKERS, DEFAULT_QUEUE_CAPACITY, POLICY_ABORT);
+	}
+
+	/**
+	 * <p>
+	 * Create an instance of TaskExecutor class.
+	 * </p>
+	 * @param maxWorkers Max number of workers.
+	 * @param queueCapacity Queue capacity.
+	 * @param rejectionPolicy Rejection policy.
+	 * @throws IllegalArgumentException If any parameter is invalid.
+	 * @see TaskExecutor#POLICY_ABORT
+	 * @see TaskExecutor#POLICY_CALLER_RUNS
+	 * @see TaskExecutor#POLICY_DISCARD
+	 * @see TaskExecutor#POLICY_DISCARD_OLDEST
+	 */
+	public TaskExecutor(int maxWorkers, int queueCapacity,
+		int rejectionPolicy) {
+		setMaxWorkers(maxWorkers);
+		setQueueCapacity(queueCapacity);
+		setRejectionPolicy(rejectionPolicy);
+		//
+		keepAliveTime = DEFAULT_KEEP_ALIVE_TIME;
+		queue = new Vector(Math.min(queueCapacity, 10));
+	}
+
+	/**
+	 * <p>
+	 * Execute a task with normal priority.
+	 * </p>
+	 * @param task Task.
+	 * @throws IllegalArgumentException If task is null.
+	 * @throws IllegalStateException If task is rejected under abort policy or
+	 *                               executor is shut down.
+	 */
+	public void execute(Runnable task) {
+		execute(task, PRIORITY_NORMAL);
+	}
+
+	/**
+	 * <p>
+	 * Execute a task with a given priority.
+	 * </p>
+	 * @param task Task.
+	 * @param priority Priority.
+	 * @throws IllegalArgumentException If task is null.
+	 * @throws IllegalStateException If task is rejected under abort policy or
+	 *                               executor is shut down.
+	 * @see TaskExecutor#PRIORITY_LOW
+	 * @see TaskExecutor#PRIORITY_NORMAL
+	 * @see TaskExecutor#PRIORITY_HIGH
+	 */
+	public void execute(Runnable task, int priority) {
+		if (task == null) {
+			throw new IllegalArgumentException("Task must not be null.");
+		}
+		//
+		synchronized (this) {
+			if (shutdown) {
+				throw new IllegalStateException("Executor is shut down.");
+			}
+			//
+			if (queue.size() < queueCapacity || discardOldest(priority)) {
+				enqueue(new Task(task, priority));
+				//
+				return;
+			}
+			//
+			rejectedCount++;
+			//
+			if (rejectionPolicy == POLICY_ABORT) {
+				throw new IllegalStateException("Task queue is full.");
+			} else if (rejectionPolicy != POLICY_CALLER_RUNS) {
+				return;
+			}
+		}
+		//
+		task.run(); //caller runs.
+	}
+
+	/**
+	 * <p>
+	 * Shut down the executor. Pending tasks are still executed, but no new
+	 * task is accepted.
+	 * </p>
+	 */
+	public synchronized void shutdown() {
+		shutdown = true;
+		notifyAll();
+	}
+
+	/**
+	 * <p>
+	 * Return whether the executor is shut down.
+	 * </p>
+	 * @return Shut down (true).
+	 */
+	public synchronized boolean isShutdown() {
+		return shutdown;
+	}
+
+	/**
+	 * <p>
+	 * Set the max number of workers.
+	 * </p>
+	 * @param max Max number.
+	 * @throws IllegalArgumentException If max is less than 1.
+	 */
+	public synchronized void setMaxWorkers(int max) {
+		if (max < 1) {
+			throw new IllegalArgumentException("Max must be greater than 0.");
+		}
+		//
+		maxWorkers = max;
+		//
+		if (queue != null) {
+			notifyAll(); //exceeding workers finish.
+			startWorkers();
+		}
+	}
+
+	/**
+	 * <p>
+	 * Get the max number of workers.
+	 * </p>
+	 * @return Max number.
+	 */
+	public synchronized int getMaxWorkers() {
+		return maxWorkers;
+	}
+
+	/**
+	 * <p>
+	 * Set the queue capacity.
+	 * </p>
+	 * @param capacity Capacity.
+	 * @throws IllegalArgumentException If capacity is less than 1.
+	 */
+	public synchronized void setQueueCapacity(int capacity) {
+		if (capacity < 1) {
+			throw new IllegalArgumentException(
+				"Capacity must be greater than 0.");
+		}
+		//
+		queueCapacity = capacity;
+	}
+
+	/**
+	 * <p>
+	 * Get the queue capacity.
+	 * </p>
+	 * @return Capacity.
+	 */
+	public synchronized int getQueueCapacity() {
+		return queueCapacity;
+	}
+
+	/**
+	 * <p>
+	 * Set the rejection policy.
+	 * </p>
+	 * @param policy Policy.
+	 * @throws IllegalArgumentException If policy is invalid.
+	 * @see TaskExecutor#POLICY_ABORT
+	 * @see TaskExecutor#POLICY_CALLER_RUNS
+	 * @see TaskExecutor#POLICY_DISCARD
+	 * @see TaskExecutor#POLICY_DISCARD_OLDEST
+	 */
+	public synchronized void setRejectionPolicy(int policy) {
+		if (policy < POLICY_ABORT || policy > POLICY_DISCARD_OLDEST) {
+			throw new IllegalArgumentException(
+				"Invalid rejection policy: " + policy);
+		}
+		//
+		rejectionPolicy = policy;
+	}
+
+	/**
+	 * <p>
+	 * Get the rejection policy.
+	 * </p>
+	 * @return Policy.
+	 */
+	public synchronized int getRejectionPolicy() {
+		return rejectionPolicy;
+	}
+
+	/**
+	 * <p>
+	 * Set the time (in milliseconds) an idle worker waits for a new task
+	 * before finishing.
+	 * </p>
+	 * @param time Time.
+	 * @throws IllegalArgumentException If time is less than 1.
+	 */
+	public synchronized void setKeepAliveTime(long time) {
+		if (time < 1) {
+			throw new IllegalArgumentException("Time must be greater than 0.");
+		}
+		//
+		keepAliveTime = time;
+	}
+
+	/**
+	 * <p>
+	 * Get the time (in milliseconds) an idle worker waits for a new task.
+	 * </p>
+	 * @return Time.
+	 */
+	public synchronized long getKeepAliveTime() {
+		return keepAliveTime;
+	}
+
+	/**
+	 * <p>
+	 * Get the number of tasks waiting for a worker.
+	 * </p>
+	 * @return Queue depth.
+	 */
+	public synchronized int getQueueDepth() {
+		return queue.size();
+	}
+
+	/**
+	 * <p>
+	 * Get the largest number of tasks ever waiting for a worker.
+	 * </p>
+	 * @return Queue depth.
+	 */
+	public synchronized int getLargestQueueDepth() {
+		return largestQueueDepth;
+	}
+
+	/**
+	 * <p>
+	 * Get the number of running workers.
+	 * </p>
+	 * @return Number.
+	 */
+	public synchronized int getWorkerCount() {
+		return workerCount;
+	}
+
+	/**
+	 * <p>
+	 * Get the number of workers executing a task.
+	 * </p>
+	 * @return Number.
+	 */
+	public synchronized int getActiveCount() {
+		return workerCount - idleCount;
+	}
+
+	/**
+	 * <p>
+	 * Get the number of completed tasks.
+	 * </p>
+	 * @return Number.
+	 */
+	public synchronized long getCompletedCount() {
+		return completedCount;
+	}
+
+	/**
+	 * <p>
+	 * Get the number of rejected tasks.
+	 * </p>
+	 * @return Number.
+	 */
+	public synchronized long getRejectedCount() {
+		return rejectedCount;
+	}
+
+	/**
+	 * <p>
+	 * Insert a task into the queue, after all tasks with the same or higher
+	 * priority.
+	 * </p>
+	 * @param task Task.
+	 */
+	private void enqueue(Task task) {
+		int i = queue.size();
+		//
+		while (i > 0 && ((Task)queue.elementAt(i -1)).priority < task.priority) {
+			i--;
+		}
+		//
+		queue.insertElementAt(task, i);
+		//
+		if (queue.size() > largestQueueDepth) {
+			largestQueueDepth = queue.size();
+		}
+		//
+		if (idleCount > 0) {
+			notify();
+		}
+		//
+		startWorkers();
+	}
+
+	/**
+	 * <p>
+	 * Discard the oldest task with the lowest priority, under discard oldest
+	 * policy, to open room for a new task.
+	 * </p>
+	 * @param priority New task's priority.
+	 * @return Discarded (true).
+	 */
+	private boolean discardOldest(int priority) {
+		if (rejectionPolicy != POLICY_DISCARD_OLDEST || queue.size() == 0) {
+			return false;
+		}
+		//
+		int i = queue.size() -1;
+		final int lowest = ((Task)queue.elementAt(i)).priority;
+		//
+		if (lowest > priority) {
+			return false;
+		}
+		//
+		while (i > 0 && ((Task)queue.elementAt(i -1)).priority == lowest) {
+			i--;
+		}
+		//
+		queue.removeElementAt(i);
+		rejectedCount++;
+		//
+		return true;
+	}
+
+	/**
+	 * <p>
+	 * Start workers while there are more pending tasks than idle workers and
+	 * the max number of workers is not reached.
+	 * </p>
+	 */
+	private void startWorkers() {
+		while (workerCount < maxWorkers && queue.size() > idleCount) {
+			workerCount++;
+			//
+			new Thread() {
+				public void run() {
+					Task task;
+					//
+					while ((task = nextTask()) != null) {
+						try {
+							task.runnable.run();
+						} catch (Throwable e) {
+							//task's exceptions and errors must not kill the
+							//worker, otherwise its count is never decremented.
+						} finally {
+							synchronized (TaskExecutor.this) {
+								completedCount++;
+							}
+						}
+					}
+				};
+			}.start();
+		}
+	}
+
+	/**
+	 * <p>
+	 * Get the next pending task. It waits for the keep-alive time in case the
+	 * queue is empty.
+	 * </p>
+	 * @return Task or null, if the worker must finish.
+	 */
+	private synchronized Task nextTask() {
+		if (queue.size() == 0 && !shutdown && workerCount <= maxWorkers) {
+			idleCount++;
+			//
+			try {
+				wait(keepAliveTime);
+			} catch (InterruptedException e) {
+			} finally {
+				idleCount--;
+			}
+		}
+		//
+		if (queue.size() == 0 || workerCount > maxWorkers) {
+			workerCount--;
+			//
+			return null;
+		}
+		//
+		Task task = (Task)queue.elementAt(0);
+		queue.removeElementAt(0);
+		//
+		return task;
+	}
+
+	/**
+	 * <p>
+	 * This class defines a queued task.
+	 * </p>
+	 *
+	 * @author Ernandes Mourao Junior (ernandes@gmail.com)
+	 * @version 1.0
+	 * @since 2.0
+	 */
+	private static final class Task {
+		/**
+		 * <p>
+		 * Runnable.
+		 * </p>
+		 */
+		public Runnable runnable;
+
+		/**
+		 * <p>
+		 * Priority.
+		 * </p>
+		 */
+		public int priority;
+
+		/**
+		 * <p>
+		 * Create an instance of Task class.
+		 * </p>
+		 * @param runnable Runnable.
+		 * @param priority Priority.
+		 */
+		public Task(Runnable runnable, int priority) {
+			this.runnable = runnable;
+			this.priority = priority;
+		}
+	}
+}
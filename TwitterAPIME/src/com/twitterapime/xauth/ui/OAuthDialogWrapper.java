@@ -13,6 +13,7 @@ import com.twitterapime.io.HttpConnection;
 import com.twitterapime.io.HttpRequest;
 import com.twitterapime.io.HttpResponse;
 import com.twitterapime.util.StringUtil;
+import com.twitterapime.util.TaskExecutor;
 import com.twitterapime.xauth.OAuthSigner;
 import com.twitterapime.xauth.Token;
 
@@ -34,7 +35,7 @@ import com.twitterapime.xauth.Token;
  * Developer website.
  * </p>
  * @author Ernandes Mourao Junior (ernandes@gmail.com)
- * @version 1.0
+ * @version 1.1
  * @since 1.8
  */
 public abstract class OAuthDialogWrapper {
@@ -68,6 +69,13 @@ public abstract class OAuthDialogWrapper {
 	 */
 	public static final String OAUTH_ACCESS_TOKEN_DENIED = 
 		"oauth_access_token_denied";
+	
+	/**
+	 * <p>
+	 * OAuth task rejected key, i.e., the executor's queue is full.
+	 * </p>
+	 */
+	public static final String OAUTH_TASK_REJECTED = "oauth_task_rejected";
 
 	/**
 	 * <p>
@@ -317,11 +325,11 @@ public abstract class OAuthDialogWrapper {
 		token = null;
 		signer = new OAuthSigner(consumerKey, consumerSecret);
 		//
-		new Thread() {
+		execute(new Runnable() {
 			public void run() {
 				requestToken();
 			};
-		}.start();
+		});
 	}
 	
 	/**
@@ -347,11 +355,27 @@ public abstract class OAuthDialogWrapper {
 				"Invalid state: call login() method first.");
 		}
 		//
-		new Thread() {
+		execute(new Runnable() {
 			public void run() {
 				trackUrl(callbackUrl + "?oauth_verifier=" + pinCode);
 			};
-		}.start();
+		});
+	}
+	
+	/**
+	 * <p>
+	 * Execute a task on the default executor. A task rejected by the executor
+	 * is notified to the listener as a fail event, with
+	 * {@link OAuthDialogWrapper#OAUTH_TASK_REJECTED} error.
+	 * </p>
+	 * @param task Task.
+	 */
+	protected void execute(Runnable task) {
+		try {
+			TaskExecutor.getDefault().execute(task, TaskExecutor.PRIORITY_HIGH);
+		} catch (IllegalStateException e) {
+			triggerOnFail(OAUTH_TASK_REJECTED, e.getMessage());
+		}
 	}
 	
 	/**
@@ -0,0 +1,131 @@
+/*
+ * FileCacheStore.java
+ * 18/10/2026
+ * Twitter API Micro Edition
+ * Copyright(c) Ernandes Mourao Junior (ernandes@gmail.com)
+ * All rights reserved
+ */
+package impl.android.com.twitterapime.io;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import com.twitterapime.io.CacheStore;
+
+/**
+ * <p>
+ * This class defines the implementation of CacheStore for Android platform,
+ * based on files of a given directory (e.g. Context.getCacheDir()).
+ * </p>
+ * <p>
+ * <pre>
+ * HttpResponseCache.getInstance().setSecondaryStore(
+ *     new FileCacheStore(new File(context.getCacheDir(), "http")));
+ * </pre>
+ * </p>
+ * 
+ * @author Ernandes Mourao Junior (ernandes@gmail.com)
+ * @version 1.0
+ * @since 2.0
+ * @see com.twitterapime.io.HttpResponseCache
+ */
+public final class FileCacheStore implements CacheStore {
+	/**
+	 * <p>
+	 * Directory.
+	 * </p>
+	 */
+	private File dir;
+	
+	/**
+	 * <p>
+	 * Create an instance of FileCacheStore class.
+	 * </p>
+	 * @param dir Directory. It is created, if necessary.
+	 * @throws IllegalArgumentException If dir is null.
+	 */
+	public FileCacheStore(File dir) {
+		if (dir == null) {
+			throw new IllegalArgumentException("Dir must not be null.");
+		}
+		//
+		this.dir = dir;
+	}
+
+	/**
+	 * @see com.twitterapime.io.CacheStore#get(java.lang.String)
+	 */
+	public byte[] get(String key) throws IOException {
+		File file = getFile(key);
+		//
+		if (!file.exists()) {
+			return null;
+		}
+		//
+		byte[] entry = new byte[(int)file.length()];
+		InputStream in = new FileInputStream(file);
+		//
+		try {
+			for (int n = 0, r; n < entry.length; n += r) {
+				if ((r = in.read(entry, n, entry.length - n)) == -1) {
+					return null;
+				}
+			}
+		} finally {
+			in.close();
+		}
+		//
+		return entry;
+	}
+
+	/**
+	 * @see com.twitterapime.io.CacheStore#put(java.lang.String, byte[])
+	 */
+	public void put(String key, byte[] entry) throws IOException {
+		if (!dir.exists() && !dir.mkdirs()) {
+			throw new IOException("Cannot create dir: " + dir);
+		}
+		//
+		File file = getFile(key);
+		File temp = new File(dir, file.getName() + ".tmp");
+		OutputStream out = new FileOutputStream(temp);
+		//
+		try {
+			out.write(entry);
+		} finally {
+			out.close();
+		}
+		//
+		if (!temp.renameTo(file)) {
+			file.delete();
+			//
+			if (!temp.renameTo(file)) {
+				temp.delete();
+				throw new IOException("Cannot write file: " + file);
+			}
+		}
+	}
+
+	/**
+	 * @see com.twitterapime.io.CacheStore#remove(java.lang.String)
+	 */
+	public void remove(String key) throws IOException {
+		getFile(key).delete();
+	}
+	
+	/**
+	 * <p>
+	 * Get the file of a given key. Keys with the same hash share the same
+	 * file, so the entry must identify its own key.
+	 * </p>
+	 * @param key Key.
+	 * @return File.
+	 */
+	private File getFile(String key) {
+		return new File(dir, Integer.toHexString(key.hashCode()) + ".cache");
+	}
+}
@@ -21,7 +21,7 @@ import com.twitterapime.io.HttpConnection;
  * </p>
  * 
  * @author Ernandes Mourao Junior (ernandes@gmail.com)
- * @version 1.2
+ * @version 1.3
  * @since 1.0
  */
 public final class HttpConnectionImpl implements HttpConnection {
@@ -32,11 +32,23 @@ public final class HttpConnectionImpl implements HttpConnection {
 	 */
 	private HttpURLConnection conn;
 
+	/**
+	 * <p>
+	 * Response stream.
+	 * </p>
+	 */
+	private InputStream in;
+
 	/**
 	 * @see com.twitterapime.io.HttpConnection#close()
 	 */
 	public void close() throws IOException {
-		conn.disconnect();
+		if (in != null) {
+			in.close(); //hands the socket back to the keep-alive cache.
+			in = null;
+		} else {
+			conn.disconnect();
+		}
 	}
 
 	/**
@@ -70,10 +82,12 @@ public final class HttpConnectionImpl implements HttpConnection {
 		}
 		//
 		if (conn.getResponseCode() == HTTP_OK) {
-			return conn.getInputStream();
+			in = conn.getInputStream();
 		} else {
-			return conn.getErrorStream();
+			in = conn.getErrorStream();
 		}
+		//
+		return in;
 	}
 
 	/**
@@ -107,4 +121,4 @@ public final class HttpConnectionImpl implements HttpConnection {
 	public String getRequestProperty(String key) throws IOException {
 		return conn.getRequestProperty(key);
 	}
-}
\ No newline at end of file
+}
\ No newline at end of file
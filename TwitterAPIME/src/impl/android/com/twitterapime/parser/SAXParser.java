@@ -26,12 +26,35 @@ import com.twitterapime.parser.XMLHandler;
  * <p>
  * This class implements a parser based on SAXParser library.
  * </p>
+ * <p>
+ * The SAX parser and its handler wrapper are kept from a parsing to the next
+ * one, so an instance must not be shared by concurrent threads.
+ * </p>
+ * <p>
+ * The elements are given to the handler with their prefixes, e.g.,
+ * "georss:point", as the other parsers give them. So the parser reports the
+ * qualified names, along with the namespaces.
+ * </p>
  * 
  * @author Ernandes Mourao Junior (ernandes@gmail.com)
- * @version 1.0
+ * @version 1.3
  * @since 1.1
  */
 public final class SAXParser extends Parser {
+	/**
+	 * <p>
+	 * SAX parser.
+	 * </p>
+	 */
+	private javax.xml.parsers.SAXParser parser;
+	
+	/**
+	 * <p>
+	 * Handler wrapper.
+	 * </p>
+	 */
+	private WrapperHandler wrapper;
+	
 	/**
 	 * @see com.twitterapime.parser.Parser#parse(java.io.InputStream, com.twitterapime.parser.Handler)
 	 */
@@ -47,13 +70,19 @@ public final class SAXParser extends Parser {
 				"handler must be an instace of XMLHandler.");
 		}
 		//
-		javax.xml.parsers.SAXParserFactory factory =
-			javax.xml.parsers.SAXParserFactory.newInstance();
-		//
 		try {
-			javax.xml.parsers.SAXParser parser = factory.newSAXParser();
+			if (parser == null) {
+				javax.xml.parsers.SAXParserFactory factory =
+					javax.xml.parsers.SAXParserFactory.newInstance();
+				factory.setNamespaceAware(true); //otherwise, no localName.
+				factory.setFeature( //otherwise, qName may be empty.
+					"http://xml.org/sax/features/namespace-prefixes", true);
+				parser = factory.newSAXParser();
+				wrapper = new WrapperHandler();
+			}
 			//
-			parser.parse(stream, new WrapperHandler((XMLHandler)handler));
+			wrapper.reset((XMLHandler)handler);
+			parser.parse(stream, wrapper);
 		} catch (ParserConfigurationException e) {
 			throw new ParserException(e.getMessage());
 		} catch (SAXException e) {
@@ -64,6 +93,18 @@ public final class SAXParser extends Parser {
 			}
 		} catch (FactoryConfigurationError e) {
 			throw new ParserException(e.getMessage());
+		} finally {
+			reset();
+		}
+	}
+	
+	/**
+	 * @see com.twitterapime.parser.Parser#reset()
+	 */
+	public void reset() {
+		if (parser != null) {
+			parser.reset();
+			wrapper.reset(null);
 		}
 	}
 	
@@ -100,14 +141,23 @@ public final class SAXParser extends Parser {
 		 * <p>
 		 * Create an instance of WrapperHandler class.
 		 * </p>
-		 * @param handler Handler.
 		 */
-		public WrapperHandler(XMLHandler handler) {
-			this.handler = handler;
+		public WrapperHandler() {
 			attrs = new SAXAttributes();
 			text = new StringBuilder();
 		}
 		
+		/**
+		 * <p>
+		 * Reset the wrapper to translate the events to a given handler.
+		 * </p>
+		 * @param handler Handler.
+		 */
+		public void reset(XMLHandler handler) {
+			this.handler = handler;
+			text.setLength(0);
+		}
+		
 		/**
 		 * @see org.xml.sax.helpers.DefaultHandler#startDocument()
 		 */
@@ -137,7 +187,7 @@ public final class SAXParser extends Parser {
 			Attributes attributes) throws SAXException {
 			try {
 				attrs.loadAttributes(attributes);
-				handler.startElement(uri, localName, qName, attrs);
+				handler.startElement(uri, getName(localName, qName), qName, attrs);
 			} catch (ParserException e) {
 				throw new SAXException(e.getMessage(), e);
 			}
@@ -154,12 +204,25 @@ public final class SAXParser extends Parser {
 					text.setLength(0);
 				}
 				//
-				handler.endElement(uri, localName, qName);
+				handler.endElement(uri, getName(localName, qName), qName);
 			} catch (ParserException e) {
 				throw new SAXException(e.getMessage(), e);
 			}
 		}
 		
+		/**
+		 * <p>
+		 * Get the name of an element as the other parsers give it, i.e., with
+		 * its prefix, e.g., "georss:point", which the handlers are bound to.
+		 * </p>
+		 * @param localName Local name.
+		 * @param qName Qualified name.
+		 * @return Name.
+		 */
+		private String getName(String localName, String qName) {
+			return qName != null && qName.length() > 0 ? qName : localName;
+		}
+		
 		/**
 		 * @see org.xml.sax.helpers.DefaultHandler#characters(char[], int, int)
 		 */
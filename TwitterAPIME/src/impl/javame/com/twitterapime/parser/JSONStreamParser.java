@@ -0,0 +1,215 @@
+/*
+ * JSONStreamParser.java
+ * 18/10/2026
+ * Twitter API Micro Edition
+ * Copyright(c) Ernandes Mourao Junior (ernandes@gmail.com)
+ * All rights reserved
+ */
+package impl.javame.com.twitterapime.parser;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import com.twitterapime.parser.Handler;
+import com.twitterapime.parser.JSONEventHandler;
+import com.twitterapime.parser.JSONFieldFilter;
+import com.twitterapime.parser.JSONHandler;
+import com.twitterapime.parser.JSONLongHandler;
+import com.twitterapime.parser.JSONObject;
+import com.twitterapime.parser.JSONTreeBuilder;
+import com.twitterapime.parser.Parser;
+import com.twitterapime.parser.ParserException;
+
+/**
+ * <p>
+ * This class implements a JSON parser on top of {@link JSONTokenizer}.
+ * </p>
+ * <p>
+ * A {@link JSONEventHandler} is notified of each token as soon as it is pulled
+ * from the stream. For a {@link JSONHandler}, the objects are built by a
+ * {@link JSONTreeBuilder}, with no intermediate copy of the document, and the
+ * parsed value is handed to the handler as the member "root" of an outer
+ * object.
+ * </p>
+ * <p>
+ * A handler that implements {@link JSONFieldFilter} has the values of the
+ * members it rejects skipped by the tokenizer. One that implements
+ * {@link JSONLongHandler} has the integer numbers converted by the tokenizer,
+ * with no string created for them.
+ * </p>
+ * <p>
+ * The tokenizer and the tree builder are kept from a parsing to the next one,
+ * so an instance must not be shared by concurrent threads.
+ * </p>
+ *
+ * @author Ernandes Mourao Junior (ernandes@gmail.com)
+ * @version 1.4
+ * @since 2.0
+ */
+public final class JSONStreamParser extends Parser {
+	/**
+	 * <p>
+	 * Tokenizer.
+	 * </p>
+	 */
+	private JSONTokenizer tokenizer;
+	
+	/**
+	 * <p>
+	 * Tree builder.
+	 * </p>
+	 */
+	private JSONTreeBuilder builder;
+	
+	/**
+	 * @see com.twitterapime.parser.Parser#parse(java.io.InputStream, com.twitterapime.parser.Handler)
+	 */
+	public void parse(InputStream in, Handler handler) throws IOException,
+		ParserException {
+		final JSONFieldFilter filter =
+			handler instanceof JSONFieldFilter ? (JSONFieldFilter)handler : null;
+		//
+		if (handler instanceof JSONEventHandler) {
+			parse(in, (JSONEventHandler)handler, filter);
+			return;
+		}
+		if (!(handler instanceof JSONHandler)) {
+			throw new IllegalArgumentException(
+				"Handler object must implement JSONHandler.");
+		}
+		//
+		if (builder == null) {
+			builder = new JSONTreeBuilder();
+		} else {
+			builder.reset();
+		}
+		//
+		builder.startObject();
+		builder.fieldName("root");
+		parse(in, builder, filter);
+		builder.endObject();
+		//
+		try {
+			((JSONHandler)handler).handle((JSONObject)builder.getValue());
+		} catch (ParserException e) {
+			throw e;
+		} catch (Exception e) {
+			throw new ParserException(e.getMessage());
+		} finally {
+			builder.reset();
+		}
+	}
+	
+	/**
+	 * @see com.twitterapime.parser.Parser#reset()
+	 */
+	public void reset() {
+		if (tokenizer != null) {
+			tokenizer.close();
+		}
+		if (builder != null) {
+			builder.reset();
+		}
+	}
+
+	/**
+	 * <p>
+	 * Parse a given stream, notifying each token to a given event handler.
+	 * </p>
+	 * @param in Stream.
+	 * @param handler Handler.
+	 * @param filter Member filter or null, if all members are read.
+	 * @throws IOException If an I/O error occurs.
+	 * @throws ParserException If the document is malformed or the handler
+	 *         fails.
+	 */
+	private void parse(InputStream in, JSONEventHandler handler,
+		JSONFieldFilter filter) throws IOException, ParserException {
+		if (tokenizer == null) {
+			tokenizer = new JSONTokenizer(in);
+		} else {
+			tokenizer.reset(in);
+		}
+		//
+		final JSONLongHandler longHandler =
+			handler instanceof JSONLongHandler ? (JSONLongHandler)handler : null;
+		int token;
+		//
+		try {
+			while ((token = tokenizer.next()) != JSONTokenizer.END_DOCUMENT) {
+				switch (token) {
+				case JSONTokenizer.START_OBJECT:
+					handler.startObject();
+					break;
+				case JSONTokenizer.END_OBJECT:
+					handler.endObject();
+					break;
+				case JSONTokenizer.START_ARRAY:
+					handler.startArray();
+					break;
+				case JSONTokenizer.END_ARRAY:
+					handler.endArray();
+					break;
+				case JSONTokenizer.KEY:
+					final String name = tokenizer.getText();
+					//
+					if (filter == null
+							|| filter.accept(name, tokenizer.getDepth())) {
+						handler.fieldName(name);
+					} else {
+						tokenizer.skipValue();
+					}
+					break;
+				case JSONTokenizer.STRING:
+					handler.value(tokenizer.getText(), JSONObject.TYPE_STRING);
+					break;
+				case JSONTokenizer.NUMBER:
+					if (longHandler != null && toLong(longHandler)) {
+						break;
+					}
+					//
+					handler.value(tokenizer.getText(), JSONObject.TYPE_NUMBER);
+					break;
+				case JSONTokenizer.TRUE:
+					handler.value("true", JSONObject.TYPE_BOOLEAN);
+					break;
+				case JSONTokenizer.FALSE:
+					handler.value("false", JSONObject.TYPE_BOOLEAN);
+					break;
+				case JSONTokenizer.NULL:
+					handler.value("null", JSONObject.TYPE_NULL);
+					break;
+				}
+			}
+		} catch (IOException e) {
+			throw e;
+		} catch (ParserException e) {
+			throw e;
+		} catch (RuntimeException e) {
+			throw new ParserException(e.getMessage());
+		} finally {
+			tokenizer.close();
+		}
+	}
+
+	/**
+	 * <p>
+	 * Notify the current number token to a given handler as a long.
+	 * </p>
+	 * @param handler Handler.
+	 * @return Taken (true) or not an integer in the range of long, or not
+	 *         taken (false).
+	 * @throws ParserException If the handler fails.
+	 */
+	private boolean toLong(JSONLongHandler handler) throws ParserException {
+		final long value;
+		//
+		try {
+			value = tokenizer.getLong();
+		} catch (NumberFormatException e) {
+			return false;
+		}
+		//
+		return handler.longValue(value);
+	}
+}
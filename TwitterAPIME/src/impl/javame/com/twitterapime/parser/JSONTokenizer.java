@@ -0,0 +1,874 @@
+/*
+ * JSONTokenizer.java
+ * 18/10/2026
+ * Twitter API Micro Edition
+ * Copyright(c) Ernandes Mourao Junior (ernandes@gmail.com)
+ * All rights reserved
+ */
+package impl.javame.com.twitterapime.parser;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import com.twitterapime.io.BufferPool;
+import com.twitterapime.parser.ParserException;
+
+/**
+ * <p>
+ * This class implements a pull tokenizer of JSON documents.
+ * </p>
+ * <p>
+ * The tokens are read straight from the stream, through a buffer taken from
+ * {@link BufferPool}, and the UTF-8 bytes are decoded as the strings are
+ * read, so neither the whole document nor its decoded copy is held in memory.
+ * The syntax is checked as the tokens are pulled.
+ * </p>
+ * <p>
+ * <pre>
+ * JSONTokenizer t = new JSONTokenizer(in);
+ * try {
+ *   for (int tk; (tk = t.next()) != JSONTokenizer.END_DOCUMENT;) {
+ *     if (tk == JSONTokenizer.KEY) {
+ *       String key = t.getText();
+ *       ...
+ *     }
+ *   }
+ * } finally {
+ *   t.close();
+ * }
+ * </pre>
+ * </p>
+ *
+ * @author Ernandes Mourao Junior (ernandes@gmail.com)
+ * @version 1.1
+ * @since 2.0
+ * @see JSONStreamParser
+ */
+public final class JSONTokenizer {
+	/**
+	 * <p>
+	 * End of document token.
+	 * </p>
+	 */
+	public static final int END_DOCUMENT = 0;
+
+	/**
+	 * <p>
+	 * Start of object token, i.e., '{'.
+	 * </p>
+	 */
+	public static final int START_OBJECT = 1;
+
+	/**
+	 * <p>
+	 * End of object token, i.e., '}'.
+	 * </p>
+	 */
+	public static final int END_OBJECT = 2;
+
+	/**
+	 * <p>
+	 * Start of array token, i.e., '['.
+	 * </p>
+	 */
+	public static final int START_ARRAY = 3;
+
+	/**
+	 * <p>
+	 * End of array token, i.e., ']'.
+	 * </p>
+	 */
+	public static final int END_ARRAY = 4;
+
+	/**
+	 * <p>
+	 * Member key token.
+	 * </p>
+	 */
+	public static final int KEY = 5;
+
+	/**
+	 * <p>
+	 * String value token.
+	 * </p>
+	 */
+	public static final int STRING = 6;
+
+	/**
+	 * <p>
+	 * Number value token.
+	 * </p>
+	 */
+	public static final int NUMBER = 7;
+
+	/**
+	 * <p>
+	 * True value token.
+	 * </p>
+	 */
+	public static final int TRUE = 8;
+
+	/**
+	 * <p>
+	 * False value token.
+	 * </p>
+	 */
+	public static final int FALSE = 9;
+
+	/**
+	 * <p>
+	 * Null value token.
+	 * </p>
+	 */
+	public static final int NULL = 10;
+
+	/**
+	 * <p>
+	 * Document context.
+	 * </p>
+	 */
+	private static final byte CTX_DOCUMENT = 0;
+
+	/**
+	 * <p>
+	 * Object context, before first member.
+	 * </p>
+	 */
+	private static final byte CTX_OBJECT_START = 1;
+
+	/**
+	 * <p>
+	 * Object context, after a key.
+	 * </p>
+	 */
+	private static final byte CTX_OBJECT_KEY = 2;
+
+	/**
+	 * <p>
+	 * Object context, after a value.
+	 * </p>
+	 */
+	private static final byte CTX_OBJECT_VALUE = 3;
+
+	/**
+	 * <p>
+	 * Array context, before first element.
+	 * </p>
+	 */
+	private static final byte CTX_ARRAY_START = 4;
+
+	/**
+	 * <p>
+	 * Array context, after a value.
+	 * </p>
+	 */
+	private static final byte CTX_ARRAY_VALUE = 5;
+
+	/**
+	 * <p>
+	 * Document context, after the value.
+	 * </p>
+	 */
+	private static final byte CTX_DOCUMENT_END = 6;
+
+	/**
+	 * <p>
+	 * Input stream.
+	 * </p>
+	 */
+	private InputStream in;
+
+	/**
+	 * <p>
+	 * Input buffer.
+	 * </p>
+	 */
+	private byte[] buffer;
+
+	/**
+	 * <p>
+	 * Position in buffer.
+	 * </p>
+	 */
+	private int pos;
+
+	/**
+	 * <p>
+	 * Number of bytes in buffer.
+	 * </p>
+	 */
+	private int limit;
+
+	/**
+	 * <p>
+	 * Number of bytes consumed before the buffer.
+	 * </p>
+	 */
+	private int offset;
+
+	/**
+	 * <p>
+	 * Context stack.
+	 * </p>
+	 */
+	private byte[] stack;
+
+	/**
+	 * <p>
+	 * Context stack depth.
+	 * </p>
+	 */
+	private int depth;
+
+	/**
+	 * <p>
+	 * Text of current token.
+	 * </p>
+	 */
+	private char[] text;
+
+	/**
+	 * <p>
+	 * Length of text of current token.
+	 * </p>
+	 */
+	private int textLength;
+
+	/**
+	 * <p>
+	 * Create an instance of JSONTokenizer class.
+	 * </p>
+	 * @param in Input stream.
+	 * @throws IllegalArgumentException If in is null.
+	 */
+	public JSONTokenizer(InputStream in) {
+		stack = new byte[16];
+		text = new char[64];
+		//
+		reset(in);
+	}
+
+	/**
+	 * <p>
+	 * Reset the tokenizer to pull the tokens of another stream. The context
+	 * stack and the text buffer are kept, with the size they have grown to.
+	 * </p>
+	 * @param in Input stream.
+	 * @throws IllegalArgumentException If in is null.
+	 */
+	public void reset(InputStream in) {
+		if (in == null) {
+			throw new IllegalArgumentException("In must not be null.");
+		}
+		//
+		this.in = in;
+		//
+		if (buffer == null) {
+			buffer = BufferPool.getInstance().acquire();
+		}
+		//
+		pos = 0;
+		limit = 0;
+		offset = 0;
+		depth = 0;
+		stack[0] = CTX_DOCUMENT;
+		textLength = 0;
+	}
+
+	/**
+	 * <p>
+	 * Pull the next token.
+	 * </p>
+	 * @return Token, e.g., {@link #START_OBJECT}.
+	 * @throws IOException If an I/O error occurs.
+	 * @throws ParserException If the document is malformed.
+	 */
+	public int next() throws IOException, ParserException {
+		int c = skipWhitespace();
+		//
+		switch (stack[depth]) {
+		case CTX_DOCUMENT:
+			stack[depth] = CTX_DOCUMENT_END;
+			return readValue(c);
+		case CTX_DOCUMENT_END:
+			if (c != -1) {
+				throw unexpected(c);
+			}
+			return END_DOCUMENT;
+		case CTX_OBJECT_START:
+			if (c == '}') {
+				depth--;
+				return END_OBJECT;
+			}
+			return readKey(c);
+		case CTX_OBJECT_KEY:
+			if (c != ':') {
+				throw unexpected(c);
+			}
+			stack[depth] = CTX_OBJECT_VALUE;
+			return readValue(skipWhitespace());
+		case CTX_OBJECT_VALUE:
+			if (c == '}') {
+				depth--;
+				return END_OBJECT;
+			} else if (c != ',') {
+				throw unexpected(c);
+			}
+			return readKey(skipWhitespace());
+		case CTX_ARRAY_START:
+			if (c == ']') {
+				depth--;
+				return END_ARRAY;
+			}
+			stack[depth] = CTX_ARRAY_VALUE;
+			return readValue(c);
+		default: //CTX_ARRAY_VALUE
+			if (c == ']') {
+				depth--;
+				return END_ARRAY;
+			} else if (c != ',') {
+				throw unexpected(c);
+			}
+			return readValue(skipWhitespace());
+		}
+	}
+
+	/**
+	 * <p>
+	 * Skip the value of the member whose key was just pulled, with no token
+	 * for it, e.g., a whole object. The next token is the one after the value.
+	 * </p>
+	 * <p>
+	 * The bytes of a skipped object or array are only scanned for quotes and
+	 * brackets, so no text is decoded and its content is not validated.
+	 * </p>
+	 * @throws IOException If an I/O error occurs.
+	 * @throws ParserException If the document is malformed.
+	 * @throws IllegalStateException If the current token is not a key.
+	 */
+	public void skipValue() throws IOException, ParserException {
+		if (stack[depth] != CTX_OBJECT_KEY) {
+			throw new IllegalStateException("Current token is not a key.");
+		}
+		//
+		int c = skipWhitespace();
+		//
+		if (c != ':') {
+			throw unexpected(c);
+		}
+		stack[depth] = CTX_OBJECT_VALUE;
+		c = skipWhitespace();
+		//
+		switch (c) {
+		case '{':
+		case '[':
+			skipNested();
+			break;
+		case '"':
+			skipString();
+			break;
+		default:
+			readValue(c);
+		}
+	}
+
+	/**
+	 * <p>
+	 * Get the text of the current token, i.e., the key, the string value or
+	 * the number.
+	 * </p>
+	 * @return Text.
+	 */
+	public String getText() {
+		return new String(text, 0, textLength);
+	}
+
+	/**
+	 * <p>
+	 * Get the current number token as a long, converted from its characters
+	 * with no string created.
+	 * </p>
+	 * @return Value.
+	 * @throws NumberFormatException If the number is not an integer in the
+	 *                               range of long.
+	 */
+	public long getLong() {
+		final boolean negative = textLength > 0 && text[0] == '-';
+		int i = negative ? 1 : 0;
+		long value = 0;
+		//
+		if (i == textLength) {
+			throw new NumberFormatException(getText());
+		}
+		//
+		for (; i < textLength; i++) { //accumulated negatively, like Long.
+			final int digit = text[i] - '0';
+			//
+			if (digit < 0 || digit > 9 || value < Long.MIN_VALUE / 10) {
+				throw new NumberFormatException(getText());
+			}
+			//
+			value *= 10;
+			//
+			if (value < Long.MIN_VALUE + digit) {
+				throw new NumberFormatException(getText());
+			}
+			//
+			value -= digit;
+		}
+		//
+		if (negative) {
+			return value;
+		} else if (value == Long.MIN_VALUE) {
+			throw new NumberFormatException(getText());
+		} else {
+			return -value;
+		}
+	}
+
+	/**
+	 * <p>
+	 * Get the depth of the current token, i.e., the number of objects and
+	 * arrays open.
+	 * </p>
+	 * @return Depth.
+	 */
+	public int getDepth() {
+		return depth;
+	}
+
+	/**
+	 * <p>
+	 * Release the tokenizer's buffer. The stream is not closed. The tokenizer
+	 * can still be reset to another stream.
+	 * </p>
+	 */
+	public void close() {
+		in = null;
+		//
+		if (buffer != null) {
+			BufferPool.getInstance().release(buffer);
+			buffer = null;
+		}
+	}
+
+	/**
+	 * <p>
+	 * Read a member key, whose opening quote is given.
+	 * </p>
+	 * @param c Character read.
+	 * @return {@link #KEY}.
+	 * @throws IOException If an I/O error occurs.
+	 * @throws ParserException If the document is malformed.
+	 */
+	private int readKey(int c) throws IOException, ParserException {
+		if (c != '"') {
+			throw unexpected(c);
+		}
+		//
+		readString();
+		stack[depth] = CTX_OBJECT_KEY;
+		//
+		return KEY;
+	}
+
+	/**
+	 * <p>
+	 * Read a value, whose first character is given.
+	 * </p>
+	 * @param c Character read.
+	 * @return Token.
+	 * @throws IOException If an I/O error occurs.
+	 * @throws ParserException If the document is malformed.
+	 */
+	private int readValue(int c) throws IOException, ParserException {
+		switch (c) {
+		case '{':
+			push(CTX_OBJECT_START);
+			return START_OBJECT;
+		case '[':
+			push(CTX_ARRAY_START);
+			return START_ARRAY;
+		case '"':
+			readString();
+			return STRING;
+		case 't':
+			readLiteral("rue");
+			return TRUE;
+		case 'f':
+			readLiteral("alse");
+			return FALSE;
+		case 'n':
+			readLiteral("ull");
+			return NULL;
+		default:
+			if (c == '-' || (c >= '0' && c <= '9')) {
+				readNumber(c);
+				return NUMBER;
+			}
+			//
+			throw unexpected(c);
+		}
+	}
+
+	/**
+	 * <p>
+	 * Read a string, whose opening quote is already read, decoding its UTF-8
+	 * bytes and escape sequences into the text.
+	 * </p>
+	 * @throws IOException If an I/O error occurs.
+	 * @throws ParserException If the document is malformed.
+	 */
+	private void readString() throws IOException, ParserException {
+		textLength = 0;
+		//
+		for (;;) {
+			if (pos == limit && !fill()) {
+				throw new ParserException("Unterminated string.");
+			}
+			//
+			//ASCII fast path.
+			int b = buffer[pos];
+			while (b > '"' && b != '\\' && pos < limit) {
+				append((char)b);
+				if (++pos < limit) {
+					b = buffer[pos];
+				}
+			}
+			//
+			if (pos == limit) {
+				continue;
+			}
+			//
+			pos++;
+			//
+			if (b == '"') {
+				return;
+			} else if (b == '\\') {
+				readEscape();
+			} else if (b >= 0) {
+				if (b < 0x20) {
+					throw unexpected(b);
+				}
+				append((char)b);
+			} else {
+				readMultiByte(b & 0xff);
+			}
+		}
+	}
+
+	/**
+	 * <p>
+	 * Skip a string, whose opening quote is already read.
+	 * </p>
+	 * @throws IOException If an I/O error occurs.
+	 * @throws ParserException If the document is malformed.
+	 */
+	private void skipString() throws IOException, ParserException {
+		for (;;) {
+			if (pos == limit && !fill()) {
+				throw new ParserException("Unterminated string.");
+			}
+			//
+			final byte b = buffer[pos++];
+			//
+			if (b == '"') {
+				return;
+			} else if (b == '\\' && read() == -1) {
+				throw new ParserException("Unterminated string.");
+			}
+		}
+	}
+
+	/**
+	 * <p>
+	 * Skip an object or an array, whose opening bracket is already read.
+	 * </p>
+	 * @throws IOException If an I/O error occurs.
+	 * @throws ParserException If the document is malformed.
+	 */
+	private void skipNested() throws IOException, ParserException {
+		int level = 1;
+		//
+		while (level > 0) {
+			if (pos == limit && !fill()) {
+				throw unexpected(-1);
+			}
+			//
+			switch (buffer[pos++]) {
+			case '"':
+				skipString();
+				break;
+			case '{':
+			case '[':
+				level++;
+				break;
+			case '}':
+			case ']':
+				level--;
+				break;
+			}
+		}
+	}
+
+	/**
+	 * <p>
+	 * Read an escape sequence, whose backslash is already read.
+	 * </p>
+	 * @throws IOException If an I/O error occurs.
+	 * @throws ParserException If the document is malformed.
+	 */
+	private void readEscape() throws IOException, ParserException {
+		final int c = read();
+		//
+		switch (c) {
+		case '"':
+		case '\\':
+		case '/':
+			append((char)c);
+			break;
+		case 'b':
+			append('\b');
+			break;
+		case 'f':
+			append('\f');
+			break;
+		case 'n':
+			append('\n');
+			break;
+		case 'r':
+			append('\r');
+			break;
+		case 't':
+			append('\t');
+			break;
+		case 'u':
+			int u = 0;
+			//
+			for (int i = 0; i < 4; i++) {
+				final int h = read();
+				//
+				if (h >= '0' && h <= '9') {
+					u = (u << 4) + h - '0';
+				} else if (h >= 'a' && h <= 'f') {
+					u = (u << 4) + h - 'a' + 10;
+				} else if (h >= 'A' && h <= 'F') {
+					u = (u << 4) + h - 'A' + 10;
+				} else {
+					throw unexpected(h);
+				}
+			}
+			//
+			append((char)u);
+			break;
+		default:
+			throw unexpected(c);
+		}
+	}
+
+	/**
+	 * <p>
+	 * Decode a UTF-8 multi-byte sequence, whose first byte is given.
+	 * Malformed sequences are decoded as U+FFFD.
+	 * </p>
+	 * @param b First byte.
+	 * @throws IOException If an I/O error occurs.
+	 * @throws ParserException If the document is malformed.
+	 */
+	private void readMultiByte(int b) throws IOException, ParserException {
+		int n;
+		int cp;
+		//
+		if ((b & 0xe0) == 0xc0) {
+			n = 1;
+			cp = b & 0x1f;
+		} else if ((b & 0xf0) == 0xe0) {
+			n = 2;
+			cp = b & 0x0f;
+		} else if ((b & 0xf8) == 0xf0) {
+			n = 3;
+			cp = b & 0x07;
+		} else {
+			append('\ufffd');
+			return;
+		}
+		//
+		for (int i = 0; i < n; i++) {
+			final int c = read();
+			//
+			if ((c & 0xc0) != 0x80) {
+				append('\ufffd');
+				//
+				if (c != -1) {
+					pos--; //not part of the sequence.
+				}
+				return;
+			}
+			//
+			cp = (cp << 6) | (c & 0x3f);
+		}
+		//
+		if (cp >= 0x10000) {
+			cp -= 0x10000;
+			append((char)(0xd800 | (cp >> 10)));
+			append((char)(0xdc00 | (cp & 0x3ff)));
+		} else {
+			append((char)cp);
+		}
+	}
+
+	/**
+	 * <p>
+	 * Read a number, whose first character is given, into the text.
+	 * </p>
+	 * @param c Character read.
+	 * @throws IOException If an I/O error occurs.
+	 * @throws ParserException If the document is malformed.
+	 */
+	private void readNumber(int c) throws IOException, ParserException {
+		textLength = 0;
+		append((char)c);
+		//
+		for (;;) {
+			if (pos == limit && !fill()) {
+				break;
+			}
+			//
+			c = buffer[pos];
+			//
+			if ((c >= '0' && c <= '9') || c == '.' || c == 'e' || c == 'E'
+					|| c == '-' || c == '+') {
+				append((char)c);
+				pos++;
+			} else {
+				break;
+			}
+		}
+		//
+		if (text[textLength -1] < '0' || text[textLength -1] > '9') {
+			throw new ParserException("Invalid number: " + getText());
+		}
+	}
+
+	/**
+	 * <p>
+	 * Read the rest of a literal, i.e., true, false or null.
+	 * </p>
+	 * @param rest Rest of literal.
+	 * @throws IOException If an I/O error occurs.
+	 * @throws ParserException If the document is malformed.
+	 */
+	private void readLiteral(String rest) throws IOException, ParserException {
+		for (int i = 0; i < rest.length(); i++) {
+			final int c = read();
+			//
+			if (c != rest.charAt(i)) {
+				throw unexpected(c);
+			}
+		}
+	}
+
+	/**
+	 * <p>
+	 * Skip the whitespaces and return the next character.
+	 * </p>
+	 * @return Character or -1, if end of stream.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	private int skipWhitespace() throws IOException {
+		for (;;) {
+			final int c = read();
+			//
+			if (c != ' ' && c != '\n' && c != '\r' && c != '\t') {
+				return c;
+			}
+		}
+	}
+
+	/**
+	 * <p>
+	 * Read the next byte.
+	 * </p>
+	 * @return Byte or -1, if end of stream.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	private int read() throws IOException {
+		if (pos == limit && !fill()) {
+			return -1;
+		}
+		//
+		return buffer[pos++] & 0xff;
+	}
+
+	/**
+	 * <p>
+	 * Fill the buffer with the next bytes of the stream.
+	 * </p>
+	 * @return Filled (true) or end of stream (false).
+	 * @throws IOException If an I/O error occurs.
+	 */
+	private boolean fill() throws IOException {
+		if (buffer == null) {
+			throw new IOException("Tokenizer is closed.");
+		}
+		//
+		offset += limit;
+		pos = 0;
+		limit = in.read(buffer, 0, buffer.length);
+		//
+		if (limit <= 0) {
+			limit = 0;
+			return false;
+		}
+		//
+		return true;
+	}
+
+	/**
+	 * <p>
+	 * Append a character to the text.
+	 * </p>
+	 * @param c Character.
+	 */
+	private void append(char c) {
+		if (textLength == text.length) {
+			char[] newText = new char[text.length * 2];
+			System.arraycopy(text, 0, newText, 0, textLength);
+			text = newText;
+		}
+		//
+		text[textLength++] = c;
+	}
+
+	/**
+	 * <p>
+	 * Push a context.
+	 * </p>
+	 * @param ctx Context.
+	 */
+	private void push(byte ctx) {
+		if (++depth == stack.length) {
+			byte[] newStack = new byte[stack.length * 2];
+			System.arraycopy(stack, 0, newStack, 0, depth);
+			stack = newStack;
+		}
+		//
+		stack[depth] = ctx;
+	}
+
+	/**
+	 * <p>
+	 * Create the exception of an unexpected character.
+	 * </p>
+	 * @param c Character or -1, if end of stream.
+	 * @return Exception.
+	 */
+	private ParserException unexpected(int c) {
+		if (c == -1) {
+			return new ParserException("Unexpected end of document.");
+		}
+		//
+		return new ParserException(
+			"Unexpected character '" + (char)c + "' at " + (offset + pos -1));
+	}
+}
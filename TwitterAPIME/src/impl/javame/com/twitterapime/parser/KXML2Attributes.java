@@ -19,7 +19,7 @@ import com.twitterapime.parser.Attributes;
  * </p>
  * 
  * @author Ernandes Mourao Junior (ernandes@gmail.com)
- * @version 1.0
+ * @version 1.1
  * @since 1.1
  */
 public final class KXML2Attributes implements Attributes {
@@ -105,7 +105,7 @@ public final class KXML2Attributes implements Attributes {
 	 * @param parser Kxml parser object.
 	 */
 	public void loadAttributes(KXmlParser parser) {
-		attributes.removeAllElements();
+		clear();
 		Attribute attr;
 		//
 		for (int i = parser.getAttributeCount() -1; i >= 0; i--) {
@@ -118,6 +118,15 @@ public final class KXML2Attributes implements Attributes {
 		}
 	}
 	
+	/**
+	 * <p>
+	 * Remove all the attributes.
+	 * </p>
+	 */
+	public void clear() {
+		attributes.removeAllElements();
+	}
+	
 	/**
 	 * <p>
 	 * This class defines an attribute.
@@ -24,12 +24,30 @@ import com.twitterapime.parser.XMLHandler;
  * <p>
  * This class implements a parser based on KXML2 library.
  * </p>
+ * <p>
+ * The KXML2 parser and its buffers are kept from a parsing to the next one, so
+ * an instance must not be shared by concurrent threads.
+ * </p>
  * 
  * @author Ernandes Mourao Junior (ernandes@gmail.com)
- * @version 1.1
+ * @version 1.2
  * @since 1.1
  */
 public final class KXML2Parser extends Parser {
+	/**
+	 * <p>
+	 * KXML2 parser.
+	 * </p>
+	 */
+	private KXmlParser parser;
+	
+	/**
+	 * <p>
+	 * Attributes of the current element.
+	 * </p>
+	 */
+	private KXML2Attributes attrs;
+	
 	/**
 	 * @see com.twitterapime.parser.Parser#parse(java.io.InputStream, com.twitterapime.parser.Handler)
 	 */
@@ -45,9 +63,12 @@ public final class KXML2Parser extends Parser {
 				"handler must be an instace of XMLHandler.");
 		}
 		//
-		KXmlParser parser = new KXmlParser();
+		if (parser == null) {
+			parser = new KXmlParser();
+			attrs = new KXML2Attributes();
+		}
+		//
 		XMLHandler xmlHandler = (XMLHandler)handler;
-		KXML2Attributes attrs = new KXML2Attributes();
 		//
 		try {
 			parser.setInput(new InputStreamReader(stream, "UTF-8"));
@@ -80,6 +101,21 @@ public final class KXML2Parser extends Parser {
 			}
 		} catch (XmlPullParserException e) {
 			throw new ParserException(e.getMessage());
+		} finally {
+			reset();
+		}
+	}
+	
+	/**
+	 * @see com.twitterapime.parser.Parser#reset()
+	 */
+	public void reset() {
+		if (parser != null) {
+			try {
+				parser.setInput(null);
+			} catch (XmlPullParserException e) {
+			}
+			attrs.clear();
 		}
 	}
 	
@@ -0,0 +1,110 @@
+/*
+ * XMLStreamParser.java
+ * 18/10/2026
+ * Twitter API Micro Edition
+ * Copyright(c) Ernandes Mourao Junior (ernandes@gmail.com)
+ * All rights reserved
+ */
+package impl.javame.com.twitterapime.parser;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import com.twitterapime.parser.Handler;
+import com.twitterapime.parser.Parser;
+import com.twitterapime.parser.ParserException;
+import com.twitterapime.parser.XMLHandler;
+
+/**
+ * <p>
+ * This class implements a XML parser on top of {@link XMLTokenizer}.
+ * </p>
+ * <p>
+ * The handler is notified of the same events, with the same values, as by
+ * {@link KXML2Parser}, i.e., no namespace processing, trimmed text and
+ * attributes' names in lower case, except {@link XMLHandler#startDocument()},
+ * which is also notified. The attributes handed to the handler are a view of
+ * the tokenizer, only valid while the start tag is notified.
+ * </p>
+ * <p>
+ * The tokenizer is kept from a parsing to the next one, so an instance must
+ * not be shared by concurrent threads.
+ * </p>
+ *
+ * @author Ernandes Mourao Junior (ernandes@gmail.com)
+ * @version 1.0
+ * @since 2.0
+ */
+public final class XMLStreamParser extends Parser {
+	/**
+	 * <p>
+	 * Tokenizer.
+	 * </p>
+	 */
+	private XMLTokenizer tokenizer;
+
+	/**
+	 * <p>
+	 * Attributes' view.
+	 * </p>
+	 */
+	private XMLTokenizerAttributes attrs;
+
+	/**
+	 * @see com.twitterapime.parser.Parser#parse(java.io.InputStream, com.twitterapime.parser.Handler)
+	 */
+	public void parse(InputStream stream, Handler handler) throws IOException,
+		ParserException {
+		if (stream == null) {
+			throw new NullPointerException("stream must not be null.");
+		}
+		if (handler == null) {
+			throw new NullPointerException("handler must not be null.");
+		} else if (!(handler instanceof XMLHandler)) {
+			throw new ClassCastException(
+				"handler must be an instace of XMLHandler.");
+		}
+		//
+		if (tokenizer == null) {
+			tokenizer = new XMLTokenizer(stream);
+			attrs = new XMLTokenizerAttributes(tokenizer);
+		} else {
+			tokenizer.reset(stream);
+		}
+		//
+		XMLHandler xmlHandler = (XMLHandler)handler;
+		int token;
+		//
+		try {
+			xmlHandler.startDocument();
+			//
+			while ((token = tokenizer.next()) != XMLTokenizer.END_DOCUMENT) {
+				switch (token) {
+				case XMLTokenizer.START_TAG:
+					xmlHandler.startElement(
+						"", tokenizer.getName(), null, attrs);
+					break;
+				case XMLTokenizer.END_TAG:
+					xmlHandler.endElement("", tokenizer.getName(), null);
+					break;
+				case XMLTokenizer.TEXT:
+					xmlHandler.text(tokenizer.getText());
+					break;
+				}
+			}
+			//
+			xmlHandler.endDocument();
+		} finally {
+			tokenizer.close();
+		}
+	}
+
+	/**
+	 * @see com.twitterapime.parser.Parser#reset()
+	 */
+	public void reset() {
+		if (tokenizer != null) {
+			tokenizer.close();
+		}
+	}
+}
@@ -0,0 +1,1065 @@
+/*
+ * XMLTokenizer.java
+ * 18/10/2026
+ * Twitter API Micro Edition
+ * Copyright(c) Ernandes Mourao Junior (ernandes@gmail.com)
+ * All rights reserved
+ */
+package impl.javame.com.twitterapime.parser;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import com.twitterapime.io.BufferPool;
+import com.twitterapime.parser.ParserException;
+
+/**
+ * <p>
+ * This class implements a pull tokenizer of UTF-8 XML documents.
+ * </p>
+ * <p>
+ * The tokens are read straight from the stream's bytes, through a buffer
+ * taken from {@link BufferPool}, with no reader in between. Text is handed
+ * trimmed, as {@link KXML2Parser} does, and whitespace-only text creates no
+ * string. The tags' names are kept in a small table, so a name repeated
+ * through the document is created once, and the attributes are only turned
+ * into strings when they are asked for.
+ * </p>
+ * <p>
+ * Comments, processing instructions and the document type declaration are
+ * skipped. Text around comments and CDATA sections is merged into a single
+ * text token. Whitespace-only text outside the elements is ignored. Only the
+ * predefined and the character entities are resolved.
+ * </p>
+ * <p>
+ * <pre>
+ * XMLTokenizer t = new XMLTokenizer(in);
+ * try {
+ *   for (int tk; (tk = t.next()) != XMLTokenizer.END_DOCUMENT;) {
+ *     if (tk == XMLTokenizer.START_TAG) {
+ *       String name = t.getName();
+ *       ...
+ *     }
+ *   }
+ * } finally {
+ *   t.close();
+ * }
+ * </pre>
+ * </p>
+ *
+ * @author Ernandes Mourao Junior (ernandes@gmail.com)
+ * @version 1.0
+ * @since 2.0
+ * @see XMLStreamParser
+ */
+public final class XMLTokenizer {
+	/**
+	 * <p>
+	 * End of document token.
+	 * </p>
+	 */
+	public static final int END_DOCUMENT = 0;
+
+	/**
+	 * <p>
+	 * Start tag token.
+	 * </p>
+	 */
+	public static final int START_TAG = 1;
+
+	/**
+	 * <p>
+	 * End tag token.
+	 * </p>
+	 */
+	public static final int END_TAG = 2;
+
+	/**
+	 * <p>
+	 * Text token.
+	 * </p>
+	 */
+	public static final int TEXT = 3;
+
+	/**
+	 * <p>
+	 * Size of the names table (power of 2).
+	 * </p>
+	 */
+	private static final int NAMES_SIZE = 128;
+
+	/**
+	 * <p>
+	 * Input stream.
+	 * </p>
+	 */
+	private InputStream in;
+
+	/**
+	 * <p>
+	 * Input buffer.
+	 * </p>
+	 */
+	private byte[] buffer;
+
+	/**
+	 * <p>
+	 * Position in buffer.
+	 * </p>
+	 */
+	private int pos;
+
+	/**
+	 * <p>
+	 * Number of bytes in buffer.
+	 * </p>
+	 */
+	private int limit;
+
+	/**
+	 * <p>
+	 * Offset of buffer in the stream.
+	 * </p>
+	 */
+	private int offset;
+
+	/**
+	 * <p>
+	 * Names of the open elements.
+	 * </p>
+	 */
+	private String[] stack;
+
+	/**
+	 * <p>
+	 * Number of open elements.
+	 * </p>
+	 */
+	private int depth;
+
+	/**
+	 * <p>
+	 * Current tag's name.
+	 * </p>
+	 */
+	private String name;
+
+	/**
+	 * <p>
+	 * Flag of a pending end tag, after an empty element.
+	 * </p>
+	 */
+	private boolean emptyElement;
+
+	/**
+	 * <p>
+	 * First character of a tag read after a text, or -1, if none.
+	 * </p>
+	 */
+	private int pendingTag;
+
+	/**
+	 * <p>
+	 * Text buffer, also used for names.
+	 * </p>
+	 */
+	private char[] text;
+
+	/**
+	 * <p>
+	 * Text length, without trailing whitespaces.
+	 * </p>
+	 */
+	private int textLength;
+
+	/**
+	 * <p>
+	 * Text length, with trailing whitespaces.
+	 * </p>
+	 */
+	private int rawTextLength;
+
+	/**
+	 * <p>
+	 * Attributes' characters.
+	 * </p>
+	 */
+	private char[] attrChars;
+
+	/**
+	 * <p>
+	 * Length of the attributes' characters.
+	 * </p>
+	 */
+	private int attrCharsLength;
+
+	/**
+	 * <p>
+	 * Attributes' bounds, i.e., name's start and end and value's start and
+	 * end, in attrChars.
+	 * </p>
+	 */
+	private int[] attrBounds;
+
+	/**
+	 * <p>
+	 * Number of attributes.
+	 * </p>
+	 */
+	private int attrCount;
+
+	/**
+	 * <p>
+	 * Names table.
+	 * </p>
+	 */
+	private String[] names;
+
+	/**
+	 * <p>
+	 * Create an instance of XMLTokenizer class.
+	 * </p>
+	 * @param in Stream.
+	 * @throws IllegalArgumentException If in is null.
+	 */
+	public XMLTokenizer(InputStream in) {
+		stack = new String[16];
+		text = new char[128];
+		attrChars = new char[128];
+		attrBounds = new int[4 * 8];
+		names = new String[NAMES_SIZE];
+		//
+		reset(in);
+	}
+
+	/**
+	 * <p>
+	 * Reset the tokenizer to read a given stream, keeping its buffers.
+	 * </p>
+	 * @param in Stream.
+	 * @throws IllegalArgumentException If in is null.
+	 */
+	public void reset(InputStream in) {
+		if (in == null) {
+			throw new IllegalArgumentException("In must not be null.");
+		}
+		//
+		this.in = in;
+		//
+		if (buffer == null) {
+			buffer = BufferPool.getInstance().acquire();
+		}
+		//
+		pos = 0;
+		limit = 0;
+		offset = 0;
+		depth = 0;
+		name = null;
+		emptyElement = false;
+		pendingTag = -1;
+		textLength = 0;
+		rawTextLength = 0;
+		attrCount = 0;
+	}
+
+	/**
+	 * <p>
+	 * Read the next token.
+	 * </p>
+	 * @return Token, e.g., {@link #START_TAG}.
+	 * @throws IOException If an I/O error occurs.
+	 * @throws ParserException If the document is malformed.
+	 */
+	public int next() throws IOException, ParserException {
+		if (emptyElement) {
+			emptyElement = false;
+			depth--;
+			//
+			return END_TAG;
+		}
+		if (pendingTag != -1) {
+			final int c = pendingTag;
+			pendingTag = -1;
+			//
+			return readTag(c);
+		}
+		//
+		textLength = 0;
+		rawTextLength = 0;
+		boolean hasText = false;
+		//
+		for (;;) {
+			if (pos == limit && !fill()) {
+				if (depth > 0) {
+					throw unexpected(-1);
+				}
+				//
+				return hasText && textLength > 0 ? TEXT : END_DOCUMENT;
+			}
+			//
+			int b = buffer[pos++];
+			//
+			if (b == '<') {
+				final int c = read();
+				//
+				if (c == '!') {
+					hasText |= readMarkup();
+				} else if (c == '?') {
+					skipTo('?', '>');
+				} else if (c == -1) {
+					throw unexpected(c);
+				} else if (hasText && (depth > 0 || textLength > 0)) {
+					pendingTag = c;
+					//
+					return TEXT;
+				} else {
+					return readTag(c);
+				}
+			} else {
+				hasText = true;
+				//
+				if (b == '&') {
+					readEntity(true);
+				} else if (b == '\r') {
+					skipLineFeed();
+					append('\n', true);
+				} else if (b >= 0) {
+					append(b, true);
+				} else {
+					append(readMultiByte(b & 0xff), true);
+				}
+			}
+		}
+	}
+
+	/**
+	 * <p>
+	 * Get the current tag's name.
+	 * </p>
+	 * @return Name.
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * <p>
+	 * Get the current text, trimmed.
+	 * </p>
+	 * @return Text.
+	 */
+	public String getText() {
+		return textLength == 0 ? "" : new String(text, 0, textLength);
+	}
+
+	/**
+	 * <p>
+	 * Get the number of open elements.
+	 * </p>
+	 * @return Depth.
+	 */
+	public int getDepth() {
+		return depth;
+	}
+
+	/**
+	 * <p>
+	 * Get the number of the current start tag's attributes.
+	 * </p>
+	 * @return Number.
+	 */
+	public int getAttributeCount() {
+		return attrCount;
+	}
+
+	/**
+	 * <p>
+	 * Get the name of a given attribute, in lower case.
+	 * </p>
+	 * @param index Index, in the document's order.
+	 * @return Name.
+	 */
+	public String getAttributeName(int index) {
+		final int start = attrBounds[index * 4];
+		final int end = attrBounds[index * 4 +1];
+		final char[] lower = new char[end - start];
+		//
+		for (int i = 0; i < lower.length; i++) {
+			lower[i] = Character.toLowerCase(attrChars[start + i]);
+		}
+		//
+		return new String(lower);
+	}
+
+	/**
+	 * <p>
+	 * Get the value of a given attribute.
+	 * </p>
+	 * @param index Index, in the document's order.
+	 * @return Value.
+	 */
+	public String getAttributeValue(int index) {
+		final int start = attrBounds[index * 4 +2];
+		//
+		return new String(attrChars, start, attrBounds[index * 4 +3] - start);
+	}
+
+	/**
+	 * <p>
+	 * Get the first attribute whose name in lower case is a given one. No
+	 * string is created.
+	 * </p>
+	 * @param qName Name.
+	 * @return Index, in the document's order, or -1, if there is none.
+	 */
+	public int getAttributeIndex(String qName) {
+		for (int i = 0; i < attrCount; i++) {
+			final int start = attrBounds[i * 4];
+			final int length = attrBounds[i * 4 +1] - start;
+			//
+			if (length == qName.length()) {
+				int j = 0;
+				//
+				while (j < length && Character.toLowerCase(
+						attrChars[start + j]) == qName.charAt(j)) {
+					j++;
+				}
+				//
+				if (j == length) {
+					return i;
+				}
+			}
+		}
+		//
+		return -1;
+	}
+
+	/**
+	 * <p>
+	 * Release the buffer to the pool and the stream.
+	 * </p>
+	 */
+	public void close() {
+		in = null;
+		//
+		if (buffer != null) {
+			BufferPool.getInstance().release(buffer);
+			buffer = null;
+		}
+	}
+
+	/**
+	 * <p>
+	 * Read a tag, whose '&lt;' is already read.
+	 * </p>
+	 * @param c First character after '&lt;'.
+	 * @return Token.
+	 * @throws IOException If an I/O error occurs.
+	 * @throws ParserException If the tag is malformed.
+	 */
+	private int readTag(int c) throws IOException, ParserException {
+		if (c == '/') {
+			c = readName(read());
+			//
+			if (depth == 0 || !stack[depth -1].equals(name)) {
+				throw new ParserException(
+					"Unexpected end tag </" + name + "> at " + (offset + pos));
+			}
+			//
+			c = skipWhitespace(c);
+			//
+			if (c != '>') {
+				throw unexpected(c);
+			}
+			//
+			depth--;
+			//
+			return END_TAG;
+		}
+		//
+		c = readName(c);
+		attrCount = 0;
+		attrCharsLength = 0;
+		//
+		for (;;) {
+			c = skipWhitespace(c);
+			//
+			if (c == '>') {
+				break;
+			} else if (c == '/') {
+				c = read();
+				//
+				if (c != '>') {
+					throw unexpected(c);
+				}
+				//
+				emptyElement = true;
+				break;
+			}
+			//
+			c = readAttribute(c);
+		}
+		//
+		push(name);
+		//
+		return START_TAG;
+	}
+
+	/**
+	 * <p>
+	 * Read a tag's name and keep it in the current name.
+	 * </p>
+	 * @param c First character.
+	 * @return Next character.
+	 * @throws IOException If an I/O error occurs.
+	 * @throws ParserException If the name is empty.
+	 */
+	private int readName(int c) throws IOException, ParserException {
+		int length = 0;
+		int hash = 0;
+		//
+		while (isNameChar(c)) {
+			if (c >= 0x80) {
+				c = readMultiByte(c);
+				//
+				if (c >= 0x10000) {
+					c = '\ufffd';
+				}
+			}
+			if (length == text.length) {
+				text = grow(text, length);
+			}
+			//
+			text[length++] = (char)c;
+			hash = 31 * hash + c;
+			c = read();
+		}
+		//
+		if (length == 0) {
+			throw unexpected(c);
+		}
+		//
+		final int i = hash & (NAMES_SIZE -1);
+		String n = names[i];
+		//
+		if (n == null || !matches(n, text, length)) {
+			n = new String(text, 0, length);
+			names[i] = n;
+		}
+		//
+		name = n;
+		//
+		return c;
+	}
+
+	/**
+	 * <p>
+	 * Read an attribute of a start tag.
+	 * </p>
+	 * @param c First character of its name.
+	 * @return Next character.
+	 * @throws IOException If an I/O error occurs.
+	 * @throws ParserException If the attribute is malformed.
+	 */
+	private int readAttribute(int c) throws IOException, ParserException {
+		if ((attrCount +1) * 4 > attrBounds.length) {
+			int[] newBounds = new int[attrBounds.length * 2];
+			System.arraycopy(attrBounds, 0, newBounds, 0, attrCount * 4);
+			attrBounds = newBounds;
+		}
+		//
+		final int index = attrCount * 4;
+		attrBounds[index] = attrCharsLength;
+		//
+		while (isNameChar(c)) {
+			append(c < 0x80 ? c : readMultiByte(c), false);
+			c = read();
+		}
+		//
+		attrBounds[index +1] = attrCharsLength;
+		//
+		if (attrBounds[index] == attrCharsLength) {
+			throw unexpected(c);
+		}
+		//
+		c = skipWhitespace(c);
+		//
+		if (c != '=') {
+			throw unexpected(c);
+		}
+		//
+		final int quote = skipWhitespace(read());
+		//
+		if (quote != '"' && quote != '\'') {
+			throw unexpected(quote);
+		}
+		//
+		attrBounds[index +2] = attrCharsLength;
+		//
+		while ((c = read()) != quote) {
+			if (c == -1 || c == '<') {
+				throw unexpected(c);
+			} else if (c == '&') {
+				readEntity(false);
+			} else if (c == '\r' || c == '\n') {
+				if (c == '\r') {
+					skipLineFeed();
+				}
+				append(' ', false);
+			} else {
+				append(c < 0x80 ? c : readMultiByte(c), false);
+			}
+		}
+		//
+		attrBounds[index +3] = attrCharsLength;
+		attrCount++;
+		//
+		return read();
+	}
+
+	/**
+	 * <p>
+	 * Read a markup starting with "&lt;!", i.e., a comment, a CDATA section
+	 * or a declaration.
+	 * </p>
+	 * @return Text read (true), i.e., a CDATA section.
+	 * @throws IOException If an I/O error occurs.
+	 * @throws ParserException If the markup is malformed.
+	 */
+	private boolean readMarkup() throws IOException, ParserException {
+		int c = read();
+		//
+		if (c == '-') {
+			if ((c = read()) != '-') {
+				throw unexpected(c);
+			}
+			//
+			skipTo('-', '-');
+			//
+			if ((c = read()) != '>') {
+				throw unexpected(c);
+			}
+			//
+			return false;
+		} else if (c == '[') {
+			for (int i = 0; i < 6; i++) {
+				if ((c = read()) != "CDATA[".charAt(i)) {
+					throw unexpected(c);
+				}
+			}
+			//
+			int brackets = 0; //"]" read, which may start "]]>".
+			//
+			for (;;) {
+				c = read();
+				//
+				if (c == -1) {
+					throw unexpected(c);
+				} else if (c == ']') {
+					brackets++;
+					continue;
+				}
+				//
+				final boolean end = c == '>' && brackets >= 2;
+				//
+				for (; brackets > (end ? 2 : 0); brackets--) {
+					append(']', true);
+				}
+				//
+				if (end) {
+					return true;
+				} else if (c == '\r') {
+					skipLineFeed();
+					c = '\n';
+				}
+				//
+				append(c < 0x80 ? c : readMultiByte(c), true);
+			}
+		}
+		//
+		int level = 1; //declaration, e.g., DOCTYPE.
+		//
+		while (level > 0) {
+			c = read();
+			//
+			if (c == -1) {
+				throw unexpected(c);
+			} else if (c == '<') {
+				level++;
+			} else if (c == '>') {
+				level--;
+			}
+		}
+		//
+		return false;
+	}
+
+	/**
+	 * <p>
+	 * Skip the line feed following a carriage return, if any, so both are
+	 * read as a single line break.
+	 * </p>
+	 * @throws IOException If an I/O error occurs.
+	 */
+	private void skipLineFeed() throws IOException {
+		if (ensure(1) && buffer[pos] == '\n') {
+			pos++;
+		}
+	}
+
+	/**
+	 * <p>
+	 * Skip the characters until a given pair, e.g., "?&gt;", which is also
+	 * skipped.
+	 * </p>
+	 * @param c1 First character of the pair.
+	 * @param c2 Second character of the pair.
+	 * @throws IOException If an I/O error occurs.
+	 * @throws ParserException If the document ends before the pair.
+	 */
+	private void skipTo(int c1, int c2) throws IOException, ParserException {
+		int prev = 0;
+		int c;
+		//
+		while ((c = read()) != -1) {
+			if (prev == c1 && c == c2) {
+				return;
+			}
+			//
+			prev = c;
+		}
+		//
+		throw unexpected(-1);
+	}
+
+	/**
+	 * <p>
+	 * Read an entity, whose '&amp;' is already read, appending its character
+	 * to the text or to the attributes' characters.
+	 * </p>
+	 * @param toText To text (true) or to attributes (false).
+	 * @throws IOException If an I/O error occurs.
+	 * @throws ParserException If the entity is unknown or malformed.
+	 */
+	private void readEntity(boolean toText) throws IOException,
+		ParserException {
+		int value = 0;
+		int c = read();
+		//
+		if (c == '#') {
+			c = read();
+			final int radix = c == 'x' ? 16 : 10;
+			//
+			if (radix == 16) {
+				c = read();
+			}
+			//
+			int digits = 0;
+			//
+			for (; c != ';'; c = read(), digits++) {
+				final int d = c == -1 ? -1 : Character.digit((char)c, radix);
+				//
+				if (d == -1) {
+					throw unexpected(c);
+				}
+				//
+				value = value * radix + d;
+			}
+			//
+			if (digits == 0) {
+				throw unexpected(c);
+			}
+		} else {
+			final StringBuffer entity = new StringBuffer(4);
+			//
+			for (; c != ';'; c = read()) {
+				if (c == -1 || entity.length() == 4) {
+					throw new ParserException(
+						"Unresolved entity: &" + entity + " at " + (offset + pos));
+				}
+				//
+				entity.append((char)c);
+			}
+			//
+			final String e = entity.toString();
+			//
+			if (e.equals("lt")) {
+				value = '<';
+			} else if (e.equals("gt")) {
+				value = '>';
+			} else if (e.equals("amp")) {
+				value = '&';
+			} else if (e.equals("quot")) {
+				value = '"';
+			} else if (e.equals("apos")) {
+				value = '\'';
+			} else {
+				throw new ParserException(
+					"Unresolved entity: &" + e + "; at " + (offset + pos));
+			}
+		}
+		//
+		append(value, toText);
+	}
+
+	/**
+	 * <p>
+	 * Decode a multi-byte UTF-8 character.
+	 * </p>
+	 * @param b First byte.
+	 * @return Code point or U+FFFD, if the sequence is malformed.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	private int readMultiByte(int b) throws IOException {
+		int n;
+		int cp;
+		//
+		if ((b & 0xe0) == 0xc0) {
+			n = 1;
+			cp = b & 0x1f;
+		} else if ((b & 0xf0) == 0xe0) {
+			n = 2;
+			cp = b & 0x0f;
+		} else if ((b & 0xf8) == 0xf0) {
+			n = 3;
+			cp = b & 0x07;
+		} else {
+			return 0xfffd;
+		}
+		//
+		for (int i = 0; i < n; i++) {
+			final int c = read();
+			//
+			if ((c & 0xc0) != 0x80) {
+				if (c != -1) {
+					pos--; //not part of the sequence.
+				}
+				return 0xfffd;
+			}
+			//
+			cp = (cp << 6) | (c & 0x3f);
+		}
+		//
+		return cp;
+	}
+
+	/**
+	 * <p>
+	 * Append a code point to the text or to the attributes' characters. The
+	 * text's leading whitespaces are not kept.
+	 * </p>
+	 * @param cp Code point.
+	 * @param toText To text (true) or to attributes (false).
+	 */
+	private void append(int cp, boolean toText) {
+		if (cp >= 0x10000) {
+			cp -= 0x10000;
+			append((char)(0xd800 | (cp >> 10)), toText);
+			append((char)(0xdc00 | (cp & 0x3ff)), toText);
+		} else {
+			append((char)cp, toText);
+		}
+	}
+
+	/**
+	 * <p>
+	 * Append a character to the text or to the attributes' characters.
+	 * </p>
+	 * @param c Character.
+	 * @param toText To text (true) or to attributes (false).
+	 */
+	private void append(char c, boolean toText) {
+		if (toText) {
+			if (c > ' ' || textLength > 0) {
+				if (rawTextLength == text.length) {
+					text = grow(text, rawTextLength);
+				}
+				//
+				text[rawTextLength++] = c;
+				//
+				if (c > ' ') {
+					textLength = rawTextLength;
+				}
+			}
+		} else {
+			if (attrCharsLength == attrChars.length) {
+				attrChars = grow(attrChars, attrCharsLength);
+			}
+			//
+			attrChars[attrCharsLength++] = c;
+		}
+	}
+
+	/**
+	 * <p>
+	 * Verify whether a given character may be part of a name.
+	 * </p>
+	 * @param c Character.
+	 * @return Name's character (true).
+	 */
+	private static boolean isNameChar(int c) {
+		return c > ' ' && c != '>' && c != '/' && c != '<' && c != '='
+			&& c != '"' && c != '\'';
+	}
+
+	/**
+	 * <p>
+	 * Verify whether a given string is equal to the given characters.
+	 * </p>
+	 * @param s String.
+	 * @param chars Characters.
+	 * @param length Number of characters.
+	 * @return Equal (true).
+	 */
+	private static boolean matches(String s, char[] chars, int length) {
+		if (s.length() != length) {
+			return false;
+		}
+		//
+		for (int i = length -1; i >= 0; i--) {
+			if (s.charAt(i) != chars[i]) {
+				return false;
+			}
+		}
+		//
+		return true;
+	}
+
+	/**
+	 * <p>
+	 * Double the size of a given array.
+	 * </p>
+	 * @param chars Array.
+	 * @param length Number of characters in use.
+	 * @return New array.
+	 */
+	private static char[] grow(char[] chars, int length) {
+		char[] newChars = new char[chars.length * 2];
+		System.arraycopy(chars, 0, newChars, 0, length);
+		//
+		return newChars;
+	}
+
+	/**
+	 * <p>
+	 * Push an element's name into the stack.
+	 * </p>
+	 * @param n Name.
+	 */
+	private void push(String n) {
+		if (depth == stack.length) {
+			String[] newStack = new String[stack.length * 2];
+			System.arraycopy(stack, 0, newStack, 0, depth);
+			stack = newStack;
+		}
+		//
+		stack[depth++] = n;
+	}
+
+	/**
+	 * <p>
+	 * Skip the whitespaces from a given character.
+	 * </p>
+	 * @param c Character.
+	 * @return First character that is not a whitespace.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	private int skipWhitespace(int c) throws IOException {
+		while (c == ' ' || c == '\n' || c == '\r' || c == '\t') {
+			c = read();
+		}
+		//
+		return c;
+	}
+
+	/**
+	 * <p>
+	 * Read a byte.
+	 * </p>
+	 * @return Byte or -1, if the stream is over.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	private int read() throws IOException {
+		if (pos == limit && !fill()) {
+			return -1;
+		}
+		//
+		return buffer[pos++] & 0xff;
+	}
+
+	/**
+	 * <p>
+	 * Make sure a given number of bytes are available in the buffer, moving
+	 * the remaining ones to its start if needed.
+	 * </p>
+	 * @param n Number of bytes.
+	 * @return Available (true).
+	 * @throws IOException If an I/O error occurs.
+	 */
+	private boolean ensure(int n) throws IOException {
+		if (limit - pos >= n) {
+			return true;
+		}
+		if (buffer == null) {
+			throw new IOException("Tokenizer is closed.");
+		}
+		//
+		final int remaining = limit - pos;
+		System.arraycopy(buffer, pos, buffer, 0, remaining);
+		offset += pos;
+		pos = 0;
+		limit = remaining;
+		//
+		while (limit < n) {
+			final int count = in.read(buffer, limit, buffer.length - limit);
+			//
+			if (count <= 0) {
+				return false;
+			}
+			//
+			limit += count;
+		}
+		//
+		return true;
+	}
+
+	/**
+	 * <p>
+	 * Fill the buffer.
+	 * </p>
+	 * @return Read (true) or end of stream (false).
+	 * @throws IOException If an I/O error occurs.
+	 */
+	private boolean fill() throws IOException {
+		if (buffer == null) {
+			throw new IOException("Tokenizer is closed.");
+		}
+		//
+		offset += limit;
+		pos = 0;
+		limit = in.read(buffer, 0, buffer.length);
+		//
+		if (limit <= 0) {
+			limit = 0;
+			return false;
+		}
+		//
+		return true;
+	}
+
+	/**
+	 * <p>
+	 * Create an exception for an unexpected character.
+	 * </p>
+	 * @param c Character or -1, if the end of document.
+	 * @return Exception.
+	 */
+	private ParserException unexpected(int c) {
+		if (c == -1) {
+			return new ParserException("Unexpected end of document.");
+		}
+		//
+		return new ParserException(
+			"Unexpected character '" + (char)c + "' at " + (offset + pos -1));
+	}
+}
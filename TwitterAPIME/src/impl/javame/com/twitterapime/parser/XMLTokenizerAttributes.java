@@ -0,0 +1,119 @@
+/*
+ * XMLTokenizerAttributes.java
+ * 18/10/2026
+ * Twitter API Micro Edition
+ * Copyright(c) Ernandes Mourao Junior (ernandes@gmail.com)
+ * All rights reserved
+ */
+package impl.javame.com.twitterapime.parser;
+
+import com.twitterapime.parser.Attributes;
+
+/**
+ * <p>
+ * This class implements a view of the current start tag's attributes of a
+ * {@link XMLTokenizer}.
+ * </p>
+ * <p>
+ * Nothing is copied when a tag is read: names and values are only turned into
+ * strings when they are asked for, so the view is only valid while the
+ * handler is notified of the start tag. The attributes are indexed in the
+ * reverse order of the document, and their names are in lower case, as in
+ * {@link KXML2Attributes}.
+ * </p>
+ *
+ * @author Ernandes Mourao Junior (ernandes@gmail.com)
+ * @version 1.0
+ * @since 2.0
+ */
+public final class XMLTokenizerAttributes implements Attributes {
+	/**
+	 * <p>
+	 * Attributes' type.
+	 * </p>
+	 */
+	private static final String TYPE = "CDATA";
+
+	/**
+	 * <p>
+	 * Tokenizer.
+	 * </p>
+	 */
+	private XMLTokenizer tokenizer;
+
+	/**
+	 * <p>
+	 * Create an instance of XMLTokenizerAttributes class.
+	 * </p>
+	 * @param tokenizer Tokenizer.
+	 */
+	public XMLTokenizerAttributes(XMLTokenizer tokenizer) {
+		this.tokenizer = tokenizer;
+	}
+
+	/**
+	 * @see com.twitterapime.parser.Attributes#getIndex(java.lang.String)
+	 */
+	public int getIndex(String qName) {
+		final int i = tokenizer.getAttributeIndex(qName);
+		//
+		return i != -1 ? tokenizer.getAttributeCount() -1 - i : -1;
+	}
+
+	/**
+	 * @see com.twitterapime.parser.Attributes#getLength()
+	 */
+	public int getLength() {
+		return tokenizer.getAttributeCount();
+	}
+
+	/**
+	 * @see com.twitterapime.parser.Attributes#getQName(int)
+	 */
+	public String getQName(int index) {
+		return tokenizer.getAttributeName(toTokenizerIndex(index));
+	}
+
+	/**
+	 * @see com.twitterapime.parser.Attributes#getType(int)
+	 */
+	public String getType(int index) {
+		toTokenizerIndex(index);
+		//
+		return TYPE;
+	}
+
+	/**
+	 * @see com.twitterapime.parser.Attributes#getValue(java.lang.String)
+	 */
+	public String getValue(String qName) {
+		final int i = tokenizer.getAttributeIndex(qName);
+		//
+		return i != -1 ? tokenizer.getAttributeValue(i) : null;
+	}
+
+	/**
+	 * @see com.twitterapime.parser.Attributes#getValue(int)
+	 */
+	public String getValue(int index) {
+		return tokenizer.getAttributeValue(toTokenizerIndex(index));
+	}
+
+	/**
+	 * <p>
+	 * Convert a given index of the view to the tokenizer's one.
+	 * </p>
+	 * @param index Index.
+	 * @return Tokenizer's index.
+	 * @throws ArrayIndexOutOfBoundsException If index is out of range.
+	 */
+	private int toTokenizerIndex(int index) {
+		final int count = tokenizer.getAttributeCount();
+		//
+		if (index < 0 || index >= count) {
+			throw new ArrayIndexOutOfBoundsException(index);
+		}
+		//
+		return count -1 - index;
+	}
+}
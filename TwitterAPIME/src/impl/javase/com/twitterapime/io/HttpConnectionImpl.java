@@ -0,0 +1,307 @@
+/*
+ * HttpConnectionImpl.java
+ * 18/10/2026
+ * Twitter API Micro Edition
+ * Copyright(c) Ernandes Mourao Junior (ernandes@gmail.com)
+ * All rights reserved
+ */
+package impl.javase.com.twitterapime.io;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.function.BiConsumer;
+
+import com.twitterapime.io.HttpConnection;
+
+/**
+ * <p>
+ * This class defines the implementation of HttpConnection for Java Standard
+ * Edition platform.
+ * </p>
+ * <p>
+ * It is built on the JDK's HTTP client, shared by all connections, which
+ * negotiates HTTP/2 when the server supports it and keeps the connections
+ * alive to be reused by the next requests. The request is sent once its
+ * response is first accessed, unless it is sent by
+ * {@link HttpConnectionImpl#sendAsync(Runnable)}, which does not block the
+ * calling thread.
+ * </p>
+ *
+ * @author Ernandes Mourao Junior (ernandes@gmail.com)
+ * @version 1.1
+ * @since 2.0
+ */
+public final class HttpConnectionImpl implements HttpConnection {
+	/**
+	 * <p>
+	 * Connect timeout.
+	 * </p>
+	 */
+	private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(30);
+
+	/**
+	 * <p>
+	 * Http client shared by all connections.
+	 * </p>
+	 */
+	private static HttpClient client;
+
+	/**
+	 * <p>
+	 * URL.
+	 * </p>
+	 */
+	private String url;
+
+	/**
+	 * <p>
+	 * Request method.
+	 * </p>
+	 */
+	private String method;
+
+	/**
+	 * <p>
+	 * Request properties.
+	 * </p>
+	 */
+	private Map<String, String> properties;
+
+	/**
+	 * <p>
+	 * Request body.
+	 * </p>
+	 */
+	private ByteArrayOutputStream body;
+
+	/**
+	 * <p>
+	 * Response.
+	 * </p>
+	 */
+	private volatile HttpResponse<InputStream> response;
+
+	/**
+	 * <p>
+	 * Error of the request sent asynchronously.
+	 * </p>
+	 */
+	private volatile IOException error;
+
+	/**
+	 * <p>
+	 * Get the Http client shared by all connections.
+	 * </p>
+	 * @return Client.
+	 */
+	private synchronized static HttpClient getClient() {
+		if (client == null) {
+			client =
+				HttpClient.newBuilder()
+					.version(HttpClient.Version.HTTP_2)
+					.followRedirects(HttpClient.Redirect.NORMAL)
+					.connectTimeout(CONNECT_TIMEOUT)
+					.build();
+		}
+		//
+		return client;
+	}
+
+	/**
+	 * <p>
+	 * Return whether a given request property is set by the Http client
+	 * itself, so it must not be informed.
+	 * </p>
+	 * @param key Property.
+	 * @return Restricted (true).
+	 */
+	private static boolean isRestricted(String key) {
+		return "Connection".equalsIgnoreCase(key)
+			|| "Content-Length".equalsIgnoreCase(key)
+			|| "Expect".equalsIgnoreCase(key)
+			|| "Host".equalsIgnoreCase(key)
+			|| "Upgrade".equalsIgnoreCase(key);
+	}
+
+	/**
+	 * @see com.twitterapime.io.HttpConnection#close()
+	 */
+	public void close() throws IOException {
+		final HttpResponse<InputStream> resp = response;
+		//
+		if (resp != null) {
+			response = null;
+			resp.body().close();
+		}
+	}
+
+	/**
+	 * @see com.twitterapime.io.HttpConnection#getHeaderField(java.lang.String)
+	 */
+	public String getHeaderField(String name) throws IOException {
+		return send().headers().firstValue(name).orElse(null);
+	}
+
+	/**
+	 * @see com.twitterapime.io.HttpConnection#getResponseCode()
+	 */
+	public int getResponseCode() throws IOException {
+		return send().statusCode();
+	}
+
+	/**
+	 * @see com.twitterapime.io.HttpConnection#open(java.lang.String)
+	 */
+	public void open(String url) throws IOException {
+		close(); //the client keeps the socket alive.
+		//
+		this.url = url;
+		method = GET;
+		properties = new LinkedHashMap<String, String>();
+		body = null;
+		error = null;
+	}
+
+	/**
+	 * @see com.twitterapime.io.HttpConnection#openInputStream()
+	 */
+	public InputStream openInputStream() throws IOException {
+		return send().body();
+	}
+
+	/**
+	 * @see com.twitterapime.io.HttpConnection#openOutputStream()
+	 */
+	public OutputStream openOutputStream() throws IOException {
+		if (body == null) {
+			body = new ByteArrayOutputStream();
+		}
+		//
+		return body;
+	}
+
+	/**
+	 * @see com.twitterapime.io.HttpConnection#setRequestMethod(java.lang.String)
+	 */
+	public void setRequestMethod(String method) throws IOException {
+		this.method = method;
+	}
+
+	/**
+	 * @see com.twitterapime.io.HttpConnection#setRequestProperty(java.lang.String, java.lang.String)
+	 */
+	public void setRequestProperty(String key, String value) throws IOException{
+		properties.put(key, value);
+	}
+
+	/**
+	 * @see com.twitterapime.io.HttpConnection#getRequestProperty(java.lang.String)
+	 */
+	public String getRequestProperty(String key) throws IOException {
+		return properties.get(key);
+	}
+
+	/**
+	 * <p>
+	 * Send the request without blocking the calling thread. The given
+	 * callback is run, on a thread of the Http client, once the response's
+	 * headers arrive or the request fails. The response or the error is then
+	 * returned by the accessors of this connection.
+	 * </p>
+	 * @param callback Callback.
+	 * @throws IOException If the request is invalid.
+	 */
+	public void sendAsync(final Runnable callback) throws IOException {
+		getClient()
+			.sendAsync(newRequest(), HttpResponse.BodyHandlers.ofInputStream())
+			.whenComplete(
+				new BiConsumer<HttpResponse<InputStream>, Throwable>() {
+					public void accept(HttpResponse<InputStream> resp,
+						Throwable cause) {
+						if (cause instanceof CompletionException
+								&& cause.getCause() != null) {
+							cause = cause.getCause();
+						}
+						//
+						if (cause == null) {
+							response = resp;
+						} else if (cause instanceof IOException) {
+							error = (IOException)cause;
+						} else {
+							error = new IOException(cause.toString());
+						}
+						//
+						callback.run();
+					}
+				});
+	}
+
+	/**
+	 * <p>
+	 * Send the request, in case it is not sent yet.
+	 * </p>
+	 * @return Response.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	private HttpResponse<InputStream> send() throws IOException {
+		if (response != null) {
+			return response;
+		}
+		if (error != null) {
+			throw error;
+		}
+		//
+		try {
+			response =
+				getClient().send(
+					newRequest(), HttpResponse.BodyHandlers.ofInputStream());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException(e.getMessage());
+		}
+		//
+		return response;
+	}
+
+	/**
+	 * <p>
+	 * Build the request of the JDK's Http client.
+	 * </p>
+	 * @return Request.
+	 * @throws IOException If the URL is invalid.
+	 */
+	private HttpRequest newRequest() throws IOException {
+		HttpRequest.Builder req;
+		//
+		try {
+			req = HttpRequest.newBuilder(URI.create(url));
+		} catch (IllegalArgumentException e) {
+			throw new IOException("Invalid URL: " + url);
+		}
+		//
+		req.method(
+			method,
+			body != null
+				? HttpRequest.BodyPublishers.ofByteArray(body.toByteArray())
+				: HttpRequest.BodyPublishers.noBody());
+		//
+		for (Map.Entry<String, String> p : properties.entrySet()) {
+			if (!isRestricted(p.getKey())) {
+				req.header(p.getKey(), p.getValue());
+			}
+		}
+		//
+		return req.build();
+	}
+}
@@ -0,0 +1,178 @@
+/*
+ * FileIdSnapshotStore.java
+ * 18/10/2026
+ * Twitter API Micro Edition
+ * Copyright(c) Ernandes Mourao Junior (ernandes@gmail.com)
+ * All rights reserved
+ */
+package impl.javase.com.twitterapime.rest;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import com.twitterapime.rest.IdSnapshotStore;
+
+/**
+ * <p>
+ * This class defines the implementation of IdSnapshotStore for Java Standard
+ * Edition platform, based on files of a given directory (e.g. a user's data
+ * directory).
+ * </p>
+ * <p>
+ * Each key has a file of its own, named by the key with the characters other
+ * than lower case letters, digits, '-', '_' and '.' escaped, so distinct keys
+ * never share a file, even on a case-insensitive file system. An entry is written to a temporary file, synced to the disk,
+ * and then renamed over the previous one.
+ * </p>
+ * <p>
+ * <pre>
+ * IdSnapshotManager ism =
+ *     new IdSnapshotManager(new FileIdSnapshotStore(new File(System.getProperty("user.home"), ".snapshots")));
+ * </pre>
+ * </p>
+ * 
+ * @author Ernandes Mourao Junior (ernandes@gmail.com)
+ * @version 1.0
+ * @since 2.0
+ * @see com.twitterapime.rest.IdSnapshotManager
+ */
+public final class FileIdSnapshotStore implements IdSnapshotStore {
+	/**
+	 * <p>
+	 * Max length of a file name.
+	 * </p>
+	 */
+	private static final int MAX_NAME_LENGTH = 255;
+
+	/**
+	 * <p>
+	 * Extension of the files.
+	 * </p>
+	 */
+	private static final String EXTENSION = ".ids";
+
+	/**
+	 * <p>
+	 * Directory.
+	 * </p>
+	 */
+	private File dir;
+	
+	/**
+	 * <p>
+	 * Create an instance of FileIdSnapshotStore class.
+	 * </p>
+	 * @param dir Directory. It is created, if necessary.
+	 * @throws IllegalArgumentException If dir is null.
+	 */
+	public FileIdSnapshotStore(File dir) {
+		if (dir == null) {
+			throw new IllegalArgumentException("Dir must not be null.");
+		}
+		//
+		this.dir = dir;
+	}
+
+	/**
+	 * @see com.twitterapime.rest.IdSnapshotStore#get(java.lang.String)
+	 */
+	public byte[] get(String key) throws IOException {
+		File file = getFile(key);
+		//
+		if (!file.exists()) {
+			return null;
+		}
+		//
+		byte[] entry = new byte[(int)file.length()];
+		InputStream in = new FileInputStream(file);
+		//
+		try {
+			for (int n = 0, r; n < entry.length; n += r) {
+				if ((r = in.read(entry, n, entry.length - n)) == -1) {
+					throw new IOException("Truncated file: " + file);
+				}
+			}
+		} finally {
+			in.close();
+		}
+		//
+		return entry;
+	}
+
+	/**
+	 * @see com.twitterapime.rest.IdSnapshotStore#put(java.lang.String, byte[])
+	 */
+	public void put(String key, byte[] entry) throws IOException {
+		if (!dir.exists() && !dir.mkdirs()) {
+			throw new IOException("Cannot create dir: " + dir);
+		}
+		//
+		File file = getFile(key);
+		File temp = new File(dir, file.getName() + ".tmp");
+		FileOutputStream out = new FileOutputStream(temp);
+		//
+		try {
+			out.write(entry);
+			out.getFD().sync();
+		} finally {
+			out.close();
+		}
+		//
+		if (!temp.renameTo(file)) {
+			file.delete();
+			//
+			if (!temp.renameTo(file)) {
+				temp.delete();
+				throw new IOException("Cannot write file: " + file);
+			}
+		}
+	}
+
+	/**
+	 * @see com.twitterapime.rest.IdSnapshotStore#remove(java.lang.String)
+	 */
+	public void remove(String key) throws IOException {
+		File file = getFile(key);
+		//
+		if (file.exists() && !file.delete()) {
+			throw new IOException("Cannot delete file: " + file);
+		}
+	}
+	
+	/**
+	 * <p>
+	 * Get the file of a given key.
+	 * </p>
+	 * @param key Key.
+	 * @return File.
+	 * @throws IOException If the key is too long to name a file.
+	 */
+	private File getFile(String key) throws IOException {
+		StringBuffer name = new StringBuffer(key.length() + 8);
+		//
+		for (int i = 0; i < key.length(); i++) {
+			final char c = key.charAt(i);
+			//
+			if ((c >= 'a' && c <= 'z')
+					|| (c >= '0' && c <= '9')
+					|| c == '-' || c == '_' || c == '.') {
+				name.append(c);
+			} else {
+				name.append('%');
+				name.append(Integer.toHexString(0x10000 | c).substring(1));
+			}
+		}
+		//
+		name.append(EXTENSION);
+		//
+		if (name.length() + 4 > MAX_NAME_LENGTH) { //temporary file's suffix.
+			throw new IOException("Key too long: " + key);
+		}
+		//
+		return new File(dir, name.toString());
+	}
+}
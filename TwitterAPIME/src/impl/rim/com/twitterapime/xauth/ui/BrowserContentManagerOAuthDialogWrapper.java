@@ -46,7 +46,7 @@ import com.twitterapime.xauth.ui.OAuthDialogWrapper;
  * Developer website.
  * </p>
  * @author Ernandes Mourao Junior (ernandes@gmail.com)
- * @version 1.0
+ * @version 1.1
  * @since 1.8
  */
 public final class BrowserContentManagerOAuthDialogWrapper 
@@ -121,7 +121,7 @@ public final class BrowserContentManagerOAuthDialogWrapper
 	 */
 	protected void loadUrl(final String url, final byte[] postData, 
 		final Event event) {
-		new Thread() {
+		execute(new Runnable() {
 			public void run() {
 				try {
 					HttpConnection conn = getConnection(url);
@@ -145,7 +145,7 @@ public final class BrowserContentManagerOAuthDialogWrapper
 					throw new IllegalArgumentException(e.getMessage());
 				}
 			}
-		}.start();
+		});
 	}
 	
 	/**
@@ -266,7 +266,7 @@ public final class BrowserContentManagerOAuthDialogWrapper
 		 * @see net.rim.device.api.browser.field.RenderingApplication#invokeRunnable(java.lang.Runnable)
 		 */
 		public void invokeRunnable(Runnable runnable) {
-			new Thread(runnable).start();
+			execute(runnable);
 		}
 	}
 }
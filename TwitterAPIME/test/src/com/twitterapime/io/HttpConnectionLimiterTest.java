@@ -0,0 +1,251 @@
+/**
+ * 
+ */
+package com.twitterapime.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import com.twitterapime.test.TwitterAPIMETestCase;
+
+/**
+ * @author Main
+ *
+ */
+public class HttpConnectionLimiterTest extends TwitterAPIMETestCase {
+	/**
+	 * 
+	 */
+	public HttpConnectionLimiterTest() {
+		super("HttpConnectionLimiterTest");
+	}
+
+	/**
+	 * @see junit.framework.TestCase#setUp()
+	 */
+	protected void setUp() throws Exception {
+		super.setUp();
+		//
+		HttpConnectionLimiter limiter = HttpConnectionLimiter.getInstance();
+		limiter.setEnabled(true);
+		limiter.resetStatistics();
+		limiter.setMaxConnectionsPerHost(HttpConnectionLimiter.DEFAULT_MAX_CONNECTIONS_PER_HOST);
+		limiter.setMaxWaitTime(HttpConnectionLimiter.DEFAULT_MAX_WAIT_TIME);
+	}
+
+	/**
+	 * Test method for {@link com.twitterapime.io.HttpConnectionLimiter#getHostKey(java.lang.String)}.
+	 */
+	public void testGetHostKey() {
+		try {
+			HttpConnectionLimiter.getHostKey(null);
+			fail();
+		} catch (IllegalArgumentException e) {
+		}
+		//
+		assertEquals("https://api.twitter.com:443", HttpConnectionLimiter.getHostKey("https://api.twitter.com/1.1/statuses/home_timeline.json?count=5"));
+		assertEquals("http://api.twitter.com:80", HttpConnectionLimiter.getHostKey("http://API.twitter.com"));
+		assertEquals("http://localhost:8080", HttpConnectionLimiter.getHostKey("http://localhost:8080/x"));
+	}
+
+	/**
+	 * Test method for {@link com.twitterapime.io.HttpConnectionLimiter#acquire(java.lang.String)}.
+	 */
+	public void testAcquireRelease() throws IOException {
+		HttpConnectionLimiter limiter = HttpConnectionLimiter.getInstance();
+		final String url = "https://api.twitter.com/1.1/users/show.json";
+		//
+		limiter.acquire(url);
+		assertEquals(1, limiter.getLeasedCount(url));
+		assertEquals(1, limiter.getLeasedCount("https://api.twitter.com/1.1/statuses/show.json"));
+		//
+		limiter.release(url);
+		assertEquals(0, limiter.getLeasedCount(url));
+		//
+		limiter.release(url); //already released.
+		assertEquals(0, limiter.getLeasedCount(url));
+		assertEquals(0, limiter.getWaitCount());
+	}
+
+	/**
+	 * Test method for {@link com.twitterapime.io.LeasedHttpConnection#close()}.
+	 */
+	public void testLeasedConnection() throws IOException {
+		HttpConnectionLimiter limiter = HttpConnectionLimiter.getInstance();
+		final String url = "https://api.twitter.com/1.1/users/show.json";
+		final String other = "https://search.twitter.com/search.json";
+		//
+		limiter.acquire(url);
+		HttpConnMock mock = new HttpConnMock();
+		LeasedHttpConnection conn = new LeasedHttpConnection(mock, url);
+		assertSame(mock, conn.getConnection());
+		assertEquals(1, limiter.getLeasedCount(url));
+		//
+		conn.open(other); //slot moved to the other host.
+		assertEquals(0, limiter.getLeasedCount(url));
+		assertEquals(1, limiter.getLeasedCount(other));
+		//
+		conn.close();
+		assertEquals(0, limiter.getLeasedCount(other));
+		assertEquals(1, mock.closeCount);
+		//
+		conn.close(); //already released.
+		assertEquals(0, limiter.getLeasedCount(other));
+		//
+		mock.failOpen = true;
+		try {
+			conn.open(url);
+			fail();
+		} catch (IOException e) {
+		}
+		assertEquals(0, limiter.getLeasedCount(url));
+	}
+
+	/**
+	 * Test method for {@link com.twitterapime.io.HttpConnectionLimiter#setMaxConnectionsPerHost(int)}.
+	 */
+	public void testSetMaxConnectionsPerHost() throws IOException {
+		final HttpConnectionLimiter limiter = HttpConnectionLimiter.getInstance();
+		final String url = "https://api.twitter.com";
+		//
+		try {
+			limiter.setMaxConnectionsPerHost(0);
+			fail();
+		} catch (IllegalArgumentException e) {
+		}
+		//
+		limiter.setMaxConnectionsPerHost(1);
+		limiter.acquire(url);
+		//
+		final boolean[] acquired = new boolean[1];
+		Thread t = new Thread() {
+			public void run() {
+				try {
+					limiter.acquire(url);
+					acquired[0] = true;
+				} catch (IOException e) {
+				}
+			}
+		};
+		t.start();
+		//
+		try {
+			Thread.sleep(100);
+			assertFalse(acquired[0]);
+			assertTrue(t.isAlive());
+			//
+			limiter.release(url);
+			t.join(1000);
+		} catch (InterruptedException e) {
+		}
+		//
+		assertFalse(t.isAlive());
+		assertTrue(acquired[0]);
+		assertEquals(1, limiter.getLeasedCount(url));
+		assertEquals(1, limiter.getWaitCount());
+		assertEquals(0, limiter.getTimeoutCount());
+		limiter.release(url);
+	}
+
+	/**
+	 * Test method for {@link com.twitterapime.io.HttpConnectionLimiter#setMaxWaitTime(long)}.
+	 */
+	public void testSetMaxWaitTime() throws IOException {
+		HttpConnectionLimiter limiter = HttpConnectionLimiter.getInstance();
+		final String url = "https://api.twitter.com";
+		//
+		try {
+			limiter.setMaxWaitTime(-1);
+			fail();
+		} catch (IllegalArgumentException e) {
+		}
+		//
+		limiter.setMaxConnectionsPerHost(1);
+		limiter.setMaxWaitTime(200);
+		limiter.acquire(url); //never released.
+		//
+		long start = System.currentTimeMillis();
+		limiter.acquire(url); //opened over the limit.
+		long elapsed = System.currentTimeMillis() - start;
+		assertTrue(elapsed >= 190);
+		assertTrue(elapsed < 1000);
+		assertEquals(2, limiter.getLeasedCount(url));
+		assertEquals(1, limiter.getTimeoutCount());
+		//
+		limiter.setMaxWaitTime(0);
+		start = System.currentTimeMillis();
+		limiter.acquire(url);
+		assertTrue(System.currentTimeMillis() - start < 100);
+		assertEquals(2, limiter.getTimeoutCount());
+		//
+		limiter.release(url);
+		limiter.release(url);
+		limiter.release(url);
+		assertEquals(0, limiter.getLeasedCount(url));
+	}
+
+	/**
+	 * Test method for {@link com.twitterapime.io.HttpConnectionLimiter#setEnabled(boolean)}.
+	 */
+	public void testSetEnabled() throws IOException {
+		HttpConnectionLimiter limiter = HttpConnectionLimiter.getInstance();
+		final String url = "https://api.twitter.com";
+		//
+		limiter.setMaxConnectionsPerHost(1);
+		limiter.setEnabled(false);
+		//
+		long start = System.currentTimeMillis();
+		limiter.acquire(url);
+		limiter.acquire(url); //not held.
+		assertTrue(System.currentTimeMillis() - start < 100);
+		assertEquals(2, limiter.getLeasedCount(url));
+		assertEquals(0, limiter.getWaitCount());
+		//
+		limiter.release(url);
+		limiter.release(url);
+		limiter.setEnabled(true);
+	}
+
+	private class HttpConnMock implements HttpConnection {
+		private int closeCount;
+		private boolean failOpen;
+
+		public void close() throws IOException {
+			closeCount++;
+		}
+
+		public String getHeaderField(String name) throws IOException {
+			return null;
+		}
+
+		public int getResponseCode() throws IOException {
+			return HTTP_OK;
+		}
+
+		public void open(String url) throws IOException {
+			if (failOpen) {
+				throw new IOException("Open failed.");
+			}
+		}
+
+		public InputStream openInputStream() throws IOException {
+			return null;
+		}
+
+		public OutputStream openOutputStream() throws IOException {
+			return null;
+		}
+
+		public void setRequestMethod(String method) throws IOException {
+		}
+
+		public void setRequestProperty(String key, String value)
+			throws IOException {
+		}
+
+		public String getRequestProperty(String key) throws IOException {
+			return null;
+		}
+	}
+}
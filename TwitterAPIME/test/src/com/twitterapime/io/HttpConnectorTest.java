@@ -44,9 +44,15 @@ public class HttpConnectorTest extends TwitterAPIMETestCase {
 		try {
 			HttpConnection conn = HttpConnector.open("http://www.twitterapime.com");
 			//
-			if (!(conn instanceof HttpConnectionImpl)) {
-				fail();
+			try {
+				if (!(((LeasedHttpConnection)conn).getConnection() instanceof HttpConnectionImpl)) {
+					fail();
+				}
+			} finally {
+				conn.close();
 			}
+			//
+			assertEquals(0, HttpConnectionLimiter.getInstance().getLeasedCount("http://www.twitterapime.com"));
 		} catch (IOException e) {
 		}
 	}
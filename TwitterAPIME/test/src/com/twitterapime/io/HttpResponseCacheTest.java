@@ -0,0 +1,247 @@
+/**
+ * 
+ */
+package com.twitterapime.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Hashtable;
+
+import com.twitterapime.test.TwitterAPIMETestCase;
+
+/**
+ * @author Main
+ *
+ */
+public class HttpResponseCacheTest extends TwitterAPIMETestCase {
+	/**
+	 * 
+	 */
+	public HttpResponseCacheTest() {
+		super("HttpResponseCacheTest");
+	}
+	
+	/**
+	 * @see junit.framework.TestCase#setUp()
+	 */
+	protected void setUp() throws Exception {
+		super.setUp();
+		//
+		HttpResponseCache cache = HttpResponseCache.getInstance();
+		cache.clear();
+		cache.setSecondaryStore(null);
+		cache.setMaxMemorySize(HttpResponseCache.DEFAULT_MAX_MEMORY_SIZE);
+	}
+
+	/**
+	 * Test method for {@link com.twitterapime.io.HttpResponseCache#getKey(java.lang.String, java.lang.String, java.lang.String)}.
+	 */
+	public void testGetKey() {
+		assertEquals("http://api.twitter.com/x.json", HttpResponseCache.getKey("http://api.twitter.com/x.json", null, null));
+		String key = HttpResponseCache.getKey("http://api.twitter.com/x.json", "b=2&oauth_nonce=123&a=1&oauth_signature=x", "tk-secret-token");
+		assertTrue(key.startsWith("http://api.twitter.com/x.json?a=1&b=2#"));
+		assertEquals(-1, key.indexOf("tk-secret-token")); //token digested.
+		assertEquals(key.length() - 40, key.indexOf('#') + 1); //SHA-1 hex.
+		assertEquals(HttpResponseCache.getKey("u", "a=1&b=2", "tk"), HttpResponseCache.getKey("u", "b=2&a=1", "tk"));
+		assertFalse(HttpResponseCache.getKey("u", "a=1", "tk1").equals(HttpResponseCache.getKey("u", "a=1", "tk2")));
+	}
+
+	/**
+	 * Test method for {@link com.twitterapime.io.HttpResponseCache#process(java.lang.String, java.lang.Object, com.twitterapime.io.HttpConnection, com.twitterapime.io.HttpResponse)}.
+	 */
+	public void testProcess() throws IOException {
+		HttpResponseCache cache = HttpResponseCache.getInstance();
+		HttpConnMock conn = new HttpConnMock(HttpConnection.HTTP_OK, "[1,2,3]", "\"v1\"", null);
+		final int hits = cache.getHitCount();
+		//
+		assertNull(cache.prepare("k", conn));
+		HttpResponse resp = new HttpResponse(conn);
+		cache.process("k", null, conn, resp);
+		assertEquals("[1,2,3]", resp.getBodyContent());
+		assertFalse(resp.isFromCache());
+		assertEquals(1, cache.getEntryCount());
+		//
+		conn = new HttpConnMock(HttpConnection.HTTP_NOT_MODIFIED, "", null, null);
+		Object cached = cache.prepare("k", conn);
+		assertNotNull(cached);
+		assertEquals("\"v1\"", conn.props.get("If-None-Match"));
+		assertNull(conn.props.get("If-Modified-Since"));
+		//
+		resp = new HttpResponse(conn);
+		cache.process("k", cached, conn, resp);
+		assertTrue(resp.isFromCache());
+		assertEquals(HttpConnection.HTTP_OK, resp.getCode());
+		assertEquals("[1,2,3]", resp.getBodyContent());
+		assertEquals(hits +1, cache.getHitCount());
+		//
+		conn = new HttpConnMock(HttpConnection.HTTP_OK, "[4]", null, null);
+		cached = cache.prepare("k", conn);
+		resp = new HttpResponse(conn);
+		cache.process("k", cached, conn, resp);
+		assertEquals(0, cache.getEntryCount());
+	}
+
+	/**
+	 * Test method for {@link com.twitterapime.io.HttpResponseCache#setMaxMemorySize(int)}.
+	 */
+	public void testSetMaxMemorySize() throws IOException {
+		HttpResponseCache cache = HttpResponseCache.getInstance();
+		MemoryStore store = new MemoryStore();
+		cache.setMaxMemorySize(4000);
+		cache.setSecondaryStore(store);
+		//
+		StringBuffer body = new StringBuffer();
+		for (int i = 0; i < 900; i++) {
+			body.append('x');
+		}
+		//
+		for (int i = 0; i < 5; i++) {
+			HttpConnMock conn = new HttpConnMock(HttpConnection.HTTP_OK, body.toString(), null, "Sat, 18 Oct 2026 10:00:00 GMT");
+			HttpResponse resp = new HttpResponse(conn);
+			cache.process("k" + i, cache.prepare("k" + i, conn), conn, resp);
+			resp.getBody(); //cached once read to the end.
+		}
+		//
+		assertTrue(cache.getMemorySize() <= 4000);
+		assertTrue(cache.getEntryCount() < 5);
+		assertTrue(cache.getEvictionCount() > 0);
+		assertEquals(5, store.entries.size());
+		//
+		HttpConnMock conn = new HttpConnMock(HttpConnection.HTTP_NOT_MODIFIED, "", null, null);
+		Object cached = cache.prepare("k0", conn);
+		assertNotNull(cached);
+		assertEquals("Sat, 18 Oct 2026 10:00:00 GMT", conn.props.get("If-Modified-Since"));
+		//
+		HttpResponse resp = new HttpResponse(conn);
+		cache.process("k0", cached, conn, resp);
+		assertEquals(body.toString(), resp.getBodyContent());
+	}
+	
+	/**
+	 * Test method for {@link com.twitterapime.io.HttpResponseCache#process(java.lang.String, java.lang.Object, com.twitterapime.io.HttpConnection, com.twitterapime.io.HttpResponse)}.
+	 */
+	public void testProcessLargeBody() throws IOException {
+		HttpResponseCache cache = HttpResponseCache.getInstance();
+		cache.setMaxMemorySize(4000); //max entry size of 1000.
+		//
+		StringBuffer body = new StringBuffer();
+		for (int i = 0; i < 1500; i++) {
+			body.append('x');
+		}
+		//
+		HttpConnMock conn = new HttpConnMock(HttpConnection.HTTP_OK, body.toString(), "\"v1\"", null);
+		HttpResponse resp = new HttpResponse(conn);
+		cache.process("k", cache.prepare("k", conn), conn, resp);
+		assertEquals(0, resp.getDecodedByteCount()); //not buffered up front.
+		assertEquals(body.toString(), resp.getBodyContent());
+		assertEquals(0, cache.getEntryCount());
+		//
+		conn = new HttpConnMock(HttpConnection.HTTP_OK, body.toString(), "\"v1\"", null);
+		conn.headers.put("Content-Length", "1500");
+		resp = new HttpResponse(conn);
+		cache.process("k", cache.prepare("k", conn), conn, resp);
+		assertEquals(body.toString(), resp.getBodyContent());
+		assertEquals(0, cache.getEntryCount());
+		//
+		conn = new HttpConnMock(HttpConnection.HTTP_OK, "[1]", "\"v2\"", null);
+		resp = new HttpResponse(conn);
+		cache.process("k", cache.prepare("k", conn), conn, resp);
+		resp.close(); //not read to the end.
+		assertEquals(0, cache.getEntryCount());
+	}
+
+	/**
+	 * Test method for {@link com.twitterapime.io.HttpResponseCache#prepare(java.lang.String, com.twitterapime.io.HttpConnection)}.
+	 */
+	public void testPrepareCorruptedEntry() throws IOException {
+		HttpResponseCache cache = HttpResponseCache.getInstance();
+		MemoryStore store = new MemoryStore();
+		cache.setSecondaryStore(store);
+		//
+		HttpConnMock conn = new HttpConnMock(HttpConnection.HTTP_OK, "[1,2,3]", "\"v1\"", null);
+		HttpResponse resp = new HttpResponse(conn);
+		cache.process("k", null, conn, resp);
+		resp.getBody();
+		cache.clear();
+		//
+		byte[] data = (byte[])store.entries.get("k");
+		data[data.length -8] = (byte)0x7F; //body length.
+		assertNull(cache.prepare("k", conn));
+		//
+		store.entries.put("k", new byte[] {0, 1, 'k', 0, 0, 0, 0, 0x7F, 0x7F, 0x7F, 0x7F});
+		assertNull(cache.prepare("k", conn));
+		store.entries.put("k", new byte[] {0, 1, 'k', 0, 0, 0, 0, -1, -1, -1, -1});
+		assertNull(cache.prepare("k", conn));
+		assertNull(conn.props.get("If-None-Match"));
+	}
+	
+	private class MemoryStore implements CacheStore {
+		private Hashtable entries = new Hashtable();
+		
+		public byte[] get(String key) throws IOException {
+			return (byte[])entries.get(key);
+		}
+
+		public void put(String key, byte[] entry) throws IOException {
+			entries.put(key, entry);
+		}
+
+		public void remove(String key) throws IOException {
+			entries.remove(key);
+		}
+	}
+	
+	private class HttpConnMock implements HttpConnection {
+		private int code;
+		private String content;
+		private Hashtable headers = new Hashtable();
+		private Hashtable props = new Hashtable();
+		
+		public HttpConnMock(int code, String content, String etag, String lastModified) {
+			this.code = code;
+			this.content = content;
+			if (etag != null) {
+				headers.put("ETag", etag);
+			}
+			if (lastModified != null) {
+				headers.put("Last-Modified", lastModified);
+			}
+		}
+		
+		public void close() throws IOException {
+		}
+
+		public String getHeaderField(String name) throws IOException {
+			return (String)headers.get(name);
+		}
+
+		public int getResponseCode() throws IOException {
+			return code;
+		}
+
+		public void open(String url) throws IOException {
+		}
+
+		public InputStream openInputStream() throws IOException {
+			return new ByteArrayInputStream(content.getBytes("UTF-8"));
+		}
+
+		public OutputStream openOutputStream() throws IOException {
+			return null;
+		}
+
+		public void setRequestMethod(String method) throws IOException {
+		}
+
+		public void setRequestProperty(String key, String value)
+			throws IOException {
+			props.put(key, value);
+		}
+
+		public String getRequestProperty(String key) throws IOException {
+			return (String)props.get(key);
+		}
+	}
+}
@@ -0,0 +1,152 @@
+/**
+ * 
+ */
+package com.twitterapime.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import com.twitterapime.test.TwitterAPIMETestCase;
+
+/**
+ * @author Main
+ *
+ */
+public class HttpResponseTest extends TwitterAPIMETestCase {
+	/**
+	 * 
+	 */
+	public HttpResponseTest() {
+		super("HttpResponseTest");
+	}
+	
+	/**
+	 * @see junit.framework.TestCase#tearDown()
+	 */
+	protected void tearDown() throws Exception {
+		HttpResponse.setMaxBodySize(0);
+		BufferPool.getInstance().setBufferSize(BufferPool.DEFAULT_BUFFER_SIZE);
+		//
+		super.tearDown();
+	}
+
+	/**
+	 * Test method for {@link com.twitterapime.io.HttpResponse#getBodyContent()}.
+	 */
+	public void testGetBodyContent() throws IOException {
+		BufferPool.getInstance().setBufferSize(16);
+		//
+		String content = "{\"text\": \"Olá, ção! Twitter API ME response body.\"}";
+		HttpResponse resp = new HttpResponse(new HttpConnMock(content.getBytes("UTF-8")));
+		//
+		assertEquals(content, resp.getBodyContent());
+		assertEquals(content.getBytes("UTF-8").length, resp.getBody().getLength());
+		//
+		resp.close();
+		assertTrue(BufferPool.getInstance().getPooledCount() > 0);
+	}
+
+	/**
+	 * Test method for {@link com.twitterapime.io.HttpResponse#getBody()}.
+	 */
+	public void testGetBody() throws IOException {
+		BufferPool.getInstance().setBufferSize(8);
+		//
+		byte[] content = new byte[100];
+		for (int i = 0; i < content.length; i++) {
+			content[i] = (byte)i;
+		}
+		//
+		HttpResponse resp = new HttpResponse(new HttpConnMock(content));
+		HttpResponseBody body = resp.getBody();
+		assertSame(body, resp.getBody());
+		assertEquals(100, body.getLength());
+		//
+		InputStream in = resp.getStream();
+		assertEquals(100, in.available());
+		assertEquals(0, in.read());
+		byte[] b = new byte[50];
+		assertEquals(50, in.read(b, 0, 50));
+		assertEquals(1, b[0]);
+		assertEquals(50, b[49]);
+		assertEquals(10, in.skip(10));
+		assertEquals(39, in.available());
+		assertEquals(61, in.read());
+		//
+		b = new byte[5];
+		assertEquals(5, body.getBytes(95, b, 0, 10));
+		assertEquals(99, b[4]);
+		//
+		resp.close();
+		try {
+			body.openStream();
+			fail();
+		} catch (IllegalStateException e) {
+		}
+	}
+
+	/**
+	 * Test method for {@link com.twitterapime.io.HttpResponse#setMaxBodySize(int)}.
+	 */
+	public void testSetMaxBodySize() throws IOException {
+		try {
+			HttpResponse.setMaxBodySize(-1);
+			fail();
+		} catch (IllegalArgumentException e) {
+		}
+		//
+		HttpResponse.setMaxBodySize(10);
+		HttpResponse resp = new HttpResponse(new HttpConnMock(new byte[11]));
+		try {
+			resp.getBody();
+			fail();
+		} catch (IOException e) {
+		}
+		//
+		resp = new HttpResponse(new HttpConnMock(new byte[10]));
+		assertEquals(10, resp.getBody().getLength());
+	}
+	
+	private class HttpConnMock implements HttpConnection {
+		private byte[] content;
+		
+		public HttpConnMock(byte[] content) {
+			this.content = content;
+		}
+		
+		public void close() throws IOException {
+		}
+
+		public String getHeaderField(String name) throws IOException {
+			return null;
+		}
+
+		public int getResponseCode() throws IOException {
+			return HTTP_OK;
+		}
+
+		public void open(String url) throws IOException {
+		}
+
+		public InputStream openInputStream() throws IOException {
+			return new ByteArrayInputStream(content);
+		}
+
+		public OutputStream openOutputStream() throws IOException {
+			return null;
+		}
+
+		public void setRequestMethod(String method) throws IOException {
+		}
+
+		public void setRequestProperty(String key, String value)
+			throws IOException {
+		}
+
+		public String getRequestProperty(String key) throws IOException {
+			return null;
+		}
+	}
+}
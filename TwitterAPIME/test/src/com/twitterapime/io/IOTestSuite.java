@@ -15,6 +15,16 @@ public class IOTestSuite extends TestSuite {
 	 */
 	public IOTestSuite() {
 		addTest(new HttpConnectorTest());
+		addTest(new HttpConnectionLimiterTest());
+		addTest(new HttpResponseTest());
+		addTest(new HttpResponseCacheTest());
+		addTest(new RateLimitSchedulerTest());
+		addTest(new RetryPolicyTest());
+		addTest(new InflateInputStreamTest());
 		addTest(new HttpResponseCodeInterpreterTest());
+		//#ifdef PP_JAVA_SE
+//@		addTest(new impl.javase.com.twitterapime.io.HttpConnectionImplTest());
+//@		addTest(new impl.javase.com.twitterapime.io.HttpRequestTest());
+		//#endif
 	}
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -0,0 +1,224 @@
+/**
+ * 
+ */
+package com.twitterapime.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Random;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import com.twitterapime.test.TwitterAPIMETestCase;
+
+/**
+ * @author Main
+ *
+ */
+public class InflateInputStreamTest extends TwitterAPIMETestCase {
+	/**
+	 * 
+	 */
+	public InflateInputStreamTest() {
+		super("InflateInputStreamTest");
+	}
+
+	/**
+	 * Test method for {@link com.twitterapime.io.InflateInputStream#InflateInputStream(java.io.InputStream, int)}.
+	 */
+	public void testInflateInputStream() {
+		try {
+			new InflateInputStream(null, InflateInputStream.FORMAT_GZIP);
+			fail();
+		} catch (IllegalArgumentException e) {
+		}
+		try {
+			new InflateInputStream(new ByteArrayInputStream(new byte[0]), 0);
+			fail();
+		} catch (IllegalArgumentException e) {
+		}
+	}
+
+	/**
+	 * Test method for {@link com.twitterapime.io.InflateInputStream#read(byte[], int, int)}.
+	 */
+	public void testReadGzip() throws IOException {
+		byte[] data = getTimelineSample();
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		GZIPOutputStream gz = new GZIPOutputStream(out);
+		gz.write(data);
+		gz.close();
+		//
+		assertTrue(out.size() < data.length / 4);
+		assertEquals(data, inflate(out.toByteArray(), InflateInputStream.FORMAT_GZIP, false));
+		assertEquals(data, inflate(out.toByteArray(), InflateInputStream.FORMAT_GZIP, true));
+	}
+
+	/**
+	 * Test method for {@link com.twitterapime.io.InflateInputStream#read(byte[], int, int)}.
+	 */
+	public void testReadZlib() throws IOException {
+		byte[] data = getRandomSample();
+		//
+		for (int level = 0; level <= 9; level += 3) {
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			DeflaterOutputStream def = new DeflaterOutputStream(out, new Deflater(level));
+			def.write(data);
+			def.close();
+			//
+			assertEquals(data, inflate(out.toByteArray(), InflateInputStream.FORMAT_ZLIB, false));
+		}
+	}
+
+	/**
+	 * Test method for {@link com.twitterapime.io.InflateInputStream#read()}.
+	 */
+	public void testReadRaw() throws IOException {
+		byte[] data = "{\"text\": \"a\"}".getBytes("UTF-8");
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		DeflaterOutputStream def = new DeflaterOutputStream(out, new Deflater(9, true));
+		def.write(data);
+		def.close();
+		//
+		assertEquals(data, inflate(out.toByteArray(), InflateInputStream.FORMAT_RAW, true));
+		//
+		byte[] corrupted = out.toByteArray();
+		corrupted[0] = (byte)0xff;
+		try {
+			inflate(corrupted, InflateInputStream.FORMAT_RAW, false);
+			fail();
+		} catch (IOException e) {
+		}
+		//
+		try {
+			inflate(new byte[] {0x1f, (byte)0x8b, 8}, InflateInputStream.FORMAT_GZIP, false);
+			fail();
+		} catch (IOException e) {
+		}
+	}
+
+	/**
+	 * Test method for {@link com.twitterapime.io.HttpResponse#getWireByteCount()}.
+	 */
+	public void testHttpResponse() throws IOException {
+		byte[] data = getTimelineSample();
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		GZIPOutputStream gz = new GZIPOutputStream(out);
+		gz.write(data);
+		gz.close();
+		//
+		HttpResponse resp = new HttpResponse(new HttpConnMock(out.toByteArray(), "gzip"));
+		assertEquals(new String(data, "UTF-8"), resp.getBodyContent());
+		assertEquals(out.size(), resp.getWireByteCount());
+		assertEquals(data.length, resp.getDecodedByteCount());
+		//
+		HttpResponse.resetTotalByteCounters();
+		resp.close();
+		assertEquals(out.size(), HttpResponse.getTotalWireByteCount());
+		assertEquals(data.length, HttpResponse.getTotalDecodedByteCount());
+		//
+		resp = new HttpResponse(new HttpConnMock(data, null));
+		assertEquals(new String(data, "UTF-8"), resp.getBodyContent());
+		assertEquals(data.length, resp.getWireByteCount());
+		assertEquals(data.length, resp.getDecodedByteCount());
+	}
+	
+	private void assertEquals(byte[] expected, byte[] actual) {
+		assertEquals(expected.length, actual.length);
+		//
+		for (int i = 0; i < expected.length; i++) {
+			assertEquals(expected[i], actual[i]);
+		}
+	}
+	
+	private byte[] inflate(byte[] data, int format, boolean byteByByte) throws IOException {
+		InputStream in = new InflateInputStream(new ByteArrayInputStream(data), format);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		//
+		if (byteByByte) {
+			for (int b; (b = in.read()) != -1;) {
+				out.write(b);
+			}
+		} else {
+			byte[] buffer = new byte[777];
+			for (int n; (n = in.read(buffer, 0, buffer.length)) != -1;) {
+				out.write(buffer, 0, n);
+			}
+		}
+		//
+		in.close();
+		//
+		return out.toByteArray();
+	}
+	
+	private byte[] getTimelineSample() throws IOException {
+		StringBuffer json = new StringBuffer("[");
+		//
+		for (int i = 0; i < 500; i++) {
+			if (i > 0) {
+				json.append(',');
+			}
+			json.append("{\"id\": " + (1000000 + i * 7) + ", \"text\": \"Tweet número " + i + "\", \"user\": {\"screen_name\": \"twiterapime\", \"lang\": \"en\"}}");
+		}
+		//
+		return json.append(']').toString().getBytes("UTF-8");
+	}
+	
+	private byte[] getRandomSample() {
+		Random r = new Random(7);
+		byte[] data = new byte[100000];
+		//
+		for (int i = 0; i < data.length; i++) {
+			data[i] = (byte)(i % 3 == 0 ? r.nextInt() : 'a' + (i / 100) % 26);
+		}
+		//
+		return data;
+	}
+	
+	private class HttpConnMock implements HttpConnection {
+		private byte[] content;
+		private String encoding;
+		
+		public HttpConnMock(byte[] content, String encoding) {
+			this.content = content;
+			this.encoding = encoding;
+		}
+		
+		public void close() throws IOException {
+		}
+
+		public String getHeaderField(String name) throws IOException {
+			return "Content-Encoding".equals(name) ? encoding : null;
+		}
+
+		public int getResponseCode() throws IOException {
+			return HTTP_OK;
+		}
+
+		public void open(String url) throws IOException {
+		}
+
+		public InputStream openInputStream() throws IOException {
+			return new ByteArrayInputStream(content);
+		}
+
+		public OutputStream openOutputStream() throws IOException {
+			return null;
+		}
+
+		public void setRequestMethod(String method) throws IOException {
+		}
+
+		public void setRequestProperty(String key, String value)
+			throws IOException {
+		}
+
+		public String getRequestProperty(String key) throws IOException {
+			return null;
+		}
+	}
+}
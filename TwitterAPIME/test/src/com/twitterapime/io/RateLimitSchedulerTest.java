@@ -0,0 +1,222 @@
+/**
+ * 
+ */
+package com.twitterapime.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Hashtable;
+
+import com.twitterapime.model.MetadataSet;
+import com.twitterapime.rest.RateLimitStatus;
+import com.twitterapime.test.TwitterAPIMETestCase;
+
+/**
+ * @author Main
+ *
+ */
+public class RateLimitSchedulerTest extends TwitterAPIMETestCase {
+	/**
+	 * 
+	 */
+	private static final String URL = "https://api.twitter.com/1.1/statuses/home_timeline.json";
+
+	/**
+	 * 
+	 */
+	public RateLimitSchedulerTest() {
+		super("RateLimitSchedulerTest");
+	}
+	
+	/**
+	 * @see junit.framework.TestCase#setUp()
+	 */
+	protected void setUp() throws Exception {
+		super.setUp();
+		//
+		RateLimitScheduler s = RateLimitScheduler.getInstance();
+		s.clear();
+		s.setEnabled(true);
+		s.setMaxWaitTime(RateLimitScheduler.DEFAULT_MAX_WAIT_TIME);
+	}
+
+	/**
+	 * Test method for {@link com.twitterapime.io.RateLimitScheduler#getResource(java.lang.String)}.
+	 */
+	public void testGetResource() {
+		assertEquals("/statuses/home_timeline", RateLimitScheduler.getResource(URL));
+		assertEquals("/statuses/home_timeline", RateLimitScheduler.getResource(URL + "?count=20"));
+		assertEquals("/statuses/show/:id", RateLimitScheduler.getResource("https://api.twitter.com/1.1/statuses/show/123456.json"));
+		assertEquals("/users/lookup", RateLimitScheduler.getResource("http://api.twitter.com/1/users/lookup.xml"));
+		assertEquals("/", RateLimitScheduler.getResource("https://api.twitter.com"));
+	}
+
+	/**
+	 * Test method for {@link com.twitterapime.io.RateLimitScheduler#getStatus(java.lang.String, java.lang.String)}.
+	 */
+	public void testGetStatus() throws IOException {
+		RateLimitScheduler s = RateLimitScheduler.getInstance();
+		final long reset = System.currentTimeMillis() / 1000 + 900;
+		//
+		assertNull(s.getStatus("/statuses/home_timeline", "tk"));
+		s.update(URL, "tk", new HttpResponse(new HttpConnMock(HttpConnection.HTTP_OK, "15", "14", "" + reset)));
+		//
+		RateLimitStatus st = s.getStatus("/statuses/home_timeline", "tk");
+		assertNotNull(st);
+		assertEquals("/statuses/home_timeline", st.getString(MetadataSet.RATELIMITSTATUS_RESOURCE));
+		assertEquals(15, st.getInt(MetadataSet.RATELIMITSTATUS_HOURLY_LIMIT));
+		assertEquals(14, st.getInt(MetadataSet.RATELIMITSTATUS_REMAINING_HITS));
+		assertEquals(reset * 1000, st.getLong(MetadataSet.RATELIMITSTATUS_RESET_TIME));
+		//
+		assertNull(s.getStatus("/statuses/home_timeline", "other"));
+		assertEquals(1, s.getStatuses("tk").length);
+		assertEquals(0, s.getStatuses("other").length);
+		//
+		s.acquire(URL, "tk");
+		assertEquals(13, s.getStatus("/statuses/home_timeline", "tk").getInt(MetadataSet.RATELIMITSTATUS_REMAINING_HITS));
+	}
+
+	/**
+	 * Test method for {@link com.twitterapime.io.RateLimitScheduler#acquire(java.lang.String, java.lang.String)}.
+	 */
+	public void testAcquire() throws IOException {
+		RateLimitScheduler s = RateLimitScheduler.getInstance();
+		final int delayed = s.getDelayedCount();
+		//
+		s.acquire(URL, "tk"); //unknown limit.
+		assertEquals(delayed, s.getDelayedCount());
+		//
+		s.update(URL, "tk", new HttpResponse(new HttpConnMock(HttpConnection.HTTP_TOO_MANY_REQUESTS, null, null, null)));
+		assertEquals(0, s.getStatus("/statuses/home_timeline", "tk").getInt(MetadataSet.RATELIMITSTATUS_REMAINING_HITS));
+		//
+		s.setMaxWaitTime(1000);
+		long start = System.currentTimeMillis();
+		s.acquire(URL, "tk"); //reset too far: not held.
+		assertTrue(System.currentTimeMillis() - start < 1000);
+		assertEquals(delayed, s.getDelayedCount());
+		//
+		final long reset = (System.currentTimeMillis() + 1500) / 1000;
+		s.setMaxWaitTime(RateLimitScheduler.DEFAULT_MAX_WAIT_TIME);
+		s.update(URL, "tk", new HttpResponse(new HttpConnMock(HttpConnection.HTTP_OK, "15", "0", "" + reset)));
+		s.acquire(URL, "tk"); //held until reset.
+		assertTrue(System.currentTimeMillis() >= reset * 1000);
+		assertEquals(delayed +1, s.getDelayedCount());
+		assertEquals(14, s.getStatus("/statuses/home_timeline", "tk").getInt(MetadataSet.RATELIMITSTATUS_REMAINING_HITS));
+		//
+		s.update(URL, "tk", new HttpResponse(new HttpConnMock(HttpConnection.HTTP_OK, "15", "0", "" + (reset + 900))));
+		s.setEnabled(false);
+		s.acquire(URL, "tk"); //disabled: not held.
+	}
+
+	/**
+	 * Test method for {@link com.twitterapime.io.RateLimitScheduler#acquire(java.lang.String, java.lang.String)}.
+	 */
+	public void testAcquireAfterLocalReset() throws IOException {
+		RateLimitScheduler s = RateLimitScheduler.getInstance();
+		final long reset = System.currentTimeMillis() / 1000 - 1;
+		final int delayed = s.getDelayedCount();
+		//
+		s.update(URL, "tk", new HttpResponse(new HttpConnMock(HttpConnection.HTTP_OK, "2", "0", "" + reset)));
+		s.acquire(URL, "tk"); //window refilled locally.
+		s.acquire(URL, "tk");
+		assertEquals(0, s.getStatus("/statuses/home_timeline", "tk").getInt(MetadataSet.RATELIMITSTATUS_REMAINING_HITS));
+		//
+		long start = System.currentTimeMillis();
+		s.acquire(URL, "tk"); //reset unknown: not held.
+		assertTrue(System.currentTimeMillis() - start < 1000);
+		assertEquals(delayed, s.getDelayedCount());
+	}
+
+	/**
+	 * Test method for {@link com.twitterapime.io.RateLimitScheduler#getBucketCount()}.
+	 */
+	public void testGetBucketCount() throws IOException {
+		RateLimitScheduler s = RateLimitScheduler.getInstance();
+		final long now = System.currentTimeMillis() / 1000;
+		//
+		assertEquals(0, s.getBucketCount());
+		s.update(URL, "tk", new HttpResponse(new HttpConnMock(HttpConnection.HTTP_OK, "15", "14", "" + (now - 1))));
+		assertEquals(1, s.getBucketCount());
+		//
+		s.update(URL, "other", new HttpResponse(new HttpConnMock(HttpConnection.HTTP_OK, "15", "14", "" + (now + 900))));
+		assertEquals(1, s.getBucketCount()); //reset passed: evicted.
+		assertNull(s.getStatus("/statuses/home_timeline", "tk"));
+		assertNotNull(s.getStatus("/statuses/home_timeline", "other"));
+		//
+		s.acquire("https://api.twitter.com/1.1/users/lookup.json", "tk"); //reset ahead: kept.
+		assertEquals(2, s.getBucketCount());
+		assertNotNull(s.getStatus("/statuses/home_timeline", "other"));
+	}
+
+	/**
+	 * Test method for {@link com.twitterapime.io.RateLimitScheduler#getStatuses(java.lang.String)}.
+	 */
+	public void testGetStatusesByDigest() throws IOException {
+		RateLimitScheduler s = RateLimitScheduler.getInstance();
+		final long reset = System.currentTimeMillis() / 1000 + 900;
+		//
+		s.update(URL, "tk", new HttpResponse(new HttpConnMock(HttpConnection.HTTP_OK, "15", "14", "" + reset)));
+		s.update(URL, null, new HttpResponse(new HttpConnMock(HttpConnection.HTTP_OK, "15", "13", "" + reset)));
+		//
+		assertEquals(1, s.getStatuses("tk").length);
+		assertEquals(14, s.getStatuses("tk")[0].getInt(MetadataSet.RATELIMITSTATUS_REMAINING_HITS));
+		assertEquals(1, s.getStatuses(null).length);
+		assertEquals(13, s.getStatuses(null)[0].getInt(MetadataSet.RATELIMITSTATUS_REMAINING_HITS));
+	}
+
+	/**
+	 * 
+	 */
+	private class HttpConnMock implements HttpConnection {
+		private int code;
+		private Hashtable headers = new Hashtable();
+		
+		public HttpConnMock(int code, String limit, String remaining, String reset) {
+			this.code = code;
+			if (limit != null) {
+				headers.put("X-Rate-Limit-Limit", limit);
+			}
+			if (remaining != null) {
+				headers.put("X-Rate-Limit-Remaining", remaining);
+			}
+			if (reset != null) {
+				headers.put("X-Rate-Limit-Reset", reset);
+			}
+		}
+		
+		public void close() throws IOException {
+		}
+
+		public String getHeaderField(String name) throws IOException {
+			return (String)headers.get(name);
+		}
+
+		public int getResponseCode() throws IOException {
+			return code;
+		}
+
+		public void open(String url) throws IOException {
+		}
+
+		public InputStream openInputStream() throws IOException {
+			return new ByteArrayInputStream(new byte[0]);
+		}
+
+		public OutputStream openOutputStream() throws IOException {
+			return null;
+		}
+
+		public void setRequestMethod(String method) throws IOException {
+		}
+
+		public void setRequestProperty(String key, String value)
+			throws IOException {
+		}
+
+		public String getRequestProperty(String key) throws IOException {
+			return null;
+		}
+	}
+}
@@ -0,0 +1,154 @@
+/**
+ * 
+ */
+package com.twitterapime.io;
+
+import com.twitterapime.test.TwitterAPIMETestCase;
+
+/**
+ * @author Main
+ *
+ */
+public class RetryPolicyTest extends TwitterAPIMETestCase {
+	/**
+	 * 
+	 */
+	public RetryPolicyTest() {
+		super("RetryPolicyTest");
+	}
+
+	/**
+	 * Test method for {@link com.twitterapime.io.RetryPolicy#RetryPolicy(int, long, long)}.
+	 */
+	public void testRetryPolicy() {
+		try {
+			new RetryPolicy(0, 0, 0);
+			fail();
+		} catch (IllegalArgumentException e) {
+		}
+		try {
+			new RetryPolicy(1, -1, 0);
+			fail();
+		} catch (IllegalArgumentException e) {
+		}
+		try {
+			new RetryPolicy(1, 1000, 500);
+			fail();
+		} catch (IllegalArgumentException e) {
+		}
+		//
+		RetryPolicy p = new RetryPolicy(5, 100, 800);
+		assertEquals(5, p.getMaxAttempts());
+		assertEquals(100, p.getInitialBackoff());
+		assertEquals(800, p.getMaxBackoff());
+		assertFalse(p.isRetryNonIdempotent());
+		assertEquals(RetryPolicy.DEFAULT_RETRY_BUDGET, p.getRetryBudget());
+		//
+		try {
+			RetryPolicy.NONE.setRetryNonIdempotent(true);
+			fail();
+		} catch (IllegalStateException e) {
+		}
+		try {
+			RetryPolicy.NONE.setRetryBudget(100, 1000);
+			fail();
+		} catch (IllegalStateException e) {
+		}
+		assertFalse(RetryPolicy.NONE.isRetryNonIdempotent());
+		assertEquals(1, RetryPolicy.NONE.getMaxAttempts());
+	}
+
+	/**
+	 * Test method for {@link com.twitterapime.io.RetryPolicy#getPolicy(java.lang.String)}.
+	 */
+	public void testGetPolicy() {
+		try {
+			RetryPolicy.getPolicy(null);
+			fail();
+		} catch (IllegalArgumentException e) {
+		}
+		//
+		RetryPolicy p = new RetryPolicy(5, 100, 800);
+		assertSame(RetryPolicy.getDefault(), RetryPolicy.getPolicy("/statuses/home_timeline"));
+		RetryPolicy.setPolicy("/statuses/home_timeline", p);
+		assertSame(p, RetryPolicy.getPolicy("/statuses/home_timeline"));
+		RetryPolicy.setPolicy("/statuses/home_timeline", null);
+		assertSame(RetryPolicy.getDefault(), RetryPolicy.getPolicy("/statuses/home_timeline"));
+		//
+		RetryPolicy.setDefault(p);
+		assertSame(p, RetryPolicy.getDefault());
+		RetryPolicy.setDefault(null);
+		assertNotSame(p, RetryPolicy.getDefault());
+		assertEquals(RetryPolicy.DEFAULT_MAX_ATTEMPTS, RetryPolicy.getDefault().getMaxAttempts());
+	}
+
+	/**
+	 * Test method for {@link com.twitterapime.io.RetryPolicy#getBackoff(int, long)}.
+	 */
+	public void testGetBackoff() {
+		RetryPolicy p = new RetryPolicy(10, 100, 800);
+		//
+		for (int i = 0; i < 50; i++) {
+			long b = p.getBackoff(1, 0);
+			assertTrue(b >= 50 && b <= 100);
+			b = p.getBackoff(3, 0);
+			assertTrue(b >= 200 && b <= 400);
+			b = p.getBackoff(9, 0);
+			assertTrue(b >= 400 && b <= 800);
+		}
+		//
+		assertEquals(300, p.getBackoff(1, 300));
+		assertEquals(5000, p.getBackoff(1, 5000));
+		assertEquals(0, RetryPolicy.NONE.getBackoff(1, 0));
+	}
+
+	/**
+	 * Test method for {@link com.twitterapime.io.RetryPolicy#shouldRetry(int, boolean)}.
+	 */
+	public void testShouldRetry() {
+		RetryPolicy p = new RetryPolicy(3, 0, 0);
+		//
+		assertTrue(p.shouldRetry(1, true));
+		assertTrue(p.shouldRetry(2, true));
+		assertFalse(p.shouldRetry(3, true));
+		assertFalse(p.shouldRetry(1, false));
+		p.setRetryNonIdempotent(true);
+		assertTrue(p.shouldRetry(1, false));
+		assertEquals(3, p.getRetryCount());
+		assertFalse(RetryPolicy.NONE.shouldRetry(1, true));
+		//
+		assertTrue(p.shouldRetry(1, true, 0));
+		assertFalse(p.shouldRetry(1, true, 1)); //Retry-After beyond max backoff.
+		assertEquals(4, p.getRetryCount());
+		//
+		p.setRetryBudget(1, 60000);
+		assertFalse(p.shouldRetry(1, true)); //4 already used in window.
+		assertEquals(1, p.getBudgetDeniedCount());
+		//
+		p.requestStarted();
+		p.requestFinished(2, true);
+		p.requestStarted();
+		p.requestFinished(3, false);
+		p.requestStarted();
+		p.requestFinished(1, true);
+		assertEquals(3, p.getRequestCount());
+		assertEquals(1, p.getRecoveredCount());
+		assertEquals(1, p.getExhaustedCount());
+		//
+		p.resetStatistics();
+		assertEquals(0, p.getRequestCount());
+		assertEquals(0, p.getRetryCount());
+		assertEquals(0, p.getBudgetDeniedCount());
+		//
+		try {
+			p.setRetryBudget(-1, 1000);
+			fail();
+		} catch (IllegalArgumentException e) {
+		}
+		try {
+			p.setRetryBudget(1, 0);
+			fail();
+		} catch (IllegalArgumentException e) {
+		}
+	}
+}
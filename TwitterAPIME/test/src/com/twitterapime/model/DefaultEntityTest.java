@@ -7,6 +7,7 @@ import java.util.Date;
 import java.util.Enumeration;
 import java.util.Hashtable;
 
+import com.twitterapime.search.Tweet;
 import com.twitterapime.test.TwitterAPIMETestCase;
 
 /**
@@ -86,9 +87,38 @@ public class DefaultEntityTest extends TwitterAPIMETestCase {
 	 */
 	public void testHashCode() {
 		DefaultEntity d = new DefaultEntity(dataSample);
-		assertEquals(d.toString().hashCode(), d.hashCode());
+		assertEquals(d.hashCode(), d.hashCode());
 		DefaultEntity df = new DefaultEntity();
-		assertTrue(d.toString().hashCode() != df.hashCode());
+		assertEquals(0, df.hashCode());
+		assertTrue(d.hashCode() != df.hashCode());
+		//
+		Hashtable copy = new Hashtable();
+		Enumeration keys = dataSample.keys();
+		while (keys.hasMoreElements()) {
+			Object key = keys.nextElement();
+			copy.put(key, dataSample.get(key));
+		}
+		copy.put(KEY_ARRAY, new String[] {"Twitter", "API", "ME"});
+		DefaultEntity d1 = new DefaultEntity(copy);
+		assertTrue(d.equals(d1));
+		assertEquals(d.hashCode(), d1.hashCode());
+		//
+		Hashtable t = new Hashtable();
+		t.put(MetadataSet.TWEET_ID, "1234567890");
+		t.put(MetadataSet.TWEET_CONTENT, "Twitter API ME");
+		Tweet t1 = new Tweet(t);
+		Tweet t2 = new Tweet();
+		t2.data.put(MetadataSet.TWEET_CONTENT, "Twitter API ME");
+		t2.data.put(MetadataSet.TWEET_ID, "1234567890");
+		assertEquals("1234567890".hashCode(), t1.hashCode());
+		assertEquals(t1.hashCode(), t2.hashCode());
+		assertTrue(t1.equals(t2));
+		assertTrue(t2.equals(t1));
+		t2.data.put(MetadataSet.TWEET_ID, "1234567891");
+		assertFalse(t1.equals(t2));
+		//
+		assertFalse(t1.equals(new DefaultEntity(t)));
+		assertFalse(new DefaultEntity(t).equals(t1));
 	}
 
 	/**
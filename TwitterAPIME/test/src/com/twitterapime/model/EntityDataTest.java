@@ -0,0 +1,222 @@
+/**
+ * 
+ */
+package com.twitterapime.model;
+
+import java.util.Date;
+import java.util.Enumeration;
+import java.util.Hashtable;
+
+import com.twitterapime.rest.UserAccount;
+import com.twitterapime.search.Tweet;
+import com.twitterapime.test.TwitterAPIMETestCase;
+
+/**
+ * @author Main
+ *
+ */
+public class EntityDataTest extends TwitterAPIMETestCase {
+	/**
+	 * 
+	 */
+	public EntityDataTest() {
+		super("EntityDataTest");
+	}
+
+	/**
+	 * Test method for {@link com.twitterapime.model.EntityData#EntityData(com.twitterapime.model.EntityLayout)}.
+	 */
+	public void testEntityData() {
+		try {
+			new EntityData(null);
+			fail();
+		} catch (IllegalArgumentException e) {
+		}
+		//
+		EntityData d = new EntityData(EntityLayout.TWEET);
+		assertSame(EntityLayout.TWEET, d.getLayout());
+		assertTrue(d.isEmpty());
+		assertEquals(0, d.size());
+		assertFalse(d.keys().hasMoreElements());
+	}
+
+	/**
+	 * Test method for {@link com.twitterapime.model.EntityData#put(java.lang.Object, java.lang.Object)}.
+	 */
+	public void testPutNumber() {
+		EntityData d = new EntityData(EntityLayout.TWEET);
+		assertNull(d.put(MetadataSet.TWEET_ID, "1234567890123"));
+		assertTrue(d.isNumber(MetadataSet.TWEET_ID));
+		assertEquals(1234567890123L, d.getPrimitive(MetadataSet.TWEET_ID));
+		assertEquals("1234567890123", d.get(MetadataSet.TWEET_ID));
+		assertEquals("1234567890123", d.put(MetadataSet.TWEET_ID, "-7"));
+		assertEquals(-7, d.getPrimitive(MetadataSet.TWEET_ID));
+		assertEquals(1, d.size());
+		//
+		String[] others = {"0123", "-0", "", "1.5", "abc", "99999999999999999999"};
+		for (int i = 0; i < others.length; i++) {
+			d.put(MetadataSet.TWEET_ID, others[i]);
+			assertFalse(d.isNumber(MetadataSet.TWEET_ID));
+			assertSame(others[i], d.get(MetadataSet.TWEET_ID));
+			assertEquals(1, d.size());
+		}
+		//
+		Long l = new Long(14);
+		d.put(MetadataSet.TWEET_ID, l);
+		assertFalse(d.isNumber(MetadataSet.TWEET_ID));
+		assertSame(l, d.get(MetadataSet.TWEET_ID));
+		//
+		try {
+			d.getPrimitive(MetadataSet.TWEET_ID);
+			fail();
+		} catch (IllegalArgumentException e) {
+		}
+		try {
+			d.put(MetadataSet.TWEET_ID, null);
+			fail();
+		} catch (NullPointerException e) {
+		}
+	}
+
+	/**
+	 * Test method for {@link com.twitterapime.model.EntityData#put(java.lang.Object, java.lang.Object)}.
+	 */
+	public void testPutBoolean() {
+		EntityData d = new EntityData(EntityLayout.TWEET);
+		d.put(MetadataSet.TWEET_FAVOURITE, "true");
+		assertTrue(d.isBoolean(MetadataSet.TWEET_FAVOURITE));
+		assertFalse(d.isNumber(MetadataSet.TWEET_FAVOURITE));
+		assertEquals(1, d.getPrimitive(MetadataSet.TWEET_FAVOURITE));
+		assertEquals("true", d.get(MetadataSet.TWEET_FAVOURITE));
+		d.put(MetadataSet.TWEET_FAVOURITE, "false");
+		assertEquals("false", d.get(MetadataSet.TWEET_FAVOURITE));
+		d.put(MetadataSet.TWEET_FAVOURITE, "TRUE");
+		assertFalse(d.isBoolean(MetadataSet.TWEET_FAVOURITE));
+		assertEquals("TRUE", d.get(MetadataSet.TWEET_FAVOURITE));
+		assertEquals(1, d.size());
+	}
+
+	/**
+	 * Test method for {@link com.twitterapime.model.EntityData#remove(java.lang.Object)}.
+	 */
+	public void testRemove() {
+		EntityData d = new EntityData(EntityLayout.TWEET);
+		d.put(MetadataSet.TWEET_ID, "1");
+		d.put(MetadataSet.TWEET_CONTENT, "Twitter API ME");
+		d.put(MetadataSet.TWEET_IN_REPLY_TO_TWEET_ID, "x");
+		d.put("KEY_OTHER", this);
+		assertEquals(4, d.size());
+		assertTrue(d.containsKey(MetadataSet.TWEET_ID));
+		assertTrue(d.containsKey(MetadataSet.TWEET_CONTENT));
+		assertTrue(d.containsKey(MetadataSet.TWEET_IN_REPLY_TO_TWEET_ID));
+		assertTrue(d.containsKey("KEY_OTHER"));
+		assertFalse(d.containsKey(MetadataSet.TWEET_SOURCE));
+		assertTrue(d.contains("1"));
+		assertTrue(d.contains(this));
+		//
+		assertEquals("1", d.remove(MetadataSet.TWEET_ID));
+		assertEquals("Twitter API ME", d.remove(MetadataSet.TWEET_CONTENT));
+		assertEquals("x", d.remove(MetadataSet.TWEET_IN_REPLY_TO_TWEET_ID));
+		assertSame(this, d.remove("KEY_OTHER"));
+		assertNull(d.remove(MetadataSet.TWEET_ID));
+		assertTrue(d.isEmpty());
+		//
+		d.put(MetadataSet.TWEET_ID, "1");
+		d.put("KEY_OTHER", this);
+		d.clear();
+		assertTrue(d.isEmpty());
+		assertNull(d.get(MetadataSet.TWEET_ID));
+		assertNull(d.get("KEY_OTHER"));
+	}
+
+	/**
+	 * Test method for {@link com.twitterapime.model.EntityData#equals(java.lang.Object)}.
+	 */
+	public void testEquals() {
+		Hashtable h = new Hashtable();
+		h.put(MetadataSet.USERACCOUNT_ID, "99");
+		h.put(MetadataSet.USERACCOUNT_VERIFIED, "false");
+		h.put(MetadataSet.USERACCOUNT_NAME, "Ernandes");
+		h.put(MetadataSet.USERACCOUNT_UTC_OFFSET, "-10800");
+		h.put("KEY_OTHER", "other");
+		//
+		EntityData d = new EntityData(EntityLayout.USER_ACCOUNT, h);
+		assertEquals(h.size(), d.size());
+		assertTrue(d.equals(h));
+		assertTrue(h.equals(d));
+		assertEquals(h.hashCode(), d.hashCode());
+		//
+		Enumeration keys = d.keys();
+		Enumeration values = d.elements();
+		int count = 0;
+		while (keys.hasMoreElements()) {
+			assertEquals(h.get(keys.nextElement()), values.nextElement());
+			count++;
+		}
+		assertEquals(h.size(), count);
+		//
+		d.put(MetadataSet.USERACCOUNT_ID, "100");
+		assertFalse(d.equals(h));
+		assertFalse(h.equals(d));
+	}
+
+	/**
+	 * Test method for {@link com.twitterapime.model.EntityData#getHashCode(java.lang.Object)}.
+	 */
+	public void testGetHashCode() {
+		EntityData d = new EntityData(EntityLayout.TWEET);
+		assertEquals(0, d.getHashCode(MetadataSet.TWEET_ID));
+		//
+		String[] ids = {
+			"0", "7", "-7", "1234567890123", "-1234567890123",
+			String.valueOf(Long.MAX_VALUE), String.valueOf(Long.MIN_VALUE)};
+		for (int i = 0; i < ids.length; i++) {
+			d.put(MetadataSet.TWEET_ID, ids[i]);
+			assertTrue(d.isNumber(MetadataSet.TWEET_ID));
+			assertEquals(ids[i].hashCode(), d.getHashCode(MetadataSet.TWEET_ID));
+		}
+		//
+		d.put(MetadataSet.TWEET_ID, "0123");
+		assertEquals("0123".hashCode(), d.getHashCode(MetadataSet.TWEET_ID));
+		d.put(MetadataSet.TWEET_FAVOURITE, "true");
+		assertEquals("true".hashCode(), d.getHashCode(MetadataSet.TWEET_FAVOURITE));
+		d.put(MetadataSet.TWEET_CONTENT, "Twitter API ME");
+		assertEquals(
+			"Twitter API ME".hashCode(), d.getHashCode(MetadataSet.TWEET_CONTENT));
+	}
+
+	/**
+	 * Test method for {@link com.twitterapime.model.DefaultEntity#getLong(java.lang.String)}.
+	 */
+	public void testEntityGetters() {
+		Tweet t = new Tweet();
+		assertTrue(t.data instanceof EntityData);
+		t.data.put(MetadataSet.TWEET_PUBLISH_DATE, "1287439200000");
+		t.data.put(MetadataSet.TWEET_FAVOURITE, "true");
+		t.data.put(MetadataSet.TWEET_IN_REPLY_TO_TWEET_ID, "3000000000");
+		assertEquals(1287439200000L, t.getLong(MetadataSet.TWEET_PUBLISH_DATE));
+		assertEquals(
+			new Date(1287439200000L), t.getDate(MetadataSet.TWEET_PUBLISH_DATE));
+		assertTrue(t.getBoolean(MetadataSet.TWEET_FAVOURITE));
+		assertEquals(Long.MIN_VALUE, t.getLong(MetadataSet.TWEET_ID));
+		assertEquals(Integer.MIN_VALUE, t.getInt(MetadataSet.TWEET_ID));
+		try {
+			t.getInt(MetadataSet.TWEET_IN_REPLY_TO_TWEET_ID);
+			fail();
+		} catch (NumberFormatException e) {
+		}
+		//
+		UserAccount u = new UserAccount();
+		assertTrue(u.data instanceof EntityData);
+		u.data.put(MetadataSet.USERACCOUNT_FOLLOWERS_COUNT, "42");
+		u.data.put(MetadataSet.USERACCOUNT_PROTECTED, "0");
+		assertEquals(42, u.getInt(MetadataSet.USERACCOUNT_FOLLOWERS_COUNT));
+		assertFalse(u.getBoolean(MetadataSet.USERACCOUNT_PROTECTED));
+		assertFalse(u.getBoolean(MetadataSet.USERACCOUNT_VERIFIED));
+		//
+		Hashtable h = new Hashtable();
+		u = new UserAccount(h);
+		assertSame(h, u.data);
+		assertFalse(new DefaultEntity().data instanceof EntityData);
+	}
+}
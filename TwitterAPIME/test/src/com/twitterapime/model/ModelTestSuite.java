@@ -15,5 +15,6 @@ public class ModelTestSuite extends TestSuite {
 	 */
 	public ModelTestSuite() {
 		addTest(new DefaultEntityTest());
+		addTest(new EntityDataTest());
 	}
 }
\ No newline at end of file
@@ -0,0 +1,81 @@
+/**
+ * 
+ */
+package com.twitterapime.parser;
+
+import java.util.Hashtable;
+
+import com.twitterapime.model.MetadataSet;
+import com.twitterapime.test.TwitterAPIMETestCase;
+
+/**
+ * @author Main
+ *
+ */
+public class FieldBinderTest extends TwitterAPIMETestCase {
+	/**
+	 * 
+	 */
+	public FieldBinderTest() {
+		super("FieldBinderTest");
+	}
+
+	/**
+	 * Test method for {@link com.twitterapime.parser.FieldBinder#getField(java.lang.String)}.
+	 */
+	public void testGetField() {
+		FieldBinder fields = newFieldBinder();
+		//
+		assertEquals(3, fields.size());
+		assertEquals(0, fields.getField("id"));
+		assertEquals(1, fields.getField("source"));
+		assertEquals(2, fields.getField("created_at"));
+		assertEquals(2, fields.getField("published"));
+		assertEquals(FieldBinder.NO_FIELD, fields.getField("text"));
+		assertEquals("created_at", fields.getName(2));
+		//
+		assertEquals(0, fields.match("/status/id"));
+		assertEquals(FieldBinder.NO_FIELD, fields.match("/status/user_id"));
+		//
+		try {
+			fields.bind(0, null, MetadataSet.TWEET_ID, FieldBinder.STRING);
+			fail();
+		} catch (IllegalArgumentException e) {
+		}
+	}
+
+	/**
+	 * Test method for {@link com.twitterapime.parser.FieldBinder#populate(java.util.Hashtable, int, java.lang.String)}.
+	 */
+	public void testPopulate() {
+		FieldBinder fields = newFieldBinder();
+		Hashtable data = new Hashtable();
+		//
+		fields.populate(data, 0, "123");
+		fields.populate(data, 1, "<a href=\"x\">web</a>");
+		fields.populate(data, FieldBinder.NO_FIELD, "abc");
+		//
+		assertEquals(2, data.size());
+		assertEquals("123", data.get(MetadataSet.TWEET_ID));
+		assertEquals("web", data.get(MetadataSet.TWEET_SOURCE));
+		//
+		XMLPathTrie paths = new XMLPathTrie();
+		fields.addPaths(paths, "/status", 10);
+		assertEquals(10, paths.root.child("status").child("id").id);
+		assertEquals(12, paths.root.child("status").child("created_at").id);
+	}
+
+	/**
+	 * Create a field binder of tweets.
+	 * @return Field binder.
+	 */
+	private FieldBinder newFieldBinder() {
+		FieldBinder fields = new FieldBinder(3);
+		fields.bind(0, "id", MetadataSet.TWEET_ID, FieldBinder.STRING);
+		fields.bind(1, "source", MetadataSet.TWEET_SOURCE, FieldBinder.UNTAGGED);
+		fields.bind(2, "created_at", MetadataSet.TWEET_PUBLISH_DATE, FieldBinder.DATE);
+		fields.alias(2, "published");
+		//
+		return fields;
+	}
+}
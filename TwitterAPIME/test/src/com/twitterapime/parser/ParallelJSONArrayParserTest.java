@@ -0,0 +1,103 @@
+/**
+ * 
+ */
+package com.twitterapime.parser;
+
+import com.twitterapime.test.TwitterAPIMETestCase;
+import com.twitterapime.util.TaskExecutor;
+
+/**
+ * @author Main
+ *
+ */
+public class ParallelJSONArrayParserTest extends TwitterAPIMETestCase {
+	/**
+	 * 
+	 */
+	public ParallelJSONArrayParserTest() {
+		super("ParallelJSONArrayParserTest");
+	}
+
+	/**
+	 * Test method for {@link com.twitterapime.parser.ParallelJSONArrayParser#split(byte[])}.
+	 */
+	public void testSplit() throws Exception {
+		String json = " [{\"a\": \"],\\\"\"}, [1, {}] ,\"x\", 2 ] ";
+		int[] bounds = ParallelJSONArrayParser.split(json.getBytes("UTF-8"));
+		//
+		assertEquals(8, bounds.length);
+		assertEquals("{\"a\": \"],\\\"\"}", json.substring(bounds[0], bounds[1]));
+		assertEquals("[1, {}] ", json.substring(bounds[2], bounds[3]));
+		assertEquals("\"x\"", json.substring(bounds[4], bounds[5]));
+		assertEquals("2 ", json.substring(bounds[6], bounds[7]));
+		//
+		assertEquals(0, ParallelJSONArrayParser.split("[ ]".getBytes()).length);
+		//
+		String[] malformed = {"", "{}", "[1,]", "[,1]", "[1", "[1]]", "[1} ", "[\"]"};
+		//
+		for (int i = 0; i < malformed.length; i++) {
+			try {
+				ParallelJSONArrayParser.split(malformed[i].getBytes());
+				fail(malformed[i]);
+			} catch (ParserException e) {
+			}
+		}
+		//
+		try {
+			ParallelJSONArrayParser.split(null);
+			fail();
+		} catch (IllegalArgumentException e) {
+		}
+	}
+
+	/**
+	 * Test method for {@link com.twitterapime.parser.ParallelJSONArrayParser#parse(byte[])}.
+	 */
+	public void testParse() throws Exception {
+		StringBuffer json = new StringBuffer("[");
+		//
+		for (int i = 0; i < 100; i++) {
+			if (i > 0) {
+				json.append(", ");
+			}
+			json.append("{\"id\": " + i + ", \"text\": \"t[" + i + "]\", \"user\": {\"id\": " + (i * 10) + "}}");
+		}
+		json.append(']');
+		//
+		TaskExecutor executor = new TaskExecutor(3, 1, TaskExecutor.POLICY_DISCARD);
+		ParallelJSONArrayParser parser = new ParallelJSONArrayParser(executor);
+		parser.setMinSliceSize(4);
+		JSONObject[] objs = parser.parse(json.toString().getBytes("UTF-8"));
+		//
+		assertEquals(100, objs.length);
+		//
+		for (int i = 0; i < objs.length; i++) {
+			assertEquals(i, objs[i].getInt("id"));
+			assertEquals("t[" + i + "]", objs[i].getString("text"));
+			assertEquals(i * 10, objs[i].getJSONObject("user").getInt("id"));
+		}
+		//
+		assertEquals(0, parser.parse("[]".getBytes()).length);
+		assertEquals(1, new ParallelJSONArrayParser(executor).parse("[{\"id\": 1}]".getBytes()).length);
+		//
+		try {
+			parser.parse("[{\"id\": 1}, {\"id\" 2}, {}, {}, {}, {}, {}, {}, {}]".getBytes());
+			fail();
+		} catch (ParserException e) {
+		}
+		//
+		executor.shutdown();
+		assertEquals(100, parser.parse(json.toString().getBytes("UTF-8")).length);
+		//
+		try {
+			parser.setMinSliceSize(0);
+			fail();
+		} catch (IllegalArgumentException e) {
+		}
+		try {
+			new ParallelJSONArrayParser(null);
+			fail();
+		} catch (IllegalArgumentException e) {
+		}
+	}
+}
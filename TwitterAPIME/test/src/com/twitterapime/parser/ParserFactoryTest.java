@@ -3,7 +3,9 @@
  */
 package com.twitterapime.parser;
 
-import impl.javame.com.twitterapime.parser.JSONOrgParser;
+import java.io.ByteArrayInputStream;
+
+import impl.javame.com.twitterapime.parser.JSONStreamParser;
 
 import com.twitterapime.platform.PlatformProviderSelector;
 import com.twitterapime.test.TwitterAPIMETestCase;
@@ -30,7 +32,7 @@ public class ParserFactoryTest extends TwitterAPIMETestCase {
 		Parser parser = ParserFactory.getDefaultParser();
 		//
 		assertNotNull(parser);
-		assertEquals(new impl.javame.com.twitterapime.parser.KXML2Parser().getClass(), parser.getClass());
+		assertEquals(new impl.javame.com.twitterapime.parser.XMLStreamParser().getClass(), parser.getClass());
 		//#endif
 		//
 		//#ifdef PP_ANDROID
@@ -53,12 +55,12 @@ public class ParserFactoryTest extends TwitterAPIMETestCase {
 		Parser parser = ParserFactory.getParser(ParserFactory.XML);
 		//
 		assertNotNull(parser);
-		assertEquals(new impl.javame.com.twitterapime.parser.KXML2Parser().getClass(), parser.getClass());
+		assertEquals(new impl.javame.com.twitterapime.parser.XMLStreamParser().getClass(), parser.getClass());
 		//
 		parser = ParserFactory.getParser(ParserFactory.JSON);
 		//
 		assertNotNull(parser);
-		assertEquals(new JSONOrgParser().getClass(), parser.getClass());
+		assertEquals(new JSONStreamParser().getClass(), parser.getClass());
 		//#endif
 		//
 		//#ifdef PP_ANDROID
@@ -71,7 +73,41 @@ public class ParserFactoryTest extends TwitterAPIMETestCase {
 //@		parser = ParserFactory.getParser(ParserFactory.JSON);
 //@		//
 //@		assertNotNull(parser);
-//@		assertEquals(new JSONOrgParser().getClass(), parser.getClass());
+//@		assertEquals(new JSONStreamParser().getClass(), parser.getClass());
 		//#endif
 	}
+
+	/**
+	 * Test method for {@link com.twitterapime.parser.ParserFactory#parse(int, java.io.InputStream, com.twitterapime.parser.Handler)}.
+	 */
+	public void testParse() throws Exception {
+		final int[] count = new int[1];
+		DefaultJSONHandler handler = new DefaultJSONHandler("root") {
+			public void handle(JSONObject jsonObj) throws ParserException {
+				count[0] += jsonObj.getJSONObject("root").getInt("id");
+			}
+		};
+		//
+		ParserFactory.parse(ParserFactory.JSON, new ByteArrayInputStream("{\"id\": 1}".getBytes()), handler);
+		int reuseCount = ParserFactory.getReuseCount();
+		ParserFactory.parse(ParserFactory.JSON, new ByteArrayInputStream("{\"id\": 2}".getBytes()), handler);
+		//
+		assertEquals(3, count[0]);
+		assertEquals(reuseCount +1, ParserFactory.getReuseCount());
+		//
+		ParserFactory.setMaxPooledParsers(0);
+		ParserFactory.parse(ParserFactory.JSON, new ByteArrayInputStream("{\"id\": 3}".getBytes()), handler);
+		ParserFactory.parse(ParserFactory.JSON, new ByteArrayInputStream("{\"id\": 4}".getBytes()), handler);
+		//
+		assertEquals(10, count[0]);
+		assertEquals(reuseCount +1, ParserFactory.getReuseCount());
+		//
+		try {
+			ParserFactory.setMaxPooledParsers(-1);
+			fail();
+		} catch (IllegalArgumentException e) {
+		}
+		ParserFactory.setMaxPooledParsers(ParserFactory.DEFAULT_MAX_POOLED_PARSERS);
+		assertEquals(ParserFactory.DEFAULT_MAX_POOLED_PARSERS, ParserFactory.getMaxPooledParsers());
+	}
 }
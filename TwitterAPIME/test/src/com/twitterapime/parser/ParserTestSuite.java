@@ -3,6 +3,8 @@
  */
 package com.twitterapime.parser;
 
+import impl.javame.com.twitterapime.parser.JSONStreamParserTest;
+
 import junit.framework.TestSuite;
 
 /**
@@ -15,5 +17,15 @@ public class ParserTestSuite extends TestSuite {
 	 */
 	public ParserTestSuite() {
 		addTest(new ParserFactoryTest());
+		addTest(new XMLPathTrieTest());
+		addTest(new FieldBinderTest());
+		addTest(new ParallelJSONArrayParserTest());
+		addTest(new JSONStreamParserTest());
+		//#ifdef PP_JAVA_ME
+		addTest(new impl.javame.com.twitterapime.parser.XMLStreamParserTest());
+		//#endif
+		//#ifdef PP_ANDROID
+//@		addTest(new impl.android.com.twitterapime.parser.SAXParserTest());
+		//#endif
 	}
 }
@@ -0,0 +1,85 @@
+/**
+ * 
+ */
+package com.twitterapime.parser;
+
+import com.twitterapime.test.TwitterAPIMETestCase;
+
+/**
+ * @author Main
+ *
+ */
+public class XMLPathTrieTest extends TwitterAPIMETestCase {
+	/**
+	 * 
+	 */
+	public XMLPathTrieTest() {
+		super("XMLPathTrieTest");
+	}
+
+	/**
+	 * Test method for {@link com.twitterapime.parser.XMLPathTrie#add(java.lang.String, int)}.
+	 */
+	public void testAdd() {
+		XMLPathTrie paths = new XMLPathTrie();
+		//
+		try {
+			paths.add(null, 0);
+			fail();
+		} catch (IllegalArgumentException e) {
+		} catch (Exception e) {
+			fail();
+		}
+		//
+		try {
+			paths.add("/", 0);
+			fail();
+		} catch (IllegalArgumentException e) {
+		} catch (Exception e) {
+			fail();
+		}
+		//
+		try {
+			paths.add("/status", -1);
+			fail();
+		} catch (IllegalArgumentException e) {
+		} catch (Exception e) {
+			fail();
+		}
+		//
+		paths.add("/status", 0);
+		paths.add("/status/id", 1);
+		paths.add("/status/user/*", 2);
+		paths.add("/status/user/ID", 3);
+		//
+		XMLPathTrie.Node status = paths.root.child("status");
+		assertNotNull(status);
+		assertEquals(0, status.id);
+		assertEquals(XMLPathTrie.NO_ID, status.descendantId);
+		assertEquals(1, status.child("id").id);
+		assertEquals(1, status.child("Id").id);
+		//
+		XMLPathTrie.Node user = status.child("user");
+		assertNotNull(user);
+		assertEquals(XMLPathTrie.NO_ID, user.id);
+		assertEquals(2, user.descendantId);
+		assertEquals(3, user.child("id").id);
+		assertNull(user.child("name"));
+		assertNull(paths.root.child("user"));
+	}
+
+	/**
+	 * Test method for {@link com.twitterapime.parser.XMLPathTrie#match(java.lang.String, java.lang.String[])}.
+	 */
+	public void testMatch() {
+		String[] rel = new String[] {"user/id", "id", "text"};
+		//
+		assertEquals(0, XMLPathTrie.match("/status/user/id", rel));
+		assertEquals(1, XMLPathTrie.match("/status/id", rel));
+		assertEquals(2, XMLPathTrie.match("/status/text", rel));
+		assertEquals(XMLPathTrie.NO_ID, XMLPathTrie.match("/status/user_id", rel));
+		assertEquals(XMLPathTrie.NO_ID, XMLPathTrie.match("/status/user/name", rel));
+		assertEquals(XMLPathTrie.NO_ID, XMLPathTrie.match("id", rel));
+		assertEquals(XMLPathTrie.NO_ID, XMLPathTrie.match("/status/id", new String[0]));
+	}
+}
@@ -141,4 +141,22 @@ public class CredentialTest extends TwitterAPIMETestCase {
 			fail();
 		}
 	}
+
+	/**
+	 * Test method for {@link com.twitterapime.rest.Credential#hashCode()}.
+	 */
+	public void testHashCode() {
+		Credential c1 = new Credential("twitterapime@twapime.com", "password", "1234567890", "1234567890");
+		Credential c2 = new Credential("twitterapime@twapime.com", "password", "1234567890", "1234567890");
+		assertEquals(c1.hashCode(), c2.hashCode());
+		assertEquals(c1, c2);
+		//
+		int hash = c1.hashCode();
+		c1.setUsername("twapime");
+		assertTrue(hash != c1.hashCode());
+		assertFalse(c1.equals(c2));
+		c2.setUsername("twapime");
+		assertEquals(c1.hashCode(), c2.hashCode());
+		assertEquals(c1, c2);
+	}
 }
@@ -0,0 +1,309 @@
+/**
+ * 
+ */
+package com.twitterapime.rest;
+
+import java.io.IOException;
+import java.util.Enumeration;
+import java.util.Hashtable;
+import java.util.Random;
+
+import com.twitterapime.model.LongCursor;
+import com.twitterapime.test.TwitterAPIMETestCase;
+import com.twitterapime.util.LongVector;
+
+/**
+ * @author Main
+ *
+ */
+public class IdSnapshotManagerTest extends TwitterAPIMETestCase {
+	/**
+	 * 
+	 */
+	public IdSnapshotManagerTest() {
+		super("IdSnapshotManagerTest");
+	}
+
+	/**
+	 * Test method for {@link com.twitterapime.rest.IdSnapshotManager#IdSnapshotManager(com.twitterapime.rest.IdSnapshotStore)}.
+	 */
+	public void testIdSnapshotManager() throws IOException {
+		try {
+			new IdSnapshotManager(null);
+			fail();
+		} catch (IllegalArgumentException e) {
+		}
+		//
+		IdSnapshotManager ism = new IdSnapshotManager(new MemoryStore());
+		try {
+			ism.begin(null, null);
+			fail();
+		} catch (IllegalArgumentException e) {
+		}
+		try {
+			ism.begin("", null);
+			fail();
+		} catch (IllegalArgumentException e) {
+		}
+		//
+		assertEquals(-1, ism.getSize("k"));
+		assertNull(ism.getIds("k"));
+	}
+
+	/**
+	 * Test method for {@link com.twitterapime.rest.IdSnapshotUpdate#commit()}.
+	 */
+	public void testBaseline() throws IOException {
+		MemoryStore store = new MemoryStore();
+		IdSnapshotManager ism = new IdSnapshotManager(store);
+		Listener l = new Listener();
+		//
+		IdSnapshotUpdate u = ism.begin("followers:1", l);
+		u.addPage(new long[] {30, 10, 20});
+		u.addPage(new LongCursor(new long[] {20, 5, Long.MAX_VALUE}, 0, 0));
+		u.addPage(new long[0]);
+		u.commit();
+		//
+		assertEquals(0, l.added.size());
+		assertEquals(0, l.removed.size());
+		assertEquals(1, l.saves);
+		assertTrue(l.baseline);
+		assertEquals(5, l.count);
+		assertEquals(5, ism.getSize("followers:1"));
+		//
+		long[] ids = ism.getIds("followers:1").getElements();
+		assertEquals(5, ids.length);
+		assertEquals(5, ids[0]);
+		assertEquals(10, ids[1]);
+		assertEquals(20, ids[2]);
+		assertEquals(30, ids[3]);
+		assertEquals(Long.MAX_VALUE, ids[4]);
+		assertEquals(2, store.entries.size()); //header and 1 block.
+		//
+		try {
+			u.addPage(new long[] {1});
+			fail();
+		} catch (IllegalStateException e) {
+		}
+		try {
+			u.commit();
+			fail();
+		} catch (IllegalStateException e) {
+		}
+		u.abort();
+		assertEquals(5, ism.getSize("followers:1"));
+	}
+
+	/**
+	 * Test method for {@link com.twitterapime.rest.IdSnapshotUpdate#commit()}.
+	 */
+	public void testDelta() throws IOException {
+		MemoryStore store = new MemoryStore();
+		IdSnapshotManager ism = new IdSnapshotManager(store);
+		Random r = new Random(25);
+		Hashtable previous = new Hashtable();
+		//
+		for (int round = 0; round < 3; round++) {
+			Hashtable current = new Hashtable();
+			Listener l = new Listener();
+			IdSnapshotUpdate u = ism.begin("friends:2", l);
+			//
+			for (int p = 0; p < 20; p++) {
+				long[] page = new long[700 + (r.nextInt() & 0xFF)];
+				//
+				for (int i = 0; i < page.length; i++) {
+					page[i] = (r.nextInt() & 0x7FFF) * 1000000007L;
+					current.put(new Long(page[i]), Boolean.TRUE);
+				}
+				//
+				u.addPage(page);
+			}
+			u.commit();
+			//
+			assertEquals(round == 0, l.baseline);
+			assertEquals(current.size(), l.count);
+			assertEquals(current.size(), ism.getSize("friends:2"));
+			//
+			if (round > 0) {
+				assertDiff(current, previous, l.added);
+				assertDiff(previous, current, l.removed);
+			}
+			//
+			long[] ids = ism.getIds("friends:2").getElements();
+			assertEquals(current.size(), ids.length);
+			for (int i = 0; i < ids.length; i++) {
+				assertTrue(current.containsKey(new Long(ids[i])));
+				if (i > 0) {
+					assertTrue(ids[i -1] < ids[i]);
+				}
+			}
+			//
+			int blocks = (ids.length + IdSnapshotManager.BLOCK_SIZE -1) / IdSnapshotManager.BLOCK_SIZE;
+			assertEquals(blocks + 1, store.entries.size()); //no runs left.
+			//
+			previous = current;
+		}
+		//
+		ism.remove("friends:2");
+		assertEquals(-1, ism.getSize("friends:2"));
+		assertEquals(0, store.entries.size());
+	}
+
+	/**
+	 * Test method for {@link com.twitterapime.rest.IdSnapshotUpdate#abort()}.
+	 */
+	public void testAbort() throws IOException {
+		MemoryStore store = new MemoryStore();
+		IdSnapshotManager ism = new IdSnapshotManager(store);
+		Listener l = new Listener();
+		//
+		IdSnapshotUpdate u = ism.begin("k", l);
+		u.addPage(new long[] {1, 2, 3});
+		u.commit();
+		//
+		u = ism.begin("k", l);
+		u.addPage(new long[] {4});
+		u.abort();
+		u.abort();
+		assertEquals(3, ism.getSize("k"));
+		assertEquals(2, store.entries.size());
+		try {
+			u.addPage(new long[] {5});
+			fail();
+		} catch (IllegalStateException e) {
+		}
+		//
+		store.entries.remove("k#1.0");
+		u = ism.begin("k", l);
+		u.addPage(new long[] {4});
+		try {
+			u.commit();
+			fail();
+		} catch (IOException e) {
+		}
+		assertEquals(1, store.entries.size()); //header only.
+		assertEquals(1, l.saves);
+		//
+		ism.remove("k");
+		u = ism.begin("k", l);
+		u.commit();
+		assertTrue(l.baseline);
+		assertEquals(0, ism.getSize("k"));
+	}
+
+	/**
+	 * Test method for {@link com.twitterapime.rest.IdSnapshotManager#getIds(java.lang.String)}.
+	 */
+	public void testKeyMismatch() throws IOException {
+		HashStore store = new HashStore(); //"Aa" and "BB" have the same hash.
+		IdSnapshotManager ism = new IdSnapshotManager(store);
+		Listener l = new Listener();
+		//
+		IdSnapshotUpdate u = ism.begin("Aa", l);
+		u.addPage(new long[] {1, 2, 3});
+		u.commit();
+		//
+		try {
+			ism.begin("BB", l); //not a new baseline over Aa's snapshot.
+			fail();
+		} catch (IOException e) {
+		}
+		try {
+			ism.getSize("BB");
+			fail();
+		} catch (IOException e) {
+		}
+		try {
+			ism.getIds("BB");
+			fail();
+		} catch (IOException e) {
+		}
+		//
+		assertEquals(3, ism.getSize("Aa"));
+		assertEquals(3, ism.getIds("Aa").getElements()[2]);
+	}
+
+	/**
+	 * <p>
+	 * Assert the ids notified are the ones of a and not of b.
+	 * </p>
+	 */
+	private void assertDiff(Hashtable a, Hashtable b, LongVector ids) {
+		int count = 0;
+		Enumeration e = a.keys();
+		//
+		while (e.hasMoreElements()) {
+			if (!b.containsKey(e.nextElement())) {
+				count++;
+			}
+		}
+		//
+		assertEquals(count, ids.size());
+		for (int i = 0; i < ids.size(); i++) {
+			Long id = new Long(ids.elementAt(i));
+			assertTrue(a.containsKey(id));
+			assertFalse(b.containsKey(id));
+			if (i > 0) {
+				assertTrue(ids.elementAt(i -1) < ids.elementAt(i));
+			}
+		}
+	}
+
+	private class Listener implements IdSnapshotListener {
+		private LongVector added = new LongVector();
+		private LongVector removed = new LongVector();
+		private int saves;
+		private int count;
+		private boolean baseline;
+
+		public void idsAdded(String key, long[] ids, int count) {
+			for (int i = 0; i < count; i++) {
+				added.addElement(ids[i]);
+			}
+		}
+
+		public void idsRemoved(String key, long[] ids, int count) {
+			for (int i = 0; i < count; i++) {
+				removed.addElement(ids[i]);
+			}
+		}
+
+		public void snapshotSaved(String key, int count, boolean baseline) {
+			saves++;
+			this.count = count;
+			this.baseline = baseline;
+		}
+	}
+
+	private class HashStore implements IdSnapshotStore {
+		private Hashtable entries = new Hashtable();
+
+		public byte[] get(String key) throws IOException {
+			return (byte[])entries.get(new Integer(key.hashCode()));
+		}
+
+		public void put(String key, byte[] entry) throws IOException {
+			entries.put(new Integer(key.hashCode()), entry);
+		}
+
+		public void remove(String key) throws IOException {
+			entries.remove(new Integer(key.hashCode()));
+		}
+	}
+
+	private class MemoryStore implements IdSnapshotStore {
+		private Hashtable entries = new Hashtable();
+
+		public byte[] get(String key) throws IOException {
+			return (byte[])entries.get(key);
+		}
+
+		public void put(String key, byte[] entry) throws IOException {
+			entries.put(key, entry);
+		}
+
+		public void remove(String key) throws IOException {
+			entries.remove(key);
+		}
+	}
+}
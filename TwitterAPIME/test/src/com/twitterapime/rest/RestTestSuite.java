@@ -23,5 +23,10 @@ public class RestTestSuite extends TestSuite {
 		addTest(new FriendshipManagerTest());
 		addTest(new ListTest());
 		addTest(new ListManagerTest());
+		addTest(new IdSnapshotManagerTest());
+		addTest(new UserLookupBatcherTest());
+		//#ifdef PP_JAVA_SE
+//@		addTest(new impl.javase.com.twitterapime.rest.FileIdSnapshotStoreTest());
+		//#endif
 	}
 }
\ No newline at end of file
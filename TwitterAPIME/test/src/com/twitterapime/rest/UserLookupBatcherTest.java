@@ -0,0 +1,258 @@
+/**
+ * 
+ */
+package com.twitterapime.rest;
+
+import java.io.IOException;
+import java.util.Hashtable;
+import java.util.Vector;
+
+import com.twitterapime.io.HttpRequest;
+import com.twitterapime.model.MetadataSet;
+import com.twitterapime.search.InvalidQueryException;
+import com.twitterapime.search.LimitExceededException;
+import com.twitterapime.search.Query;
+import com.twitterapime.test.TwitterAPIMETestCase;
+
+/**
+ * @author Main
+ *
+ */
+public class UserLookupBatcherTest extends TwitterAPIMETestCase {
+	/**
+	 * 
+	 */
+	public UserLookupBatcherTest() {
+		super("UserLookupBatcherTest");
+	}
+
+	/**
+	 * Test method for {@link com.twitterapime.rest.UserLookupBatcher#load(com.twitterapime.rest.UserAccount)}.
+	 */
+	public void testLoad() throws IOException, LimitExceededException {
+		Lookup l = new Lookup();
+		UserLookupBatcher b = new UserLookupBatcher(l);
+		//
+		assertFalse(b.isEnabled());
+		assertEquals(UserLookupBatcher.DEFAULT_WINDOW, b.getWindow());
+		try {
+			b.setWindow(-1);
+			fail();
+		} catch (IllegalArgumentException e) {
+		}
+		try {
+			b.load(null);
+			fail();
+		} catch (IllegalArgumentException e) {
+		}
+		//
+		b.setWindow(0);
+		UserAccount ua = new UserAccount("123");
+		assertSame(ua, b.load(ua));
+		assertEquals("user123", ua.getString(MetadataSet.USERACCOUNT_NAME));
+		assertEquals(1, l.queries.size());
+		assertEquals(1, b.getBatchCount());
+		assertEquals(1, b.getLoadCount());
+	}
+
+	/**
+	 * Test method for {@link com.twitterapime.rest.UserLookupBatcher#load(com.twitterapime.rest.UserAccount)}.
+	 */
+	public void testLoadCoalescing() {
+		Lookup l = new Lookup();
+		UserLookupBatcher b = new UserLookupBatcher(l);
+		b.setWindow(500);
+		//
+		Loader[] ls = load(b, new String[] {"1", "2", "3", "twitterapime", "2"});
+		//
+		assertEquals(1, l.queries.size());
+		assertEquals(4, ((String[])l.queries.elementAt(0)).length);
+		assertEquals(1, b.getBatchCount());
+		assertEquals(5, b.getLoadCount());
+		//
+		for (int i = 0; i < ls.length; i++) {
+			assertNull(ls[i].error);
+			assertSame(ls[i].user, ls[i].result);
+		}
+		//
+		assertEquals("user2", ls[1].result.getString(MetadataSet.USERACCOUNT_NAME));
+		assertEquals("user2", ls[4].result.getString(MetadataSet.USERACCOUNT_NAME));
+		assertEquals("usertwitterapime", ls[3].result.getString(MetadataSet.USERACCOUNT_NAME));
+	}
+
+	/**
+	 * Test method for {@link com.twitterapime.rest.UserLookupBatcher#load(com.twitterapime.rest.UserAccount)}.
+	 */
+	public void testLoadSplit() {
+		Lookup l = new Lookup();
+		UserLookupBatcher b = new UserLookupBatcher(l);
+		b.setWindow(1000);
+		//
+		String[] ids = new String[UserLookupBatcher.MAX_BATCH_SIZE + 50];
+		for (int i = 0; i < ids.length; i++) {
+			ids[i] = "" + (i +1);
+		}
+		//
+		Loader[] ls = load(b, ids);
+		//
+		assertEquals(2, l.queries.size());
+		assertEquals(UserLookupBatcher.MAX_BATCH_SIZE, ((String[])l.queries.elementAt(0)).length);
+		assertEquals(50, ((String[])l.queries.elementAt(1)).length);
+		assertEquals(2, b.getBatchCount());
+		//
+		for (int i = 0; i < ls.length; i++) {
+			assertNull(ls[i].error);
+			assertEquals("user" + ids[i], ls[i].result.getString(MetadataSet.USERACCOUNT_NAME));
+		}
+	}
+
+	/**
+	 * Test method for {@link com.twitterapime.rest.UserLookupBatcher#load(com.twitterapime.rest.UserAccount)}.
+	 */
+	public void testLoadMissing() {
+		Lookup l = new Lookup();
+		l.missing.put("2", "2");
+		l.missing.put("ghost", "ghost");
+		UserLookupBatcher b = new UserLookupBatcher(l);
+		b.setWindow(500);
+		//
+		Loader[] ls = load(b, new String[] {"1", "2", "twitterapime", "ghost"});
+		//
+		assertEquals(1, l.queries.size());
+		assertNull(ls[0].error);
+		assertTrue(ls[1].error instanceof InvalidQueryException);
+		assertNull(ls[1].result);
+		assertNull(ls[2].error);
+		assertTrue(ls[3].error instanceof InvalidQueryException);
+	}
+
+	/**
+	 * Test method for {@link com.twitterapime.rest.UserLookupBatcher#load(com.twitterapime.rest.UserAccount)}.
+	 */
+	public void testLoadError() {
+		Lookup l = new Lookup();
+		l.error = new IOException("Lookup failed.");
+		UserLookupBatcher b = new UserLookupBatcher(l);
+		b.setWindow(500);
+		//
+		Loader[] ls = load(b, new String[] {"1", "2", "twitterapime"});
+		//
+		assertEquals(1, l.queries.size());
+		//
+		for (int i = 0; i < ls.length; i++) {
+			assertSame(l.error, ls[i].error);
+			assertNull(ls[i].result);
+		}
+	}
+
+	/**
+	 * Load the given users on concurrent threads and wait for them.
+	 */
+	private Loader[] load(UserLookupBatcher b, String[] users) {
+		Loader[] ls = new Loader[users.length];
+		//
+		for (int i = 0; i < users.length; i++) {
+			ls[i] = new Loader(b, new UserAccount(users[i]));
+			ls[i].start();
+		}
+		//
+		for (int i = 0; i < users.length; i++) {
+			try {
+				ls[i].join(5000);
+			} catch (InterruptedException e) {
+			}
+			//
+			assertFalse(ls[i].isAlive());
+		}
+		//
+		return ls;
+	}
+
+	private static class Loader extends Thread {
+		private UserLookupBatcher batcher;
+		private UserAccount user;
+		private UserAccount result;
+		private Throwable error;
+
+		public Loader(UserLookupBatcher batcher, UserAccount user) {
+			this.batcher = batcher;
+			this.user = user;
+		}
+
+		public void run() {
+			try {
+				result = batcher.load(user);
+			} catch (Throwable t) {
+				error = t;
+			}
+		}
+	}
+
+	private static class Lookup implements UserLookupBatcher.Lookup {
+		private Vector queries = new Vector();
+		private Hashtable missing = new Hashtable();
+		private IOException error;
+
+		public UserAccount[] lookup(Query query) throws IOException,
+			LimitExceededException {
+			Hashtable params = HttpRequest.getQueryStringParams(query.toString());
+			String[] ids = split((String)params.get("user_id"));
+			String[] names = split((String)params.get("screen_name"));
+			String[] values = new String[ids.length + names.length];
+			//
+			System.arraycopy(ids, 0, values, 0, ids.length);
+			System.arraycopy(names, 0, values, ids.length, names.length);
+			//
+			synchronized (this) {
+				queries.addElement(values);
+			}
+			//
+			if (error != null) {
+				throw error;
+			}
+			//
+			Vector users = new Vector();
+			//
+			for (int i = 0; i < values.length; i++) {
+				if (!missing.containsKey(values[i])) {
+					Hashtable data = new Hashtable();
+					//
+					if (i < ids.length) {
+						data.put(MetadataSet.USERACCOUNT_ID, values[i]);
+					} else {
+						data.put(MetadataSet.USERACCOUNT_ID, "9" + i);
+					}
+					data.put(MetadataSet.USERACCOUNT_USER_NAME, values[i].toUpperCase());
+					data.put(MetadataSet.USERACCOUNT_NAME, "user" + values[i]);
+					//
+					users.addElement(new UserAccount(data));
+				}
+			}
+			//
+			UserAccount[] result = new UserAccount[users.size()];
+			users.copyInto(result);
+			//
+			return result;
+		}
+
+		private String[] split(String values) {
+			Vector v = new Vector();
+			//
+			if (values != null) {
+				int start = 0;
+				int end;
+				//
+				while ((end = values.indexOf(',', start)) != -1) {
+					v.addElement(values.substring(start, end));
+					start = end +1;
+				}
+				v.addElement(values.substring(start));
+			}
+			//
+			String[] result = new String[v.size()];
+			v.copyInto(result);
+			//
+			return result;
+		}
+	}
+}
@@ -0,0 +1,310 @@
+/**
+ * 
+ */
+package com.twitterapime.util;
+
+import java.io.IOException;
+import java.util.Hashtable;
+import java.util.Random;
+
+import com.twitterapime.model.Cursor;
+import com.twitterapime.model.LongCursor;
+import com.twitterapime.test.TwitterAPIMETestCase;
+
+/**
+ * @author Main
+ *
+ */
+public class LongIdSetTest extends TwitterAPIMETestCase {
+	/**
+	 * 
+	 */
+	public LongIdSetTest() {
+		super("LongIdSetTest");
+	}
+
+	/**
+	 * Test method for {@link com.twitterapime.util.LongIdSet#add(long)}.
+	 */
+	public void testAdd() {
+		LongIdSet s = new LongIdSet();
+		assertTrue(s.isEmpty());
+		assertTrue(s.add(15));
+		assertFalse(s.add(15));
+		assertTrue(s.add(-1));
+		assertTrue(s.add(Long.MAX_VALUE));
+		assertTrue(s.add(Long.MIN_VALUE));
+		assertTrue(s.add(1L << 16));
+		assertEquals(5, s.getCardinality());
+		assertTrue(s.contains(15));
+		assertTrue(s.contains(-1));
+		assertTrue(s.contains(Long.MIN_VALUE));
+		assertFalse(s.contains(16));
+		assertFalse(s.contains(14 + (1L << 16)));
+		//
+		long[] a = s.toArray();
+		assertEquals(5, a.length);
+		assertEquals(Long.MIN_VALUE, a[0]);
+		assertEquals(-1, a[1]);
+		assertEquals(15, a[2]);
+		assertEquals(1L << 16, a[3]);
+		assertEquals(Long.MAX_VALUE, a[4]);
+		//
+		s.clear();
+		assertTrue(s.isEmpty());
+		assertEquals(0, s.toArray().length);
+	}
+
+	/**
+	 * Test method for {@link com.twitterapime.util.LongIdSet#add(long)}.
+	 */
+	public void testAddDense() {
+		LongIdSet s = new LongIdSet();
+		final long base = 123456789L << 16;
+		//
+		for (int i = 0; i < 65536; i += 3) {
+			assertTrue(s.add(base + i));
+		}
+		assertEquals(21846, s.getCardinality());
+		//
+		for (int i = 0; i < 65536; i++) {
+			assertEquals(i % 3 == 0, s.contains(base + i));
+		}
+		//
+		long[] a = s.toArray();
+		assertEquals(21846, a.length);
+		for (int i = 0; i < a.length; i++) {
+			assertEquals(base + i * 3, a[i]);
+		}
+	}
+
+	/**
+	 * Test method for {@link com.twitterapime.util.LongIdSet#remove(long)}.
+	 */
+	public void testRemove() {
+		LongIdSet s = new LongIdSet();
+		assertFalse(s.remove(1));
+		//
+		for (int i = 0; i < 5000; i++) {
+			s.add(i);
+		}
+		s.add(1L << 40);
+		//
+		for (int i = 0; i < 5000; i += 2) {
+			assertTrue(s.remove(i));
+			assertFalse(s.remove(i));
+		}
+		assertEquals(2501, s.getCardinality());
+		assertFalse(s.contains(0));
+		assertTrue(s.contains(4999));
+		//
+		assertTrue(s.remove(1L << 40));
+		assertFalse(s.contains(1L << 40));
+		assertEquals(2500, s.getCardinality());
+		assertEquals(4999, s.toArray()[2499]);
+	}
+
+	/**
+	 * Test method for {@link com.twitterapime.util.LongIdSet#addAll(Cursor)}.
+	 */
+	public void testAddAll() {
+		LongIdSet s = new LongIdSet();
+		s.addAll(new long[] {3, 1, 2});
+		s.addAll(new LongCursor(new long[] {2, 4}, 0, 0));
+		s.addAll(
+			new Cursor(new Object[] {"5", new Long(6), "1"}, 0, 0));
+		//
+		long[] a = s.toArray();
+		assertEquals(6, a.length);
+		for (int i = 0; i < a.length; i++) {
+			assertEquals(i + 1, a[i]);
+		}
+		//
+		try {
+			s.addAll(new Cursor(new Object[] {"abc"}, 0, 0));
+			fail();
+		} catch (NumberFormatException e) {
+		}
+	}
+
+	/**
+	 * Test method for {@link com.twitterapime.util.LongIdSet#addAll(long[])}.
+	 */
+	public void testAddAllSparse() throws IOException {
+		Random r = new Random(1288834974657L);
+		LongIdSet s = new LongIdSet();
+		Hashtable h = new Hashtable();
+		//
+		for (int page = 0; page < 20; page++) {
+			long[] ids = new long[5000];
+			//
+			for (int i = 0; i < ids.length; i++) {
+				if (i % 100 == 99) {
+					ids[i] = ids[i -1]; //duplicated.
+				} else {
+					//timestamp, worker and sequence, as a snowflake id.
+					ids[i] =
+						((1300000000000L + (r.nextLong() >>> 30)) << 22)
+							| (r.nextInt() & 0x3FFFFF);
+				}
+				//
+				h.put(new Long(ids[i]), Boolean.TRUE);
+			}
+			//
+			if (page % 2 == 0) {
+				s.addAll(ids);
+			} else {
+				s.addAll(new LongCursor(ids, 0, 0));
+			}
+			//
+			assertEquals(h.size(), s.getCardinality());
+		}
+		//
+		long[] dense = new long[6000]; //bitmap, merged with an array.
+		for (int i = 0; i < dense.length; i++) {
+			dense[i] = (7L << 16) + (dense.length - i) * 7 % 65536;
+			h.put(new Long(dense[i]), Boolean.TRUE);
+		}
+		s.add(7L << 16);
+		h.put(new Long(7L << 16), Boolean.TRUE);
+		s.addAll(dense);
+		//
+		assertEquals(h.size(), s.getCardinality());
+		assertSame(s, h, new Hashtable(), 0);
+		assertEquals(s, LongIdSet.deserialize(s.serialize()));
+	}
+
+	/**
+	 * Test method for {@link com.twitterapime.util.LongIdSet#union(LongIdSet)}.
+	 */
+	public void testSetAlgebra() {
+		Random r = new Random(2026);
+		//
+		for (int round = 0; round < 6; round++) {
+			LongIdSet a = new LongIdSet();
+			LongIdSet b = new LongIdSet();
+			Hashtable ha = new Hashtable();
+			Hashtable hb = new Hashtable();
+			//
+			fill(r, a, ha, round);
+			fill(r, b, hb, round +1);
+			//
+			assertSame(a.union(b), ha, hb, 0);
+			assertSame(a.intersection(b), ha, hb, 1);
+			assertSame(a.difference(b), ha, hb, 2);
+			assertSame(b.difference(a), hb, ha, 2);
+			assertEquals(
+				a.intersection(b).getCardinality(),
+				a.intersectionCardinality(b));
+			//
+			assertEquals(a, a.union(a));
+			assertEquals(a, a.intersection(a));
+			assertTrue(a.difference(a).isEmpty());
+			assertEquals(a.union(b), b.union(a));
+		}
+	}
+
+	/**
+	 * Test method for {@link com.twitterapime.util.LongIdSet#serialize()}.
+	 */
+	public void testSerialize() throws IOException {
+		LongIdSet s = new LongIdSet();
+		assertEquals(s, LongIdSet.deserialize(s.serialize()));
+		//
+		fill(new Random(7), s, new Hashtable(), 4);
+		//
+		LongIdSet d = LongIdSet.deserialize(s.serialize());
+		assertEquals(s, d);
+		assertEquals(s.hashCode(), d.hashCode());
+		assertEquals(s.getCardinality(), d.toArray().length);
+		//
+		byte[] data = s.serialize();
+		data[12] = (byte)0x7F; //cardinality.
+		try {
+			LongIdSet.deserialize(data);
+			fail();
+		} catch (IOException e) {
+		}
+		//
+		data = s.serialize();
+		data[0] = (byte)0x7F; //count.
+		try {
+			LongIdSet.deserialize(data);
+			fail();
+		} catch (IOException e) {
+		}
+		data[0] = (byte)0x80; //negative count.
+		try {
+			LongIdSet.deserialize(data);
+			fail();
+		} catch (IOException e) {
+		}
+	}
+
+	/**
+	 * <p>
+	 * Fill a set and its reference with random ids, in sparse and dense
+	 * containers.
+	 * </p>
+	 */
+	private void fill(Random r, LongIdSet s, Hashtable h, int seed) {
+		final int count = 2000 + seed * 3000;
+		//
+		for (int i = 0; i < count; i++) {
+			long id;
+			//
+			switch (i % 3) {
+			case 0:
+				id = r.nextLong();
+				break;
+			case 1:
+				id = 1000000 + (r.nextInt() & 0xFFFF);
+				break;
+			default:
+				id = (5L << 16) + (r.nextInt() & 0x3FFF) * (seed % 2 + 1);
+			}
+			//
+			s.add(id);
+			h.put(new Long(id), Boolean.TRUE);
+		}
+		//
+		assertEquals(h.size(), s.getCardinality());
+	}
+
+	/**
+	 * <p>
+	 * Assert a set is the union (0), intersection (1) or difference (2) of
+	 * the given references.
+	 * </p>
+	 */
+	private void assertSame(LongIdSet s, Hashtable a, Hashtable b, int op) {
+		Hashtable expected = new Hashtable();
+		java.util.Enumeration e = a.keys();
+		//
+		while (e.hasMoreElements()) {
+			Object id = e.nextElement();
+			//
+			if (op == 0 || (op == 1) == b.containsKey(id)) {
+				expected.put(id, id);
+			}
+		}
+		if (op == 0) {
+			e = b.keys();
+			while (e.hasMoreElements()) {
+				Object id = e.nextElement();
+				expected.put(id, id);
+			}
+		}
+		//
+		long[] ids = s.toArray();
+		assertEquals(expected.size(), ids.length);
+		assertEquals(expected.size(), s.getCardinality());
+		for (int i = 0; i < ids.length; i++) {
+			assertTrue(expected.containsKey(new Long(ids[i])));
+			assertTrue(s.contains(ids[i]));
+			if (i > 0) {
+				assertTrue(ids[i -1] < ids[i]);
+			}
+		}
+	}
+}
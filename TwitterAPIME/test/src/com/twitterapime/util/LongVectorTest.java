@@ -0,0 +1,97 @@
+/**
+ * 
+ */
+package com.twitterapime.util;
+
+import java.util.Random;
+
+import com.twitterapime.test.TwitterAPIMETestCase;
+
+/**
+ * @author Main
+ *
+ */
+public class LongVectorTest extends TwitterAPIMETestCase {
+	/**
+	 * 
+	 */
+	public LongVectorTest() {
+		super("LongVectorTest");
+	}
+
+	/**
+	 * Test method for {@link com.twitterapime.util.LongVector#addElement(long)}.
+	 */
+	public void testAddElement() {
+		LongVector v = new LongVector(0);
+		assertEquals(0, v.size());
+		assertEquals(0, v.toArray().length);
+		//
+		for (long i = 0; i < 100; i++) {
+			v.addElement(i * 1000000000L);
+		}
+		assertEquals(100, v.size());
+		assertEquals(99000000000L, v.elementAt(99));
+		//
+		try {
+			v.elementAt(100);
+			fail();
+		} catch (ArrayIndexOutOfBoundsException e) {
+		}
+		try {
+			new LongVector(-1);
+			fail();
+		} catch (IllegalArgumentException e) {
+		}
+	}
+
+	/**
+	 * Test method for {@link com.twitterapime.util.LongVector#addElements(long[])}.
+	 */
+	public void testAddElements() {
+		LongVector v = new LongVector(2);
+		v.addElement(1);
+		v.addElements(new long[] {2, 3, 4, 5});
+		v.addElements(new long[0]);
+		//
+		long[] a = v.toArray();
+		assertEquals(5, a.length);
+		for (int i = 0; i < a.length; i++) {
+			assertEquals(i + 1, a[i]);
+		}
+		//
+		v.removeAllElements();
+		assertEquals(0, v.size());
+		v.addElement(6);
+		assertEquals(6, v.toArray()[0]);
+	}
+
+	/**
+	 * Test method for {@link com.twitterapime.util.LongVector#sort()}.
+	 */
+	public void testSort() {
+		LongVector v = new LongVector();
+		v.sort();
+		assertEquals(0, v.size());
+		//
+		Random r = new Random(25);
+		for (int i = 0; i < 10000; i++) {
+			v.addElement(i % 7 == 0 ? i % 5 : r.nextLong());
+		}
+		v.sort();
+		//
+		long[] a = v.toArray();
+		assertEquals(10000, a.length);
+		for (int i = 1; i < a.length; i++) {
+			assertTrue(a[i -1] <= a[i]);
+		}
+		//
+		v.removeAllElements();
+		for (int i = 100; i > 0; i--) {
+			v.addElement(i);
+		}
+		v.sort();
+		assertEquals(1, v.elementAt(0));
+		assertEquals(100, v.elementAt(99));
+	}
+}
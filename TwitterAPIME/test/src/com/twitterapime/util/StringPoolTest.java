@@ -0,0 +1,83 @@
+/**
+ * 
+ */
+package com.twitterapime.util;
+
+import java.util.Hashtable;
+
+import com.twitterapime.model.MetadataSet;
+import com.twitterapime.rest.handler.TweetHandler;
+import com.twitterapime.test.TwitterAPIMETestCase;
+
+/**
+ * @author Main
+ *
+ */
+public class StringPoolTest extends TwitterAPIMETestCase {
+	/**
+	 * 
+	 */
+	public StringPoolTest() {
+		super("StringPoolTest");
+	}
+
+	/**
+	 * Test method for {@link com.twitterapime.util.StringPool#intern(java.lang.String)}.
+	 */
+	public void testIntern() {
+		StringPool pool = StringPool.getInstance();
+		//
+		String a = new String("web");
+		String b = new String("web");
+		assertSame(b, pool.intern(b)); //disabled.
+		assertNull(pool.intern(null));
+		//
+		pool.setEnabled(true);
+		try {
+			assertSame(a, pool.intern(a));
+			assertSame(a, pool.intern(b));
+			assertEquals(1, pool.getHitCount());
+			assertEquals(1, pool.getMissCount());
+			assertEquals(1, pool.getSize());
+			//
+			pool.setMaxStringLength(2);
+			assertSame(b, pool.intern(b)); //too long.
+			pool.setMaxStringLength(StringPool.DEFAULT_MAX_STRING_LENGTH);
+			//
+			pool.setMaxSize(16);
+			assertEquals(16, pool.getMaxSize());
+			assertEquals(0, pool.getSize());
+			for (int i = 0; i < 100; i++) {
+				pool.intern("s" + i);
+			}
+			assertTrue(pool.getSize() <= 16);
+			assertEquals(100, pool.getMissCount());
+			//
+			Hashtable d1 = new Hashtable();
+			Hashtable d2 = new Hashtable();
+			new TweetHandler().populate(d1, "/status/source", new String("<a href=\"x\">Tweet Me</a>"));
+			new TweetHandler().populate(d2, "/status/source", new String("<a href=\"x\">Tweet Me</a>"));
+			new TweetHandler().populate(d1, "/status/text", new String("hello"));
+			new TweetHandler().populate(d2, "/status/text", new String("hello"));
+			assertSame(d1.get(MetadataSet.TWEET_SOURCE), d2.get(MetadataSet.TWEET_SOURCE));
+			assertNotSame(d1.get(MetadataSet.TWEET_CONTENT), d2.get(MetadataSet.TWEET_CONTENT));
+			//
+			try {
+				pool.setMaxSize(7);
+				fail();
+			} catch (IllegalArgumentException e) {
+			}
+			try {
+				pool.setMaxStringLength(-1);
+				fail();
+			} catch (IllegalArgumentException e) {
+			}
+		} finally {
+			pool.setMaxSize(StringPool.DEFAULT_MAX_SIZE);
+			pool.setEnabled(false);
+		}
+		//
+		assertEquals(0, pool.getSize());
+		assertSame(b, pool.intern(b));
+	}
+}
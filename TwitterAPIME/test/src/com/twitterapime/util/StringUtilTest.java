@@ -83,6 +83,25 @@ public class StringUtilTest extends TwitterAPIMETestCase {
 		assertEquals("", vst[4]);
 	}
 
+	/**
+	 * Test method for {@link com.twitterapime.util.StringUtil#join(java.lang.String[], int, int, char)}.
+	 */
+	public void testJoin() {
+		try {
+			StringUtil.join(null, 0, 0, ',');
+			fail();
+		} catch (IllegalArgumentException e) {
+		} catch (Exception e) {
+			fail();
+		}
+		//
+		String[] vs = new String[] {"Twitter", "API", "ME"};
+		assertEquals("Twitter,API,ME", StringUtil.join(vs, 0, vs.length, ','));
+		assertEquals("API|ME", StringUtil.join(vs, 1, 3, '|'));
+		assertEquals("API", StringUtil.join(vs, 1, 2, ','));
+		assertEquals("", StringUtil.join(vs, 2, 2, ','));
+	}
+
 	/**
 	 * Test method for {@link com.twitterapime.util.StringUtil#formatTweetID(java.lang.String)}.
 	 */
@@ -0,0 +1,263 @@
+/**
+ * 
+ */
+package com.twitterapime.util;
+
+import java.util.Vector;
+
+import com.twitterapime.test.TwitterAPIMETestCase;
+
+/**
+ * @author Main
+ *
+ */
+public class TaskExecutorTest extends TwitterAPIMETestCase {
+	/**
+	 * 
+	 */
+	public TaskExecutorTest() {
+		super("TaskExecutorTest");
+	}
+
+	/**
+	 * Test method for {@link com.twitterapime.util.TaskExecutor#TaskExecutor(int, int, int)}.
+	 */
+	public void testTaskExecutor() {
+		try {
+			new TaskExecutor(0, 1, TaskExecutor.POLICY_ABORT);
+			fail();
+		} catch (IllegalArgumentException e) {
+		}
+		try {
+			new TaskExecutor(1, 0, TaskExecutor.POLICY_ABORT);
+			fail();
+		} catch (IllegalArgumentException e) {
+		}
+		try {
+			new TaskExecutor(1, 1, 0);
+			fail();
+		} catch (IllegalArgumentException e) {
+		}
+		//
+		TaskExecutor e = new TaskExecutor();
+		assertEquals(TaskExecutor.DEFAULT_MAX_WORKERS, e.getMaxWorkers());
+		assertEquals(TaskExecutor.DEFAULT_QUEUE_CAPACITY, e.getQueueCapacity());
+		assertEquals(TaskExecutor.POLICY_ABORT, e.getRejectionPolicy());
+		assertEquals(0, e.getWorkerCount());
+		assertNotNull(TaskExecutor.getDefault());
+	}
+
+	/**
+	 * Test method for {@link com.twitterapime.util.TaskExecutor#execute(java.lang.Runnable)}.
+	 */
+	public void testExecute() {
+		TaskExecutor e = new TaskExecutor(2, 10, TaskExecutor.POLICY_ABORT);
+		Latch latch = new Latch();
+		//
+		try {
+			e.execute(null);
+			fail();
+		} catch (IllegalArgumentException ex) {
+		}
+		//
+		for (int i = 0; i < 5; i++) {
+			e.execute(new Counter(latch));
+		}
+		//
+		latch.await(5, 2000);
+		assertEquals(5, latch.count);
+		assertTrue(e.getWorkerCount() <= 2);
+		//
+		e.shutdown();
+		try {
+			e.execute(new Counter(latch));
+			fail();
+		} catch (IllegalStateException ex) {
+		}
+	}
+
+	/**
+	 * Test method for {@link com.twitterapime.util.TaskExecutor#execute(java.lang.Runnable)}.
+	 */
+	public void testExecuteError() {
+		TaskExecutor e = new TaskExecutor(1, 10, TaskExecutor.POLICY_ABORT);
+		Latch latch = new Latch();
+		//
+		for (int i = 0; i < 3; i++) {
+			e.execute(new Runnable() {
+				public void run() {
+					throw new Error("Task failed.");
+				}
+			});
+			e.execute(new Counter(latch));
+		}
+		//
+		latch.await(3, 2000);
+		assertEquals(3, latch.count);
+		for (int i = 0; i < 200 && e.getCompletedCount() < 6; i++) {
+			try {
+				Thread.sleep(10);
+			} catch (InterruptedException ex) {
+			}
+		}
+		assertEquals(6, e.getCompletedCount());
+		assertEquals(1, e.getWorkerCount());
+	}
+
+	/**
+	 * Test method for {@link com.twitterapime.util.TaskExecutor#execute(java.lang.Runnable, int)}.
+	 */
+	public void testPriority() {
+		TaskExecutor e = new TaskExecutor(1, 10, TaskExecutor.POLICY_ABORT);
+		Latch block = new Latch();
+		final Vector order = new Vector();
+		//
+		e.execute(new Blocker(block));
+		block.awaitStarted();
+		//
+		e.execute(new Recorder(order, "low"), TaskExecutor.PRIORITY_LOW);
+		e.execute(new Recorder(order, "normal1"));
+		e.execute(new Recorder(order, "high"), TaskExecutor.PRIORITY_HIGH);
+		e.execute(new Recorder(order, "normal2"));
+		assertEquals(4, e.getQueueDepth());
+		assertEquals(1, e.getActiveCount());
+		//
+		block.release();
+		waitFor(order, 4);
+		//
+		assertEquals("high", order.elementAt(0));
+		assertEquals("normal1", order.elementAt(1));
+		assertEquals("normal2", order.elementAt(2));
+		assertEquals("low", order.elementAt(3));
+		assertEquals(4, e.getLargestQueueDepth());
+	}
+
+	/**
+	 * Test method for {@link com.twitterapime.util.TaskExecutor#setRejectionPolicy(int)}.
+	 */
+	public void testRejectionPolicy() {
+		TaskExecutor e = new TaskExecutor(1, 1, TaskExecutor.POLICY_ABORT);
+		Latch block = new Latch();
+		Vector order = new Vector();
+		//
+		e.execute(new Blocker(block));
+		block.awaitStarted();
+		e.execute(new Recorder(order, "queued"));
+		//
+		try {
+			e.execute(new Recorder(order, "aborted"));
+			fail();
+		} catch (IllegalStateException ex) {
+		}
+		//
+		e.setRejectionPolicy(TaskExecutor.POLICY_DISCARD);
+		e.execute(new Recorder(order, "discarded"));
+		//
+		e.setRejectionPolicy(TaskExecutor.POLICY_CALLER_RUNS);
+		e.execute(new Recorder(order, "caller"));
+		assertEquals("caller", order.elementAt(0));
+		//
+		e.setRejectionPolicy(TaskExecutor.POLICY_DISCARD_OLDEST);
+		e.execute(new Recorder(order, "newest"));
+		assertEquals(4, e.getRejectedCount());
+		//
+		block.release();
+		waitFor(order, 2);
+		//
+		assertEquals(2, order.size());
+		assertEquals("newest", order.elementAt(1));
+	}
+	
+	private void waitFor(Vector v, int size) {
+		for (int i = 0; i < 200 && v.size() < size; i++) {
+			try {
+				Thread.sleep(10);
+			} catch (InterruptedException e) {
+			}
+		}
+	}
+	
+	private static class Latch {
+		private int count;
+		private boolean started;
+		private boolean released;
+		
+		public synchronized void countDown() {
+			count++;
+			notifyAll();
+		}
+		
+		public synchronized void await(int n, long timeout) {
+			long end = System.currentTimeMillis() + timeout;
+			while (count < n && System.currentTimeMillis() < end) {
+				try {
+					wait(100);
+				} catch (InterruptedException e) {
+				}
+			}
+		}
+		
+		public synchronized void awaitStarted() {
+			while (!started) {
+				try {
+					wait();
+				} catch (InterruptedException e) {
+				}
+			}
+		}
+		
+		public synchronized void block() {
+			started = true;
+			notifyAll();
+			while (!released) {
+				try {
+					wait();
+				} catch (InterruptedException e) {
+				}
+			}
+		}
+		
+		public synchronized void release() {
+			released = true;
+			notifyAll();
+		}
+	}
+	
+	private static class Counter implements Runnable {
+		private Latch latch;
+		
+		public Counter(Latch latch) {
+			this.latch = latch;
+		}
+		
+		public void run() {
+			latch.countDown();
+		}
+	}
+	
+	private static class Blocker implements Runnable {
+		private Latch latch;
+		
+		public Blocker(Latch latch) {
+			this.latch = latch;
+		}
+		
+		public void run() {
+			latch.block();
+		}
+	}
+	
+	private static class Recorder implements Runnable {
+		private Vector order;
+		private String name;
+		
+		public Recorder(Vector order, String name) {
+			this.order = order;
+			this.name = name;
+		}
+		
+		public void run() {
+			order.addElement(name);
+		}
+	}
+}
@@ -16,5 +16,9 @@ public class UtilTestSuite extends TestSuite {
 	public UtilTestSuite() {
 		addTest(new StringUtilTest());
 		addTest(new QSortTest());
+		addTest(new TaskExecutorTest());
+		addTest(new StringPoolTest());
+		addTest(new LongVectorTest());
+		addTest(new LongIdSetTest());
 	}
 }
\ No newline at end of file
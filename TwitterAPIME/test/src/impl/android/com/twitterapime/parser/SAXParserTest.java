@@ -0,0 +1,76 @@
+/**
+ *
+ */
+package impl.android.com.twitterapime.parser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Vector;
+
+import com.twitterapime.model.MetadataSet;
+import com.twitterapime.parser.Attributes;
+import com.twitterapime.parser.DefaultXMLHandler;
+import com.twitterapime.parser.ParserException;
+import com.twitterapime.rest.GeoLocation;
+import com.twitterapime.rest.handler.StatusHandler;
+import com.twitterapime.search.Tweet;
+import com.twitterapime.test.TwitterAPIMETestCase;
+
+/**
+ * @author Main
+ *
+ */
+public class SAXParserTest extends TwitterAPIMETestCase {
+	/**
+	 *
+	 */
+	public SAXParserTest() {
+		super("SAXParserTest");
+	}
+
+	/**
+	 * Test method for {@link impl.android.com.twitterapime.parser.SAXParser#parse(java.io.InputStream, com.twitterapime.parser.Handler)}.
+	 */
+	public void testParsePrefixedElements() throws Exception {
+		SAXParser parser = new SAXParser();
+		final Vector names = new Vector();
+		//
+		parser.parse(stream("/xml/twitterapi-tweet-response.xml"), new DefaultXMLHandler() {
+			public void startElement(String namespaceURI, String localName,
+				String qName, Attributes attrs) throws ParserException {
+				super.startElement(namespaceURI, localName, qName, attrs);
+				names.addElement(localName);
+			}
+		});
+		//
+		assertTrue(names.contains("georss:point"));
+		assertTrue(names.contains("georss:polygon"));
+		assertFalse(names.contains("point"));
+		assertFalse(names.contains("polygon"));
+		//
+		for (int i = 0; i < 2; i++) { //parser reused.
+			StatusHandler h = new StatusHandler();
+			parser.parse(stream("/xml/twitterapi-tweet-response.xml"), h);
+			//
+			Tweet tweet = h.getParsedTweet();
+			GeoLocation loc = tweet.getLocation();
+			assertNotNull(loc);
+			assertEquals("37", loc.getString(MetadataSet.GEOLOCATION_LATITUDE));
+			assertEquals("-122", loc.getString(MetadataSet.GEOLOCATION_LONGITUDE));
+			String[] polygon = (String[])loc.getObject(MetadataSet.GEOLOCATION_POLYGON);
+			assertEquals(4, polygon.length);
+			assertEquals("789", polygon[2]);
+		}
+	}
+
+	/**
+	 * @param path
+	 * @return
+	 */
+	private InputStream stream(String path) throws IOException {
+		InputStream in = getClass().getResourceAsStream(path);
+		assertNotNull(path, in);
+		//
+		return in;
+	}
+}
@@ -0,0 +1,439 @@
+/**
+ *
+ */
+package impl.javame.com.twitterapime.parser;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Hashtable;
+import java.util.Vector;
+
+import com.twitterapime.io.BufferPool;
+import com.twitterapime.model.MetadataSet;
+import com.twitterapime.parser.DefaultJSONHandler;
+import com.twitterapime.parser.JSONArray;
+import com.twitterapime.parser.JSONObject;
+import com.twitterapime.parser.ParserException;
+import com.twitterapime.rest.handler.json.StatusJSONEventHandler;
+import com.twitterapime.rest.handler.json.UserIdJSONHandler;
+import com.twitterapime.rest.handler.json.UserJSONEventHandler;
+import com.twitterapime.search.SearchDeviceListener;
+import com.twitterapime.search.Tweet;
+import com.twitterapime.test.TwitterAPIMETestCase;
+
+/**
+ * @author Main
+ *
+ */
+public class JSONStreamParserTest extends TwitterAPIMETestCase {
+	/**
+	 *
+	 */
+	public JSONStreamParserTest() {
+		super("JSONStreamParserTest");
+	}
+
+	/**
+	 * @see junit.framework.TestCase#tearDown()
+	 */
+	protected void tearDown() throws Exception {
+		BufferPool.getInstance().setBufferSize(BufferPool.DEFAULT_BUFFER_SIZE);
+		//
+		super.tearDown();
+	}
+
+	/**
+	 * Test method for {@link impl.javame.com.twitterapime.parser.JSONTokenizer#next()}.
+	 */
+	public void testNext() throws Exception {
+		JSONTokenizer t = new JSONTokenizer(stream(" {\"a\" : [1, -2.5e3, \"x\\\"y\"], \"b\":{}, \"c\":true,\"d\":false,\"e\":null} "));
+		//
+		assertEquals(JSONTokenizer.START_OBJECT, t.next());
+		assertEquals(1, t.getDepth());
+		assertEquals(JSONTokenizer.KEY, t.next());
+		assertEquals("a", t.getText());
+		assertEquals(JSONTokenizer.START_ARRAY, t.next());
+		assertEquals(JSONTokenizer.NUMBER, t.next());
+		assertEquals("1", t.getText());
+		assertEquals(JSONTokenizer.NUMBER, t.next());
+		assertEquals("-2.5e3", t.getText());
+		assertEquals(JSONTokenizer.STRING, t.next());
+		assertEquals("x\"y", t.getText());
+		assertEquals(JSONTokenizer.END_ARRAY, t.next());
+		assertEquals(JSONTokenizer.KEY, t.next());
+		assertEquals(JSONTokenizer.START_OBJECT, t.next());
+		assertEquals(JSONTokenizer.END_OBJECT, t.next());
+		assertEquals(JSONTokenizer.KEY, t.next());
+		assertEquals(JSONTokenizer.TRUE, t.next());
+		assertEquals(JSONTokenizer.KEY, t.next());
+		assertEquals(JSONTokenizer.FALSE, t.next());
+		assertEquals(JSONTokenizer.KEY, t.next());
+		assertEquals(JSONTokenizer.NULL, t.next());
+		assertEquals(JSONTokenizer.END_OBJECT, t.next());
+		assertEquals(0, t.getDepth());
+		assertEquals(JSONTokenizer.END_DOCUMENT, t.next());
+		t.close();
+		//
+		String[] invalid = {"{\"a\" 1}", "{\"a\":1,}", "[1 2]", "{a:1}", "[tru]", "[\"abc", "{} {}", "[1.]", ""};
+		//
+		for (int i = 0; i < invalid.length; i++) {
+			t = new JSONTokenizer(stream(invalid[i]));
+			try {
+				while (t.next() != JSONTokenizer.END_DOCUMENT);
+				fail(invalid[i]);
+			} catch (ParserException e) {
+			} finally {
+				t.close();
+			}
+		}
+	}
+
+	/**
+	 * Test method for {@link impl.javame.com.twitterapime.parser.JSONTokenizer#getText()}.
+	 */
+	public void testGetText() throws Exception {
+		BufferPool.getInstance().setBufferSize(16); //forces refills.
+		//
+		String text = "Olá, ação! 日本 😀 \t\\/ end of a long string";
+		JSONTokenizer t = new JSONTokenizer(stream("[\"Olá, a\\u00e7ão! 日本 😀 \\t\\\\\\/ end of a long string\"]"));
+		//
+		assertEquals(JSONTokenizer.START_ARRAY, t.next());
+		assertEquals(JSONTokenizer.STRING, t.next());
+		assertEquals(text, t.getText());
+		t.close();
+	}
+
+	/**
+	 * Test method for {@link impl.javame.com.twitterapime.parser.JSONTokenizer#getLong()}.
+	 */
+	public void testGetLong() throws Exception {
+		JSONTokenizer t = new JSONTokenizer(stream("[0, -7, 9223372036854775807, -9223372036854775808, 9223372036854775808, 1.5, 2e3]"));
+		//
+		assertEquals(JSONTokenizer.START_ARRAY, t.next());
+		long[] valid = {0, -7, Long.MAX_VALUE, Long.MIN_VALUE};
+		for (int i = 0; i < valid.length; i++) {
+			assertEquals(JSONTokenizer.NUMBER, t.next());
+			assertEquals(valid[i], t.getLong());
+		}
+		for (int i = 0; i < 3; i++) {
+			assertEquals(JSONTokenizer.NUMBER, t.next());
+			try {
+				t.getLong();
+				fail(t.getText());
+			} catch (NumberFormatException e) {
+			}
+		}
+		t.close();
+	}
+
+	/**
+	 * Test method for {@link impl.javame.com.twitterapime.parser.JSONStreamParser#parse(java.io.InputStream, com.twitterapime.parser.Handler)}.
+	 */
+	public void testParseLongs() throws Exception {
+		BufferPool.getInstance().setBufferSize(16); //forces refills.
+		//
+		UserIdJSONHandler h = new UserIdJSONHandler();
+		new JSONStreamParser().parse(stream("{\"previous_cursor\": -1, \"ids\": [1, 9223372036854775807, \"42\"], \"next_cursor_str\": \"x\", \"next_cursor\": 1420, \"extra\": {\"ids\": [5]}}"), h);
+		long[] ids = h.getParsedLongIds();
+		assertEquals(3, ids.length);
+		assertEquals(1, ids[0]);
+		assertEquals(Long.MAX_VALUE, ids[1]);
+		assertEquals(42, ids[2]);
+		assertEquals("9223372036854775807", h.getParsedIds()[1]);
+		assertEquals(1420, h.getNextCursorIndex());
+		assertEquals(-1, h.getPreviousCursorIndex());
+		//
+		h.clear();
+		new JSONStreamParser().parse(stream("[3, 4]"), h);
+		assertEquals(2, h.getParsedLongIds().length);
+		assertEquals(4, h.getParsedLongIds()[1]);
+		//
+		h = new UserIdJSONHandler(2);
+		new JSONStreamParser().parse(stream("{\"ids\": [1, 2, 3]}"), h);
+		assertEquals(2, h.getParsedLongIds().length);
+		//
+		try {
+			new JSONStreamParser().parse(stream("{\"ids\": [1, 2.5]}"), new UserIdJSONHandler());
+			fail();
+		} catch (ParserException e) {
+		}
+	}
+
+	/**
+	 * Test method for {@link impl.javame.com.twitterapime.parser.JSONStreamParser#parse(java.io.InputStream, com.twitterapime.parser.Handler)}.
+	 */
+	public void testParse() throws Exception {
+		final JSONObject[] root = new JSONObject[1];
+		DefaultJSONHandler handler = new DefaultJSONHandler("root") {
+			public void handle(JSONObject jsonObj) throws ParserException {
+				root[0] = jsonObj;
+			}
+		};
+		//
+		new JSONStreamParser().parse(stream("{\"id\": 240859602684612608, \"text\": \"hi\", \"user\": {\"screen_name\": \"twitterapime\"}, \"geo\": null, \"truncated\": false, \"coordinates\": [-46.6, 12], \"entities\": [{\"a\": \"b\"}]}"), handler);
+		//
+		JSONObject obj = root[0].getJSONObject("root");
+		assertEquals(240859602684612608L, obj.getLong("id"));
+		assertEquals("240859602684612608", obj.getString("id"));
+		assertEquals("hi", obj.getString("text"));
+		assertEquals("twitterapime", obj.getJSONObject("user").getString("screen_name"));
+		assertTrue(obj.getString("user").startsWith("{"));
+		assertTrue(obj.isNull("geo"));
+		assertEquals("null", obj.get("geo").toString());
+		assertTrue(obj.isNull("unknown"));
+		assertFalse(obj.has("unknown"));
+		assertFalse(obj.getBoolean("truncated"));
+		assertEquals(7, obj.length());
+		//
+		JSONArray coords = obj.getJSONArray("coordinates");
+		assertEquals(2, coords.length());
+		assertEquals("-46.6", coords.getString(0));
+		assertEquals("12", coords.getString(1));
+		assertEquals("[-46.6,12]", obj.getString("coordinates"));
+		//
+		try {
+			obj.getString("unknown");
+			fail();
+		} catch (IllegalArgumentException e) {
+		}
+		try {
+			obj.getJSONObject("text");
+			fail();
+		} catch (IllegalArgumentException e) {
+		}
+		//
+		handler = new DefaultJSONHandler("root");
+		new JSONStreamParser().parse(stream("{\"text\": \"hi\", \"user\": {\"screen_name\": \"twitterapime\"}, \"entities\": [{\"a\": \"b\"}]}"), handler);
+		//
+		Hashtable content = handler.getParsedContent();
+		assertEquals("hi", content.get("text"));
+		assertEquals("twitterapime", ((Hashtable)content.get("user")).get("screen_name"));
+		assertEquals("b", ((Hashtable[])content.get("entities"))[0].get("a"));
+		//
+		try {
+			new JSONStreamParser().parse(stream("{\"a\": }"), handler);
+			fail();
+		} catch (ParserException e) {
+		}
+	}
+
+	/**
+	 * Test method for {@link com.twitterapime.parser.JSONStreamObject#getType(java.lang.String)}.
+	 */
+	public void testGetType() throws Exception {
+		final JSONObject[] root = new JSONObject[1];
+		//
+		new JSONStreamParser().parse(stream("{\"s\": \"x\", \"n\": 1, \"d\": 1.5, \"b\": true, \"z\": null, \"o\": {}, \"a\": [7, \"8\", [], {}, null]}"), new DefaultJSONHandler("root") {
+			public void handle(JSONObject jsonObj) throws ParserException {
+				root[0] = jsonObj.getJSONObject(startKey);
+			}
+		});
+		//
+		JSONObject obj = root[0];
+		assertEquals(JSONObject.TYPE_STRING, obj.getType("s"));
+		assertEquals(JSONObject.TYPE_NUMBER, obj.getType("n"));
+		assertEquals(JSONObject.TYPE_NUMBER, obj.getType("d"));
+		assertEquals(JSONObject.TYPE_BOOLEAN, obj.getType("b"));
+		assertEquals(JSONObject.TYPE_NULL, obj.getType("z"));
+		assertEquals(JSONObject.TYPE_NULL, obj.getType("unknown"));
+		assertEquals(JSONObject.TYPE_OBJECT, obj.getType("o"));
+		assertEquals(JSONObject.TYPE_ARRAY, obj.getType("a"));
+		assertEquals(1, obj.getLong("d"));
+		//
+		JSONArray array = obj.getJSONArray("a");
+		assertEquals(JSONObject.TYPE_NUMBER, array.getType(0));
+		assertEquals(JSONObject.TYPE_STRING, array.getType(1));
+		assertEquals(JSONObject.TYPE_ARRAY, array.getType(2));
+		assertEquals(JSONObject.TYPE_OBJECT, array.getType(3));
+		assertEquals(JSONObject.TYPE_NULL, array.getType(4));
+		assertEquals(JSONObject.TYPE_NULL, array.getType(5));
+		assertEquals(7, array.getLong(0));
+		assertEquals(8, array.getInt(1));
+		//
+		DefaultJSONHandler handler = new DefaultJSONHandler("root");
+		assertTrue(handler.isMember(obj, "o"));
+		assertFalse(handler.isMember(obj, "s"));
+		assertTrue(handler.isArray(obj, "a"));
+		assertFalse(handler.isArray(obj, "unknown"));
+	}
+
+	/**
+	 * Test method for {@link impl.javame.com.twitterapime.parser.JSONStreamParser#parse(java.io.InputStream, com.twitterapime.parser.Handler)}.
+	 */
+	public void testParseEvents() throws Exception {
+		BufferPool.getInstance().setBufferSize(16); //forces refills.
+		//
+		final byte[] json = "[{\"id\": 1, \"text\": \"a\", \"user\": {\"id\": 10}, \"entities\": {\"hashtags\": []}}, {\"id\": 2, \"text\": \"b\"}, {\"id\": 3, \"text\": \"c\"}]".getBytes("UTF-8");
+		final ByteArrayInputStream in = new ByteArrayInputStream(json);
+		final Vector found = new Vector();
+		final int[] remaining = new int[1];
+		//
+		StatusJSONEventHandler h = new StatusJSONEventHandler();
+		h.setSearchDeviceListener(new SearchDeviceListener() {
+			public void tweetFound(Tweet tweet) {
+				if (found.size() == 0) {
+					remaining[0] = in.available();
+				}
+				found.addElement(tweet);
+			}
+			public void searchFailed(Throwable cause) {
+			}
+			public void searchCompleted() {
+			}
+		});
+		new JSONStreamParser().parse(in, h);
+		//
+		assertEquals(3, found.size());
+		assertEquals(3, h.getParsedTweets().length);
+		assertEquals("1", ((Tweet)found.elementAt(0)).getString(MetadataSet.TWEET_ID));
+		assertEquals("3", ((Tweet)found.elementAt(2)).getString(MetadataSet.TWEET_ID));
+		assertTrue(remaining[0] > 0); //first tweet before the last byte.
+		//
+		h = new StatusJSONEventHandler();
+		new JSONStreamParser().parse(stream("{\"statuses\": [{\"id\": 4}, {\"id\": 5}], \"search_metadata\": {\"count\": 2}}"), h);
+		assertEquals(2, h.getParsedTweets().length);
+		assertEquals("5", h.getParsedTweets()[1].getString(MetadataSet.TWEET_ID));
+		//
+		h = new StatusJSONEventHandler();
+		new JSONStreamParser().parse(stream("{\"id\": 6, \"coordinates\": [1, 2], \"retweeted_status\": {\"id\": 7}}"), h);
+		assertEquals(1, h.getParsedTweets().length);
+		assertEquals("6", h.getParsedTweets()[0].getString(MetadataSet.TWEET_ID));
+		//
+		UserJSONEventHandler u = new UserJSONEventHandler();
+		new JSONStreamParser().parse(stream("{\"previous_cursor\": 0, \"users\": [{\"id\": 8}, {\"id\": 9}], \"next_cursor\": 1420}"), u);
+		assertEquals(2, u.getParsedUserAccounts().length);
+		assertEquals(1420, u.getNextCursorIndex());
+		assertEquals(0, u.getPreviousCursorIndex());
+		//
+		try {
+			new JSONStreamParser().parse(stream("[{\"id\": 1}, {\"id\" 2}]"), new StatusJSONEventHandler());
+			fail();
+		} catch (ParserException e) {
+		}
+	}
+
+	/**
+	 * Test method for {@link impl.javame.com.twitterapime.parser.JSONStreamParser#reset()}.
+	 */
+	public void testReset() throws Exception {
+		final Vector roots = new Vector();
+		DefaultJSONHandler handler = new DefaultJSONHandler("root") {
+			public void handle(JSONObject jsonObj) throws ParserException {
+				roots.addElement(jsonObj.getJSONObject("root"));
+			}
+		};
+		JSONStreamParser parser = new JSONStreamParser();
+		//
+		parser.parse(stream("{\"id\": 1, \"list\": [1, 2, {\"a\": [[]]}]}"), handler);
+		//
+		try {
+			parser.parse(stream("{\"id\": 2, \"list\": [1,"), handler);
+			fail();
+		} catch (ParserException e) {
+		}
+		parser.reset();
+		//
+		parser.parse(stream("{\"id\": 3}"), handler);
+		parser.parse(stream("{\"id\": 4, \"text\": \"abc\"}"), handler);
+		//
+		assertEquals(3, roots.size());
+		assertEquals(1, ((JSONObject)roots.elementAt(0)).getInt("id"));
+		assertEquals(3, ((JSONObject)roots.elementAt(1)).getInt("id"));
+		assertEquals(1, ((JSONObject)roots.elementAt(1)).length());
+		assertEquals("abc", ((JSONObject)roots.elementAt(2)).getString("text"));
+		//
+		JSONTokenizer t = new JSONTokenizer(stream("[1]"));
+		assertEquals(JSONTokenizer.START_ARRAY, t.next());
+		t.reset(stream("{\"a\": true}"));
+		assertEquals(JSONTokenizer.START_OBJECT, t.next());
+		assertEquals(JSONTokenizer.KEY, t.next());
+		assertEquals("a", t.getText());
+		assertEquals(JSONTokenizer.TRUE, t.next());
+		assertEquals(JSONTokenizer.END_OBJECT, t.next());
+		assertEquals(JSONTokenizer.END_DOCUMENT, t.next());
+		t.close();
+	}
+
+	/**
+	 * Test method for {@link impl.javame.com.twitterapime.parser.JSONTokenizer#skipValue()}.
+	 */
+	public void testSkipValue() throws Exception {
+		BufferPool.getInstance().setBufferSize(16); //forces refills.
+		//
+		JSONTokenizer t = new JSONTokenizer(stream("{\"a\": {\"b\": [1, \"]}\\\"\", {}]}, \"c\": \"x\\\"}\", \"d\": -1.5e3, \"e\": [[], {\"f\": null}], \"g\": true}"));
+		assertEquals(JSONTokenizer.START_OBJECT, t.next());
+		assertEquals(JSONTokenizer.KEY, t.next());
+		assertEquals("a", t.getText());
+		t.skipValue();
+		assertEquals(JSONTokenizer.KEY, t.next());
+		assertEquals("c", t.getText());
+		t.skipValue();
+		assertEquals(JSONTokenizer.KEY, t.next());
+		assertEquals("d", t.getText());
+		t.skipValue();
+		assertEquals(JSONTokenizer.KEY, t.next());
+		assertEquals("e", t.getText());
+		t.skipValue();
+		assertEquals(JSONTokenizer.KEY, t.next());
+		assertEquals("g", t.getText());
+		assertEquals(JSONTokenizer.TRUE, t.next());
+		assertEquals(JSONTokenizer.END_OBJECT, t.next());
+		assertEquals(JSONTokenizer.END_DOCUMENT, t.next());
+		//
+		try {
+			t.skipValue();
+			fail();
+		} catch (IllegalStateException e) {
+		}
+		t.close();
+	}
+
+	/**
+	 * Test method for {@link com.twitterapime.rest.handler.json.StatusJSONEventHandler#setFieldMask(java.lang.String[])}.
+	 */
+	public void testFieldMask() throws Exception {
+		final String json = "[{\"id\": 1, \"text\": \"a\", \"source\": \"web\", \"user\": {\"id\": 10, \"text\": \"}\"}, \"entities\": {\"hashtags\": [{\"text\": \"b\"}]}}, {\"id\": 2, \"text\": \"c\", \"retweeted_status\": {\"id\": 3, \"text\": \"d\"}}]";
+		//
+		StatusJSONEventHandler h = new StatusJSONEventHandler();
+		h.setFieldMask(new String[] {MetadataSet.TWEET_ID, MetadataSet.TWEET_CONTENT});
+		new JSONStreamParser().parse(stream(json), h);
+		//
+		Tweet[] tweets = h.getParsedTweets();
+		assertEquals(2, tweets.length);
+		assertEquals("1", tweets[0].getString(MetadataSet.TWEET_ID));
+		assertEquals("a", tweets[0].getString(MetadataSet.TWEET_CONTENT));
+		assertNull(tweets[0].getString(MetadataSet.TWEET_SOURCE));
+		assertNull(tweets[0].getObject(MetadataSet.TWEET_USER_ACCOUNT));
+		assertNull(tweets[0].getObject(MetadataSet.TWEET_ENTITY));
+		assertEquals("2", tweets[1].getString(MetadataSet.TWEET_ID));
+		assertNull(tweets[1].getObject(MetadataSet.TWEET_REPOSTED_TWEET));
+		//
+		h = new StatusJSONEventHandler();
+		h.setFieldMask(new String[] {MetadataSet.TWEET_ID, MetadataSet.TWEET_REPOSTED_TWEET});
+		new JSONStreamParser().parse(stream(json), h);
+		//
+		tweets = h.getParsedTweets();
+		assertNull(tweets[0].getString(MetadataSet.TWEET_CONTENT));
+		assertNull(tweets[1].getString(MetadataSet.TWEET_CONTENT));
+		Tweet rt = (Tweet)tweets[1].getObject(MetadataSet.TWEET_REPOSTED_TWEET);
+		assertEquals("3", rt.getString(MetadataSet.TWEET_ID));
+		assertEquals("d", rt.getString(MetadataSet.TWEET_CONTENT));
+		//
+		h = new StatusJSONEventHandler();
+		new JSONStreamParser().parse(stream(json), h);
+		//
+		tweets = h.getParsedTweets();
+		assertEquals("web", tweets[0].getString(MetadataSet.TWEET_SOURCE));
+		assertNotNull(tweets[0].getObject(MetadataSet.TWEET_USER_ACCOUNT));
+		assertNotNull(tweets[0].getObject(MetadataSet.TWEET_ENTITY));
+	}
+
+	/**
+	 * @param json
+	 * @return
+	 * @throws IOException
+	 */
+	private ByteArrayInputStream stream(String json) throws IOException {
+		return new ByteArrayInputStream(json.getBytes("UTF-8"));
+	}
+}
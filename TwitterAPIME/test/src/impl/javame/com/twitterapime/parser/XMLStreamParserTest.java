@@ -0,0 +1,169 @@
+/**
+ *
+ */
+package impl.javame.com.twitterapime.parser;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import com.twitterapime.io.BufferPool;
+import com.twitterapime.parser.Attributes;
+import com.twitterapime.parser.DefaultXMLHandler;
+import com.twitterapime.parser.Parser;
+import com.twitterapime.parser.ParserException;
+import com.twitterapime.platform.PlatformProvider;
+import com.twitterapime.test.TwitterAPIMETestCase;
+
+/**
+ * @author Main
+ *
+ */
+public class XMLStreamParserTest extends TwitterAPIMETestCase {
+	/**
+	 *
+	 */
+	private static final String[] FIXTURES = {
+		"/xml/twitterapi-direct-message.xml",
+		"/xml/twitterapi-direct-messages.xml",
+		"/xml/twitterapi-error-message.xml",
+		"/xml/twitterapi-rate-limit-status.xml",
+		"/xml/twitterapi-search-result.xml",
+		"/xml/twitterapi-timeline.xml",
+		"/xml/twitterapi-tweet-response.xml",
+		"/xml/twitterapi-user-account.xml"
+	};
+
+	/**
+	 *
+	 */
+	public XMLStreamParserTest() {
+		super("XMLStreamParserTest", PlatformProvider.PPID_JAVA_ME);
+	}
+
+	/**
+	 * @see junit.framework.TestCase#tearDown()
+	 */
+	protected void tearDown() throws Exception {
+		BufferPool.getInstance().setBufferSize(BufferPool.DEFAULT_BUFFER_SIZE);
+		//
+		super.tearDown();
+	}
+
+	/**
+	 * Test method for {@link impl.javame.com.twitterapime.parser.XMLStreamParser#parse(java.io.InputStream, com.twitterapime.parser.Handler)}.
+	 */
+	public void testParse() throws Exception {
+		XMLStreamParser parser = new XMLStreamParser();
+		//
+		for (int i = 0; i < FIXTURES.length; i++) {
+			String expected = record(new KXML2Parser(), getClass().getResourceAsStream(FIXTURES[i]));
+			//
+			BufferPool.getInstance().setBufferSize(BufferPool.DEFAULT_BUFFER_SIZE);
+			assertEquals(FIXTURES[i], expected, record(parser, getClass().getResourceAsStream(FIXTURES[i])));
+			BufferPool.getInstance().setBufferSize(3); //forces refills.
+			assertEquals(FIXTURES[i], expected, record(parser, getClass().getResourceAsStream(FIXTURES[i])));
+		}
+		//
+		String[] docs = {
+			"<?xml version=\"1.0\"?>\r\n<!DOCTYPE a [<!ELEMENT a ANY>]>\r\n<a x=\"1\" B='2&amp;3'> t <!-- c --> u <![CDATA[<v>]]]> <b/>\r\n<c></c><d> </d></a>\r\n",
+			"<a>&#65;&#x42;&lt;&gt;&apos;&quot;\r\nx\ry</a >",
+			"<a k=\"x\r\ny\tz\nw\"><?pi x?>é€😀</a>",
+			"<ns:a xmlns:ns=\"u\"><ns:b ns:k=\"v\"/></ns:a>",
+			"<a/>x",
+			""
+		};
+		//
+		for (int i = 0; i < docs.length; i++) {
+			String expected = record(new KXML2Parser(), stream(docs[i]));
+			//
+			assertEquals(docs[i], expected, record(parser, stream(docs[i])));
+		}
+		//
+		String[] malformed = {"<a><b></a>", "<a", "<a>x", "<a x=1/>", "<a>&foo;</a>", "<a>x & y</a>", "<a><!-- x</a>"};
+		//
+		for (int i = 0; i < malformed.length; i++) {
+			try {
+				parser.parse(stream(malformed[i]), new DefaultXMLHandler());
+				fail(malformed[i]);
+			} catch (ParserException e) {
+			}
+		}
+		//
+		parser.parse(stream("<a/>"), new DefaultXMLHandler()); //reusable after an error.
+	}
+
+	/**
+	 * Test method for {@link impl.javame.com.twitterapime.parser.XMLTokenizerAttributes}.
+	 */
+	public void testAttributes() throws Exception {
+		final Attributes[] attrs = new Attributes[1];
+		final String[] values = new String[6];
+		//
+		new XMLStreamParser().parse(stream("<a Rel=\"x\" href='y&amp;z' rel=\"w\"/>"), new DefaultXMLHandler() {
+			public void startElement(String namespaceURI, String localName, String qName, Attributes a) throws ParserException {
+				super.startElement(namespaceURI, localName, qName, a);
+				attrs[0] = a;
+				values[0] = a.getValue("rel");
+				values[1] = a.getValue("href");
+				values[2] = a.getValue("REL");
+				values[3] = a.getQName(0);
+				values[4] = a.getValue(0);
+				values[5] = a.getType(0) + a.getLength() + a.getIndex("rel") + a.getIndex("none");
+			}
+		});
+		//
+		assertEquals("x", values[0]);
+		assertEquals("y&z", values[1]);
+		assertNull(values[2]);
+		assertEquals("rel", values[3]);
+		assertEquals("w", values[4]);
+		assertEquals("CDATA32-1", values[5]);
+		//
+		try {
+			attrs[0].getValue(3);
+			fail();
+		} catch (ArrayIndexOutOfBoundsException e) {
+		}
+	}
+
+	/**
+	 * @param parser
+	 * @param in
+	 * @return
+	 * @throws Exception
+	 */
+	private String record(Parser parser, InputStream in) throws Exception {
+		final StringBuffer events = new StringBuffer();
+		//
+		parser.parse(in, new DefaultXMLHandler() {
+			public void startElement(String namespaceURI, String localName, String qName, Attributes attrs) throws ParserException {
+				events.append("S[" + namespaceURI + "][" + localName + "][" + qName + "]");
+				for (int i = 0; i < attrs.getLength(); i++) {
+					events.append(" " + attrs.getQName(i) + "=" + attrs.getValue(i) + "/" + attrs.getType(i));
+				}
+				events.append('\n');
+			}
+			public void endElement(String namespaceURI, String localName, String qName) throws ParserException {
+				events.append("E[" + namespaceURI + "][" + localName + "][" + qName + "]\n");
+			}
+			public void text(String text) throws ParserException {
+				events.append("T[" + text + "]\n");
+			}
+			public void endDocument() throws ParserException {
+				events.append("D\n");
+			}
+		});
+		//
+		return events.toString();
+	}
+
+	/**
+	 * @param xml
+	 * @return
+	 * @throws IOException
+	 */
+	private ByteArrayInputStream stream(String xml) throws IOException {
+		return new ByteArrayInputStream(xml.getBytes("UTF-8"));
+	}
+}
@@ -0,0 +1,126 @@
+/**
+ *
+ */
+package impl.javase.com.twitterapime.io;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import com.twitterapime.io.HttpConnection;
+import com.twitterapime.platform.PlatformProvider;
+import com.twitterapime.test.TwitterAPIMETestCase;
+
+import impl.javase.com.twitterapime.test.FixtureServer;
+
+/**
+ * @author Main
+ *
+ */
+public class HttpConnectionImplTest extends TwitterAPIMETestCase {
+	/**
+	 *
+	 */
+	private FixtureServer server;
+
+	/**
+	 *
+	 */
+	public HttpConnectionImplTest() {
+		super("HttpConnectionImplTest", PlatformProvider.PPID_JAVA_SE);
+	}
+
+	/**
+	 * @see junit.framework.TestCase#setUp()
+	 */
+	protected void setUp() throws Exception {
+		super.setUp();
+		//
+		server = new FixtureServer();
+		server.start();
+	}
+
+	/**
+	 * @see junit.framework.TestCase#tearDown()
+	 */
+	protected void tearDown() throws Exception {
+		server.stop();
+		//
+		super.tearDown();
+	}
+
+	/**
+	 * Test method for {@link impl.javase.com.twitterapime.io.HttpConnectionImpl#openInputStream()}.
+	 */
+	public void testGet() throws IOException {
+		HttpConnection conn = new HttpConnectionImpl();
+		conn.open(server.getURL("/xml/twitterapi-timeline.xml"));
+		conn.setRequestProperty("User-Agent", "Twitter API ME");
+		conn.setRequestProperty("Connection", "keep-alive"); //set by client.
+		//
+		assertEquals("Twitter API ME", conn.getRequestProperty("User-Agent"));
+		assertEquals(HttpConnection.HTTP_OK, conn.getResponseCode());
+		assertTrue(conn.getHeaderField("Content-Type").startsWith("application/xml"));
+		assertNull(conn.getHeaderField("X-Unknown"));
+		//
+		byte[] expected = FixtureServer.read(getClass().getResourceAsStream("/xml/twitterapi-timeline.xml"));
+		byte[] content = FixtureServer.read(conn.openInputStream());
+		assertEquals(expected.length, content.length);
+		assertEquals(new String(expected, "UTF-8"), new String(content, "UTF-8"));
+		//
+		assertEquals(1, server.getRequestCount());
+		assertEquals("GET", server.getLastMethod());
+		assertEquals("Twitter API ME", server.getLastHeader("User-Agent"));
+		conn.close();
+		//
+		conn.open(server.getURL("/xml/none.xml"));
+		assertEquals(HttpConnection.HTTP_NOT_FOUND, conn.getResponseCode());
+		conn.open(server.getURL("/xml/twitterapi-timeline.xml?code=503"));
+		assertEquals(HttpConnection.HTTP_UNAVAILABLE, conn.getResponseCode());
+		conn.close();
+	}
+
+	/**
+	 * Test method for {@link impl.javase.com.twitterapime.io.HttpConnectionImpl#openOutputStream()}.
+	 */
+	public void testPost() throws IOException {
+		HttpConnection conn = new HttpConnectionImpl();
+		conn.open(server.getURL("/xml/twitterapi-tweet-response.xml"));
+		conn.setRequestMethod(HttpConnection.POST);
+		conn.setRequestProperty("Content-Type", "application/x-www-form-urlencoded");
+		conn.setRequestProperty("Content-Length", "12"); //set by client.
+		//
+		OutputStream out = conn.openOutputStream();
+		out.write("status=hello".getBytes("UTF-8"));
+		out.close();
+		//
+		assertEquals(HttpConnection.HTTP_OK, conn.getResponseCode());
+		assertEquals("POST", server.getLastMethod());
+		assertEquals("status=hello", new String(server.getLastBody(), "UTF-8"));
+		assertEquals("application/x-www-form-urlencoded", server.getLastHeader("Content-Type"));
+		conn.close();
+	}
+
+	/**
+	 * Test method for {@link impl.javase.com.twitterapime.io.HttpConnectionImpl#open(java.lang.String)}.
+	 */
+	public void testReuse() throws IOException {
+		HttpConnection conn = new HttpConnectionImpl();
+		final int count = 100;
+		final int length = FixtureServer.read(getClass().getResourceAsStream("/xml/twitterapi-search-result.xml")).length;
+		long bytes = 0;
+		long time = System.currentTimeMillis();
+		//
+		for (int i = 0; i < count; i++) {
+			conn.open(server.getURL("/xml/twitterapi-search-result.xml"));
+			assertEquals(HttpConnection.HTTP_OK, conn.getResponseCode());
+			bytes += FixtureServer.read(conn.openInputStream()).length;
+		}
+		//
+		time = Math.max(System.currentTimeMillis() - time, 1);
+		conn.close();
+		//
+		assertEquals(count, server.getRequestCount());
+		assertEquals(count * (long)length, bytes);
+		assertTrue(time < 10000); //loopback: far less than 100ms per request.
+	}
+}
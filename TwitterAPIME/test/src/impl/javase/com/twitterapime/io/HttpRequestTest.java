@@ -0,0 +1,265 @@
+/**
+ *
+ */
+package impl.javase.com.twitterapime.io;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+
+import com.twitterapime.io.HttpConnection;
+import com.twitterapime.io.HttpRequest;
+import com.twitterapime.io.HttpResponse;
+import com.twitterapime.io.HttpResponseListener;
+import com.twitterapime.platform.PlatformProvider;
+import com.twitterapime.test.TwitterAPIMETestCase;
+import com.twitterapime.util.TaskExecutor;
+
+import impl.javase.com.twitterapime.test.FixtureServer;
+
+/**
+ * @author Main
+ *
+ */
+public class HttpRequestTest extends TwitterAPIMETestCase {
+	/**
+	 *
+	 */
+	private FixtureServer server;
+
+	/**
+	 *
+	 */
+	public HttpRequestTest() {
+		super("HttpRequestTest", PlatformProvider.PPID_JAVA_SE);
+	}
+
+	/**
+	 * @see junit.framework.TestCase#setUp()
+	 */
+	protected void setUp() throws Exception {
+		super.setUp();
+		//
+		server = new FixtureServer();
+		server.start();
+	}
+
+	/**
+	 * @see junit.framework.TestCase#tearDown()
+	 */
+	protected void tearDown() throws Exception {
+		server.stop();
+		//
+		super.tearDown();
+	}
+
+	/**
+	 * Test method for {@link com.twitterapime.io.HttpRequest#sendAsync(com.twitterapime.io.HttpResponseListener)}.
+	 */
+	public void testSendAsync() {
+		try {
+			new HttpRequest(server.getURL("/")).sendAsync(null);
+			fail();
+		} catch (IllegalArgumentException e) {
+		}
+		try {
+			new HttpRequest(server.getURL("/")).sendAsync(new Listener(), null);
+			fail();
+		} catch (IllegalArgumentException e) {
+		}
+		//
+		final int length = read("/xml/twitterapi-timeline.xml");
+		HttpRequest req = new HttpRequest(server.getURL("/xml/twitterapi-timeline.xml"));
+		Listener l = new Listener();
+		//
+		req.sendAsync(l);
+		l.await();
+		//
+		assertSame(req, l.request);
+		assertNull(l.cause);
+		assertEquals(HttpConnection.HTTP_OK, l.code);
+		assertEquals(length, l.length);
+		assertNotSame(Thread.currentThread(), l.thread);
+		assertEquals(1, server.getRequestCount());
+	}
+
+	/**
+	 * Test method for {@link com.twitterapime.io.HttpRequest#sendAsync(com.twitterapime.io.HttpResponseListener, com.twitterapime.util.TaskExecutor)}.
+	 */
+	public void testSendAsyncFailed() {
+		HttpRequest req = new HttpRequest(server.getURL("/xml/twitterapi-tweet-response.xml"));
+		req.setMethod(HttpConnection.POST); //not retried.
+		req.setBodyParameter("status", "hello");
+		server.stop(); //connection refused.
+		//
+		TaskExecutor e = new TaskExecutor(1, 10, TaskExecutor.POLICY_ABORT);
+		Listener l = new Listener();
+		//
+		req.sendAsync(l, e);
+		l.await();
+		//
+		assertSame(req, l.request);
+		assertTrue(l.cause instanceof IOException);
+		assertFalse(l.cause instanceof InterruptedIOException);
+		assertEquals(-1, l.code);
+		e.shutdown();
+	}
+
+	/**
+	 * Test method for {@link com.twitterapime.io.HttpRequest#sendAsync(com.twitterapime.io.HttpResponseListener, com.twitterapime.util.TaskExecutor)}.
+	 */
+	public void testSendAsyncRejected() {
+		final Object lock = new Object();
+		final boolean[] blocked = new boolean[] {true};
+		final int[] started = new int[1];
+		TaskExecutor e = new TaskExecutor(1, 1, TaskExecutor.POLICY_ABORT);
+		Runnable r = new Runnable() { //keep the only worker busy.
+			public void run() {
+				synchronized (lock) {
+					started[0]++;
+					lock.notifyAll();
+					while (blocked[0]) {
+						try {
+							lock.wait();
+						} catch (InterruptedException ex) {
+						}
+					}
+				}
+			}
+		};
+		//
+		e.execute(r);
+		synchronized (lock) {
+			while (started[0] == 0) {
+				try {
+					lock.wait();
+				} catch (InterruptedException ex) {
+				}
+			}
+		}
+		e.execute(r); //fill the queue.
+		//
+		HttpRequest req = new HttpRequest(server.getURL("/xml/twitterapi-timeline.xml"));
+		Listener l = new Listener();
+		//
+		req.sendAsync(l, e); //not thrown.
+		l.await();
+		//
+		assertSame(req, l.request);
+		assertTrue(l.cause instanceof IllegalStateException);
+		assertEquals(-1, l.code);
+		assertEquals(0, server.getRequestCount());
+		//
+		synchronized (lock) {
+			blocked[0] = false;
+			lock.notifyAll();
+		}
+		e.shutdown();
+	}
+
+	/**
+	 * Test method for {@link com.twitterapime.io.HttpRequest#cancel()}.
+	 */
+	public void testCancel() throws InterruptedException {
+		final Object lock = new Object();
+		final boolean[] blocked = new boolean[] {true};
+		TaskExecutor e = new TaskExecutor(1, 10, TaskExecutor.POLICY_ABORT);
+		//
+		e.execute(new Runnable() { //keep the only worker busy.
+			public void run() {
+				synchronized (lock) {
+					while (blocked[0]) {
+						try {
+							lock.wait();
+						} catch (InterruptedException ex) {
+						}
+					}
+				}
+			}
+		});
+		//
+		HttpRequest req = new HttpRequest(server.getURL("/xml/twitterapi-timeline.xml"));
+		Listener l = new Listener();
+		//
+		assertFalse(req.isCancelled());
+		req.sendAsync(l, e);
+		req.cancel();
+		assertTrue(req.isCancelled());
+		//
+		synchronized (lock) {
+			blocked[0] = false;
+			lock.notifyAll();
+		}
+		l.await();
+		//
+		assertSame(req, l.request);
+		assertTrue(l.cause instanceof InterruptedIOException);
+		assertEquals(-1, l.code);
+		assertEquals(0, server.getRequestCount());
+		e.shutdown();
+	}
+
+	/**
+	 * @param path
+	 * @return
+	 */
+	private int read(String path) {
+		try {
+			return FixtureServer.read(getClass().getResourceAsStream(path)).length;
+		} catch (IOException e) {
+			fail();
+			//
+			return -1;
+		}
+	}
+
+	/**
+	 *
+	 */
+	private static class Listener implements HttpResponseListener {
+		private HttpRequest request;
+		private Throwable cause;
+		private Thread thread;
+		private int code = -1;
+		private int length = -1;
+		private boolean done;
+
+		public synchronized void responseReceived(HttpRequest request,
+			HttpResponse response) {
+			this.request = request;
+			thread = Thread.currentThread();
+			code = response.getCode();
+			//
+			try {
+				length = FixtureServer.read(response.getStream()).length;
+			} catch (IOException e) {
+				cause = e;
+			}
+			//
+			done = true;
+			notifyAll();
+		}
+
+		public synchronized void requestFailed(HttpRequest request,
+			Throwable cause) {
+			this.request = request;
+			this.cause = cause;
+			thread = Thread.currentThread();
+			//
+			done = true;
+			notifyAll();
+		}
+
+		public synchronized void await() {
+			final long timeout = System.currentTimeMillis() + 5000;
+			//
+			while (!done && System.currentTimeMillis() < timeout) {
+				try {
+					wait(500);
+				} catch (InterruptedException e) {
+				}
+			}
+			//
+			assertTrue(done);
+		}
+	}
+}
@@ -0,0 +1,123 @@
+/**
+ *
+ */
+package impl.javase.com.twitterapime.rest;
+
+import java.io.File;
+import java.io.IOException;
+
+import com.twitterapime.platform.PlatformProvider;
+import com.twitterapime.rest.IdSnapshotManager;
+import com.twitterapime.rest.IdSnapshotUpdate;
+import com.twitterapime.test.TwitterAPIMETestCase;
+
+/**
+ * @author Main
+ *
+ */
+public class FileIdSnapshotStoreTest extends TwitterAPIMETestCase {
+	/**
+	 *
+	 */
+	private File dir;
+
+	/**
+	 *
+	 */
+	public FileIdSnapshotStoreTest() {
+		super("FileIdSnapshotStoreTest", PlatformProvider.PPID_JAVA_SE);
+	}
+
+	/**
+	 * @see junit.framework.TestCase#setUp()
+	 */
+	protected void setUp() throws Exception {
+		super.setUp();
+		//
+		dir = File.createTempFile("snapshots", "");
+		dir.delete();
+		dir = new File(dir, "store"); //created by the store.
+	}
+
+	/**
+	 * @see junit.framework.TestCase#tearDown()
+	 */
+	protected void tearDown() throws Exception {
+		File[] files = dir.listFiles();
+		for (int i = 0; files != null && i < files.length; i++) {
+			files[i].delete();
+		}
+		dir.delete();
+		dir.getParentFile().delete();
+		//
+		super.tearDown();
+	}
+
+	/**
+	 * Test method for {@link impl.javase.com.twitterapime.rest.FileIdSnapshotStore#put(java.lang.String, byte[])}.
+	 */
+	public void testPut() throws IOException {
+		try {
+			new FileIdSnapshotStore(null);
+			fail();
+		} catch (IllegalArgumentException e) {
+		}
+		//
+		FileIdSnapshotStore store = new FileIdSnapshotStore(dir);
+		assertNull(store.get("k"));
+		store.remove("k");
+		//
+		store.put("Aa", new byte[] {1});
+		store.put("BB", new byte[] {2}); //same hash.
+		store.put("aA", new byte[] {3}); //same name, ignoring case.
+		store.put("a/../b", new byte[] {4});
+		store.put("a%002f..%002fb", new byte[] {5});
+		assertEquals(1, store.get("Aa")[0]);
+		assertEquals(2, store.get("BB")[0]);
+		assertEquals(3, store.get("aA")[0]);
+		assertEquals(4, store.get("a/../b")[0]);
+		assertEquals(5, store.get("a%002f..%002fb")[0]);
+		assertEquals(5, dir.listFiles().length); //no temporary files.
+		//
+		store.put("Aa", new byte[] {6, 7});
+		assertEquals(2, store.get("Aa").length);
+		store.remove("Aa");
+		assertNull(store.get("Aa"));
+		assertEquals(2, store.get("BB")[0]);
+		//
+		StringBuffer key = new StringBuffer();
+		for (int i = 0; i < 300; i++) {
+			key.append('k');
+		}
+		try {
+			store.put(key.toString(), new byte[] {1});
+			fail();
+		} catch (IOException e) {
+		}
+	}
+
+	/**
+	 * Test method for {@link com.twitterapime.rest.IdSnapshotManager#IdSnapshotManager(com.twitterapime.rest.IdSnapshotStore)}.
+	 */
+	public void testSnapshots() throws IOException {
+		IdSnapshotManager ism =
+			new IdSnapshotManager(new FileIdSnapshotStore(dir));
+		//
+		IdSnapshotUpdate u = ism.begin("followers:Aa", null);
+		u.addPage(new long[] {3, 1, 2});
+		u.commit();
+		u = ism.begin("followers:BB", null);
+		u.addPage(new long[] {8, 7});
+		u.commit();
+		//
+		ism = new IdSnapshotManager(new FileIdSnapshotStore(dir)); //reopen.
+		assertEquals(3, ism.getSize("followers:Aa"));
+		assertEquals(2, ism.getSize("followers:BB"));
+		assertEquals(1, ism.getIds("followers:Aa").getElements()[0]);
+		assertEquals(7, ism.getIds("followers:BB").getElements()[0]);
+		//
+		ism.remove("followers:BB");
+		assertEquals(-1, ism.getSize("followers:BB"));
+		assertEquals(3, ism.getSize("followers:Aa"));
+	}
+}
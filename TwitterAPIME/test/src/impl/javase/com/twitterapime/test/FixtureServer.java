@@ -0,0 +1,168 @@
+/**
+ * 
+ */
+package impl.javase.com.twitterapime.test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.concurrent.Executors;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Loopback Http server that replays the payloads of test/res, e.g.,
+ * GET /xml/twitterapi-timeline.xml. The query parameter "code" forces the
+ * response-code, e.g., ?code=503.
+ *
+ * @author Main
+ *
+ */
+public class FixtureServer {
+	/**
+	 *
+	 */
+	private HttpServer server;
+
+	/**
+	 *
+	 */
+	private int requestCount;
+
+	/**
+	 *
+	 */
+	private String lastMethod;
+
+	/**
+	 *
+	 */
+	private byte[] lastBody;
+
+	/**
+	 *
+	 */
+	private com.sun.net.httpserver.Headers lastHeaders;
+
+	/**
+	 * @throws IOException
+	 */
+	public synchronized void start() throws IOException {
+		System.setProperty("sun.net.httpserver.nodelay", "true"); //no Nagle's delay.
+		server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+		server.createContext("/", new HttpHandler() {
+			public void handle(HttpExchange exchange) throws IOException {
+				replay(exchange);
+			}
+		});
+		server.setExecutor(Executors.newCachedThreadPool());
+		server.start();
+	}
+
+	/**
+	 *
+	 */
+	public synchronized void stop() {
+		if (server != null) {
+			server.stop(0);
+			server = null;
+		}
+	}
+
+	/**
+	 * @param path
+	 * @return
+	 */
+	public String getURL(String path) {
+		return "http://127.0.0.1:" + server.getAddress().getPort() + path;
+	}
+
+	/**
+	 * @return
+	 */
+	public synchronized int getRequestCount() {
+		return requestCount;
+	}
+
+	/**
+	 * @return
+	 */
+	public synchronized String getLastMethod() {
+		return lastMethod;
+	}
+
+	/**
+	 * @return
+	 */
+	public synchronized byte[] getLastBody() {
+		return lastBody;
+	}
+
+	/**
+	 * @param name
+	 * @return
+	 */
+	public synchronized String getLastHeader(String name) {
+		return lastHeaders != null ? lastHeaders.getFirst(name) : null;
+	}
+
+	/**
+	 * @param in
+	 * @return
+	 * @throws IOException
+	 */
+	public static byte[] read(InputStream in) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		byte[] buffer = new byte[1024];
+		//
+		for (int n; (n = in.read(buffer)) != -1;) {
+			out.write(buffer, 0, n);
+		}
+		in.close();
+		//
+		return out.toByteArray();
+	}
+
+	/**
+	 * @param exchange
+	 * @throws IOException
+	 */
+	private void replay(HttpExchange exchange) throws IOException {
+		byte[] body = read(exchange.getRequestBody());
+		//
+		synchronized (this) {
+			requestCount++;
+			lastMethod = exchange.getRequestMethod();
+			lastBody = body;
+			lastHeaders = exchange.getRequestHeaders();
+		}
+		//
+		String path = exchange.getRequestURI().getPath();
+		String query = exchange.getRequestURI().getQuery();
+		InputStream in = getClass().getResourceAsStream(path);
+		int code = in != null ? 200 : 404;
+		//
+		if (query != null && query.startsWith("code=")) {
+			code = Integer.parseInt(query.substring(5));
+		}
+		//
+		byte[] content = in != null ? read(in) : new byte[0];
+		//
+		if (path.endsWith(".xml")) {
+			exchange.getResponseHeaders().set("Content-Type", "application/xml; charset=utf-8");
+		} else if (path.endsWith(".json")) {
+			exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+		}
+		//
+		exchange.sendResponseHeaders(code, content.length > 0 ? content.length : -1);
+		//
+		OutputStream out = exchange.getResponseBody();
+		out.write(content);
+		out.close();
+	}
+}